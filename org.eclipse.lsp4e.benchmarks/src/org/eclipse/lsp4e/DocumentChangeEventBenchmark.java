@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4e.LanguageServersRegistry.LanguageServerDefinition;
+import org.eclipse.lsp4e.benchmarks.SyntheticData;
+import org.eclipse.lsp4e.server.StreamConnectionProvider;
+import org.eclipse.lsp4j.DidChangeConfigurationParams;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.DidOpenTextDocumentParams;
+import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.InitializeParams;
+import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.lsp4j.services.TextDocumentService;
+import org.eclipse.lsp4j.services.WorkspaceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a keystroke in a document connected to a
+ * {@link DocumentContentSynchronizer}, from the document event to the
+ * textDocument/didChange notification enqueued on the dispatcher of the
+ * language server wrapper, for incremental and full synchronization and with
+ * the incremental changes sent one by one or in batches.
+ *
+ * <p>
+ * The wrapper is never started: its server is replaced by one ignoring all
+ * notifications, so only the client side of the synchronization is measured.
+ * This benchmark is in the package of the synchronizer to construct it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentChangeEventBenchmark {
+
+	private static final String SERVER_ID = "org.eclipse.lsp4e.benchmarks.server"; //$NON-NLS-1$
+
+	@Param({ "1000", "10000", "100000" })
+	public int lines;
+
+	@Param({ "Incremental", "Full" })
+	public TextDocumentSyncKind syncKind;
+
+	/** the didChange batch delay in milliseconds, 0 to send every change */
+	@Param({ "0", "50" })
+	public int batchDelay;
+
+	private Path file;
+	private IFileStore fileStore;
+	private IDocument document;
+	private LanguageServerWrapper wrapper;
+	private DocumentContentSynchronizer synchronizer;
+	private int offset;
+
+	@Setup
+	public void setUp() throws Exception {
+		LanguageServerPlugin.getDefault().getPreferenceStore().setValue(SERVER_ID + ".didChange.batchDelay", //$NON-NLS-1$
+				batchDelay);
+		file = Files.createTempFile("Changes", ".java"); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.writeString(file, SyntheticData.source(lines));
+		fileStore = EFS.getLocalFileSystem().fromLocalFile(file.toFile());
+		final var bufferManager = FileBuffers.getTextFileBufferManager();
+		bufferManager.connectFileStore(fileStore, null);
+		document = bufferManager.getFileStoreTextFileBuffer(fileStore).getDocument();
+
+		final var server = new IgnoringLanguageServer();
+		wrapper = new LanguageServerWrapper(new BenchmarkServerDefinition(), null) {
+			@Override
+			protected CompletableFuture<LanguageServer> getInitializedServer() {
+				return CompletableFuture.completedFuture(server);
+			}
+		};
+		synchronizer = new DocumentContentSynchronizer(wrapper, server, document, syncKind);
+		document.addPrenotifiedDocumentListener(synchronizer);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		document.removePrenotifiedDocumentListener(synchronizer);
+		synchronizer.flushPendingChanges();
+		wrapper.stopDispatcher();
+		FileBuffers.getTextFileBufferManager().disconnectFileStore(fileStore, null);
+		Files.delete(file);
+		LanguageServerPlugin.getDefault().getPreferenceStore().setToDefault(SERVER_ID + ".didChange.batchDelay"); //$NON-NLS-1$
+	}
+
+	@Benchmark
+	public IDocument typeCharacter() throws BadLocationException {
+		offset = (offset + 7919) % document.getLength();
+		document.replace(offset, 1, document.get(offset, 1));
+		return document;
+	}
+
+	private static final class BenchmarkServerDefinition extends LanguageServerDefinition {
+
+		BenchmarkServerDefinition() {
+			super(SERVER_ID, "Benchmark server", false, 0); //$NON-NLS-1$
+		}
+
+		@Override
+		public StreamConnectionProvider createConnectionProvider() {
+			throw new UnsupportedOperationException("The benchmark server is never started"); //$NON-NLS-1$
+		}
+	}
+
+	private static final class IgnoringLanguageServer implements LanguageServer, TextDocumentService, WorkspaceService {
+
+		@Override
+		public CompletableFuture<InitializeResult> initialize(InitializeParams params) {
+			return CompletableFuture.completedFuture(new InitializeResult());
+		}
+
+		@Override
+		public CompletableFuture<Object> shutdown() {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public void exit() {
+		}
+
+		@Override
+		public TextDocumentService getTextDocumentService() {
+			return this;
+		}
+
+		@Override
+		public WorkspaceService getWorkspaceService() {
+			return this;
+		}
+
+		@Override
+		public void didOpen(DidOpenTextDocumentParams params) {
+		}
+
+		@Override
+		public void didChange(DidChangeTextDocumentParams params) {
+		}
+
+		@Override
+		public void didClose(DidCloseTextDocumentParams params) {
+		}
+
+		@Override
+		public void didSave(DidSaveTextDocumentParams params) {
+		}
+
+		@Override
+		public void didChangeConfiguration(DidChangeConfigurationParams params) {
+		}
+
+		@Override
+		public void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
+		}
+	}
+}
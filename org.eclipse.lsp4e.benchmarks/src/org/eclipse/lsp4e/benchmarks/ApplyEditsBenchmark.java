@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link LSPEclipseUtils#applyEdits(org.eclipse.jface.text.IDocument, List)}
+ * with edits spread over the whole document, as returned by a formatting or
+ * rename request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplyEditsBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	public int lines;
+
+	@Param({ "100", "1000" })
+	public int edits;
+
+	private String source;
+	private List<TextEdit> textEdits;
+	private Document document;
+
+	@Setup
+	public void setUp() {
+		source = SyntheticData.source(lines);
+		textEdits = new ArrayList<>(edits);
+		final int step = Math.max(1, lines / edits);
+		for (int line = 1; line < lines && textEdits.size() < edits; line += step) {
+			// replaces the "int" return type of a method, or the start of a class declaration
+			textEdits.add(new TextEdit(new Range(new Position(line, 1), new Position(line, 4)), "long")); //$NON-NLS-1$
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void createDocument() {
+		document = new Document(source);
+	}
+
+	@Benchmark
+	public Document applyEdits() throws BadLocationException {
+		LSPEclipseUtils.applyEdits(document, textEdits);
+		return document;
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.operations.completion.CompletionProposalTools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures filtering and ranking a completion list with
+ * {@link CompletionProposalTools}, as done for every keystroke while the
+ * completion popup is open.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionFilterBenchmark {
+
+	@Param({ "1000", "10000" })
+	public int items;
+
+	@Param({ "g", "getDoc", "rsv" })
+	public String documentFilter;
+
+	private String[] filterTexts;
+
+	@Setup
+	public void setUp() {
+		final var random = new Random(SyntheticData.SEED);
+		filterTexts = new String[items];
+		for (int i = 0; i < items; i++) {
+			filterTexts[i] = SyntheticData.identifier(random);
+		}
+	}
+
+	@Benchmark
+	public int filter() {
+		int matches = 0;
+		for (final String filterText : filterTexts) {
+			if (CompletionProposalTools.isSubstringFoundOrderedInString(documentFilter, filterText)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+	@Benchmark
+	public long rank() {
+		long rank = 0;
+		for (final String filterText : filterTexts) {
+			rank += CompletionProposalTools.getCategoryOfFilterMatch(documentFilter, filterText);
+			rank += CompletionProposalTools.getScoreOfFilterMatch(documentFilter, filterText);
+		}
+		return rank;
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4j.Position;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link LSPEclipseUtils#toOffset(Position, org.eclipse.jface.text.IDocument)}
+ * and {@link LSPEclipseUtils#toPosition(int, org.eclipse.jface.text.IDocument)}
+ * for batches of random positions, as done when converting the ranges of a
+ * server response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentOffsetBenchmark {
+
+	private static final int CONVERSIONS = 1_000;
+
+	@Param({ "1000", "10000", "100000" })
+	public int lines;
+
+	private Document document;
+	private Position[] positions;
+	private int[] offsets;
+	private int editOffset;
+
+	@Setup
+	public void setUp() throws BadLocationException {
+		document = SyntheticData.document(lines);
+		final var random = new Random(SyntheticData.SEED);
+		positions = new Position[CONVERSIONS];
+		offsets = new int[CONVERSIONS];
+		for (int i = 0; i < CONVERSIONS; i++) {
+			final int line = random.nextInt(lines);
+			final int character = random.nextInt(document.getLineLength(line));
+			positions[i] = new Position(line, character);
+			offsets[i] = document.getLineOffset(line) + character;
+		}
+	}
+
+	@Benchmark
+	public void toOffset(final Blackhole blackhole) throws BadLocationException {
+		for (final Position position : positions) {
+			blackhole.consume(LSPEclipseUtils.toOffset(position, document));
+		}
+	}
+
+	@Benchmark
+	public void toPosition(final Blackhole blackhole) throws BadLocationException {
+		for (final int offset : offsets) {
+			blackhole.consume(LSPEclipseUtils.toPosition(offset, document));
+		}
+	}
+
+	/**
+	 * A single conversion after each modification, as when a request is sent for
+	 * every keystroke.
+	 */
+	@Benchmark
+	public int toOffsetAfterEdit() throws BadLocationException {
+		editOffset = (editOffset + 7919) % document.getLength();
+		document.replace(editOffset, 1, document.get(editOffset, 1));
+		return LSPEclipseUtils.toOffset(positions[editOffset % CONVERSIONS], document);
+	}
+}
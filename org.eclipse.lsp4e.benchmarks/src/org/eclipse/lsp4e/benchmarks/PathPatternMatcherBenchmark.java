@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.internal.files.FileSystemWatcherManager;
+import org.eclipse.lsp4e.internal.files.PathPatternMatcher;
+import org.eclipse.lsp4j.FileSystemWatcher;
+import org.eclipse.lsp4j.WatchKind;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching the paths of a workspace change against a file system
+ * watcher glob pattern with {@link PathPatternMatcher#matches(Path)} and with
+ * {@link FileSystemWatcherManager#isMatchFilePattern(URI, int)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathPatternMatcherBenchmark {
+
+	private static final int PATHS = 10_000;
+	private static final Path PROJECT = Path.of("/home/user/workspace/project"); //$NON-NLS-1$
+	private static final String[] EXTENSIONS = { "java", "ts", "tsx", "js", "json", "md", "txt", "class" };
+
+	@Param({ "**/*.java", "**/*.{ts,tsx,js}", "**/node_modules/**", "src/**/test/*.txt" })
+	public String pattern;
+
+	private Path[] paths;
+	private URI[] uris;
+	private PathPatternMatcher matcher;
+	private FileSystemWatcherManager manager;
+
+	@Setup
+	public void setUp() {
+		final var random = new Random(SyntheticData.SEED);
+		paths = new Path[PATHS];
+		uris = new URI[PATHS];
+		for (int i = 0; i < PATHS; i++) {
+			final var path = new StringBuilder("/home/user/workspace/project"); //$NON-NLS-1$
+			final int depth = 1 + random.nextInt(6);
+			for (int d = 0; d < depth; d++) {
+				path.append('/').append(random.nextInt(10) == 0 ? "node_modules" : SyntheticData.identifier(random)); //$NON-NLS-1$
+			}
+			path.append("/File").append(i).append('.').append(EXTENSIONS[random.nextInt(EXTENSIONS.length)]); //$NON-NLS-1$
+			paths[i] = Path.of(path.toString());
+			uris[i] = paths[i].toUri();
+		}
+		matcher = new PathPatternMatcher(pattern, null);
+		matcher.matches(paths[0]);
+		manager = new FileSystemWatcherManager(PROJECT);
+		manager.registerFileSystemWatchers("benchmark", List.of( //$NON-NLS-1$
+				new FileSystemWatcher(Either.forLeft(pattern), Integer.valueOf(WatchKind.Change)),
+				new FileSystemWatcher(Either.forLeft("**/*.gradle"), Integer.valueOf(WatchKind.Change)), //$NON-NLS-1$
+				new FileSystemWatcher(Either.forLeft("**/pom.xml"), Integer.valueOf(WatchKind.Change)), //$NON-NLS-1$
+				new FileSystemWatcher(Either.forLeft("**/.settings/*.prefs"), Integer.valueOf(WatchKind.Change)))); //$NON-NLS-1$
+	}
+
+	/**
+	 * Matches all paths with a new matcher, including the compilation of the
+	 * pattern, as when a watcher registration is created.
+	 */
+	@Benchmark
+	public int matchesNewMatcher() {
+		return countMatches(new PathPatternMatcher(pattern, null));
+	}
+
+	@Benchmark
+	public int matches() {
+		return countMatches(matcher);
+	}
+
+	/**
+	 * Matches all paths against the watchers registered by a server, as done for
+	 * every resource delta before sending {@code workspace/didChangeWatchedFiles}.
+	 */
+	@Benchmark
+	public int isMatchFilePattern() {
+		int matches = 0;
+		for (final URI uri : uris) {
+			if (manager.isMatchFilePattern(uri, WatchKind.Change)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+	private int countMatches(final PathPatternMatcher matcher) {
+		int matches = 0;
+		for (final Path path : paths) {
+			if (matcher.matches(path)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+}
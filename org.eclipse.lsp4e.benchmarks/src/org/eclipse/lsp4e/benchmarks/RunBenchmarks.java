@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks inside the OSGi runtime launched by the Tycho surefire
+ * plug-in, which some of them need for the plug-in preferences and the file
+ * buffers.
+ *
+ * <p>
+ * A forked JVM would not have the OSGi runtime, so the benchmarks run in the
+ * test JVM. The system property {@code jmh.args} takes additional JMH command
+ * line options and {@code jmh.result} the file to write the results to.
+ */
+public class RunBenchmarks {
+
+	@Test
+	public void runBenchmarks() throws Exception {
+		final String args = System.getProperty("jmh.args", "").strip(); //$NON-NLS-1$ //$NON-NLS-2$
+		final var options = new OptionsBuilder() //
+				.parent(new CommandLineOptions(args.isEmpty() ? new String[0] : args.split("\\s+"))) //$NON-NLS-1$
+				.forks(0) //
+				.shouldFailOnError(true) //
+				.addProfiler(GCProfiler.class) //
+				.resultFormat(ResultFormatType.JSON) //
+				.result(System.getProperty("jmh.result", "jmh-result.json")) //$NON-NLS-1$ //$NON-NLS-2$
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.operations.semanticTokens.AbstractSemanticTokensDataStreamProcessor;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures decoding a semantic tokens response with
+ * {@link AbstractSemanticTokensDataStreamProcessor#getTokensData}. The
+ * processor creates plain token objects, so the benchmark does not depend on
+ * SWT styles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemanticTokensBenchmark {
+
+	private static final int TOKENS_PER_LINE = 10;
+	private static final int TOKEN_LENGTH = 5;
+
+	public record Token(@Nullable String type, int offset, int length, int modifiers) {
+	}
+
+	private static final class TokenProcessor extends AbstractSemanticTokensDataStreamProcessor<String, Token> {
+
+		TokenProcessor(final OffsetMapper offsetMapper) {
+			super(offsetMapper, Function.identity());
+		}
+
+		@Override
+		protected @Nullable Token createTokenData(final @Nullable String tokenType, final int offset, final int length,
+				final int tokenModifiers, final TokenModifierTable modifierTable) {
+			return new Token(tokenType, offset, length, tokenModifiers);
+		}
+
+		@Override
+		protected @Nullable Token createTokenData(final @Nullable String tokenType, final int offset, final int length,
+				final List<String> tokenModifiers) {
+			return new Token(tokenType, offset, length, tokenModifiers.size());
+		}
+	}
+
+	@Param({ "10000", "100000" })
+	public int tokens;
+
+	private final SemanticTokensLegend legend = new SemanticTokensLegend(
+			List.of(SemanticTokenTypes.Namespace, SemanticTokenTypes.Type, SemanticTokenTypes.Class,
+					SemanticTokenTypes.Enum, SemanticTokenTypes.Interface, SemanticTokenTypes.Parameter,
+					SemanticTokenTypes.Variable, SemanticTokenTypes.Property, SemanticTokenTypes.Function,
+					SemanticTokenTypes.Method, SemanticTokenTypes.Keyword, SemanticTokenTypes.Comment,
+					SemanticTokenTypes.String, SemanticTokenTypes.Number, SemanticTokenTypes.Operator),
+			List.of(SemanticTokenModifiers.Declaration, SemanticTokenModifiers.Definition,
+					SemanticTokenModifiers.Readonly, SemanticTokenModifiers.Static, SemanticTokenModifiers.Deprecated,
+					SemanticTokenModifiers.Abstract));
+
+	private int[] data;
+	private List<Integer> boxedData;
+	private TokenProcessor processor;
+
+	@Setup
+	public void setUp() {
+		final int lines = tokens / TOKENS_PER_LINE;
+		final var line = new StringBuilder();
+		for (int i = 0; i < TOKENS_PER_LINE; i++) {
+			line.append("x".repeat(TOKEN_LENGTH)).append(' '); //$NON-NLS-1$
+		}
+		final var document = new Document((line + "\n").repeat(lines)); //$NON-NLS-1$
+		processor = new TokenProcessor((l, character) -> {
+			try {
+				return LSPEclipseUtils.toOffset(l, character, document);
+			} catch (BadLocationException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		data = new int[tokens * 5];
+		for (int i = 0; i < tokens; i++) {
+			final boolean firstOfLine = i % TOKENS_PER_LINE == 0;
+			data[i * 5] = firstOfLine && i > 0 ? 1 : 0;
+			data[i * 5 + 1] = firstOfLine ? 0 : TOKEN_LENGTH + 1;
+			data[i * 5 + 2] = TOKEN_LENGTH;
+			data[i * 5 + 3] = i % legend.getTokenTypes().size();
+			data[i * 5 + 4] = i % 4 == 0 ? 0b10001 : 0;
+		}
+		boxedData = new ArrayList<>(Arrays.stream(data).boxed().toList());
+	}
+
+	@Benchmark
+	public List<Token> decode() {
+		return processor.getTokensData(data, legend);
+	}
+
+	@Benchmark
+	public List<Token> decodeBoxed() {
+		return processor.getTokensData(boxedData, legend);
+	}
+}
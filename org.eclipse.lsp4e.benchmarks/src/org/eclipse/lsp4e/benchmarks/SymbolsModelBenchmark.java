@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.outline.SymbolsModel;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the outline tree with {@link SymbolsModel#update(List)}
+ * from a flat, unordered list of symbol information, and updating it with an
+ * unchanged response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolsModelBenchmark {
+
+	private static final int METHODS_PER_CLASS = 20;
+	private static final String URI = "file:///project/src/Symbols.java"; //$NON-NLS-1$
+
+	@Param({ "1000", "10000" })
+	public int symbols;
+
+	private List<Either<SymbolInformation, DocumentSymbol>> response;
+	private SymbolsModel populatedModel;
+
+	@Setup
+	public void setUp() {
+		response = new ArrayList<>(symbols);
+		int line = 0;
+		while (response.size() < symbols) {
+			final int classStart = line++;
+			final String className = "Type" + classStart; //$NON-NLS-1$
+			for (int i = 0; i < METHODS_PER_CLASS && response.size() < symbols - 1; i++, line++) {
+				response.add(Either.forLeft(symbol("method" + line, SymbolKind.Method, line, line, className))); //$NON-NLS-1$
+			}
+			response.add(Either.forLeft(symbol(className, SymbolKind.Class, classStart, line++, null)));
+		}
+		// servers do not necessarily send the symbols in document order
+		Collections.shuffle(response, new Random(SyntheticData.SEED));
+		populatedModel = new SymbolsModel();
+		populatedModel.update(response);
+	}
+
+	private static SymbolInformation symbol(final String name, final SymbolKind kind, final int startLine,
+			final int endLine, final String containerName) {
+		final var range = new Range(new Position(startLine, 0), new Position(endLine, 1));
+		return new SymbolInformation(name, kind, new Location(URI, range), containerName);
+	}
+
+	@Benchmark
+	public boolean update() {
+		return new SymbolsModel().update(response);
+	}
+
+	@Benchmark
+	public boolean updateUnchanged() {
+		return populatedModel.update(response);
+	}
+}
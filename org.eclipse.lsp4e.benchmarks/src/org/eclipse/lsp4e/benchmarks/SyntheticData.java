@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.benchmarks;
+
+import java.util.Random;
+
+import org.eclipse.jface.text.Document;
+
+/**
+ * Generates reproducible documents and identifiers of realistic shape for the
+ * benchmarks.
+ */
+public final class SyntheticData {
+
+	static final long SEED = 42;
+
+	private static final String[] WORDS = { "get", "set", "is", "create", "update", "delete", "find", "resolve",
+			"document", "symbol", "range", "position", "server", "client", "request", "response", "token", "edit",
+			"value", "name", "index", "offset", "line", "file", "path", "item", "list", "map", "state", "handler" };
+
+	private SyntheticData() {
+		// static utility
+	}
+
+	/**
+	 * Returns a Java-like source text with the given number of lines: a class
+	 * declaration every 50 lines, containing one-line methods.
+	 */
+	public static String source(final int lines) {
+		final var text = new StringBuilder(lines * 60);
+		for (int line = 0; line < lines; line++) {
+			if (line % 50 == 0) {
+				text.append("class Type").append(line / 50).append(" {"); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (line % 50 == 49) {
+				text.append('}');
+			} else {
+				text.append("\tint method").append(line).append("(String arg) { return arg.length() + ") //$NON-NLS-1$ //$NON-NLS-2$
+						.append(line).append("; }"); //$NON-NLS-1$
+			}
+			text.append('\n');
+		}
+		return text.toString();
+	}
+
+	static Document document(final int lines) {
+		return new Document(source(lines));
+	}
+
+	/**
+	 * Returns a camel case identifier made of two to four words.
+	 */
+	static String identifier(final Random random) {
+		final var identifier = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+		final int words = 1 + random.nextInt(3);
+		for (int i = 0; i < words; i++) {
+			final String word = WORDS[random.nextInt(WORDS.length)];
+			identifier.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+		}
+		return identifier.toString();
+	}
+}
@@ -8,21 +8,103 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.debug.console;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.debug.core.IStreamListener;
 import org.eclipse.debug.core.model.IFlushableStreamMonitor;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.DSPPlugin;
+import org.eclipse.osgi.util.NLS;
 
+/**
+ * Stream monitor of the output of a debug adapter.
+ * <p>
+ * Appended text is collected and listeners are notified of it in batches, at
+ * most every {@link #NOTIFY_DELAY_MS} milliseconds, in another thread, so that
+ * appending never waits for listeners. The buffered contents are limited to the
+ * last {@link #PREF_BUFFER_LIMIT} characters; once they exceed the limit, the
+ * whole output is written to a history file instead. Text appended faster than
+ * it is notified is limited too: only the last characters that fit in the
+ * buffer limit are notified, after a note of how many characters were dropped.
+ * The dropped text is spilled to a temporary file, which is moved into the
+ * history file in order, so that the history still holds the whole output.
+ */
 public class DSPStreamMonitor implements IFlushableStreamMonitor {
 
+	/**
+	 * Preference of the {@link DSPPlugin#PLUGIN_ID} node with the maximum number of
+	 * characters of the buffered contents, e.g. set in
+	 * {@code plugin_customization.ini}. A value <= 0 disables the limit.
+	 */
+	public static final String PREF_BUFFER_LIMIT = "console.bufferLimit"; //$NON-NLS-1$
+	public static final int DEFAULT_BUFFER_LIMIT = 1_000_000;
+
+	static final long NOTIFY_DELAY_MS = 50;
+
+	private static final Executor NOTIFY_EXECUTOR = CompletableFuture.delayedExecutor(NOTIFY_DELAY_MS,
+			TimeUnit.MILLISECONDS);
+
 	private final ListenerList<IStreamListener> listeners = new ListenerList<>();
-	private final StringBuilder stream = new StringBuilder();
-	private boolean buffer = true; // buffer by default as first output can happen before listeners are in place
+	private final int bufferLimit;
+	/** maximum number of characters notified at once */
+	private final int pendingLimit;
+
+	/** text appended since the last notification, guarded by itself */
+	private final StringBuilder pending = new StringBuilder();
+	private long droppedLength;
+	/** text dropped from {@link #pending}, guarded by {@link #pending} */
+	private @Nullable Path spillFile;
+	private boolean spillFailed;
+	private boolean notificationScheduled;
+
+	/** chunks of the buffered contents, guarded by this monitor */
+	private final Deque<String> stream = new ArrayDeque<>();
+	private int streamLength;
+	private @Nullable Path historyFile;
+	private boolean historyStarted;
+	// volatile as they are also read without the lock to skip spilling
+	private volatile boolean historyFailed;
+	private volatile boolean buffer = true; // buffer by default as first output can happen before listeners are in place
+
+	public DSPStreamMonitor() {
+		this(Platform.getPreferencesService().getInt(DSPPlugin.PLUGIN_ID, PREF_BUFFER_LIMIT, DEFAULT_BUFFER_LIMIT,
+				null));
+	}
+
+	/**
+	 * @param bufferLimit
+	 *            maximum number of characters of the buffered contents, or <= 0
+	 *            for no limit
+	 */
+	public DSPStreamMonitor(int bufferLimit) {
+		this.bufferLimit = bufferLimit <= 0 ? Integer.MAX_VALUE : bufferLimit;
+		this.pendingLimit = Math.min(this.bufferLimit, DEFAULT_BUFFER_LIMIT);
+	}
 
 	@Override
-	public String getContents() {
-		return stream.toString();
+	public synchronized String getContents() {
+		return String.join("", stream); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the file with the whole output, or {@code null} if the output did
+	 *         not exceed the buffer limit
+	 */
+	public synchronized @Nullable Path getHistoryFile() {
+		return historyFile;
 	}
 
 	@Override
@@ -36,10 +118,178 @@ public void removeListener(IStreamListener listener) {
 	}
 
 	public void append(@Nullable String text) {
-		if (buffer && text != null) {
-			stream.append(text);
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		synchronized (pending) {
+			pending.append(text);
+			// trimming only at twice the limit keeps appending in amortized constant time
+			if (pending.length() > 2 * pendingLimit) {
+				dropPending();
+			}
+			if (notificationScheduled) {
+				return;
+			}
+			notificationScheduled = true;
+		}
+		NOTIFY_EXECUTOR.execute(this::notifyPending);
+	}
+
+	/**
+	 * Keeps the last {@link #pendingLimit} characters of the pending text, and
+	 * spills the others for the history file.
+	 */
+	private void dropPending() {
+		int dropped = pending.length() - pendingLimit;
+		if (dropped > 0 && Character.isHighSurrogate(pending.charAt(dropped - 1))) {
+			dropped--;
+		}
+		if (dropped > 0) {
+			spill(pending.substring(0, dropped));
+			pending.delete(0, dropped);
+			droppedLength += dropped;
+		}
+	}
+
+	private void spill(String text) {
+		if (spillFailed || historyFailed || !buffer) {
+			return;
+		}
+		try {
+			@Nullable
+			Path file = spillFile;
+			if (file == null) {
+				file = spillFile = Files.createTempFile("lsp4e-debug-output", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+				file.toFile().deleteOnExit();
+			}
+			Files.writeString(file, text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			DSPPlugin.logError(e);
+			spillFailed = true;
+		}
+	}
+
+	/**
+	 * Buffers and notifies the pending text. Only one notification runs at a time,
+	 * so that listeners get the text in order.
+	 */
+	private void notifyPending() {
+		final String appended;
+		final String text;
+		final @Nullable Path spilled;
+		synchronized (pending) {
+			dropPending();
+			appended = pending.toString();
+			text = droppedLength == 0 ? appended
+					: NLS.bind("[{0} characters of output were dropped]\n", droppedLength) + appended; //$NON-NLS-1$
+			spilled = spillFile;
+			spillFile = null;
+			droppedLength = 0;
+			pending.setLength(0);
+			pending.trimToSize();
+		}
+		// buffering and notifying under the lock of this monitor lets clients get
+		// the contents and add a listener without losing or duplicating text
+		final @Nullable String historyPrefix;
+		synchronized (this) {
+			historyPrefix = buffer ? appendToStream(text, spilled != null) : null;
+			notifyAppend(text);
+		}
+		// as only one notification runs at a time, the history file is written in
+		// order without holding the lock of this monitor
+		if (historyPrefix != null) {
+			writeHistory(historyPrefix, spilled, appended);
+		} else if (spilled != null) {
+			deleteSpillFile(spilled);
+		}
+		synchronized (pending) {
+			if (pending.isEmpty()) {
+				notificationScheduled = false;
+				return;
+			}
+		}
+		NOTIFY_EXECUTOR.execute(this::notifyPending);
+	}
+
+	/**
+	 * @param spilled
+	 *            whether text was dropped from the notified text, which starts the
+	 *            history file too
+	 * @return the text to write to the history file before the appended text,
+	 *         i.e. the buffered contents when the history file is started, or
+	 *         {@code null} if the output does not exceed the buffer limit
+	 */
+	private @Nullable String appendToStream(String text, boolean spilled) {
+		@Nullable
+		String historyPrefix = null;
+		if (historyStarted) {
+			historyPrefix = ""; //$NON-NLS-1$
+		} else if (!historyFailed && (spilled || (long) streamLength + text.length() > bufferLimit)) {
+			historyStarted = true;
+			historyPrefix = getContents();
+		}
+
+		stream.addLast(text);
+		streamLength += text.length();
+		while (streamLength > bufferLimit) {
+			final String first = stream.removeFirst();
+			streamLength -= first.length();
+			if (streamLength < bufferLimit) {
+				final String kept = first.substring(first.length() - (bufferLimit - streamLength));
+				stream.addFirst(kept);
+				streamLength += kept.length();
+			}
+		}
+		return historyPrefix;
+	}
+
+	/**
+	 * Appends the given prefix, the text spilled before the appended text, and the
+	 * appended text to the history file, which is created if needed.
+	 */
+	private void writeHistory(String prefix, @Nullable Path spilled, String appended) {
+		@Nullable
+		Path file = getHistoryFile();
+		final boolean created = file == null;
+		try {
+			if (file == null) {
+				file = Files.createTempFile("lsp4e-debug-output", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+				file.toFile().deleteOnExit();
+			}
+			try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+				out.write(prefix.getBytes(StandardCharsets.UTF_8));
+				if (spilled != null) {
+					Files.copy(spilled, out);
+				}
+				out.write(appended.getBytes(StandardCharsets.UTF_8));
+			}
+			if (created) {
+				synchronized (this) {
+					historyFile = file;
+				}
+				DSPPlugin.logInfo("Debug output exceeds " + bufferLimit //$NON-NLS-1$
+						+ " characters, the whole output is written to " + file); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			DSPPlugin.logError(e);
+			synchronized (this) {
+				historyFile = null;
+				historyStarted = false;
+				historyFailed = true;
+			}
+		} finally {
+			if (spilled != null) {
+				deleteSpillFile(spilled);
+			}
+		}
+	}
+
+	private static void deleteSpillFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			DSPPlugin.logError(e);
 		}
-		notifyAppend(text);
 	}
 
 	public void notifyAppend(@Nullable String text) {
@@ -52,18 +302,18 @@ public void notifyAppend(@Nullable String text) {
 	}
 
 	@Override
-	public void flushContents() {
-		stream.setLength(0);
-		stream.trimToSize();
+	public synchronized void flushContents() {
+		stream.clear();
+		streamLength = 0;
 	}
 
 	@Override
-	public void setBuffered(boolean buffer) {
+	public synchronized void setBuffered(boolean buffer) {
 		this.buffer = buffer;
 	}
 
 	@Override
-	public boolean isBuffered() {
+	public synchronized boolean isBuffered() {
 		return buffer;
 	}
 }
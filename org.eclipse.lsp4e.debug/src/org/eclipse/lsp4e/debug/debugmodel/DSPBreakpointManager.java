@@ -10,12 +10,14 @@
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -26,12 +28,15 @@
 import org.eclipse.debug.core.IBreakpointListener;
 import org.eclipse.debug.core.IBreakpointManager;
 import org.eclipse.debug.core.IBreakpointManagerListener;
+import org.eclipse.debug.core.IBreakpointsListener;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.debug.DSPPlugin;
 import org.eclipse.lsp4e.debug.breakpoints.DSPLineBreakpoint;
+import org.eclipse.lsp4j.debug.Breakpoint;
 import org.eclipse.lsp4j.debug.BreakpointEventArguments;
+import org.eclipse.lsp4j.debug.BreakpointEventArgumentsReason;
 import org.eclipse.lsp4j.debug.Capabilities;
 import org.eclipse.lsp4j.debug.SetBreakpointsArguments;
 import org.eclipse.lsp4j.debug.SetBreakpointsResponse;
@@ -40,18 +45,39 @@
 import org.eclipse.lsp4j.debug.services.IDebugProtocolServer;
 
 /**
- * TODO The DSP breakpoint manager is a minimal effort so far. It does not
- * really work as there isn't a two way mapping of debug adapter setting. Big
- * TODOs:
+ * TODO The DSP breakpoint manager is a minimal effort so far. Big TODOs:
  * <ul>
  * <li>Function breakpoints
  * <li>Event points
- * <li>Update platform breakpoints based on adapter events and responses
+ * <li>Update platform breakpoints based on adapter events other than changes
+ * of known breakpoints
  * <li>Support for line breakpoints not on IResource. For example CDT has
  * additional fields in the marker to specify full path
+ * </ul>
+ * <p>
+ * Only the sources whose breakpoints changed are sent to the debug adapter.
+ * Changes notified together by the platform are sent together, and changes made
+ * while a {@code setBreakpoints} request of a source is running are sent in one
+ * request once it completes.
+ * <p>
+ * The state the debug adapter reports for the breakpoints, e.g. whether it could
+ * set them, is kept by the manager of each session, and shown by the debug
+ * model presentation while the session runs.
  */
-public class DSPBreakpointManager implements IBreakpointManagerListener, IBreakpointListener {
-	private final Map<Source, List<SourceBreakpoint>> targetBreakpoints = new HashMap<>();
+public class DSPBreakpointManager implements IBreakpointManagerListener, IBreakpointListener, IBreakpointsListener {
+	/** the breakpoints of each source, in the order they are sent */
+	private final Map<Source, Map<IBreakpoint, SourceBreakpoint>> targetBreakpoints = new HashMap<>();
+	private final Map<IBreakpoint, Source> breakpointSources = new HashMap<>();
+	/** the sources whose breakpoints changed since they were last sent */
+	private final Set<Source> dirtySources = new LinkedHashSet<>();
+	private final Map<Source, CompletableFuture<SetBreakpointsResponse>> runningRequests = new HashMap<>();
+	private final Map<Source, CompletableFuture<@Nullable Void>> queuedRequests = new HashMap<>();
+	/** the platform breakpoints by the id the debug adapter gave them */
+	private final Map<Integer, IBreakpoint> adapterBreakpoints = new HashMap<>();
+	/** the state the debug adapter reported for the breakpoints of this session */
+	private final Map<IBreakpoint, Breakpoint> reportedStates = new HashMap<>();
+	/** the managers of the running sessions */
+	private static final Set<DSPBreakpointManager> MANAGERS = ConcurrentHashMap.newKeySet();
 	private final IDebugProtocolServer debugProtocolServer;
 	private final IBreakpointManager platformBreakpointManager;
 	private final @Nullable Capabilities capabilities;
@@ -70,7 +96,8 @@ public DSPBreakpointManager(IBreakpointManager platformBreakpointManager, IDebug
 	 * @return the completeable future to signify when the breakpoints are all sent.
 	 */
 	public CompletableFuture<@Nullable Void> initialize() {
-		platformBreakpointManager.addBreakpointListener(this);
+		MANAGERS.add(this);
+		platformBreakpointManager.addBreakpointListener((IBreakpointsListener) this);
 		platformBreakpointManager.addBreakpointManagerListener(this);
 		return resendAllTargetBreakpoints(platformBreakpointManager.isEnabled());
 	}
@@ -79,8 +106,42 @@ public DSPBreakpointManager(IBreakpointManager platformBreakpointManager, IDebug
 	 * Called when the debug manager is no longer needed/debug session is shut down.
 	 */
 	public void shutdown() {
-		platformBreakpointManager.removeBreakpointListener(this);
+		platformBreakpointManager.removeBreakpointListener((IBreakpointsListener) this);
 		platformBreakpointManager.removeBreakpointManagerListener(this);
+		MANAGERS.remove(this);
+		final List<IBreakpoint> breakpoints;
+		synchronized (this) {
+			// the state reported by the debug adapter is only valid during the session
+			breakpoints = List.copyOf(reportedStates.keySet());
+			reportedStates.clear();
+		}
+		fireStatesChanged(breakpoints);
+	}
+
+	/**
+	 * Returns the state the debug adapters of the running sessions reported for
+	 * the given breakpoint: the state of a session which could set it if any, else
+	 * the state of a session which could not.
+	 *
+	 * @return the reported state, or {@code null} if no running session reported
+	 *         the breakpoint
+	 */
+	public static @Nullable Breakpoint getReportedState(IBreakpoint breakpoint) {
+		@Nullable
+		Breakpoint unverified = null;
+		for (final DSPBreakpointManager manager : MANAGERS) {
+			final Breakpoint state;
+			synchronized (manager) {
+				state = manager.reportedStates.get(breakpoint);
+			}
+			if (state != null) {
+				if (state.isVerified()) {
+					return state;
+				}
+				unverified = state;
+			}
+		}
+		return unverified;
 	}
 
 	/**
@@ -102,7 +163,7 @@ public void breakpointManagerEnablementChanged(boolean enabled) {
 		resendAllTargetBreakpoints(enabled);
 	}
 
-	private CompletableFuture<@Nullable Void> resendAllTargetBreakpoints(boolean enabled) {
+	private synchronized CompletableFuture<@Nullable Void> resendAllTargetBreakpoints(boolean enabled) {
 		IBreakpoint[] breakpoints = platformBreakpointManager.getBreakpoints();
 		for (IBreakpoint breakpoint : breakpoints) {
 			if (supportsBreakpoint(breakpoint)) {
@@ -123,52 +184,78 @@ public void breakpointManagerEnablementChanged(boolean enabled) {
 
 	@Override
 	public void breakpointAdded(IBreakpoint breakpoint) {
-		if (supportsBreakpoint(breakpoint)) {
-			try {
-				if ((breakpoint.isEnabled() && platformBreakpointManager.isEnabled()) || !breakpoint.isRegistered()) {
-					addBreakpointToMap(breakpoint);
-					sendBreakpoints();
+		breakpointsAdded(new IBreakpoint[] { breakpoint });
+	}
+
+	@Override
+	public void breakpointRemoved(IBreakpoint breakpoint, @Nullable IMarkerDelta delta) {
+		breakpointsRemoved(new IBreakpoint[] { breakpoint }, new @Nullable IMarkerDelta[] { delta });
+	}
+
+	@Override
+	public void breakpointChanged(IBreakpoint breakpoint, @Nullable IMarkerDelta delta) {
+		breakpointsChanged(new IBreakpoint[] { breakpoint }, new @Nullable IMarkerDelta[] { delta });
+	}
+
+	@Override
+	public synchronized void breakpointsAdded(IBreakpoint[] breakpoints) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (supportsBreakpoint(breakpoint)) {
+				try {
+					if ((breakpoint.isEnabled() && platformBreakpointManager.isEnabled())
+							|| !breakpoint.isRegistered()) {
+						addBreakpointToMap(breakpoint);
+					}
+				} catch (CoreException e) {
+					DSPPlugin.logError(e);
 				}
-			} catch (CoreException e) {
-				DSPPlugin.logError(e);
 			}
 		}
+		sendBreakpoints();
 	}
 
 	@Override
-	public void breakpointRemoved(IBreakpoint breakpoint, @Nullable IMarkerDelta delta) {
-		if (supportsBreakpoint(breakpoint)) {
-			deleteBreakpointFromMap(breakpoint);
-			sendBreakpoints();
+	public synchronized void breakpointsRemoved(IBreakpoint[] breakpoints, @Nullable IMarkerDelta[] deltas) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (supportsBreakpoint(breakpoint)) {
+				deleteBreakpointFromMap(breakpoint);
+			}
 		}
+		sendBreakpoints();
 	}
 
 	@Override
-	public void breakpointChanged(IBreakpoint breakpoint, @Nullable IMarkerDelta delta) {
-		if (supportsBreakpoint(breakpoint)) {
-			try {
-				if (breakpoint.isEnabled() && platformBreakpointManager.isEnabled()) {
-					breakpointAdded(breakpoint);
-				} else {
-					breakpointRemoved(breakpoint, null);
+	public synchronized void breakpointsChanged(IBreakpoint[] breakpoints, @Nullable IMarkerDelta[] deltas) {
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (supportsBreakpoint(breakpoint)) {
+				try {
+					if (breakpoint.isEnabled() && platformBreakpointManager.isEnabled()) {
+						addBreakpointToMap(breakpoint);
+					} else {
+						deleteBreakpointFromMap(breakpoint);
+					}
+				} catch (CoreException e) {
 				}
-			} catch (CoreException e) {
 			}
 		}
+		sendBreakpoints();
 	}
 
+	/**
+	 * Adds or updates the given breakpoint, marking its source dirty unless the
+	 * breakpoint is already known with the same attributes, e.g. when only the
+	 * state reported by the debug adapter changed.
+	 */
 	private void addBreakpointToMap(IBreakpoint breakpoint) {
 		Assert.isTrue(supportsBreakpoint(breakpoint) && breakpoint instanceof ILineBreakpoint);
 		if (breakpoint instanceof ILineBreakpoint lineBreakpoint) {
-			// Ensure we do not keep stale breakpoint entries for the same
-			// location (line/column) when attributes such as conditions change.
-			// This avoids sending multiple breakpoints for the same source
-			// location to the debug adapter.
-			deleteBreakpointFromMap(breakpoint);
-
 			IMarker marker = lineBreakpoint.getMarker();
 			IResource resource = marker.getResource();
 			IPath location = resource.getLocation();
+			if (location == null) {
+				deleteBreakpointFromMap(breakpoint);
+				return;
+			}
 			String path = location.toOSString();
 			String name = location.lastSegment();
 			int lineNumber;
@@ -182,8 +269,6 @@ private void addBreakpointToMap(IBreakpoint breakpoint) {
 			source.setName(name);
 			source.setPath(path);
 
-			List<SourceBreakpoint> sourceBreakpoints = targetBreakpoints.computeIfAbsent(source,
-					s -> new ArrayList<>());
 			final var sourceBreakpoint = new SourceBreakpoint();
 			sourceBreakpoint.setLine(lineNumber);
 
@@ -205,81 +290,173 @@ private void addBreakpointToMap(IBreakpoint breakpoint) {
 				sourceBreakpoint.setHitCondition(hitCondition);
 			}
 
-			sourceBreakpoints.add(sourceBreakpoint);
+			final Map<IBreakpoint, SourceBreakpoint> sourceBreakpoints = targetBreakpoints.get(source);
+			if (source.equals(breakpointSources.get(breakpoint)) && sourceBreakpoints != null
+					&& sourceBreakpoint.equals(sourceBreakpoints.get(breakpoint))) {
+				return;
+			}
+
+			// The previous entry of the breakpoint is replaced, so that changes of
+			// attributes such as conditions or of the location do not leave stale
+			// entries behind.
+			deleteBreakpointFromMap(breakpoint);
+			targetBreakpoints.computeIfAbsent(source, s -> new LinkedHashMap<>()).put(breakpoint, sourceBreakpoint);
+			breakpointSources.put(breakpoint, source);
+			dirtySources.add(source);
 		}
 	}
 
 	private void deleteBreakpointFromMap(IBreakpoint breakpoint) {
 		Assert.isTrue(supportsBreakpoint(breakpoint) && breakpoint instanceof ILineBreakpoint);
-		if (breakpoint instanceof ILineBreakpoint lineBreakpoint) {
-			IResource resource = lineBreakpoint.getMarker().getResource();
-			IPath location = resource.getLocation();
-			String path = location.toOSString();
-			String name = location.lastSegment();
-			int lineNumber;
-			try {
-				lineNumber = lineBreakpoint.getLineNumber();
-			} catch (CoreException e) {
-				lineNumber = -1;
+		if (reportedStates.remove(breakpoint) != null) {
+			fireStatesChanged(List.of(breakpoint));
+		}
+		final Source source = breakpointSources.remove(breakpoint);
+		if (source != null) {
+			final Map<IBreakpoint, SourceBreakpoint> sourceBreakpoints = targetBreakpoints.get(source);
+			if (sourceBreakpoints != null) {
+				sourceBreakpoints.remove(breakpoint);
+			}
+			dirtySources.add(source);
+		}
+	}
+
+	/**
+	 * Sends the breakpoints of the dirty sources.
+	 */
+	private synchronized CompletableFuture<@Nullable Void> sendBreakpoints() {
+		final var all = new ArrayList<CompletableFuture<@Nullable Void>>(dirtySources.size());
+		for (Source source : dirtySources) {
+			all.add(sendBreakpoints(source));
+		}
+		dirtySources.clear();
+		return CompletableFuture.allOf(all.toArray(CompletableFuture[]::new));
+	}
+
+	/**
+	 * Sends the breakpoints of the given source, once the running request of the
+	 * source, if any, completes. Requests are sent in order as the debug adapter
+	 * replaces all breakpoints of the source with each of them, and a request
+	 * that is still waiting sends the breakpoints the source has when it starts.
+	 */
+	private CompletableFuture<@Nullable Void> sendBreakpoints(Source source) {
+		final CompletableFuture<@Nullable Void> queued = queuedRequests.get(source);
+		if (queued != null) {
+			return queued;
+		}
+		final CompletableFuture<SetBreakpointsResponse> running = runningRequests.get(source);
+		if (running == null) {
+			return startRequest(source);
+		}
+		// registered before composing, as the running request may have completed
+		final var next = new CompletableFuture<@Nullable Void>();
+		queuedRequests.put(source, next);
+		running.handle((response, error) -> null).thenCompose(v -> {
+			synchronized (this) {
+				queuedRequests.remove(source, next);
+				return startRequest(source);
+			}
+		}).whenComplete((v, error) -> {
+			if (error != null) {
+				next.completeExceptionally(error);
+			} else {
+				next.complete(null);
+			}
+		});
+		return next;
+	}
+
+	private CompletableFuture<@Nullable Void> startRequest(Source source) {
+		final Map<IBreakpoint, SourceBreakpoint> bps = targetBreakpoints.getOrDefault(source, Map.of());
+		final List<IBreakpoint> breakpoints = List.copyOf(bps.keySet());
+		SourceBreakpoint[] sourceBps = bps.values().toArray(SourceBreakpoint[]::new);
+		int[] lines = bps.values().stream().mapToInt(SourceBreakpoint::getLine).toArray();
+
+		final var arguments = new SetBreakpointsArguments();
+		arguments.setSource(source);
+		arguments.setLines(lines);
+		arguments.setBreakpoints(sourceBps);
+		arguments.setSourceModified(false);
+		final CompletableFuture<SetBreakpointsResponse> future = debugProtocolServer.setBreakpoints(arguments);
+		runningRequests.put(source, future);
+		future.whenComplete((response, error) -> {
+			synchronized (this) {
+				runningRequests.remove(source, future);
 			}
-			for (Entry<Source, List<SourceBreakpoint>> entry : targetBreakpoints.entrySet()) {
-				Source source = entry.getKey();
-				if (Objects.equals(name, source.getName()) && Objects.equals(path, source.getPath())) {
-					List<SourceBreakpoint> bps = entry.getValue();
-					for (Iterator<SourceBreakpoint> iterator = bps.iterator(); iterator.hasNext();) {
-						SourceBreakpoint sourceBreakpoint = iterator.next();
-
-						// Match by line and (if present) column
-						Integer bpColumn = sourceBreakpoint.getColumn();
-						int markerColumn = lineBreakpoint.getMarker().getAttribute(DSPLineBreakpoint.ATTR_COLUMN, -1);
-						final boolean lineMatches = Objects.equals(lineNumber, sourceBreakpoint.getLine());
-						final boolean columnMatches = (markerColumn <= 0
-								&& (bpColumn == null || bpColumn.intValue() <= 0))
-								|| (markerColumn > 0 && bpColumn != null && bpColumn.intValue() == markerColumn);
-
-						if (lineMatches && columnMatches) {
-							iterator.remove();
-						}
+		});
+
+		// Once we told adapter there are no breakpoints for a source file, we can stop
+		// tracking that file
+		if (bps.isEmpty()) {
+			targetBreakpoints.remove(source);
+		}
+
+		return future.thenAccept(response -> {
+			final @Nullable Breakpoint[] responseBreakpoints = response.getBreakpoints();
+			synchronized (this) {
+				for (int i = 0; i < Math.min(breakpoints.size(), responseBreakpoints.length); i++) {
+					final Breakpoint responseBreakpoint = responseBreakpoints[i];
+					if (responseBreakpoint != null && responseBreakpoint.getId() != null) {
+						adapterBreakpoints.put(responseBreakpoint.getId(), breakpoints.get(i));
 					}
 				}
+				updateReportedStates(breakpoints, responseBreakpoints);
+			}
+		});
+	}
+
+	/**
+	 * Keeps the state reported by the debug adapter for the given breakpoints. The
+	 * state of breakpoints without a reported breakpoint is cleared.
+	 */
+	private synchronized void updateReportedStates(List<IBreakpoint> breakpoints,
+			@Nullable Breakpoint[] responseBreakpoints) {
+		final var changed = new ArrayList<IBreakpoint>();
+		for (int i = 0; i < breakpoints.size(); i++) {
+			final IBreakpoint breakpoint = breakpoints.get(i);
+			if (!breakpointSources.containsKey(breakpoint)) {
+				// removed while the request was running
+				continue;
+			}
+			final Breakpoint state = i < responseBreakpoints.length ? responseBreakpoints[i] : null;
+			final Breakpoint previous = state == null ? reportedStates.remove(breakpoint)
+					: reportedStates.put(breakpoint, state);
+			if (previous == null ? state != null
+					: state == null || previous.isVerified() != state.isVerified()
+							|| !Objects.equals(previous.getMessage(), state.getMessage())) {
+				changed.add(breakpoint);
 			}
 		}
+		fireStatesChanged(changed);
 	}
 
-	private CompletableFuture<@Nullable Void> sendBreakpoints() {
-		final var all = new ArrayList<CompletableFuture<Void>>();
-		for (Iterator<Entry<Source, List<SourceBreakpoint>>> iterator = targetBreakpoints.entrySet()
-				.iterator(); iterator.hasNext();) {
-			Entry<Source, List<SourceBreakpoint>> entry = iterator.next();
-
-			Source source = entry.getKey();
-			List<SourceBreakpoint> bps = entry.getValue();
-			int[] lines = bps.stream().mapToInt(SourceBreakpoint::getLine).toArray();
-			SourceBreakpoint[] sourceBps = bps.toArray(SourceBreakpoint[]::new);
-
-			final var arguments = new SetBreakpointsArguments();
-			arguments.setSource(source);
-			arguments.setLines(lines);
-			arguments.setBreakpoints(sourceBps);
-			arguments.setSourceModified(false);
-			CompletableFuture<SetBreakpointsResponse> future = debugProtocolServer.setBreakpoints(arguments);
-			CompletableFuture<@Nullable Void> future2 = future.thenAccept((SetBreakpointsResponse bpResponse) -> {
-				// TODO update platform breakpoint with new info
+	/**
+	 * Notifies the listeners of the platform breakpoints, e.g. the views showing
+	 * them, that the reported state of the given breakpoints changed. The
+	 * listeners are notified in another thread, as they may call this manager.
+	 */
+	private void fireStatesChanged(List<IBreakpoint> breakpoints) {
+		if (!breakpoints.isEmpty()) {
+			DSPExecutors.continuations().execute(() -> {
+				for (final IBreakpoint breakpoint : breakpoints) {
+					platformBreakpointManager.fireBreakpointChanged(breakpoint);
+				}
 			});
-			all.add(future2);
-
-			// Once we told adapter there are no breakpoints for a source file, we can stop
-			// tracking that file
-			if (bps.isEmpty()) {
-				iterator.remove();
-			}
 		}
-		return CompletableFuture.allOf(all.toArray(CompletableFuture[]::new));
 	}
 
 	public void breakpointEvent(BreakpointEventArguments args) {
 		// TODO Implement updates to breakpoints that come from the server (e.g.
 		// breakpoints inserted/modified/removed from the CLI)
+		final Breakpoint breakpoint = args.getBreakpoint();
+		if (BreakpointEventArgumentsReason.CHANGED.equals(args.getReason()) && breakpoint.getId() != null) {
+			synchronized (this) {
+				final IBreakpoint platformBreakpoint = adapterBreakpoints.get(breakpoint.getId());
+				if (platformBreakpoint != null) {
+					updateReportedStates(List.of(platformBreakpoint), new @Nullable Breakpoint[] { breakpoint });
+				}
+			}
+		}
 	}
 
 }
@@ -22,26 +22,34 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -57,7 +65,11 @@
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.IMemoryBlock;
+import org.eclipse.debug.core.model.IMemoryBlockExtension;
+import org.eclipse.debug.core.model.IMemoryBlockRetrievalExtension;
+import org.eclipse.debug.core.model.MemoryByte;
 import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.debug.DSPPlugin;
 import org.eclipse.lsp4e.debug.console.DSPProcess;
@@ -69,13 +81,17 @@
 import org.eclipse.lsp4j.debug.ConfigurationDoneArguments;
 import org.eclipse.lsp4j.debug.ContinuedEventArguments;
 import org.eclipse.lsp4j.debug.DisconnectArguments;
+import org.eclipse.lsp4j.debug.EvaluateArguments;
+import org.eclipse.lsp4j.debug.EvaluateArgumentsContext;
 import org.eclipse.lsp4j.debug.ExitedEventArguments;
 import org.eclipse.lsp4j.debug.InitializeRequestArguments;
 import org.eclipse.lsp4j.debug.LoadedSourceEventArguments;
+import org.eclipse.lsp4j.debug.MemoryEventArguments;
 import org.eclipse.lsp4j.debug.ModuleEventArguments;
 import org.eclipse.lsp4j.debug.OutputEventArguments;
 import org.eclipse.lsp4j.debug.OutputEventArgumentsCategory;
 import org.eclipse.lsp4j.debug.ProcessEventArguments;
+import org.eclipse.lsp4j.debug.ReadMemoryArguments;
 import org.eclipse.lsp4j.debug.RunInTerminalRequestArguments;
 import org.eclipse.lsp4j.debug.RunInTerminalRequestArgumentsKind;
 import org.eclipse.lsp4j.debug.RunInTerminalResponse;
@@ -85,24 +101,53 @@
 import org.eclipse.lsp4j.debug.TerminatedEventArguments;
 import org.eclipse.lsp4j.debug.Thread;
 import org.eclipse.lsp4j.debug.ThreadEventArguments;
+import org.eclipse.lsp4j.debug.VariablesArguments;
+import org.eclipse.lsp4j.debug.VariablesArgumentsFilter;
+import org.eclipse.lsp4j.debug.WriteMemoryArguments;
 import org.eclipse.lsp4j.debug.launch.DSPLauncher;
 import org.eclipse.lsp4j.debug.services.IDebugProtocolClient;
 import org.eclipse.lsp4j.debug.services.IDebugProtocolServer;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
 import org.eclipse.lsp4j.jsonrpc.validation.ReflectiveMessageValidator;
 
-public class DSPDebugTarget extends DSPDebugElement implements IDebugTarget, IDebugProtocolClient {
+public class DSPDebugTarget extends DSPDebugElement
+		implements IDebugTarget, IMemoryBlockRetrievalExtension, IDebugProtocolClient {
 	private static final boolean TRACE_IO = Platform.getDebugBoolean("org.eclipse.lsp4e.debug/trace/io"); //$NON-NLS-1$
 	private static final boolean TRACE_MESSAGES = Platform.getDebugBoolean("org.eclipse.lsp4e.debug/trace/messages"); //$NON-NLS-1$
 
+	/**
+	 * The thread reading the messages of the debug adapter, in which the events
+	 * and responses arrive.
+	 */
+	private final ExecutorService readerThread = DSPExecutors.newReader("DSP reader"); //$NON-NLS-1$
+
 	/**
 	 * Any events we receive from the adapter that require further contact with the
 	 * adapter needs to be farmed off to another thread as the events arrive on the
 	 * same thread. (Note for requests, use the *Async versions on
-	 * completeablefuture to achieve the same effect.)
+	 * completeablefuture with this executor to achieve the same effect.) The
+	 * threads are shared with the other targets.
+	 */
+	private final AtomicInteger queuedTasks = new AtomicInteger();
+	private final Executor executor = task -> {
+		queuedTasks.incrementAndGet();
+		DSPExecutors.continuations().execute(() -> {
+			try {
+				task.run();
+			} finally {
+				queuedTasks.decrementAndGet();
+			}
+		});
+	};
+
+	/**
+	 * The ids of the requests sent to the debug adapter that are not answered yet.
 	 */
-	private final ExecutorService threadPool = Executors.newCachedThreadPool();
+	private final Set<String> pendingRequests = ConcurrentHashMap.newKeySet();
 
 	private final ILaunch launch;
 	private Future<?> debugProtocolFuture = lateNonNull();
@@ -134,6 +179,59 @@ public class DSPDebugTarget extends DSPDebugElement implements IDebugTarget, IDe
 	 */
 	private final Map<Integer, DSPThread> threads = Collections.synchronizedMap(new TreeMap<>());
 
+	/**
+	 * Maximum number of pages of indexed variables kept in
+	 * {@link #variablesPages}.
+	 */
+	private static final int MAX_CACHED_VARIABLES_PAGES = 100;
+
+	private record VariablesPage(Integer variablesReference, int start, int count) {
+	}
+
+	/**
+	 * The recently shown pages of indexed variables. Variable references are only
+	 * valid while the debuggee is suspended, so the pages are cleared when it
+	 * resumes.
+	 */
+	private final Map<VariablesPage, IVariable[]> variablesPages = Collections
+			.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<VariablesPage, IVariable[]> eldest) {
+					return size() > MAX_CACHED_VARIABLES_PAGES;
+				}
+			});
+
+	/**
+	 * Size and alignment of the pages of memory read from the debug adapter.
+	 */
+	static final int MEMORY_PAGE_SIZE = 4096;
+
+	/**
+	 * Maximum number of pages kept in {@link #memoryPages}, i.e. 1 MiB.
+	 */
+	private static final int MAX_CACHED_MEMORY_PAGES = 256;
+
+	private record MemoryPage(String memoryReference, long index) {
+	}
+
+	/**
+	 * The recently read pages of memory, relative to their memory reference.
+	 * Reads that are still running are shared. Memory changes while the debuggee
+	 * runs, so the pages are cleared when it resumes, when it stops and on memory
+	 * events.
+	 */
+	private final Map<MemoryPage, CompletableFuture<MemoryByte[]>> memoryPages = Collections
+			.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<MemoryPage, CompletableFuture<MemoryByte[]>> eldest) {
+					return size() > MAX_CACHED_MEMORY_PAGES;
+				}
+			});
+
 	private volatile boolean exitedReceived = false;
 	private volatile boolean fTerminated = false;
 	private volatile boolean fSentTerminateRequest = false;
@@ -192,7 +290,7 @@ public void initialize(IProgressMonitor monitor) throws CoreException {
 			// threadpool, so make this wrapper more accessible
 
 			UnaryOperator<MessageConsumer> wrapper = consumer -> {
-				MessageConsumer result = consumer;
+				MessageConsumer result = trackPendingRequests(consumer);
 				if (traceMessages != null) {
 					result = message -> {
 						traceMessages.println(message);
@@ -208,7 +306,7 @@ public void initialize(IProgressMonitor monitor) throws CoreException {
 
 			InputStream in2 = transportStreams.in;
 			OutputStream out2 = transportStreams.out;
-			ExecutorService threadPool2 = threadPool;
+			ExecutorService threadPool2 = readerThread;
 			Launcher<? extends IDebugProtocolServer> debugProtocolLauncher = createLauncher(wrapper, in2, out2,
 					threadPool2);
 
@@ -226,6 +324,50 @@ public void initialize(IProgressMonitor monitor) throws CoreException {
 		}
 	}
 
+	/**
+	 * Tracks the requests sent with the given outgoing message consumer, and their
+	 * responses received with the given incoming one.
+	 */
+	private MessageConsumer trackPendingRequests(MessageConsumer consumer) {
+		if (consumer instanceof RemoteEndpoint) {
+			return message -> {
+				if (message instanceof ResponseMessage response && response.getId() != null) {
+					pendingRequests.remove(response.getId());
+				}
+				consumer.consume(message);
+			};
+		}
+		return message -> {
+			if (message instanceof RequestMessage request && request.getId() != null) {
+				pendingRequests.add(request.getId());
+			}
+			consumer.consume(message);
+		};
+	}
+
+	/**
+	 * @return the executor for continuations of requests of this target
+	 */
+	Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return the number of requests sent to the debug adapter that are not
+	 *         answered yet
+	 */
+	public int getPendingRequestCount() {
+		return pendingRequests.size();
+	}
+
+	/**
+	 * @return the number of events and continuations of this target waiting for
+	 *         or running in the shared threads
+	 */
+	public int getQueuedTaskCount() {
+		return queuedTasks.get();
+	}
+
 	/**
 	 * As the main reason for extending {@link DSPDebugTarget} is to interface to a
 	 * custom debug adapter that has more functionality than the protocol defines.
@@ -324,6 +466,10 @@ private void terminated() {
 			process.terminateWithoutProtocolRequest();
 		}
 		fireTerminateEvent();
+		final List<DSPDebugTarget> debuggees;
+		synchronized (this.debuggees) {
+			debuggees = List.copyOf(this.debuggees);
+		}
 		debuggees.forEach(DSPDebugTarget::terminated);
 		if (breakpointManager != null) {
 			breakpointManager.shutdown();
@@ -339,6 +485,8 @@ private void terminated() {
 			 */
 			java.lang.Thread.interrupted();
 		}
+		readerThread.shutdown();
+		pendingRequests.clear();
 		transportStreams.close();
 	}
 
@@ -351,15 +499,21 @@ public void initialized() {
 	public CompletableFuture<Void> startDebugging(StartDebuggingRequestArguments args) {
 		final var parameters = new HashMap<String, Object>(/* dspParameters */);
 		parameters.putAll(args.getConfiguration());
-		try {
-			final var newTarget = new DSPDebugTarget(launch, streamsSupplier, parameters);
-			launch.addDebugTarget(newTarget);
-			newTarget.initialize(new NullProgressMonitor());
-			debuggees.add(newTarget);
-		} catch (CoreException e) {
-			DSPPlugin.logError(e);
-		}
-		return CompletableFuture.completedFuture(null);
+		// the new target is initialized in a thread of its own, as it waits for the
+		// responses of its debug adapter, which may be the adapter of this target,
+		// and waiting in the shared threads could starve the other targets
+		return CompletableFuture.runAsync(() -> {
+			try {
+				final var newTarget = new DSPDebugTarget(launch, streamsSupplier, parameters);
+				launch.addDebugTarget(newTarget);
+				newTarget.initialize(new NullProgressMonitor());
+				synchronized (debuggees) {
+					debuggees.add(newTarget);
+				}
+			} catch (CoreException e) {
+				DSPPlugin.logError(e);
+			}
+		}, DSPExecutors.waitingTasks());
 	}
 
 	/**
@@ -414,7 +568,7 @@ public void terminated(TerminatedEventArguments body) {
 			if (!exitedReceived && !isTerminated()) {
 				terminated();
 			}
-		}, CompletableFuture.delayedExecutor(2, TimeUnit.SECONDS, threadPool));
+		}, CompletableFuture.delayedExecutor(2, TimeUnit.SECONDS, executor));
 	}
 
 	/**
@@ -445,17 +599,17 @@ public void terminate() throws DebugException {
 				&& "launch".equals(dspParameters.getOrDefault("request", "launch"));
 		if (shouldSendTerminateRequest) {
 			fSentTerminateRequest = true;
-			getDebugProtocolServer().terminate(new TerminateArguments()).thenRunAsync(this::terminated);
+			getDebugProtocolServer().terminate(new TerminateArguments()).thenRunAsync(this::terminated, executor);
 		} else {
 			final var arguments = new DisconnectArguments();
 			arguments.setTerminateDebuggee(true);
-			getDebugProtocolServer().disconnect(arguments).thenRunAsync(this::terminated);
+			getDebugProtocolServer().disconnect(arguments).thenRunAsync(this::terminated, executor);
 		}
 	}
 
 	@Override
 	public void continued(ContinuedEventArguments body) {
-		threadPool.execute(() -> {
+		executor.execute(() -> {
 			DSPDebugElement source = null;
 			source = getThread(body.getThreadId());
 			if (source == null || body.getAllThreadsContinued() == null || body.getAllThreadsContinued()) {
@@ -469,6 +623,7 @@ public void continued(ContinuedEventArguments body) {
 
 	@Override
 	public void stopped(StoppedEventArguments body) {
+		clearMemory();
 		triggerUpdateThreads().thenRunAsync(() -> {
 			DSPThread source = null;
 			if (body.getThreadId() != null) {
@@ -485,7 +640,7 @@ public void stopped(StoppedEventArguments body) {
 				source.stopped();
 				source.fireSuspendEvent(calcDetail(body.getReason()));
 			}
-		}, threadPool);
+		}, executor);
 	}
 
 	private int calcDetail(String reason) {
@@ -551,13 +706,181 @@ public boolean isDisconnected() {
 
 	@Override
 	public boolean supportsStorageRetrieval() {
-		return false;
+		final var capabilities = getCapabilities();
+		return capabilities != null && Boolean.TRUE.equals(capabilities.getSupportsReadMemoryRequest());
 	}
 
 	@Override
 	public IMemoryBlock getMemoryBlock(long startAddress, long length) throws DebugException {
-		throw new DebugException(new Status(IStatus.OK, DSPPlugin.PLUGIN_ID, DebugException.TARGET_REQUEST_FAILED,
-				"not implemented", null));
+		if (!supportsStorageRetrieval()) {
+			throw new DebugException(new Status(IStatus.ERROR, DSPPlugin.PLUGIN_ID, DebugException.NOT_SUPPORTED,
+					"The debug adapter does not support reading memory", null));
+		}
+		final String address = "0x" + Long.toHexString(startAddress); //$NON-NLS-1$
+		return new DSPMemoryBlock(this, address, address, length);
+	}
+
+	/**
+	 * Returns the memory at the given expression, which is an address or else
+	 * evaluated in the given context to get its memory reference.
+	 */
+	@Override
+	public IMemoryBlockExtension getExtendedMemoryBlock(String expression, @Nullable Object context)
+			throws DebugException {
+		if (!supportsStorageRetrieval()) {
+			throw new DebugException(new Status(IStatus.ERROR, DSPPlugin.PLUGIN_ID, DebugException.NOT_SUPPORTED,
+					"The debug adapter does not support reading memory", null));
+		}
+		if (DSPMemoryBlock.parseAddress(expression) != null) {
+			return new DSPMemoryBlock(this, expression, expression.trim(), -1);
+		}
+		final var args = new EvaluateArguments();
+		args.setContext(EvaluateArgumentsContext.WATCH);
+		args.setExpression(expression);
+		final DSPStackFrame frame = Adapters.adapt(context, DSPStackFrame.class);
+		if (frame != null) {
+			args.setFrameId(frame.getFrameId());
+		}
+		final String memoryReference = complete(getDebugProtocolServer().evaluate(args)).getMemoryReference();
+		if (memoryReference == null) {
+			throw newTargetRequestFailedException("No memory reference for " + expression, null);
+		}
+		return new DSPMemoryBlock(this, expression, memoryReference, -1);
+	}
+
+	/**
+	 * Returns memory relative to a memory reference. The pages of memory that
+	 * are not cached are requested from the debug adapter, consecutive pages in
+	 * a single request.
+	 *
+	 * @param memoryReference
+	 *            the memory reference of the debug adapter
+	 * @param offset
+	 *            the offset of the first byte from the memory reference
+	 * @param count
+	 *            the number of bytes
+	 */
+	MemoryByte[] readMemory(String memoryReference, long offset, int count) throws DebugException {
+		if (count <= 0) {
+			return new MemoryByte[0];
+		}
+		final long firstPage = Math.floorDiv(offset, MEMORY_PAGE_SIZE);
+		final long lastPage = Math.floorDiv(offset + count - 1, MEMORY_PAGE_SIZE);
+		final var pages = new ArrayList<CompletableFuture<MemoryByte[]>>();
+		synchronized (memoryPages) {
+			long page = firstPage;
+			while (page <= lastPage) {
+				final CompletableFuture<MemoryByte[]> cached = memoryPages.get(new MemoryPage(memoryReference, page));
+				if (cached != null) {
+					pages.add(cached);
+					page++;
+					continue;
+				}
+				long end = page + 1;
+				while (end <= lastPage && !memoryPages.containsKey(new MemoryPage(memoryReference, end))) {
+					end++;
+				}
+				final CompletableFuture<MemoryByte[][]> read = readMemoryPages(memoryReference, page,
+						(int) (end - page));
+				for (long i = page; i < end; i++) {
+					final var key = new MemoryPage(memoryReference, i);
+					final int index = (int) (i - page);
+					final CompletableFuture<MemoryByte[]> future = read.thenApply(bytes -> bytes[index]);
+					memoryPages.put(key, future);
+					future.whenComplete((bytes, error) -> {
+						if (error != null) {
+							memoryPages.remove(key, future);
+						}
+					});
+					pages.add(future);
+				}
+				page = end;
+			}
+		}
+
+		final var result = new MemoryByte[count];
+		int copied = 0;
+		for (int i = 0; i < pages.size(); i++) {
+			final MemoryByte[] bytes = complete(pages.get(i));
+			final int from = i == 0 ? (int) (offset - firstPage * MEMORY_PAGE_SIZE) : 0;
+			final int length = Math.min(MEMORY_PAGE_SIZE - from, count - copied);
+			System.arraycopy(bytes, from, result, copied, length);
+			copied += length;
+		}
+		return result;
+	}
+
+	private CompletableFuture<MemoryByte[][]> readMemoryPages(String memoryReference, long firstPage, int pageCount) {
+		final long offset = firstPage * MEMORY_PAGE_SIZE;
+		final int count = pageCount * MEMORY_PAGE_SIZE;
+		final var args = new ReadMemoryArguments();
+		args.setMemoryReference(memoryReference);
+		try {
+			args.setOffset(Math.toIntExact(offset));
+		} catch (ArithmeticException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		args.setCount(count);
+		return getDebugProtocolServer().readMemory(args).thenApply(response -> {
+			final String data = response.getData();
+			final byte[] bytes = data == null ? new byte[0] : Base64.getDecoder().decode(data);
+			// the data starts at the returned address, which may follow unreadable bytes
+			long skipped = 0;
+			final BigInteger reference = DSPMemoryBlock.parseAddress(memoryReference);
+			final BigInteger address = DSPMemoryBlock.parseAddress(response.getAddress());
+			if (reference != null && address != null) {
+				skipped = address.subtract(reference).longValue() - offset;
+			}
+			final var pages = new MemoryByte[pageCount][MEMORY_PAGE_SIZE];
+			for (int i = 0; i < count; i++) {
+				final long index = i - skipped;
+				pages[i / MEMORY_PAGE_SIZE][i % MEMORY_PAGE_SIZE] = index >= 0 && index < bytes.length
+						? new MemoryByte(bytes[(int) index])
+						: new MemoryByte((byte) 0, (byte) 0);
+			}
+			return pages;
+		});
+	}
+
+	/**
+	 * Writes memory relative to a memory reference.
+	 */
+	void writeMemory(String memoryReference, long offset, byte[] bytes) throws DebugException {
+		final var args = new WriteMemoryArguments();
+		args.setMemoryReference(memoryReference);
+		try {
+			args.setOffset(Math.toIntExact(offset));
+		} catch (ArithmeticException e) {
+			throw newTargetRequestFailedException("Offset out of range: " + offset, e);
+		}
+		args.setData(Base64.getEncoder().encodeToString(bytes));
+		try {
+			complete(getDebugProtocolServer().writeMemory(args));
+		} finally {
+			memoryChanged();
+		}
+	}
+
+	@Override
+	public void memory(MemoryEventArguments args) {
+		// memory references may overlap, so all pages are dropped
+		executor.execute(this::memoryChanged);
+	}
+
+	private void memoryChanged() {
+		clearMemory();
+		for (IMemoryBlock block : DebugPlugin.getDefault().getMemoryBlockManager().getMemoryBlocks(this)) {
+			if (block instanceof DSPMemoryBlock memoryBlock) {
+				memoryBlock.fireChangeEvent(DebugEvent.CONTENT);
+			}
+		}
+	}
+
+	/**
+	 * Drops the cached pages of memory.
+	 */
+	void clearMemory() {
+		memoryPages.clear();
 	}
 
 	@Override
@@ -632,7 +955,7 @@ private CompletableFuture<?> triggerUpdateThreads() {
 			if (contentChanged) {
 				fireChangeEvent(DebugEvent.CONTENT);
 			}
-		});
+		}, executor);
 	}
 
 	@Override
@@ -789,4 +1112,41 @@ public IDebugProtocolServer getDebugProtocolServer() {
 	public @Nullable Capabilities getCapabilities() {
 		return capabilitiesFuture.getNow(null);
 	}
+
+	/**
+	 * Returns a page of the indexed children of a variable, requesting it from
+	 * the debug adapter unless it has been requested since the debuggee
+	 * suspended.
+	 *
+	 * @param variablesReference
+	 *            the variables reference of the parent of the indexed variables
+	 * @param start
+	 *            the index of the first variable of the page
+	 * @param count
+	 *            the number of variables of the page
+	 */
+	public IVariable[] getIndexedVariables(Integer variablesReference, int start, int count) throws DebugException {
+		final var page = new VariablesPage(variablesReference, start, count);
+		final IVariable[] cached = variablesPages.get(page);
+		if (cached != null) {
+			return cached;
+		}
+		final var arguments = new VariablesArguments();
+		arguments.setVariablesReference(variablesReference);
+		arguments.setFilter(VariablesArgumentsFilter.INDEXED);
+		arguments.setStart(start);
+		arguments.setCount(count);
+		final IVariable[] variables = DSPValue.toVariables(this, variablesReference,
+				complete(getDebugProtocolServer().variables(arguments)).getVariables());
+		variablesPages.put(page, variables);
+		return variables;
+	}
+
+	/**
+	 * Drops the cached pages of indexed variables, must be called when the
+	 * debuggee resumes.
+	 */
+	void clearIndexedVariables() {
+		variablesPages.clear();
+	}
 }
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.debugmodel;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads of the debug targets: each target reads the messages of its debug
+ * adapter in its own thread, while the handling of events and the
+ * continuations of requests run in a pool shared by all targets, whose size
+ * does not depend on the number of targets. Tasks that wait, such as the
+ * initialization of a child target, run in threads of their own.
+ */
+final class DSPExecutors {
+
+	private static final int CONTINUATION_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+	private static final ThreadPoolExecutor CONTINUATIONS = new ThreadPoolExecutor(CONTINUATION_THREADS,
+			CONTINUATION_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+			threadFactory("DSP continuations")); //$NON-NLS-1$
+
+	static {
+		CONTINUATIONS.allowCoreThreadTimeOut(true);
+	}
+
+	private static final ThreadFactory WAITING_THREADS = threadFactory("DSP waiting task"); //$NON-NLS-1$
+
+	private DSPExecutors() {
+	}
+
+	/**
+	 * @return the executor shared by all targets for continuations, which must
+	 *         not wait for other continuations
+	 */
+	static Executor continuations() {
+		return CONTINUATIONS;
+	}
+
+	/**
+	 * @return an executor running each task in a new thread, for tasks which wait
+	 *         for other tasks and so must not run in {@link #continuations()}
+	 */
+	static Executor waitingTasks() {
+		return task -> WAITING_THREADS.newThread(task).start();
+	}
+
+	/**
+	 * @return a new executor with a single thread, to read the messages of a debug
+	 *         adapter
+	 */
+	static ExecutorService newReader(String name) {
+		return Executors.newSingleThreadExecutor(threadFactory(name));
+	}
+
+	private static ThreadFactory threadFactory(String name) {
+		final var count = new AtomicInteger();
+		return runnable -> {
+			final var thread = new Thread(runnable, name + " #" + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.debugmodel;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IMemoryBlockExtension;
+import org.eclipse.debug.core.model.IMemoryBlockRetrieval;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.DSPPlugin;
+
+/**
+ * Memory starting at a memory reference of the debug adapter, read with
+ * {@code readMemory} and written with {@code writeMemory} requests. Reads go
+ * through the page cache of the {@link DSPDebugTarget}.
+ */
+public class DSPMemoryBlock extends DSPDebugElement implements IMemoryBlockExtension {
+
+	private static final int ADDRESS_SIZE = 8;
+	private static final BigInteger MAX_ADDRESS = BigInteger.ONE.shiftLeft(ADDRESS_SIZE * 8)
+			.subtract(BigInteger.ONE);
+
+	private final String expression;
+	private final String memoryReference;
+	private final BigInteger baseAddress;
+	private final long length;
+	private final List<Object> connections = new ArrayList<>();
+
+	/**
+	 * @param expression
+	 *            the expression the user entered
+	 * @param memoryReference
+	 *            the memory reference of the debug adapter the block starts at
+	 * @param length
+	 *            the length of the block, or -1 if it is not bounded
+	 */
+	DSPMemoryBlock(DSPDebugTarget debugTarget, String expression, String memoryReference, long length) {
+		super(debugTarget);
+		this.expression = expression;
+		this.memoryReference = memoryReference;
+		final BigInteger address = parseAddress(memoryReference);
+		// the addresses of memory references which are not addresses are relative
+		this.baseAddress = address == null ? BigInteger.ZERO : address;
+		this.length = length;
+	}
+
+	/**
+	 * Parses an address of the debug protocol, which is hexadecimal when prefixed
+	 * with {@code 0x} and decimal otherwise.
+	 *
+	 * @return the address or {@code null} if the given text is not an address
+	 */
+	static @Nullable BigInteger parseAddress(@Nullable String address) {
+		if (address == null) {
+			return null;
+		}
+		try {
+			final String trimmed = address.trim();
+			if (trimmed.startsWith("0x") || trimmed.startsWith("0X")) { //$NON-NLS-1$ //$NON-NLS-2$
+				return new BigInteger(trimmed.substring(2), 16);
+			}
+			return new BigInteger(trimmed);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	String getMemoryReference() {
+		return memoryReference;
+	}
+
+	@Override
+	public String getExpression() {
+		return expression;
+	}
+
+	@Override
+	public long getStartAddress() {
+		return baseAddress.longValue();
+	}
+
+	@Override
+	public long getLength() {
+		return length;
+	}
+
+	@Override
+	public byte[] getBytes() throws DebugException {
+		if (length <= 0) {
+			return new byte[0];
+		}
+		final MemoryByte[] memoryBytes = getBytesFromOffset(BigInteger.ZERO, length);
+		final var bytes = new byte[memoryBytes.length];
+		for (int i = 0; i < memoryBytes.length; i++) {
+			bytes[i] = memoryBytes[i].getValue();
+		}
+		return bytes;
+	}
+
+	@Override
+	public boolean supportsValueModification() {
+		final var capabilities = getDebugTarget().getCapabilities();
+		return capabilities != null && Boolean.TRUE.equals(capabilities.getSupportsWriteMemoryRequest());
+	}
+
+	@Override
+	public void setValue(long offset, byte[] bytes) throws DebugException {
+		setValue(BigInteger.valueOf(offset), bytes);
+	}
+
+	@Override
+	public void setValue(BigInteger offset, byte[] bytes) throws DebugException {
+		getDebugTarget().writeMemory(memoryReference, toOffset(offset), bytes);
+	}
+
+	@Override
+	public BigInteger getBigBaseAddress() {
+		return baseAddress;
+	}
+
+	@Override
+	public BigInteger getMemoryBlockStartAddress() {
+		return length < 0 ? BigInteger.ZERO : baseAddress;
+	}
+
+	@Override
+	public BigInteger getMemoryBlockEndAddress() {
+		return length < 0 ? MAX_ADDRESS : baseAddress.add(BigInteger.valueOf(length - 1));
+	}
+
+	@Override
+	public BigInteger getBigLength() {
+		return getMemoryBlockEndAddress().subtract(getMemoryBlockStartAddress()).add(BigInteger.ONE);
+	}
+
+	@Override
+	public int getAddressSize() {
+		return ADDRESS_SIZE;
+	}
+
+	@Override
+	public boolean supportBaseAddressModification() {
+		return false;
+	}
+
+	@Override
+	public boolean supportsChangeManagement() {
+		return false;
+	}
+
+	@Override
+	public void setBaseAddress(BigInteger address) throws DebugException {
+		throw new DebugException(new Status(IStatus.ERROR, DSPPlugin.PLUGIN_ID, DebugException.NOT_SUPPORTED,
+				"The base address of the memory block can't be modified", null));
+	}
+
+	@Override
+	public MemoryByte[] getBytesFromOffset(BigInteger unitOffset, long addressableUnits) throws DebugException {
+		return getDebugTarget().readMemory(memoryReference, toOffset(unitOffset), toCount(addressableUnits));
+	}
+
+	@Override
+	public MemoryByte[] getBytesFromAddress(BigInteger address, long units) throws DebugException {
+		return getBytesFromOffset(address.subtract(baseAddress), units);
+	}
+
+	private static long toOffset(BigInteger offset) throws DebugException {
+		try {
+			return offset.longValueExact();
+		} catch (ArithmeticException e) {
+			throw newTargetRequestFailedException("Offset out of range: " + offset, e);
+		}
+	}
+
+	private static int toCount(long count) throws DebugException {
+		try {
+			return Math.toIntExact(count);
+		} catch (ArithmeticException e) {
+			throw newTargetRequestFailedException("Too many bytes requested: " + count, e);
+		}
+	}
+
+	@Override
+	public synchronized void connect(Object client) {
+		if (!connections.contains(client)) {
+			connections.add(client);
+		}
+	}
+
+	@Override
+	public synchronized void disconnect(Object client) {
+		connections.remove(client);
+	}
+
+	@Override
+	public synchronized Object[] getConnections() {
+		return connections.toArray();
+	}
+
+	@Override
+	public void dispose() {
+		// the cached pages are shared by the blocks of the target
+	}
+
+	@Override
+	public IMemoryBlockRetrieval getMemoryBlockRetrieval() {
+		return getDebugTarget();
+	}
+
+	@Override
+	public int getAddressableSize() {
+		return 1;
+	}
+}
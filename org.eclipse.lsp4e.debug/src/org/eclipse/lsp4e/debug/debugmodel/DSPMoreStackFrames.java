@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.debugmodel;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.lsp4j.debug.StackFrame;
+import org.eclipse.lsp4j.debug.StackFramePresentationHint;
+
+/**
+ * Placeholder shown below the loaded frames of a thread whose stack has more
+ * frames. The next frames are requested once the debug view retrieves the
+ * placeholder to show it, i.e. when the user scrolls to the end of the loaded
+ * frames. It cannot be stepped, resumed, suspended nor terminated.
+ */
+final class DSPMoreStackFrames extends DSPStackFrame {
+
+	private static final IVariable[] NO_VARIABLES = new IVariable[0];
+	private static final String NAME = "<loading more frames...>";
+
+	DSPMoreStackFrames(DSPThread thread, int depth) {
+		super(thread, createStackFrame(), depth);
+	}
+
+	private static StackFrame createStackFrame() {
+		final var stackFrame = new StackFrame();
+		stackFrame.setId(-1);
+		stackFrame.setName(NAME);
+		stackFrame.setPresentationHint(StackFramePresentationHint.LABEL);
+		return stackFrame;
+	}
+
+	@Override
+	public boolean hasVariables() {
+		return false;
+	}
+
+	@Override
+	public IVariable[] getVariables() {
+		return NO_VARIABLES;
+	}
+
+	@Override
+	public CompletableFuture<IVariable[]> getVariablesAsync() {
+		return CompletableFuture.completedFuture(NO_VARIABLES);
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public boolean canTerminate() {
+		return false;
+	}
+
+	@Override
+	public void terminate() {
+	}
+
+	@Override
+	public boolean canSuspend() {
+		return false;
+	}
+
+	@Override
+	public void suspend() {
+	}
+
+	@Override
+	public boolean canResume() {
+		return false;
+	}
+
+	@Override
+	public void resume() {
+	}
+
+	@Override
+	public boolean canStepInto() {
+		return false;
+	}
+
+	@Override
+	public void stepInto() {
+	}
+
+	@Override
+	public boolean canStepOver() {
+		return false;
+	}
+
+	@Override
+	public void stepOver() {
+	}
+
+	@Override
+	public boolean canStepReturn() {
+		return false;
+	}
+
+	@Override
+	public void stepReturn() {
+	}
+}
@@ -137,20 +137,30 @@ public boolean hasRegisterGroups() throws DebugException {
 
 	@Override
 	public IVariable[] getVariables() throws DebugException {
-		var cachedVariables = this.cachedVariables;
-		if (cachedVariables == null) {
-			final var arguments = new ScopesArguments();
-			arguments.setFrameId(stackFrame.getId());
-			Scope[] scopes = complete(getDebugTarget().getDebugProtocolServer().scopes(arguments)).getScopes();
+		return complete(getVariablesAsync());
+	}
+
+	/**
+	 * Non-blocking variant of {@link #getVariables()}.
+	 *
+	 * @return future with the scopes of this frame
+	 */
+	public CompletableFuture<IVariable[]> getVariablesAsync() {
+		final var cachedVariables = this.cachedVariables;
+		if (cachedVariables != null) {
+			return CompletableFuture.completedFuture(cachedVariables);
+		}
+		final var arguments = new ScopesArguments();
+		arguments.setFrameId(stackFrame.getId());
+		return getDebugTarget().getDebugProtocolServer().scopes(arguments).thenApply(response -> {
 			final var vars = new ArrayList<DSPVariable>();
-			for (Scope scope : scopes) {
+			for (Scope scope : response.getScopes()) {
 				final var variable = new DSPVariable(getDebugTarget(), -1, scope.getName(), "",
-						scope.getVariablesReference());
+						scope.getVariablesReference(), scope.getIndexedVariables(), scope.getNamedVariables());
 				vars.add(variable);
 			}
-			cachedVariables = this.cachedVariables = vars.toArray(IVariable[]::new);
-		}
-		return cachedVariables;
+			return this.cachedVariables = vars.toArray(IVariable[]::new);
+		});
 	}
 
 	@Override
@@ -239,7 +249,8 @@ public CompletableFuture<IVariable> evaluate(String expression) {
 		args.setExpression(expression);
 		CompletableFuture<EvaluateResponse> evaluate = getDebugProtocolServer().evaluate(args);
 		CompletableFuture<IVariable> future = evaluate.thenApply(res -> new DSPVariable(getDebugTarget(),
-				res.getVariablesReference(), expression, res.getResult(), res.getVariablesReference()));
+				res.getVariablesReference(), expression, res.getResult(), res.getVariablesReference(),
+				res.getIndexedVariables(), res.getNamedVariables()));
 		return future;
 
 	}
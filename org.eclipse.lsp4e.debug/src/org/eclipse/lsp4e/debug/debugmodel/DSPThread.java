@@ -40,14 +40,34 @@ public class DSPThread extends DSPDebugElement implements IThread {
 	private static final IStackFrame[] NO_STACK_FRAMES = new IStackFrame[0];
 	private static final IBreakpoint[] NO_BREAKPOINTS = new IBreakpoint[0];
 
+	/**
+	 * Number of stack frames requested at once. Only the top frames are requested
+	 * when the thread suspends, the others when the user scrolls to the end of the
+	 * loaded frames.
+	 */
+	private static final int STACK_FRAMES_PAGE_SIZE = 20;
+
 	private final Integer id;
 	/**
 	 * The name may not be known, if it is requested we will ask for it from the
 	 * target.
 	 */
 	private @Nullable String name;
+	/**
+	 * The frames of the stack, beyond {@link #loadedFrames} the frames of a
+	 * previous suspend which may be reused once the same depth is loaded again.
+	 */
 	private final List<DSPStackFrame> frames = Collections.synchronizedList(new ArrayList<>());
 	private final AtomicBoolean refreshFrames = new AtomicBoolean(true);
+	/** number of frames of the current suspend, guarded by {@link #frames} */
+	private int loadedFrames;
+	/** incremented whenever the frames are refreshed, guarded by {@link #frames} */
+	private int framesGeneration;
+	/** shown below the loaded frames if the stack has more frames, guarded by {@link #frames} */
+	private @Nullable DSPMoreStackFrames moreFrames;
+	/** the request of the first page of the current frames, guarded by {@link #frames} */
+	private CompletableFuture<Void> loadingFrames = CompletableFuture.completedFuture(null);
+	private boolean loadingMoreFrames;
 	private boolean stepping;
 	private boolean isSuspended = false;
 
@@ -104,12 +124,15 @@ public boolean canTerminate() {
 	public void continued() {
 		isSuspended = false;
 		refreshFrames.set(true);
+		getDebugTarget().clearIndexedVariables();
+		getDebugTarget().clearMemory();
 	}
 
 	public void stopped() {
 		isSuspended = true;
 		stepping = false;
-		frames.clear();
+		// the frames are kept to be reused by the next refresh
+		refreshFrames.set(true);
 	}
 
 	@Override
@@ -231,36 +254,8 @@ public boolean hasStackFrames() throws DebugException {
 
 	@Override
 	public IStackFrame[] getStackFrames() throws DebugException {
-		if (!isSuspended()) {
-			return NO_STACK_FRAMES;
-		}
-		if (!refreshFrames.getAndSet(false)) {
-			synchronized (frames) {
-				return frames.toArray(DSPStackFrame[]::new);
-			}
-		}
 		try {
-			final var arguments = new StackTraceArguments();
-			arguments.setThreadId(id);
-			// TODO implement paging to get rest of frames
-			arguments.setStartFrame(0);
-			arguments.setLevels(20);
-			CompletableFuture<DSPStackFrame[]> future = getDebugTarget().getDebugProtocolServer().stackTrace(arguments)
-					.thenApply(response -> {
-						synchronized (frames) {
-							StackFrame[] backendFrames = response.getStackFrames();
-							for (int i = 0; i < backendFrames.length; i++) {
-								if (i < frames.size()) {
-									frames.set(i, frames.get(i).replace(backendFrames[i], i));
-								} else {
-									frames.add(new DSPStackFrame(this, backendFrames[i], i));
-								}
-							}
-							frames.subList(backendFrames.length, frames.size()).clear();
-							return frames.toArray(DSPStackFrame[]::new);
-						}
-					});
-			return future.get();
+			return getStackFramesAsync().get();
 		} catch (RuntimeException | ExecutionException e) {
 			if (isTerminated()) {
 				return NO_STACK_FRAMES;
@@ -272,6 +267,112 @@ public IStackFrame[] getStackFrames() throws DebugException {
 		}
 	}
 
+	/**
+	 * Non-blocking variant of {@link #getStackFrames()}.
+	 *
+	 * @return future with the first page of frames, followed by a placeholder if
+	 *         the stack has more frames
+	 */
+	public CompletableFuture<IStackFrame[]> getStackFramesAsync() {
+		if (!isSuspended()) {
+			return CompletableFuture.completedFuture(NO_STACK_FRAMES);
+		}
+		final CompletableFuture<Void> loading;
+		synchronized (frames) {
+			if (!refreshFrames.getAndSet(false)) {
+				// callers during the refresh wait for its first page too
+				return loadingFrames.handle((v, e) -> getLoadedFrames());
+			}
+			final int generation = ++framesGeneration;
+			loadedFrames = 0;
+			moreFrames = null;
+			loading = loadingFrames = loadFrames(0, generation);
+		}
+		return loading.thenApply(v -> getLoadedFrames());
+	}
+
+	private IStackFrame[] getLoadedFrames() {
+		synchronized (frames) {
+			final var moreFrames = this.moreFrames;
+			final var result = new IStackFrame[loadedFrames + (moreFrames == null ? 0 : 1)];
+			frames.subList(0, loadedFrames).toArray(result);
+			if (moreFrames != null) {
+				result[loadedFrames] = moreFrames;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Requests a page of frames, starting at the given depth, and merges it into
+	 * the frames of this thread. Frames of the same source at the same depth are
+	 * reused.
+	 *
+	 * @param generation
+	 *            the {@link #framesGeneration} the page belongs to, the page is
+	 *            dropped if the frames have been refreshed in the meantime
+	 */
+	private CompletableFuture<Void> loadFrames(int startFrame, int generation) {
+		final var arguments = new StackTraceArguments();
+		arguments.setThreadId(id);
+		arguments.setStartFrame(startFrame);
+		arguments.setLevels(STACK_FRAMES_PAGE_SIZE);
+		return getDebugTarget().getDebugProtocolServer().stackTrace(arguments).thenAccept(response -> {
+			synchronized (frames) {
+				if (generation != framesGeneration || startFrame != loadedFrames) {
+					return;
+				}
+				StackFrame[] backendFrames = response.getStackFrames();
+				for (int i = 0; i < backendFrames.length; i++) {
+					final int depth = startFrame + i;
+					if (depth < frames.size()) {
+						frames.set(depth, frames.get(depth).replace(backendFrames[i], depth));
+					} else {
+						frames.add(new DSPStackFrame(this, backendFrames[i], depth));
+					}
+				}
+				loadedFrames = startFrame + backendFrames.length;
+				// the end of the stack is reached when less frames than requested are returned
+				final Integer totalFrames = response.getTotalFrames();
+				if (backendFrames.length == STACK_FRAMES_PAGE_SIZE
+						&& (totalFrames == null || totalFrames.intValue() > loadedFrames)) {
+					moreFrames = new DSPMoreStackFrames(this, loadedFrames);
+				} else {
+					moreFrames = null;
+					frames.subList(loadedFrames, frames.size()).clear();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Requests the next page of frames, if the stack has more frames than loaded,
+	 * and notifies the debug view once they are loaded. Called when the
+	 * placeholder below the loaded frames is retrieved to be shown.
+	 */
+	public void loadMoreFrames() {
+		final int startFrame;
+		final int generation;
+		synchronized (frames) {
+			if (loadingMoreFrames || moreFrames == null || !isSuspended()) {
+				return;
+			}
+			loadingMoreFrames = true;
+			startFrame = loadedFrames;
+			generation = framesGeneration;
+		}
+		loadFrames(startFrame, generation).whenComplete((result, e) -> {
+			synchronized (frames) {
+				loadingMoreFrames = false;
+			}
+			if (e == null) {
+				fireChangeEvent(DebugEvent.CONTENT);
+			} else if (!isTerminated()) {
+				DSPPlugin.logError("Failed to load stack frames", e);
+			}
+		});
+	}
+
 	@Override
 	public int getPriority() throws DebugException {
 		return 0;
@@ -9,6 +9,9 @@
 package org.eclipse.lsp4e.debug.debugmodel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IValue;
@@ -16,6 +19,7 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4j.debug.Variable;
 import org.eclipse.lsp4j.debug.VariablesArguments;
+import org.eclipse.lsp4j.debug.VariablesArgumentsFilter;
 
 public final class DSPValue extends DSPDebugElement implements IValue {
 
@@ -24,42 +28,98 @@ public final class DSPValue extends DSPDebugElement implements IValue {
 	private final @Nullable DSPVariable modelVariable;
 	private final Integer variablesReference;
 	private final String value;
+	private final @Nullable Integer indexedVariables;
+	private final @Nullable Integer namedVariables;
 	private IVariable @Nullable [] cachedVariables;
 
 	public DSPValue(DSPVariable variable, Integer variablesReference, String value) {
+		this(variable, variablesReference, value, null, null);
+	}
+
+	/**
+	 * @param indexedVariables
+	 *            the number of indexed children, as reported by the debug adapter
+	 * @param namedVariables
+	 *            the number of named children, as reported by the debug adapter
+	 */
+	public DSPValue(DSPVariable variable, Integer variablesReference, String value,
+			@Nullable Integer indexedVariables, @Nullable Integer namedVariables) {
 		super(variable.getDebugTarget());
 		this.modelVariable = variable;
 		this.variablesReference = variablesReference;
 		this.value = value;
+		this.indexedVariables = indexedVariables;
+		this.namedVariables = namedVariables;
 	}
 
 	public DSPValue(DSPDebugTarget debugger, Integer variablesReference, String value) {
+		this(debugger, variablesReference, value, null, null);
+	}
+
+	public DSPValue(DSPDebugTarget debugger, Integer variablesReference, String value,
+			@Nullable Integer indexedVariables, @Nullable Integer namedVariables) {
 		super(debugger);
 		this.modelVariable = null;
 		this.variablesReference = variablesReference;
 		this.value = value;
+		this.indexedVariables = indexedVariables;
+		this.namedVariables = namedVariables;
 	}
 
 	@Override
 	public IVariable @Nullable [] getVariables() throws DebugException {
-		if (!hasVariables()) {
-			return NO_VARIABLES;
+		return complete(getVariablesAsync());
+	}
+
+	/**
+	 * Non-blocking variant of {@link #getVariables()}.
+	 *
+	 * @return future with the children of this value
+	 */
+	public CompletableFuture<IVariable[]> getVariablesAsync() {
+		if (variablesReference == null || variablesReference <= 0) {
+			return CompletableFuture.completedFuture(NO_VARIABLES);
 		}
-		if (cachedVariables == null) {
+		final var cachedVariables = this.cachedVariables;
+		if (cachedVariables != null) {
+			return CompletableFuture.completedFuture(cachedVariables);
+		}
+		final Integer indexedVariables = this.indexedVariables;
+		if (indexedVariables != null && indexedVariables > DSPVariablePartition.PARTITION_SIZE) {
+			// large collections are shown in ranges of indexed variables, which are
+			// requested page by page when expanded
+			final List<DSPVariablePartition> partitions = DSPVariablePartition.partition(getDebugTarget(),
+					variablesReference, 0, indexedVariables);
+			if (namedVariables != null && namedVariables == 0) {
+				return CompletableFuture
+						.completedFuture(this.cachedVariables = partitions.toArray(IVariable[]::new));
+			}
 			final var arguments = new VariablesArguments();
 			arguments.setVariablesReference(variablesReference);
-			Variable[] targetVariables = complete(getDebugTarget().getDebugProtocolServer().variables(arguments))
-					.getVariables();
-
-			final var variables = new ArrayList<DSPVariable>();
-			for (Variable variable : targetVariables) {
-				variables.add(new DSPVariable(getDebugTarget(), variablesReference, variable.getName(),
-						variable.getValue(), variable.getVariablesReference()));
-			}
+			arguments.setFilter(VariablesArgumentsFilter.NAMED);
+			return getDebugTarget().getDebugProtocolServer().variables(arguments).thenApply(response -> {
+				final var variables = new ArrayList<IVariable>(
+						Arrays.asList(toVariables(getDebugTarget(), variablesReference, response.getVariables())));
+				variables.addAll(partitions);
+				return this.cachedVariables = variables.toArray(IVariable[]::new);
+			});
+		}
+		final var arguments = new VariablesArguments();
+		arguments.setVariablesReference(variablesReference);
+		return getDebugTarget().getDebugProtocolServer().variables(arguments).thenApply(
+				response -> this.cachedVariables = toVariables(getDebugTarget(), variablesReference,
+						response.getVariables()));
+	}
 
-			cachedVariables = variables.toArray(DSPVariable[]::new);
+	static IVariable[] toVariables(DSPDebugTarget debugTarget, Integer variablesReference,
+			Variable[] targetVariables) {
+		final var variables = new DSPVariable[targetVariables.length];
+		for (int i = 0; i < targetVariables.length; i++) {
+			final Variable variable = targetVariables[i];
+			variables[i] = new DSPVariable(debugTarget, variablesReference, variable.getName(), variable.getValue(),
+					variable.getVariablesReference(), variable.getIndexedVariables(), variable.getNamedVariables());
 		}
-		return cachedVariables;
+		return variables;
 	}
 
 	@Override
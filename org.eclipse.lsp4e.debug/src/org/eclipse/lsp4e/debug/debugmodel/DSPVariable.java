@@ -15,6 +15,7 @@
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.model.IValue;
 import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4j.debug.SetVariableArguments;
 import org.eclipse.lsp4j.debug.ValueFormat;
 import org.eclipse.lsp4j.debug.services.IDebugProtocolServer;
@@ -27,10 +28,16 @@ public class DSPVariable extends DSPDebugElement implements IVariable {
 
 	public DSPVariable(DSPDebugTarget debugTarget, Integer parentVariablesReference, String name, String value,
 			Integer childrenVariablesReference) {
+		this(debugTarget, parentVariablesReference, name, value, childrenVariablesReference, null, null);
+	}
+
+	public DSPVariable(DSPDebugTarget debugTarget, Integer parentVariablesReference, String name, String value,
+			Integer childrenVariablesReference, @Nullable Integer indexedVariables,
+			@Nullable Integer namedVariables) {
 		super(debugTarget);
 		this.parentVariablesReference = parentVariablesReference;
 		this.name = name;
-		this.dspValue = new DSPValue(this, childrenVariablesReference, value);
+		this.dspValue = new DSPValue(this, childrenVariablesReference, value, indexedVariables, namedVariables);
 	}
 
 	@Override
@@ -46,9 +53,10 @@ public void setValue(String expression) throws DebugException {
 			if (v == null) {
 				v = expression;
 			}
-			this.dspValue = new DSPValue(this, res.getVariablesReference(), v);
+			this.dspValue = new DSPValue(this, res.getVariablesReference(), v, res.getIndexedVariables(),
+					res.getNamedVariables());
 			this.fireChangeEvent(DebugEvent.CONTENT);
-		});
+		}, getDebugTarget().getExecutor());
 	}
 
 	@Override
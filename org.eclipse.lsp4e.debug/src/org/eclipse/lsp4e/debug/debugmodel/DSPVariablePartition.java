@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.debugmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IValue;
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A range of the indexed children of a variable, like {@code [0..99]}. The
+ * children of a range are either smaller ranges or, for ranges of at most
+ * {@link #PARTITION_SIZE} elements, the indexed variables themselves, which are
+ * requested from the debug adapter when the range is expanded.
+ */
+public final class DSPVariablePartition extends DSPDebugElement implements IVariable {
+
+	/**
+	 * Maximum number of children of a variable or range, the same default as the
+	 * array partitions of the Variables view.
+	 */
+	static final int PARTITION_SIZE = 100;
+
+	private final Integer variablesReference;
+	private final int offset;
+	private final int length;
+	private final PartitionValue value = new PartitionValue();
+
+	private final class PartitionValue extends DSPDebugElement implements IValue {
+		private IVariable @Nullable [] cachedPartitions;
+
+		PartitionValue() {
+			super(DSPVariablePartition.this.getDebugTarget());
+		}
+
+		@Override
+		public String getReferenceTypeName() {
+			return ""; //$NON-NLS-1$
+		}
+
+		@Override
+		public String getValueString() {
+			return ""; //$NON-NLS-1$
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return true;
+		}
+
+		@Override
+		public IVariable[] getVariables() throws DebugException {
+			if (length <= PARTITION_SIZE) {
+				// pages are cached by the debug target, until the debuggee resumes
+				return getDebugTarget().getIndexedVariables(variablesReference, offset, length);
+			}
+			var cachedPartitions = this.cachedPartitions;
+			if (cachedPartitions == null) {
+				cachedPartitions = this.cachedPartitions = partition(getDebugTarget(), variablesReference, offset,
+						length).toArray(IVariable[]::new);
+			}
+			return cachedPartitions;
+		}
+
+		@Override
+		public boolean hasVariables() {
+			return length > 0;
+		}
+	}
+
+	private DSPVariablePartition(DSPDebugTarget debugTarget, Integer variablesReference, int offset, int length) {
+		super(debugTarget);
+		this.variablesReference = variablesReference;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Splits the given range of indexed variables into at most
+	 * {@link #PARTITION_SIZE} ranges, whose sizes are powers of
+	 * {@link #PARTITION_SIZE}.
+	 */
+	static List<DSPVariablePartition> partition(DSPDebugTarget debugTarget, Integer variablesReference, int offset,
+			int length) {
+		long partitionSize = PARTITION_SIZE;
+		while (partitionSize * PARTITION_SIZE < length) {
+			partitionSize *= PARTITION_SIZE;
+		}
+		final var partitions = new ArrayList<DSPVariablePartition>();
+		for (long start = offset; start < offset + length; start += partitionSize) {
+			partitions.add(new DSPVariablePartition(debugTarget, variablesReference, (int) start,
+					(int) Math.min(partitionSize, offset + length - start)));
+		}
+		return partitions;
+	}
+
+	@Override
+	public void setValue(String expression) throws DebugException {
+		// ranges can't be modified
+	}
+
+	@Override
+	public void setValue(IValue value) throws DebugException {
+		// ranges can't be modified
+	}
+
+	@Override
+	public boolean supportsValueModification() {
+		return false;
+	}
+
+	@Override
+	public boolean verifyValue(String expression) throws DebugException {
+		return false;
+	}
+
+	@Override
+	public boolean verifyValue(IValue value) throws DebugException {
+		return false;
+	}
+
+	@Override
+	public IValue getValue() {
+		return value;
+	}
+
+	@Override
+	public String getName() {
+		return "[" + offset + ".." + (offset + length - 1) + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Override
+	public String getReferenceTypeName() {
+		return ""; //$NON-NLS-1$
+	}
+
+	@Override
+	public boolean hasValueChanged() {
+		return false;
+	}
+}
@@ -58,7 +58,8 @@ public boolean hasErrors() {
 
 			@Override
 			public @Nullable IValue getValue() {
-				return new DSPValue(dapDebugger, res.getVariablesReference(), res.getResult());
+				return new DSPValue(dapDebugger, res.getVariablesReference(), res.getResult(),
+						res.getIndexedVariables(), res.getNamedVariables());
 			}
 
 			@Override
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.presentation;
+
+import org.eclipse.core.runtime.IAdapterFactory;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementContentProvider;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.debugmodel.DSPStackFrame;
+import org.eclipse.lsp4e.debug.debugmodel.DSPThread;
+import org.eclipse.lsp4e.debug.debugmodel.DSPVariable;
+
+/**
+ * Adapts the elements of the debug model to the providers of their content in
+ * the debug views.
+ */
+public class DSPAdapterFactory implements IAdapterFactory {
+
+	private static final IElementContentProvider THREAD_CONTENT_PROVIDER = new DSPThreadContentProvider();
+	private static final IElementContentProvider STACK_FRAME_CONTENT_PROVIDER = new DSPStackFrameContentProvider();
+	private static final IElementContentProvider VARIABLE_CONTENT_PROVIDER = new DSPVariableContentProvider();
+
+	@Override
+	public <T> @Nullable T getAdapter(@Nullable Object adaptableObject, Class<T> adapterType) {
+		if (adapterType != IElementContentProvider.class) {
+			return null;
+		}
+		if (adaptableObject instanceof DSPThread) {
+			return adapterType.cast(THREAD_CONTENT_PROVIDER);
+		}
+		if (adaptableObject instanceof DSPStackFrame) {
+			return adapterType.cast(STACK_FRAME_CONTENT_PROVIDER);
+		}
+		if (adaptableObject instanceof DSPVariable) {
+			return adapterType.cast(VARIABLE_CONTENT_PROVIDER);
+		}
+		return null;
+	}
+
+	@Override
+	public Class<?>[] getAdapterList() {
+		return new Class<?>[] { IElementContentProvider.class };
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.presentation;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.debugmodel.DSPStackFrame;
+import org.eclipse.lsp4e.debug.debugmodel.DSPThread;
+import org.eclipse.lsp4e.debug.debugmodel.DSPValue;
+import org.eclipse.lsp4e.debug.debugmodel.DSPVariable;
+
+/**
+ * Requests the children of the elements of the debug views with the
+ * non-blocking getters of the debug model, and passes the updates on to the
+ * base content providers once the children are loaded. The jobs of the base
+ * providers then find the children cached, instead of each waiting for the
+ * responses of the debug adapter.
+ */
+final class DSPChildrenLoader {
+
+	private DSPChildrenLoader() {
+	}
+
+	/**
+	 * @return future loading the children of the given element, or {@code null}
+	 *         if the element has no children to load
+	 */
+	static @Nullable CompletableFuture<?> loadChildren(@Nullable Object element) {
+		if (element instanceof DSPThread thread) {
+			return thread.getStackFramesAsync();
+		}
+		if (element instanceof DSPStackFrame frame) {
+			return frame.getVariablesAsync();
+		}
+		if (element instanceof DSPVariable variable) {
+			try {
+				element = variable.getValue();
+			} catch (DebugException e) {
+				return null;
+			}
+		}
+		if (element instanceof DSPValue value) {
+			return value.getVariablesAsync();
+		}
+		return null;
+	}
+
+	/**
+	 * Passes the given updates to the given base provider once the children of
+	 * their elements are loaded. Failures are left to the blocking getters used by
+	 * the base provider, which report them to the view.
+	 *
+	 * @param supportsContext
+	 *            tells whether the base provider shows children in a view, the
+	 *            children of the other views are not loaded
+	 */
+	static <U extends IViewerUpdate> void whenLoaded(U[] updates, Predicate<IPresentationContext> supportsContext,
+			Consumer<U[]> update) {
+		final var loading = new ArrayList<CompletableFuture<?>>();
+		for (final U viewerUpdate : updates) {
+			if (viewerUpdate.isCanceled() || !supportsContext.test(viewerUpdate.getPresentationContext())) {
+				continue;
+			}
+			final CompletableFuture<?> future = loadChildren(viewerUpdate.getElement());
+			if (future != null && !future.isDone()) {
+				loading.add(future);
+			}
+		}
+		if (loading.isEmpty()) {
+			update.accept(updates);
+		} else {
+			CompletableFuture.allOf(loading.toArray(CompletableFuture[]::new))
+					.whenComplete((v, e) -> update.accept(updates));
+		}
+	}
+}
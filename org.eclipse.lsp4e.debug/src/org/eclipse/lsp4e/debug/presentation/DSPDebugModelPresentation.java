@@ -19,6 +19,7 @@
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.model.IDisconnect;
 import org.eclipse.debug.core.model.ILineBreakpoint;
 import org.eclipse.debug.core.model.ITerminate;
@@ -32,9 +33,11 @@
 import org.eclipse.jface.viewers.IFontProvider;
 import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.lsp4e.debug.DSPPlugin;
+import org.eclipse.lsp4e.debug.debugmodel.DSPBreakpointManager;
 import org.eclipse.lsp4e.debug.debugmodel.DSPDebugElement;
 import org.eclipse.lsp4e.debug.debugmodel.DSPStackFrame;
 import org.eclipse.lsp4e.debug.debugmodel.DSPThread;
+import org.eclipse.lsp4j.debug.Breakpoint;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Font;
@@ -86,6 +89,13 @@ public String getText(Object element) {
 						}
 					}
 				}
+			} else if (element instanceof IBreakpoint breakpoint) {
+				final Breakpoint state = DSPBreakpointManager.getReportedState(breakpoint);
+				if (state != null && !state.isVerified()) {
+					final String message = state.getMessage();
+					label.append(message == null || message.isBlank() ? " <unverified>" //$NON-NLS-1$
+							: " <unverified: " + message + '>'); //$NON-NLS-1$
+				}
 			}
 		}
 		if (element instanceof DSPDebugElement debugElement) {
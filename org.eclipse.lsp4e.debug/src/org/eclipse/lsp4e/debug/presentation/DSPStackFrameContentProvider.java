@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.presentation;
+
+import org.eclipse.debug.internal.ui.model.elements.StackFrameContentProvider;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenCountUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenUpdate;
+import org.eclipse.lsp4e.debug.debugmodel.DSPStackFrame;
+
+/**
+ * Provides the scopes of a {@link DSPStackFrame} to the Variables view. The
+ * scopes are requested asynchronously before the updates are passed on.
+ */
+class DSPStackFrameContentProvider extends StackFrameContentProvider {
+
+	@Override
+	public void update(IChildrenCountUpdate[] updates) {
+		DSPChildrenLoader.whenLoaded(updates, this::supportsContext, super::update);
+	}
+
+	@Override
+	public void update(IChildrenUpdate[] updates) {
+		DSPChildrenLoader.whenLoaded(updates, this::supportsContext, super::update);
+	}
+}
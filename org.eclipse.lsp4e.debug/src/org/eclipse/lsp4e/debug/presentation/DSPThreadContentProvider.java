@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.presentation;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.internal.ui.model.elements.ThreadContentProvider;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenCountUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
+import org.eclipse.lsp4e.debug.debugmodel.DSPThread;
+
+/**
+ * Provides the stack frames of a {@link DSPThread} to the Debug view, and
+ * requests the next page of frames once the view retrieves the last element,
+ * i.e. the placeholder shown below the loaded frames, to show it. The frames
+ * are requested asynchronously before the updates are passed on.
+ */
+class DSPThreadContentProvider extends ThreadContentProvider {
+
+	@Override
+	public void update(IChildrenCountUpdate[] updates) {
+		DSPChildrenLoader.whenLoaded(updates, this::supportsContext, super::update);
+	}
+
+	@Override
+	public void update(IChildrenUpdate[] updates) {
+		DSPChildrenLoader.whenLoaded(updates, this::supportsContext, super::update);
+	}
+
+	@Override
+	protected Object[] getChildren(Object parent, int index, int length, IPresentationContext context,
+			IViewerUpdate monitor) throws CoreException {
+		final Object[] children = super.getChildren(parent, index, length, context, monitor);
+		if (parent instanceof DSPThread thread && index + length >= getChildCount(parent, context, monitor)) {
+			thread.loadMoreFrames();
+		}
+		return children;
+	}
+}
@@ -16,12 +16,11 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jdt.ui.text.java.ISemanticTokensProvider;
 import org.eclipse.lsp4e.operations.semanticTokens.AbstractSemanticTokensDataStreamProcessor;
-import org.eclipse.lsp4j.Position;
 
 class JavaSemanticTokensProcessor extends AbstractSemanticTokensDataStreamProcessor<ISemanticTokensProvider.TokenType, ISemanticTokensProvider.SemanticToken> {
 	
 	public JavaSemanticTokensProcessor(final Function<String, ISemanticTokensProvider.@Nullable TokenType> tokenTypeMapper,
-			final Function<Position, Integer> offsetMapper) {
+			final OffsetMapper offsetMapper) {
 		super(offsetMapper, tokenTypeMapper);
 	}
 
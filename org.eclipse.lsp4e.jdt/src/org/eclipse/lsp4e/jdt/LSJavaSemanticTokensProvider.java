@@ -86,9 +86,9 @@ private List<ISemanticTokensProvider.SemanticToken> convertTokens(@Nullable Sema
 		if (legend == null) {
 			return Collections.emptyList();
 		}
-		return new JavaSemanticTokensProcessor(this::mapToTokenType, p -> {
+		return new JavaSemanticTokensProcessor(this::mapToTokenType, (line, character) -> {
 			try {
-				return LSPEclipseUtils.toOffset(p, theDocument);
+				return LSPEclipseUtils.toOffset(line, character, theDocument);
 			} catch (BadLocationException e) {
 				throw new RuntimeException(e);
 			}
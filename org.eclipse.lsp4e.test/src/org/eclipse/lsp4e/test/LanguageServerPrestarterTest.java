@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test;
+
+import static org.eclipse.lsp4e.test.utils.TestUtils.waitForAndAssertCondition;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServerMetrics;
+import org.eclipse.lsp4e.LanguageServerMetrics.Statistics;
+import org.eclipse.lsp4e.LanguageServerPrestarter;
+import org.eclipse.lsp4e.LanguageServerWrapper;
+import org.eclipse.lsp4e.LanguageServiceAccessor;
+import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.ui.IEditorPart;
+import org.junit.jupiter.api.Test;
+
+public class LanguageServerPrestarterTest extends AbstractTestWithProject {
+
+	private static final String SERVER_ID = "org.eclipse.lsp4e.test.server-prestart";
+
+	private List<LanguageServerWrapper> getPrestartServerWrappers() {
+		return LanguageServiceAccessor.getStartedWrappers(project, null, false).stream()
+				.filter(wrapper -> wrapper.serverDefinition.id.equals(SERVER_ID)).toList();
+	}
+
+	/**
+	 * Creates a file of the prestarted server in the project, and reopens the
+	 * project to have the server prestarted for it.
+	 */
+	private LanguageServerWrapper prestart() throws Exception {
+		new LanguageServerPrestarter().earlyStartup();
+		final IFile file = TestUtils.createFile(project, "prestart.lsptPrestart", "");
+		assertEquals(List.of(), getPrestartServerWrappers());
+
+		project.close(null);
+		project.open(null);
+		waitForAndAssertCondition(5_000, () -> getPrestartServerWrappers().size() == 1);
+		final LanguageServerWrapper wrapper = getPrestartServerWrappers().get(0);
+		waitForAndAssertCondition(5_000, wrapper::isActive);
+		assertFalse(wrapper.isConnectedTo(LSPEclipseUtils.toUri(file)));
+		return wrapper;
+	}
+
+	@Test
+	public void testFirstDocumentUsesPrestartedWrapper() throws Exception {
+		final LanguageServerWrapper prestarted = prestart();
+		// warm: initialized before any document is opened
+		prestarted.getInitializeResultAsync().get(5, TimeUnit.SECONDS);
+
+		final IFile file = project.getFile("prestart.lsptPrestart");
+		final IEditorPart editor = TestUtils.openEditor(file);
+		try {
+			final List<LanguageServerWrapper> wrappers = LanguageServiceAccessor.getLSWrappers(file, request -> true)
+					.stream().filter(wrapper -> wrapper.serverDefinition.id.equals(SERVER_ID)).toList();
+			assertEquals(List.of(prestarted), wrappers);
+			waitForAndAssertCondition(5_000, () -> prestarted.isConnectedTo(LSPEclipseUtils.toUri(file)));
+
+			final var params = new HoverParams(new TextDocumentIdentifier(LSPEclipseUtils.toUri(file).toString()),
+					new Position(0, 0));
+			prestarted.execute(ls -> ls.getTextDocumentService().hover(params)).get(2, TimeUnit.SECONDS);
+			assertEquals(
+					List.of(LanguageServerMetrics.FIRST_RESPONSE_PRESTARTED, LanguageServerMetrics.INITIALIZATION),
+					prestarted.getMetrics().getStartupStatistics().stream().map(Statistics::name).toList());
+		} finally {
+			TestUtils.closeEditor(editor, false);
+		}
+	}
+
+	@Test
+	public void testIdleWrapperIsStoppedWhenProjectCloses() throws Exception {
+		final LanguageServerWrapper prestarted = prestart();
+
+		project.close(null);
+		waitForAndAssertCondition(5_000, () -> !prestarted.isActive());
+	}
+}
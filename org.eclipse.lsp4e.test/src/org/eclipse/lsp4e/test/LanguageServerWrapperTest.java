@@ -18,6 +18,7 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
@@ -26,11 +27,16 @@
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.lsp4e.LanguageServerMetrics;
+import org.eclipse.lsp4e.LanguageServerMetrics.Statistics;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServiceAccessor;
 import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
 import org.eclipse.lsp4e.test.utils.TestUtils;
 import org.eclipse.lsp4e.tests.mock.MockConnectionProviderMultiRootFolders;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.ui.IEditorPart;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -69,6 +75,58 @@ public void testConnect() throws Exception {
 		TestUtils.closeEditor(editor2, false);
 	}
 
+	@Test
+	public void testRequestMetrics() throws Exception {
+		IFile testFile = TestUtils.createUniqueTestFile(project, "");
+		IEditorPart editor = TestUtils.openEditor(testFile);
+		LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(testFile, request -> true).iterator().next();
+		waitForAndAssertCondition(2_000, wrapper::isActive);
+
+		LanguageServerMetrics.setEnabled(true);
+		try {
+			final var params = new HoverParams(new TextDocumentIdentifier(testFile.getLocationURI().toString()), new Position(0, 0));
+			// wait for the initialization, requests waiting for it have no dispatcher queue time
+			wrapper.execute(ls -> ls.getTextDocumentService().hover(params)).get(2, TimeUnit.SECONDS);
+			wrapper.getMetrics().reset();
+			for (int i = 0; i < 3; i++) {
+				wrapper.execute(ls -> ls.getTextDocumentService().hover(params)).get(2, TimeUnit.SECONDS);
+			}
+
+			final Statistics hover = wrapper.getMetrics().getRequestStatistics().stream()
+					.filter(statistics -> "textDocument/hover".equals(statistics.name())).findFirst().orElseThrow();
+			assertEquals(3, hover.count());
+			assertEquals(0, hover.errors());
+			assertEquals(0, hover.cancelled());
+			assertTrue(hover.p50() <= hover.p99() && hover.p99() <= hover.max());
+			assertEquals(3, wrapper.getMetrics().getDispatcherStatistics().count());
+		} finally {
+			LanguageServerMetrics.setEnabled(false);
+			TestUtils.closeEditor(editor, false);
+		}
+	}
+
+	@Test
+	public void testStartupMetrics() throws Exception {
+		IFile testFile = TestUtils.createUniqueTestFile(project, "");
+		IEditorPart editor = TestUtils.openEditor(testFile);
+		try {
+			LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(testFile, request -> true).iterator().next();
+			final var params = new HoverParams(new TextDocumentIdentifier(testFile.getLocationURI().toString()), new Position(0, 0));
+			wrapper.execute(ls -> ls.getTextDocumentService().hover(params)).get(2, TimeUnit.SECONDS);
+
+			// startup metrics are recorded even if collecting metrics is disabled
+			final var startup = wrapper.getMetrics().getStartupStatistics();
+			assertEquals(List.of(LanguageServerMetrics.FIRST_RESPONSE, LanguageServerMetrics.INITIALIZATION),
+					startup.stream().map(Statistics::name).toList());
+			for (final Statistics statistics : startup) {
+				assertEquals(1, statistics.count());
+				assertTrue(statistics.max() > 0);
+			}
+		} finally {
+			TestUtils.closeEditor(editor, false);
+		}
+	}
+
 	/**
 	 * Check if {@code isActive()} is correctly synchronized with  {@code stop()}
 	 * @see <a href="https://github.com/eclipse-lsp4e/lsp4e/pull/688">GitHub Pull Request #688</a>
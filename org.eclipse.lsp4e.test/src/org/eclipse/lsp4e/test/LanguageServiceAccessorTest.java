@@ -52,6 +52,7 @@
 import org.eclipse.lsp4e.LanguageServersRegistry;
 import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
 import org.eclipse.lsp4e.test.utils.MappingEnablementTester;
+import org.eclipse.lsp4e.test.utils.TestUtils;
 import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
 import org.eclipse.lsp4e.tests.mock.MockLanguageServerMultiRootFolders;
 import org.eclipse.lsp4e.ui.UI;
@@ -369,6 +370,39 @@ public void testLanguageServerEnablementTester() throws Exception {
 		assertEquals(serverId, wrappers.iterator().next().serverDefinition.id);
 	}
 
+	@Test
+	public void testLanguageServersOfDocumentFollowUserEnablement() throws Exception {
+		var lsDefinition = TestUtils.getDisabledLS();
+		lsDefinition.setUserEnabled(false);
+		try {
+			IDocument document = getDocument(createUniqueTestFile(project, "lspt-disabled", ""));
+			assertNotNull(document);
+			assertFalse(LanguageServers.forDocument(document).anyMatching());
+			assertFalse(LanguageServers.forDocument(document).anyMatching());
+
+			lsDefinition.setUserEnabled(true);
+			assertTrue(LanguageServers.forDocument(document).anyMatching());
+		} finally {
+			lsDefinition.setUserEnabled(false);
+		}
+	}
+
+	@Test
+	public void testLanguageServersOfDocumentFollowEnablementTester() throws Exception {
+		MappingEnablementTester.enabled = false;
+		try {
+			IDocument document = getDocument(createUniqueTestFile(project, "lspt-tester", ""));
+			assertNotNull(document);
+			assertFalse(LanguageServers.forDocument(document).anyMatching());
+
+			// the expression is evaluated again, although no route was invalidated
+			MappingEnablementTester.enabled = true;
+			assertTrue(LanguageServers.forDocument(document).anyMatching());
+		} finally {
+			MappingEnablementTester.enabled = false;
+		}
+	}
+
 	@Test
 	public void testLSforExternalThenLocalFile(@TempDir Path tempDir) throws Exception {
 		var wb = UI.getActiveWindow();
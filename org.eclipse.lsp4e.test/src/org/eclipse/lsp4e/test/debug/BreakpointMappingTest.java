@@ -42,6 +42,15 @@ class BreakpointMappingTest extends AbstractTestWithProject {
 
 	private static class CapturingServer implements IDebugProtocolServer {
 		List<SetBreakpointsArguments> calls = new ArrayList<>();
+		final boolean verified;
+
+		CapturingServer() {
+			this(false);
+		}
+
+		CapturingServer(boolean verified) {
+			this.verified = verified;
+		}
 
 		@Override
 		public CompletableFuture<SetBreakpointsResponse> setBreakpoints(SetBreakpointsArguments arguments) {
@@ -49,7 +58,13 @@ public CompletableFuture<SetBreakpointsResponse> setBreakpoints(SetBreakpointsAr
 				calls.add(arguments);
 			}
 			var resp = new SetBreakpointsResponse();
-			resp.setBreakpoints(new Breakpoint[0]);
+			var bps = new Breakpoint[arguments.getBreakpoints().length];
+			for (int i = 0; i < bps.length; i++) {
+				bps[i] = new Breakpoint();
+				bps[i].setVerified(verified);
+				bps[i].setMessage(verified ? null : "not loaded");
+			}
+			resp.setBreakpoints(bps);
 			return CompletableFuture.completedFuture(resp);
 		}
 	}
@@ -160,4 +175,78 @@ void changing_breakpoint_condition_replaces_existing_entry() throws Exception {
 			manager.shutdown();
 		}
 	}
+
+	@Test
+	void only_changed_sources_are_sent() throws Exception {
+		IFile file = TestUtils.createUniqueTestFile(project, "txt", "first line\nsecond line\n");
+		IFile otherFile = TestUtils.createUniqueTestFile(project, "txt", "first line\nsecond line\n");
+
+		var bp = new DSPLineBreakpoint(file, 1);
+		var otherBp = new DSPLineBreakpoint(otherFile, 2);
+		created.add(bp);
+		created.add(otherBp);
+		DebugPlugin.getDefault().getBreakpointManager().addBreakpoints(new IBreakpoint[] { bp, otherBp });
+
+		var server = new CapturingServer();
+		var manager = new DSPBreakpointManager(DebugPlugin.getDefault().getBreakpointManager(), server, null);
+
+		try {
+			manager.initialize().join();
+			synchronized (server.calls) {
+				assertEquals(2, server.calls.size());
+				server.calls.clear();
+			}
+
+			// the state in the response is kept by the manager, and does not change the
+			// platform breakpoints, which must not be sent again
+			assertFalse(DSPBreakpointManager.getReportedState(bp).isVerified());
+			assertEquals("not loaded", DSPBreakpointManager.getReportedState(otherBp).getMessage());
+			synchronized (server.calls) {
+				assertEquals(List.of(), server.calls);
+			}
+
+			bp.setCondition("x > 0");
+			manager.breakpointChanged(bp, null);
+
+			synchronized (server.calls) {
+				assertEquals(1, server.calls.size());
+				assertEquals(file.getLocation().toOSString(), server.calls.get(0).getSource().getPath());
+			}
+		} finally {
+			manager.shutdown();
+		}
+	}
+
+	@Test
+	void reported_state_is_kept_per_session() throws Exception {
+		IFile file = TestUtils.createUniqueTestFile(project, "txt", "first line\nsecond line\n");
+
+		var bp = new DSPLineBreakpoint(file, 1);
+		created.add(bp);
+		DebugPlugin.getDefault().getBreakpointManager().addBreakpoint(bp);
+
+		var manager = new DSPBreakpointManager(DebugPlugin.getDefault().getBreakpointManager(),
+				new CapturingServer(false), null);
+		var otherManager = new DSPBreakpointManager(DebugPlugin.getDefault().getBreakpointManager(),
+				new CapturingServer(true), null);
+
+		try {
+			manager.initialize().join();
+			assertFalse(DSPBreakpointManager.getReportedState(bp).isVerified());
+
+			// a breakpoint is verified if any session could set it
+			otherManager.initialize().join();
+			assertTrue(DSPBreakpointManager.getReportedState(bp).isVerified());
+
+			otherManager.shutdown();
+			assertEquals("not loaded", DSPBreakpointManager.getReportedState(bp).getMessage());
+
+			manager.shutdown();
+			assertNull(DSPBreakpointManager.getReportedState(bp));
+			assertFalse(bp.getMarker().getAttributes().keySet().stream().anyMatch(key -> key.contains("verif")));
+		} finally {
+			manager.shutdown();
+			otherManager.shutdown();
+		}
+	}
 }
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.lsp4e.debug.debugmodel.DSPDebugTarget;
+import org.eclipse.lsp4e.debug.debugmodel.TransportStreams;
+import org.eclipse.lsp4e.test.utils.AbstractTest;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4j.debug.ContinuedEventArguments;
+import org.eclipse.lsp4j.debug.StartDebuggingRequestArguments;
+import org.eclipse.lsp4j.debug.StartDebuggingRequestArgumentsType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DebugTargetThreadsTest extends AbstractTest {
+
+	private final MockDebugAdapter adapter = new MockDebugAdapter();
+	private DSPDebugTarget target;
+
+	/** completed to let the child targets finish their launch */
+	private final CompletableFuture<Void> launched = new CompletableFuture<>();
+
+	@AfterEach
+	public void terminate() throws Exception {
+		launched.complete(null);
+		if (target != null) {
+			target.terminate();
+		}
+	}
+
+	/**
+	 * Starts the target of {@link #adapter}, whose child targets are connected to
+	 * the given adapters, in order. The children wait for {@link #launched}.
+	 */
+	private void startDebugTarget(List<MockDebugAdapter> children) throws Exception {
+		for (final MockDebugAdapter child : children) {
+			child.launch = args -> launched.thenRun(child::stop);
+		}
+		final var connections = new AtomicInteger();
+		target = MockDebugAdapter.startDebugTarget(adapter, () -> {
+			// the first streams are the unused ones of the target itself
+			final int index = connections.getAndIncrement() - 1;
+			return index < 0
+					? new TransportStreams.DefaultTransportStreams(InputStream.nullInputStream(),
+							OutputStream.nullOutputStream())
+					: children.get(index).connect();
+		});
+	}
+
+	private CompletableFuture<Void> startChild() {
+		final var args = new StartDebuggingRequestArguments();
+		args.setRequest(StartDebuggingRequestArgumentsType.LAUNCH);
+		args.setConfiguration(Map.of("type", "child"));
+		return target.startDebugging(args);
+	}
+
+	private DSPDebugTarget[] children() {
+		return Arrays.stream(target.getLaunch().getDebugTargets()).filter(child -> child != target)
+				.toArray(DSPDebugTarget[]::new);
+	}
+
+	@Test
+	public void testChildTargetIsInitializedInItsOwnThread() throws Exception {
+		final var child = new MockDebugAdapter();
+		startDebugTarget(List.of(child));
+
+		final CompletableFuture<Void> started = startChild();
+		TestUtils.waitForAndAssertCondition(5_000, () -> !child.getRequests(Map.class).isEmpty());
+		final DSPDebugTarget childTarget = children()[0];
+		// the child waits for the response to its launch request
+		assertFalse(started.isDone());
+		assertEquals(1, childTarget.getPendingRequestCount());
+		// without holding a shared thread for the target which started it
+		assertEquals(0, target.getQueuedTaskCount());
+
+		launched.complete(null);
+		started.get(5, TimeUnit.SECONDS);
+		TestUtils.waitForAndAssertCondition(5_000,
+				() -> childTarget.isSuspended() && childTarget.getPendingRequestCount() == 0);
+		assertEquals(0, childTarget.getQueuedTaskCount());
+	}
+
+	@Test
+	public void testWaitingChildTargetsDoNotStarveEvents() throws Exception {
+		// more children than shared threads
+		final int count = Math.max(4, Runtime.getRuntime().availableProcessors()) + 1;
+		final List<MockDebugAdapter> children = IntStream.range(0, count).mapToObj(i -> new MockDebugAdapter())
+				.toList();
+		startDebugTarget(children);
+
+		final List<CompletableFuture<Void>> started = IntStream.range(0, count).mapToObj(i -> startChild()).toList();
+		TestUtils.waitForAndAssertCondition(5_000,
+				() -> children.stream().allMatch(child -> !child.getRequests(Map.class).isEmpty()));
+		assertTrue(started.stream().noneMatch(CompletableFuture::isDone));
+
+		// the events of the target are still handled
+		final var continued = new ContinuedEventArguments();
+		continued.setThreadId(MockDebugAdapter.THREAD_ID);
+		continued.setAllThreadsContinued(true);
+		target.continued(continued);
+		TestUtils.waitForAndAssertCondition(5_000, () -> !MockDebugAdapter.getThread(target).isSuspended());
+		TestUtils.waitForAndAssertCondition(5_000, () -> target.getQueuedTaskCount() == 0);
+
+		launched.complete(null);
+		CompletableFuture.allOf(started.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+		assertEquals(count, children().length);
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.lsp4e.debug.debugmodel.DSPDebugTarget;
+import org.eclipse.lsp4e.debug.debugmodel.DSPVariable;
+import org.eclipse.lsp4e.test.utils.AbstractTest;
+import org.eclipse.lsp4j.debug.Variable;
+import org.eclipse.lsp4j.debug.VariablesArguments;
+import org.eclipse.lsp4j.debug.VariablesArgumentsFilter;
+import org.eclipse.lsp4j.debug.VariablesResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IndexedVariablesTest extends AbstractTest {
+
+	private static final int ARRAY_REFERENCE = 7;
+
+	private final MockDebugAdapter adapter = new MockDebugAdapter();
+	private DSPDebugTarget target;
+
+	@BeforeEach
+	public void startDebugTarget() throws Exception {
+		adapter.variables = args -> {
+			final var response = new VariablesResponse();
+			if (args.getFilter() == VariablesArgumentsFilter.NAMED) {
+				final var length = new Variable();
+				length.setName("length");
+				length.setValue("?");
+				response.setVariables(new Variable[] { length });
+				return CompletableFuture.completedFuture(response);
+			}
+			final int start = args.getStart() == null ? 0 : args.getStart();
+			// all 100 elements of the small array without paging
+			final var variables = new Variable[args.getCount() == null ? 100 : args.getCount()];
+			for (int i = 0; i < variables.length; i++) {
+				variables[i] = new Variable();
+				variables[i].setName("[" + (start + i) + "]");
+				variables[i].setValue(Integer.toString(start + i));
+			}
+			response.setVariables(variables);
+			return CompletableFuture.completedFuture(response);
+		};
+		target = MockDebugAdapter.startDebugTarget(adapter);
+	}
+
+	@AfterEach
+	public void terminate() throws Exception {
+		target.terminate();
+	}
+
+	private IVariable array(int indexedVariables, Integer namedVariables) {
+		return new DSPVariable(target, 1, "array", "int[" + indexedVariables + "]", ARRAY_REFERENCE,
+				indexedVariables, namedVariables);
+	}
+
+	private static List<String> names(IVariable[] variables) {
+		return Arrays.stream(variables).map(variable -> {
+			try {
+				return variable.getName();
+			} catch (DebugException e) {
+				throw new IllegalStateException(e);
+			}
+		}).toList();
+	}
+
+	private List<VariablesArguments> indexedRequests() {
+		return adapter.getRequests(VariablesArguments.class).stream()
+				.filter(args -> args.getFilter() == VariablesArgumentsFilter.INDEXED).toList();
+	}
+
+	@Test
+	public void testSmallArrayIsNotPartitioned() throws Exception {
+		assertEquals(100, array(100, 0).getValue().getVariables().length);
+		final VariablesArguments request = adapter.getRequests(VariablesArguments.class).get(0);
+		assertNull(request.getFilter());
+		assertNull(request.getStart());
+	}
+
+	@Test
+	public void testPartitionSizes() throws Exception {
+		assertEquals(List.of("[0..99]", "[100..199]", "[200..249]"), names(array(250, 0).getValue().getVariables()));
+
+		final IVariable[] large = array(25_000, 0).getValue().getVariables();
+		assertEquals(List.of("[0..9999]", "[10000..19999]", "[20000..24999]"), names(large));
+		final IVariable[] ranges = large[2].getValue().getVariables();
+		assertEquals(50, ranges.length);
+		assertEquals("[20000..20099]", ranges[0].getName());
+		assertEquals("[24900..24999]", ranges[49].getName());
+		// partitions are computed without any request
+		assertEquals(List.of(), adapter.getRequests(VariablesArguments.class));
+	}
+
+	@Test
+	public void testNamedVariablesPrecedePartitions() throws Exception {
+		assertEquals(List.of("length", "[0..99]", "[100..199]", "[200..249]"),
+				names(array(250, null).getValue().getVariables()));
+		assertEquals(VariablesArgumentsFilter.NAMED,
+				adapter.getRequests(VariablesArguments.class).get(0).getFilter());
+	}
+
+	@Test
+	public void testPartitionRequestsItsPage() throws Exception {
+		final IVariable partition = array(250, 0).getValue().getVariables()[2];
+
+		final IVariable[] variables = partition.getValue().getVariables();
+		assertEquals(50, variables.length);
+		assertEquals("[200]", variables[0].getName());
+		assertEquals("249", variables[49].getValue().getValueString());
+		final VariablesArguments request = indexedRequests().get(0);
+		assertEquals(ARRAY_REFERENCE, request.getVariablesReference());
+		assertEquals(200, request.getStart());
+		assertEquals(50, request.getCount());
+
+		// the page is cached until the debuggee resumes
+		assertSame(variables, partition.getValue().getVariables());
+		assertEquals(1, indexedRequests().size());
+		MockDebugAdapter.getThread(target).continued();
+		partition.getValue().getVariables();
+		assertEquals(2, indexedRequests().size());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPagesAreEvicted() throws Exception {
+		for (int page = 0; page < 100; page++) {
+			target.getIndexedVariables(ARRAY_REFERENCE, page * 100, 100);
+		}
+		assertEquals(100, indexedRequests().size());
+		// the first page becomes the most recently used one
+		target.getIndexedVariables(ARRAY_REFERENCE, 0, 100);
+		assertEquals(100, indexedRequests().size());
+
+		// the second page is evicted for this one
+		target.getIndexedVariables(ARRAY_REFERENCE, 100 * 100, 100);
+		assertEquals(101, indexedRequests().size());
+		target.getIndexedVariables(ARRAY_REFERENCE, 0, 100);
+		assertEquals(101, indexedRequests().size());
+		target.getIndexedVariables(ARRAY_REFERENCE, 100, 100);
+		assertEquals(102, indexedRequests().size());
+		assertEquals(100, indexedRequests().get(101).getStart());
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.debug.core.model.IMemoryBlock;
+import org.eclipse.debug.core.model.IMemoryBlockExtension;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.eclipse.lsp4e.debug.debugmodel.DSPDebugTarget;
+import org.eclipse.lsp4e.test.utils.AbstractTest;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4j.debug.ReadMemoryArguments;
+import org.eclipse.lsp4j.debug.ReadMemoryResponse;
+import org.eclipse.lsp4j.debug.WriteMemoryArguments;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MemoryTest extends AbstractTest {
+
+	private static final int PAGE_SIZE = 4096;
+	private static final String REFERENCE = "0x1000";
+
+	private final MockDebugAdapter adapter = new MockDebugAdapter();
+	private DSPDebugTarget target;
+
+	/** number of unreadable bytes at the start of each read */
+	private int unreadable;
+
+	@BeforeEach
+	public void startDebugTarget() throws Exception {
+		adapter.capabilities.setSupportsReadMemoryRequest(true);
+		adapter.capabilities.setSupportsWriteMemoryRequest(true);
+		// the value of each byte is the lowest byte of its address
+		adapter.readMemory = args -> {
+			final long start = Long.decode(args.getMemoryReference()) + args.getOffset() + unreadable;
+			final var bytes = new byte[args.getCount() - unreadable];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = (byte) (start + i);
+			}
+			final var response = new ReadMemoryResponse();
+			response.setAddress("0x" + Long.toHexString(start));
+			response.setData(Base64.getEncoder().encodeToString(bytes));
+			return CompletableFuture.completedFuture(response);
+		};
+		target = MockDebugAdapter.startDebugTarget(adapter);
+	}
+
+	@AfterEach
+	public void terminate() throws Exception {
+		target.terminate();
+	}
+
+	private List<ReadMemoryArguments> reads() {
+		return adapter.getRequests(ReadMemoryArguments.class);
+	}
+
+	private static void assertBytes(long address, MemoryByte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			assertTrue(bytes[i].isReadable());
+			assertEquals((byte) (address + i), bytes[i].getValue());
+		}
+	}
+
+	@Test
+	public void testPagesAreReadAlignedAndStitched() throws Exception {
+		final IMemoryBlockExtension block = target.getExtendedMemoryBlock(REFERENCE, null);
+
+		// crosses the boundary of the first two pages, which are read at once
+		final MemoryByte[] bytes = block.getBytesFromOffset(BigInteger.valueOf(PAGE_SIZE - 6), 10);
+		assertEquals(10, bytes.length);
+		assertBytes(0x1000 + PAGE_SIZE - 6, bytes);
+		assertEquals(1, reads().size());
+		assertEquals(REFERENCE, reads().get(0).getMemoryReference());
+		assertEquals(0, reads().get(0).getOffset());
+		assertEquals(2 * PAGE_SIZE, reads().get(0).getCount());
+
+		// only the pages which are not cached are read, consecutive ones at once
+		block.getBytesFromOffset(BigInteger.valueOf(3 * PAGE_SIZE), 1);
+		assertEquals(2, reads().size());
+		final MemoryByte[] stitched = block.getBytesFromOffset(BigInteger.valueOf(PAGE_SIZE), 5 * PAGE_SIZE);
+		assertBytes(0x1000 + PAGE_SIZE, stitched);
+		assertEquals(4, reads().size());
+		assertEquals(2 * PAGE_SIZE, reads().get(2).getOffset());
+		assertEquals(PAGE_SIZE, reads().get(2).getCount());
+		assertEquals(4 * PAGE_SIZE, reads().get(3).getOffset());
+		assertEquals(2 * PAGE_SIZE, reads().get(3).getCount());
+
+		// the addresses of the block are relative to its memory reference
+		assertBytes(0x1000 + 2 * PAGE_SIZE + 1,
+				block.getBytesFromAddress(BigInteger.valueOf(0x1000 + 2 * PAGE_SIZE + 1), 100));
+		assertEquals(4, reads().size());
+	}
+
+	@Test
+	public void testBoundedBlock() throws Exception {
+		final IMemoryBlock block = target.getMemoryBlock(0x2000, 16);
+		final byte[] bytes = block.getBytes();
+		assertEquals(16, bytes.length);
+		for (int i = 0; i < bytes.length; i++) {
+			assertEquals((byte) (0x2000 + i), bytes[i]);
+		}
+		assertEquals("0x2000", reads().get(0).getMemoryReference());
+		assertEquals(PAGE_SIZE, reads().get(0).getCount());
+	}
+
+	@Test
+	public void testUnreadableBytesAreSkipped() throws Exception {
+		unreadable = 16;
+		final IMemoryBlockExtension block = target.getExtendedMemoryBlock(REFERENCE, null);
+
+		final MemoryByte[] bytes = block.getBytesFromOffset(BigInteger.ZERO, 32);
+		for (int i = 0; i < 16; i++) {
+			assertFalse(bytes[i].isReadable());
+		}
+		for (int i = 16; i < 32; i++) {
+			assertTrue(bytes[i].isReadable());
+			assertEquals((byte) (0x1000 + i), bytes[i].getValue());
+		}
+
+		// the bytes missing at the end of the response are unreadable too
+		adapter.readMemory = args -> {
+			final var response = new ReadMemoryResponse();
+			response.setAddress("0x" + Long.toHexString(Long.decode(args.getMemoryReference()) + args.getOffset()));
+			response.setData(Base64.getEncoder().encodeToString(new byte[] { 1, 2 }));
+			return CompletableFuture.completedFuture(response);
+		};
+		final MemoryByte[] end = block.getBytesFromOffset(BigInteger.valueOf(PAGE_SIZE), 4);
+		assertTrue(end[0].isReadable());
+		assertEquals(2, end[1].getValue());
+		assertFalse(end[2].isReadable());
+		assertFalse(end[3].isReadable());
+	}
+
+	@Test
+	public void testCacheIsClearedOnResume() throws Exception {
+		final IMemoryBlockExtension block = target.getExtendedMemoryBlock(REFERENCE, null);
+		block.getBytesFromOffset(BigInteger.ZERO, 8);
+		block.getBytesFromOffset(BigInteger.ZERO, 8);
+		assertEquals(1, reads().size());
+
+		MockDebugAdapter.getThread(target).resume();
+		block.getBytesFromOffset(BigInteger.ZERO, 8);
+		assertEquals(2, reads().size());
+
+		adapter.stop();
+		TestUtils.waitForAndAssertCondition(5_000, () -> target.isSuspended());
+		block.getBytesFromOffset(BigInteger.ZERO, 8);
+		assertEquals(3, reads().size());
+	}
+
+	@Test
+	public void testCacheIsClearedOnWrite() throws Exception {
+		final IMemoryBlockExtension block = target.getExtendedMemoryBlock(REFERENCE, null);
+		assertTrue(block.supportsValueModification());
+		block.getBytesFromOffset(BigInteger.ZERO, 8);
+		assertEquals(1, reads().size());
+
+		block.setValue(BigInteger.valueOf(5), new byte[] { 42, 43 });
+		final WriteMemoryArguments write = adapter.getRequests(WriteMemoryArguments.class).get(0);
+		assertEquals(REFERENCE, write.getMemoryReference());
+		assertEquals(5, write.getOffset());
+		assertArrayEquals(new byte[] { 42, 43 }, Base64.getDecoder().decode(write.getData()));
+
+		block.getBytesFromOffset(BigInteger.ZERO, 8);
+		assertEquals(2, reads().size());
+	}
+}
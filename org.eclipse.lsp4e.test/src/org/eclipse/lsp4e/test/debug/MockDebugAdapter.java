@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.eclipse.lsp4e.debug.debugmodel.DSPDebugTarget;
+import org.eclipse.lsp4e.debug.debugmodel.DSPThread;
+import org.eclipse.lsp4e.debug.debugmodel.TransportStreams;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4j.debug.Capabilities;
+import org.eclipse.lsp4j.debug.ContinueArguments;
+import org.eclipse.lsp4j.debug.ContinueResponse;
+import org.eclipse.lsp4j.debug.DisconnectArguments;
+import org.eclipse.lsp4j.debug.InitializeRequestArguments;
+import org.eclipse.lsp4j.debug.ReadMemoryArguments;
+import org.eclipse.lsp4j.debug.ReadMemoryResponse;
+import org.eclipse.lsp4j.debug.StackFrame;
+import org.eclipse.lsp4j.debug.StackTraceArguments;
+import org.eclipse.lsp4j.debug.StackTraceResponse;
+import org.eclipse.lsp4j.debug.StoppedEventArguments;
+import org.eclipse.lsp4j.debug.Thread;
+import org.eclipse.lsp4j.debug.ThreadsResponse;
+import org.eclipse.lsp4j.debug.VariablesArguments;
+import org.eclipse.lsp4j.debug.VariablesResponse;
+import org.eclipse.lsp4j.debug.WriteMemoryArguments;
+import org.eclipse.lsp4j.debug.WriteMemoryResponse;
+import org.eclipse.lsp4j.debug.launch.DSPLauncher;
+import org.eclipse.lsp4j.debug.services.IDebugProtocolClient;
+import org.eclipse.lsp4j.debug.services.IDebugProtocolServer;
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+
+/**
+ * In-memory debug adapter with a single thread, which stops right after the
+ * launch. It is called directly by the target, or through the streams of
+ * {@link #connect()}. The responses of the requests under test can be replaced, and the
+ * arguments of all requests are recorded.
+ */
+public class MockDebugAdapter implements IDebugProtocolServer {
+
+	public static final int THREAD_ID = 1;
+
+	/** arguments of the requests received so far, in order */
+	public final List<Object> requests = new CopyOnWriteArrayList<>();
+	public final Capabilities capabilities = new Capabilities();
+
+	public Function<Map<String, Object>, CompletableFuture<Void>> launch = args -> {
+		stop();
+		return CompletableFuture.completedFuture(null);
+	};
+	public Function<StackTraceArguments, CompletableFuture<StackTraceResponse>> stackTrace = args -> CompletableFuture
+			.completedFuture(stackTraceResponse(args, 1));
+	public Function<VariablesArguments, CompletableFuture<VariablesResponse>> variables = args -> CompletableFuture
+			.completedFuture(new VariablesResponse());
+	public Function<ReadMemoryArguments, CompletableFuture<ReadMemoryResponse>> readMemory = args -> CompletableFuture
+			.completedFuture(new ReadMemoryResponse());
+	public Function<WriteMemoryArguments, CompletableFuture<WriteMemoryResponse>> writeMemory = args -> CompletableFuture
+			.completedFuture(new WriteMemoryResponse());
+
+	private IDebugProtocolClient client;
+
+	/**
+	 * @return a response with the frames requested by the given arguments of a
+	 *         stack of the given number of frames
+	 */
+	public static StackTraceResponse stackTraceResponse(StackTraceArguments args, int totalFrames) {
+		final int start = args.getStartFrame() == null ? 0 : args.getStartFrame();
+		final int end = args.getLevels() == null || args.getLevels() == 0 ? totalFrames
+				: Math.min(totalFrames, start + args.getLevels());
+		final var frames = new StackFrame[Math.max(0, end - start)];
+		for (int i = 0; i < frames.length; i++) {
+			frames[i] = new StackFrame();
+			frames[i].setId(100 + start + i);
+			frames[i].setName("frame" + (start + i));
+			frames[i].setLine(start + i + 1);
+		}
+		final var response = new StackTraceResponse();
+		response.setStackFrames(frames);
+		response.setTotalFrames(totalFrames);
+		return response;
+	}
+
+	/**
+	 * @return the recorded arguments of the requests of the given type
+	 */
+	public <T> List<T> getRequests(Class<T> argumentsType) {
+		return requests.stream().filter(argumentsType::isInstance).map(argumentsType::cast).toList();
+	}
+
+	/**
+	 * Sends a stopped event for the thread.
+	 */
+	public void stop() {
+		final var stopped = new StoppedEventArguments();
+		stopped.setReason("breakpoint");
+		stopped.setThreadId(THREAD_ID);
+		stopped.setAllThreadsStopped(true);
+		client.stopped(stopped);
+	}
+
+	/**
+	 * Connects this adapter to new streams of the debug adapter protocol, as an
+	 * adapter running in another process would be.
+	 *
+	 * @return the streams of the client
+	 */
+	public TransportStreams connect() {
+		try {
+			final Pipe toClient = Pipe.open();
+			final Pipe toAdapter = Pipe.open();
+			final Launcher<IDebugProtocolClient> launcher = DSPLauncher.createServerLauncher(this,
+					Channels.newInputStream(toAdapter.source()), Channels.newOutputStream(toClient.sink()));
+			client = launcher.getRemoteProxy();
+			launcher.startListening();
+			return new TransportStreams.DefaultTransportStreams(Channels.newInputStream(toClient.source()),
+					Channels.newOutputStream(toAdapter.sink()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Creates a debug target connected to a new mock debug adapter, and waits for
+	 * the thread to be stopped.
+	 */
+	public static DSPDebugTarget startDebugTarget(MockDebugAdapter adapter) throws Exception {
+		return startDebugTarget(adapter, () -> new TransportStreams.DefaultTransportStreams(
+				InputStream.nullInputStream(), OutputStream.nullOutputStream()));
+	}
+
+	/**
+	 * Creates a debug target connected to a new mock debug adapter, and waits for
+	 * the thread to be stopped.
+	 *
+	 * @param streams
+	 *            the streams of the target, which are not used as it calls the
+	 *            adapter directly, and of the child targets it starts
+	 */
+	public static DSPDebugTarget startDebugTarget(MockDebugAdapter adapter, Supplier<TransportStreams> streams)
+			throws Exception {
+		final ILaunchConfigurationType type = DebugPlugin.getDefault().getLaunchManager()
+				.getLaunchConfigurationType("org.eclipse.lsp4e.debug.launchType");
+		final var launch = new Launch(type.newInstance(null, "MockDebugAdapter-" + System.nanoTime()),
+				ILaunchManager.RUN_MODE, null);
+		final var params = new HashMap<String, Object>();
+		params.put("type", "mock");
+		params.put("request", "launch");
+		final var target = new DSPDebugTarget(launch, streams, params) {
+			@Override
+			protected Launcher<? extends IDebugProtocolServer> createLauncher(UnaryOperator<MessageConsumer> wrapper,
+					InputStream in, OutputStream out, ExecutorService threadPool) {
+				adapter.client = this;
+				return new Launcher<>() {
+					@Override
+					public RemoteEndpoint getRemoteEndpoint() {
+						return null;
+					}
+
+					@Override
+					public IDebugProtocolServer getRemoteProxy() {
+						return adapter;
+					}
+
+					@Override
+					public CompletableFuture<Void> startListening() {
+						return CompletableFuture.completedFuture(null);
+					}
+				};
+			}
+		};
+		target.initialize(new NullProgressMonitor());
+		TestUtils.waitForAndAssertCondition(5_000,
+				() -> target.isSuspended() && target.getThreads().length == 1 && target.getThreads()[0].isSuspended());
+		return target;
+	}
+
+	/**
+	 * @return the only thread of the given target
+	 */
+	public static DSPThread getThread(DSPDebugTarget target) {
+		return target.getThreads()[0];
+	}
+
+	@Override
+	public CompletableFuture<Capabilities> initialize(InitializeRequestArguments args) {
+		requests.add(args);
+		client.initialized();
+		return CompletableFuture.completedFuture(capabilities);
+	}
+
+	@Override
+	public CompletableFuture<Void> launch(Map<String, Object> args) {
+		requests.add(args);
+		return launch.apply(args);
+	}
+
+	@Override
+	public CompletableFuture<Void> disconnect(DisconnectArguments args) {
+		requests.add(args);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	@Override
+	public CompletableFuture<ThreadsResponse> threads() {
+		final var thread = new Thread();
+		thread.setId(THREAD_ID);
+		thread.setName("Main");
+		final var response = new ThreadsResponse();
+		response.setThreads(new Thread[] { thread });
+		return CompletableFuture.completedFuture(response);
+	}
+
+	@Override
+	public CompletableFuture<ContinueResponse> continue_(ContinueArguments args) {
+		requests.add(args);
+		return CompletableFuture.completedFuture(new ContinueResponse());
+	}
+
+	@Override
+	public CompletableFuture<StackTraceResponse> stackTrace(StackTraceArguments args) {
+		requests.add(args);
+		return stackTrace.apply(args);
+	}
+
+	@Override
+	public CompletableFuture<VariablesResponse> variables(VariablesArguments args) {
+		requests.add(args);
+		return variables.apply(args);
+	}
+
+	@Override
+	public CompletableFuture<ReadMemoryResponse> readMemory(ReadMemoryArguments args) {
+		requests.add(args);
+		return readMemory.apply(args);
+	}
+
+	@Override
+	public CompletableFuture<WriteMemoryResponse> writeMemory(WriteMemoryArguments args) {
+		requests.add(args);
+		return writeMemory.apply(args);
+	}
+}
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.Adapters;
+import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementContentProvider;
+import org.eclipse.lsp4e.debug.debugmodel.DSPDebugTarget;
+import org.eclipse.lsp4e.debug.debugmodel.DSPThread;
+import org.eclipse.lsp4e.debug.debugmodel.DSPVariable;
+import org.eclipse.lsp4e.test.utils.AbstractTest;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4j.debug.StackFrame;
+import org.eclipse.lsp4j.debug.StackTraceArguments;
+import org.eclipse.lsp4j.debug.StackTraceResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class StackFramesPagingTest extends AbstractTest {
+
+	private static final int TOTAL_FRAMES = 45;
+	private static final String MORE_FRAMES = "<loading more frames...>";
+
+	private final MockDebugAdapter adapter = new MockDebugAdapter();
+	private DSPDebugTarget target;
+
+	@AfterEach
+	public void terminate() throws Exception {
+		if (target != null) {
+			target.terminate();
+		}
+	}
+
+	private static List<String> names(IStackFrame[] frames) {
+		return Arrays.stream(frames).map(frame -> {
+			try {
+				return frame.getName();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}).toList();
+	}
+
+	@Test
+	public void testFramesAreLoadedPageByPage() throws Exception {
+		adapter.stackTrace = args -> CompletableFuture
+				.completedFuture(MockDebugAdapter.stackTraceResponse(args, TOTAL_FRAMES));
+		target = MockDebugAdapter.startDebugTarget(adapter);
+		final DSPThread thread = MockDebugAdapter.getThread(target);
+
+		final IStackFrame[] firstPage = thread.getStackFrames();
+		assertEquals(21, firstPage.length);
+		assertEquals("frame0", firstPage[0].getName());
+		final IStackFrame placeholder = firstPage[20];
+		assertEquals(MORE_FRAMES, placeholder.getName());
+		assertFalse(placeholder.hasVariables());
+		assertFalse(placeholder.canStepInto());
+		assertFalse(placeholder.canStepOver());
+		assertFalse(placeholder.canStepReturn());
+		assertFalse(placeholder.canResume());
+		assertFalse(placeholder.canSuspend());
+		assertFalse(placeholder.canTerminate());
+		// getting the label of the placeholder does not load frames
+		assertEquals(1, adapter.getRequests(StackTraceArguments.class).size());
+
+		thread.loadMoreFrames();
+		TestUtils.waitForAndAssertCondition(5_000, () -> thread.getStackFrames().length == 41);
+		final StackTraceArguments secondPage = adapter.getRequests(StackTraceArguments.class).get(1);
+		assertEquals(20, secondPage.getStartFrame());
+		assertEquals(20, secondPage.getLevels());
+		final IStackFrame[] frames = thread.getStackFrames();
+		assertSame(firstPage[0], frames[0]);
+		assertEquals("frame39", frames[39].getName());
+		assertEquals(MORE_FRAMES, frames[40].getName());
+
+		thread.loadMoreFrames();
+		TestUtils.waitForAndAssertCondition(5_000, () -> thread.getStackFrames().length == TOTAL_FRAMES);
+		assertEquals("frame44", thread.getStackFrames()[TOTAL_FRAMES - 1].getName());
+		assertFalse(names(thread.getStackFrames()).contains(MORE_FRAMES));
+
+		// the end of the stack is reached
+		thread.loadMoreFrames();
+		assertEquals(3, adapter.getRequests(StackTraceArguments.class).size());
+	}
+
+	@Test
+	public void testPageOfPreviousSuspendIsDropped() throws Exception {
+		final var pendingPage = new CompletableFuture<StackTraceResponse>();
+		adapter.stackTrace = args -> args.getStartFrame() == 0
+				? CompletableFuture.completedFuture(MockDebugAdapter.stackTraceResponse(args, TOTAL_FRAMES))
+				: pendingPage;
+		target = MockDebugAdapter.startDebugTarget(adapter);
+		final DSPThread thread = MockDebugAdapter.getThread(target);
+		assertEquals(21, thread.getStackFrames().length);
+
+		thread.loadMoreFrames();
+		TestUtils.waitForAndAssertCondition(5_000, () -> adapter.getRequests(StackTraceArguments.class).size() == 2);
+		// the thread suspends again before the page is received
+		thread.stopped();
+		assertEquals(21, thread.getStackFrames().length);
+		assertEquals(3, adapter.getRequests(StackTraceArguments.class).size());
+
+		final var stalePage = MockDebugAdapter.stackTraceResponse(adapter.getRequests(StackTraceArguments.class).get(1),
+				TOTAL_FRAMES);
+		for (final StackFrame frame : stalePage.getStackFrames()) {
+			frame.setName("stale");
+		}
+		pendingPage.complete(stalePage);
+
+		final List<String> names = names(thread.getStackFrames());
+		assertEquals(21, names.size());
+		assertFalse(names.contains("stale"));
+		assertEquals(MORE_FRAMES, names.get(20));
+	}
+
+	@Test
+	public void testFramesAreRequestedOnceByConcurrentCallers() throws Exception {
+		final var pendingPage = new CompletableFuture<StackTraceResponse>();
+		adapter.stackTrace = args -> pendingPage;
+		target = MockDebugAdapter.startDebugTarget(adapter);
+		final DSPThread thread = MockDebugAdapter.getThread(target);
+
+		final CompletableFuture<IStackFrame[]> first = thread.getStackFramesAsync();
+		final CompletableFuture<IStackFrame[]> second = thread.getStackFramesAsync();
+		TestUtils.waitForAndAssertCondition(5_000, () -> adapter.getRequests(StackTraceArguments.class).size() == 1);
+		// the second caller waits for the page requested by the first one
+		assertFalse(second.isDone());
+
+		pendingPage.complete(MockDebugAdapter.stackTraceResponse(
+				adapter.getRequests(StackTraceArguments.class).get(0), TOTAL_FRAMES));
+		assertEquals(21, first.get(5, TimeUnit.SECONDS).length);
+		assertArrayEquals(first.get(), second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, adapter.getRequests(StackTraceArguments.class).size());
+	}
+
+	@Test
+	public void testContentIsProvidedByDebugAdapterClient() throws Exception {
+		adapter.stackTrace = args -> CompletableFuture
+				.completedFuture(MockDebugAdapter.stackTraceResponse(args, TOTAL_FRAMES));
+		target = MockDebugAdapter.startDebugTarget(adapter);
+		final DSPThread thread = MockDebugAdapter.getThread(target);
+		assertEquals("DSPThreadContentProvider",
+				Adapters.adapt(thread, IElementContentProvider.class).getClass().getSimpleName());
+		assertEquals("DSPStackFrameContentProvider",
+				Adapters.adapt(thread.getStackFrames()[0], IElementContentProvider.class).getClass().getSimpleName());
+		final var variable = new DSPVariable(target, -1, "name", "value", 1);
+		assertEquals("DSPVariableContentProvider",
+				Adapters.adapt(variable, IElementContentProvider.class).getClass().getSimpleName());
+	}
+}
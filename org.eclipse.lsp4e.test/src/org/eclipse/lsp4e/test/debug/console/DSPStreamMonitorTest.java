@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug.console;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.debug.console.DSPStreamMonitor;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.junit.jupiter.api.Test;
+
+public class DSPStreamMonitorTest {
+
+	@Test
+	public void testListenersAreNotifiedInOrder() {
+		final var monitor = new DSPStreamMonitor(0);
+		final var notified = new ArrayList<String>();
+		monitor.addListener((text, m) -> {
+			synchronized (notified) {
+				notified.add(text);
+			}
+		});
+
+		final var expected = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			monitor.append(i + "\n");
+			expected.append(i).append('\n');
+		}
+		monitor.append(null);
+
+		TestUtils.waitForAndAssertCondition(5_000, () -> {
+			synchronized (notified) {
+				assertEquals(expected.toString(), String.join("", notified));
+			}
+		});
+		// appends are notified in batches
+		assertTrue(notified.size() < 1000);
+		assertEquals(expected.toString(), monitor.getContents());
+		assertNull(monitor.getHistoryFile());
+	}
+
+	@Test
+	public void testContentsAreLimited() throws Exception {
+		final var monitor = new DSPStreamMonitor(10);
+		monitor.append("0123456789");
+		TestUtils.waitForAndAssertCondition(5_000, () -> assertEquals("0123456789", monitor.getContents()));
+		assertNull(monitor.getHistoryFile());
+
+		monitor.append("abc");
+		monitor.append("de");
+		TestUtils.waitForAndAssertCondition(5_000, () -> assertEquals("56789abcde", monitor.getContents()));
+
+		final Path historyFile = monitor.getHistoryFile();
+		assertNotNull(historyFile);
+		assertEquals("0123456789abcde", Files.readString(historyFile, StandardCharsets.UTF_8));
+		Files.delete(historyFile);
+	}
+
+	@Test
+	public void testPendingTextIsLimited() throws Exception {
+		final var monitor = new DSPStreamMonitor(10);
+		final var notified = new ArrayList<String>();
+		monitor.addListener((text, m) -> {
+			synchronized (notified) {
+				notified.add(text);
+			}
+		});
+		// appended faster than notified
+		monitor.append("0123456789abcdefghijklmno");
+
+		final String expected = "[15 characters of output were dropped]\nfghijklmno";
+		TestUtils.waitForAndAssertCondition(5_000, () -> {
+			synchronized (notified) {
+				assertEquals(List.of(expected), notified);
+			}
+		});
+		assertEquals("fghijklmno", monitor.getContents());
+		TestUtils.waitForAndAssertCondition(5_000, () -> monitor.getHistoryFile() != null);
+		final Path historyFile = monitor.getHistoryFile();
+		// the dropped text is kept in the history file
+		assertEquals("0123456789abcdefghijklmno", Files.readString(historyFile, StandardCharsets.UTF_8));
+		Files.delete(historyFile);
+	}
+
+	@Test
+	public void testHistoryHoldsTextDroppedWhileNotifying() throws Exception {
+		final var monitor = new DSPStreamMonitor(10);
+		final var notifying = new CountDownLatch(1);
+		final var released = new CountDownLatch(1);
+		monitor.addListener((text, m) -> {
+			notifying.countDown();
+			try {
+				released.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final var expected = new StringBuilder("first");
+		monitor.append("first");
+		assertTrue(notifying.await(5, TimeUnit.SECONDS));
+
+		// appended faster than notified, while the listener is busy
+		for (int i = 0; i < 100; i++) {
+			monitor.append(i + ",");
+			expected.append(i).append(',');
+		}
+		released.countDown();
+
+		TestUtils.waitForAndAssertCondition(5_000, () -> monitor.getHistoryFile() != null
+				&& expected.toString().equals(Files.readString(monitor.getHistoryFile(), StandardCharsets.UTF_8)));
+		assertEquals(expected.substring(expected.length() - 10), monitor.getContents());
+		Files.delete(monitor.getHistoryFile());
+	}
+
+	@Test
+	public void testNotBuffered() {
+		final var monitor = new DSPStreamMonitor(10);
+		final List<String> notified = new ArrayList<>();
+		monitor.addListener((text, m) -> notified.add(text));
+		monitor.setBuffered(false);
+		monitor.append("text");
+
+		TestUtils.waitForAndAssertCondition(5_000, () -> assertEquals(List.of("text"), notified));
+		assertEquals("", monitor.getContents());
+	}
+}
@@ -187,6 +187,34 @@ public void testDiagnosticsForMarkerUpdateAfterDeletedFile() throws CoreExceptio
 		assertThat(markerJob.getResult().isOK(), is(true));
 	}
 
+	@Test
+	public void testPublishDiagnosticsCoalescedWhileJobQueued() throws CoreException, InterruptedException {
+		IFile file = TestUtils.createUniqueTestFile(project, "Diagnostic Other Text");
+		final var range = new Range(new Position(0, 0), new Position(0, 10));
+		final String uri = file.getLocationURI().toString();
+		Job.getJobManager().suspend();
+		try {
+			diagnosticsToMarkers.accept(new PublishDiagnosticsParams(uri,
+					List.of(createDiagnostic("1", "message1", range, DiagnosticSeverity.Error, "source1"))));
+			diagnosticsToMarkers.accept(new PublishDiagnosticsParams(uri,
+					List.of(createDiagnostic("2", "message2", range, DiagnosticSeverity.Warning, "source2"),
+							createDiagnostic("3", "message3", range, DiagnosticSeverity.Warning, "source3"))));
+			assertThat("Only one marker job should be queued",
+					Job.getJobManager().find(LanguageServerPlugin.FAMILY_UPDATE_MARKERS).length, is(1));
+		} finally {
+			Job.getJobManager().resume();
+		}
+		Job.getJobManager().join(LanguageServerPlugin.FAMILY_UPDATE_MARKERS, null);
+
+		IMarker[] markers = file.findMarkers(LSPDiagnosticsToMarkers.LS_DIAGNOSTIC_MARKER_TYPE, false,
+				IResource.DEPTH_ZERO);
+		assertEquals(2, markers.length);
+		for (IMarker marker : markers) {
+			assertTrue(MarkerUtilities.getMessage(marker).startsWith("message2")
+					|| MarkerUtilities.getMessage(marker).startsWith("message3"));
+		}
+	}
+
 	@Test
 	public void testFileBuffersNotLeaked() throws Exception {
 		IFile file = TestUtils.createUniqueTestFile(project, "Diagnostic Other Text");
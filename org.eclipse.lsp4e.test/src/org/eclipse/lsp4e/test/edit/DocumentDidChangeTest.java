@@ -20,18 +20,23 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
 import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
 import org.eclipse.lsp4e.test.utils.TestUtils;
 import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
 import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
@@ -44,6 +49,8 @@
 
 public class DocumentDidChangeTest extends AbstractTestWithProject {
 
+	private static final String DID_CHANGE_BATCH_DELAY_KEY = "org.eclipse.lsp4e.test.server.didChange.batchDelay";
+
 	@Test
 	public void testIncrementalSync() throws Exception {
 		MockLanguageServer.INSTANCE.getInitializeResult().getCapabilities()
@@ -159,6 +166,52 @@ public void testIncrementalEditOrdering() throws Exception {
 		}
 	}
 
+	@Test
+	public void testIncrementalSyncBatching() throws Exception {
+		MockLanguageServer.INSTANCE.getInitializeResult().getCapabilities().setTextDocumentSync(TextDocumentSyncKind.Incremental);
+		IPreferenceStore store = LanguageServerPlugin.getDefault().getPreferenceStore();
+		store.setValue(DID_CHANGE_BATCH_DELAY_KEY, 200);
+		try {
+			IFile testFile = TestUtils.createUniqueTestFile(project, "");
+			ITextViewer viewer = TestUtils.openTextViewer(testFile);
+			viewer.getDocument().replace(0, 0, "Hello");
+			viewer.getDocument().replace(5, 0, " ");
+			viewer.getDocument().replace(6, 0, "World");
+			waitForAndAssertCondition(1_000, numberOfChangesIs(1));
+			List<TextDocumentContentChangeEvent> changes = MockLanguageServer.INSTANCE.getDidChangeEvents().get(0).getContentChanges();
+			assertEquals(3, changes.size());
+			assertEquals("Hello", changes.get(0).getText());
+			assertEquals(" ", changes.get(1).getText());
+			assertEquals("World", changes.get(2).getText());
+			assertEquals(5, changes.get(2).getRange().getStart().getCharacter());
+		} finally {
+			store.setToDefault(DID_CHANGE_BATCH_DELAY_KEY);
+		}
+	}
+
+	@Test
+	public void testIncrementalSyncBatchingFlushedByRequest() throws Exception {
+		MockLanguageServer.INSTANCE.getInitializeResult().getCapabilities().setTextDocumentSync(TextDocumentSyncKind.Incremental);
+		IPreferenceStore store = LanguageServerPlugin.getDefault().getPreferenceStore();
+		store.setValue(DID_CHANGE_BATCH_DELAY_KEY, 60_000);
+		try {
+			IFile testFile = TestUtils.createUniqueTestFile(project, "");
+			ITextViewer viewer = TestUtils.openTextViewer(testFile);
+			viewer.getDocument().replace(0, 0, "Hello");
+			viewer.getDocument().replace(5, 0, " World");
+
+			// the batch must be sent before the request, without waiting for the delay
+			final var identifier = LSPEclipseUtils.toTextDocumentIdentifier(testFile);
+			LanguageServers.forDocument(viewer.getDocument())
+					.computeFirst(ls -> ls.getTextDocumentService().hover(new HoverParams(identifier, new Position(0, 0))))
+					.get(1, TimeUnit.SECONDS);
+			assertEquals(2, MockLanguageServer.INSTANCE.getDidChangeEvents().stream()
+					.mapToInt(change -> change.getContentChanges().size()).sum());
+		} finally {
+			store.setToDefault(DID_CHANGE_BATCH_DELAY_KEY);
+		}
+	}
+
 	@Test
 	public void testFullSync() throws Exception {
 		MockLanguageServer.INSTANCE.getInitializeResult().getCapabilities()
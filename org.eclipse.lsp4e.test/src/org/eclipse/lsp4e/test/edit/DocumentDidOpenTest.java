@@ -11,19 +11,29 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.test.edit;
 
+import static org.eclipse.lsp4e.test.utils.TestUtils.waitForAndAssertCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.LanguageServiceAccessor;
 import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
 import org.eclipse.lsp4e.test.utils.TestUtils;
 import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
@@ -90,4 +100,37 @@ public void testOpenWithSpecificLanguageId() throws Exception {
 
 		((AbstractTextEditor)editor).close(false);
 	}
+
+	@Test
+	public void testReopenWithoutEditorIsDeferredAfterRestart() throws Exception {
+		IFile testFile = TestUtils.createUniqueTestFile(project, "");
+		ITextFileBufferManager bufferManager = FileBuffers.getTextFileBufferManager();
+		// keeps the document while the server restarts, no editor shows it
+		bufferManager.connect(testFile.getFullPath(), LocationKind.IFILE, new NullProgressMonitor());
+		try {
+			IDocument document = LSPEclipseUtils.getDocument(testFile);
+			assertNotNull(document);
+			URI uri = LSPEclipseUtils.toUri(testFile);
+			assertNotNull(uri);
+
+			final var didOpenExpectation = new CompletableFuture<DidOpenTextDocumentParams>();
+			MockLanguageServer.INSTANCE.setDidOpenCallback(didOpenExpectation);
+			LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(testFile, request -> true).iterator().next();
+			wrapper.connectDocument(document).get(1000, TimeUnit.MILLISECONDS);
+			didOpenExpectation.get(1000, TimeUnit.MILLISECONDS);
+
+			final var reopenExpectation = new CompletableFuture<DidOpenTextDocumentParams>();
+			MockLanguageServer.INSTANCE.setDidOpenCallback(reopenExpectation);
+			wrapper.restart();
+			waitForAndAssertCondition(2_000, () -> wrapper.isActive() && wrapper.isConnectedTo(uri));
+			assertThrows(TimeoutException.class, () -> reopenExpectation.get(500, TimeUnit.MILLISECONDS));
+
+			// the first request on the document opens it
+			LanguageServers.forDocument(document).anyMatching();
+			DidOpenTextDocumentParams reopen = reopenExpectation.get(1000, TimeUnit.MILLISECONDS);
+			assertEquals(uri.toASCIIString(), reopen.getTextDocument().getUri());
+		} finally {
+			bufferManager.disconnect(testFile.getFullPath(), LocationKind.IFILE, new NullProgressMonitor());
+		}
+	}
 }
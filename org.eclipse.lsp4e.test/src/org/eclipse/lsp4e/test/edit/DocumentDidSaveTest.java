@@ -15,6 +15,7 @@
 import static org.eclipse.lsp4e.test.utils.TestUtils.waitForAndAssertCondition;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +34,9 @@
 import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
 import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.DidSaveTextDocumentParams;
+import org.eclipse.lsp4j.SaveOptions;
+import org.eclipse.lsp4j.TextDocumentSyncKind;
+import org.eclipse.lsp4j.TextDocumentSyncOptions;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.ide.IDE;
 import org.junit.jupiter.api.Test;
@@ -68,6 +72,39 @@ public void testSave() throws Exception {
 		});
 	}
 
+	@Test
+	public void testSaveOmitsTextByDefault() throws Exception {
+		assertNull(saveAndGetParams().getText());
+	}
+
+	@Test
+	public void testSaveIncludesTextIfRequested() throws Exception {
+		final var textDocumentSync = new TextDocumentSyncOptions();
+		textDocumentSync.setChange(TextDocumentSyncKind.Full);
+		textDocumentSync.setSave(new SaveOptions(true));
+		MockLanguageServer.INSTANCE.getInitializeResult().getCapabilities().setTextDocumentSync(textDocumentSync);
+
+		assertEquals("Hello", saveAndGetParams().getText());
+	}
+
+	private DidSaveTextDocumentParams saveAndGetParams() throws Exception {
+		IFile testFile = TestUtils.createUniqueTestFile(project, "");
+		IEditorPart editor = TestUtils.openEditor(testFile);
+		ITextViewer viewer = LSPEclipseUtils.getTextViewer(editor);
+		testFile.setLocalTimeStamp(0);
+
+		IDocument document = LSPEclipseUtils.getDocument(testFile);
+		assertNotNull(document);
+		LanguageServers.forDocument(document).anyMatching();
+		final var didSaveExpectation = new CompletableFuture<DidSaveTextDocumentParams>();
+		MockLanguageServer.INSTANCE.setDidSaveCallback(didSaveExpectation);
+
+		viewer.getDocument().replace(0, 0, "Hello");
+		editor.doSave(new NullProgressMonitor());
+
+		return didSaveExpectation.get(2, TimeUnit.SECONDS);
+	}
+
 	@Test
 	public void testSaveExternalFile(@TempDir Path tempDir) throws Exception {
 		Path file = Files.createFile(tempDir.resolve("testSaveExternalFile.lspt"));
@@ -22,7 +22,9 @@
 
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.internal.files.FileSystemWatcherManager;
+import org.eclipse.lsp4e.internal.files.PathPatternMatcher;
 import org.eclipse.lsp4j.FileSystemWatcher;
+import org.eclipse.lsp4j.RelativePattern;
 import org.eclipse.lsp4j.WatchKind;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.junit.jupiter.api.AfterEach;
@@ -160,6 +162,80 @@ void globMatchingSimple() {
 		assertNoGlobMatch("test/test.txt");
 	}
 
+	@Test
+	void globMatchingBracesAndGlobstars() {
+		registerGlobWatcher("**/{src,test/java}/**/*.{java,kt}");
+		assertGlobMatch("src/Foo.java");
+		assertGlobMatch("src/a/b/Foo.kt");
+		assertGlobMatch("lib/test/java/a/Foo.java");
+		assertNoGlobMatch("test/Foo.java");
+		assertNoGlobMatch("src/Foo.js");
+		assertNoGlobMatch("src/a/Foo.java.bak");
+
+		registerGlobWatcher("a/**/b/**/c.txt");
+		assertGlobMatch("a/b/c.txt");
+		assertGlobMatch("a/x/b/y/z/c.txt");
+		assertGlobMatch("a/b/b/c.txt");
+		assertNoGlobMatch("a/c.txt");
+		assertNoGlobMatch("x/a/b/c.txt");
+
+		registerGlobWatcher("target/**");
+		assertGlobMatch("target/classes/Foo.class");
+		assertNoGlobMatch("src/target");
+
+		registerGlobWatcher("**/[!.]?le[0-9].*");
+		assertGlobMatch("a/file1.txt");
+		assertNoGlobMatch("a/.le1.txt");
+		assertNoGlobMatch("a/file.txt");
+	}
+
+	@Test
+	void globMatchingUnbalancedBraces() {
+		final String pattern = "{src,test/**/*.java";
+		registerGlobWatcher(pattern);
+		assertTrue(manager.hasFilePatternsFor(WatchKind.Create));
+
+		// malformed patterns match as PathPatternMatcher matches them
+		final var reference = new PathPatternMatcher(pattern, projectDir);
+		for (final String relativePath : List.of("src/Foo.java", "{src,test/a/Foo.java", "test/Foo.java")) {
+			final Path path = projectDir.resolve(relativePath);
+			assertGlobMatch(relativePath, reference.matches(projectDir.relativize(path)));
+		}
+	}
+
+	@Test
+	void multipleWatchersAndRepeatedDirectories() {
+		registerWatchers(DEFAULT_WATCHER_ID, List.of( //
+				new FileSystemWatcher(Either.forLeft("**/*.xml"), Integer.valueOf(WatchKind.Create)),
+				new FileSystemWatcher(Either.forLeft("**/pom.xml"), Integer.valueOf(WatchKind.Change)),
+				new FileSystemWatcher(Either.forLeft("**/*.gradle"), null)));
+		registerWatchers("relative", List.of( //
+				new FileSystemWatcher(Either.forRight(new RelativePattern(Either.forRight(externalDir.toUri().toString()),
+						"lib/*.jar")), Integer.valueOf(WatchKind.Delete))));
+
+		// the same directories are matched repeatedly to exercise cached directory states
+		for (int i = 0; i < 3; i++) {
+			for (final String directory : List.of("", "a", "a/b", "a/b/c")) {
+				final Path dir = projectDir.resolve(directory);
+				assertMatchFile(dir.resolve("pom.xml").toUri(), WatchKind.Create);
+				assertMatchFile(dir.resolve("pom.xml").toUri(), WatchKind.Change);
+				assertNoMatchFile(dir.resolve("other.xml").toUri(), WatchKind.Change);
+				assertMatchFile(dir.resolve("build.gradle").toUri(), WatchKind.Delete);
+				assertNoMatchFile(dir.resolve("pom.xml").toUri(), WatchKind.Delete);
+				assertNoMatchFile(dir.resolve("Foo.java").toUri(), WatchKind.Create);
+			}
+			assertMatchFile(externalDir.resolve("lib").resolve("x.jar").toUri(), WatchKind.Delete);
+			assertNoMatchFile(externalDir.resolve("lib").resolve("x.jar").toUri(), WatchKind.Create);
+			assertNoMatchFile(externalDir.resolve("lib").resolve("a").resolve("x.jar").toUri(), WatchKind.Delete);
+			assertNoMatchFile(projectDir.resolve("lib").resolve("x.jar").toUri(), WatchKind.Delete);
+		}
+		assertTrue(manager.hasFilePatternsFor(WatchKind.Delete));
+
+		manager.unregisterFileSystemWatchers(DEFAULT_WATCHER_ID);
+		assertNoMatchFile(projectDir.resolve("pom.xml").toUri(), WatchKind.Create);
+		assertFalse(manager.hasFilePatternsFor(WatchKind.Create));
+	}
+
 	private void registerWatchers(String id, List<FileSystemWatcher> watchers) {
 		manager.registerFileSystemWatchers(id, watchers);
 	}
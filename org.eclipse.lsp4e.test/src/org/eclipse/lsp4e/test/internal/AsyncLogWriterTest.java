@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.lsp4e.internal.AsyncLogWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AsyncLogWriterTest {
+
+	private static final String[] CHANNELS = { "IN", "OUT" };
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testEntriesAreWrittenWithHeader() throws IOException {
+		final Path file = tempDir.resolve("server.log");
+		final var writer = new AsyncLogWriter(file, "server", CHANNELS, 1024, Long.MAX_VALUE, 1, false);
+		final byte[] payload = "xx{\"id\":1}xx".getBytes(StandardCharsets.UTF_8);
+		assertTrue(writer.log(0, payload, 2, payload.length - 4));
+		assertTrue(writer.log(1, payload, 2, payload.length - 4));
+		writer.close();
+
+		final String content = Files.readString(file);
+		assertTrue(content.contains("] IN server:\n{\"id\":1}"), content);
+		assertTrue(content.contains("] OUT server:\n{\"id\":1}"), content);
+		assertFalse(content.contains("xx"), content);
+	}
+
+	@Test
+	public void testEntriesLargerThanBufferAreDropped() throws IOException {
+		final Path file = tempDir.resolve("server.log");
+		final var writer = new AsyncLogWriter(file, "server", CHANNELS, 64, Long.MAX_VALUE, 1, false);
+		assertFalse(writer.log(0, new byte[100], 0, 100));
+		assertTrue(writer.log(0, "small".getBytes(StandardCharsets.UTF_8), 0, 5));
+		writer.close();
+
+		final String content = Files.readString(file);
+		assertTrue(content.contains("small"), content);
+		assertTrue(content.contains("1 log entries of server dropped"), content);
+	}
+
+	@Test
+	public void testRotationWithCompression() throws IOException {
+		final Path file = tempDir.resolve("server.log");
+		final var writer = new AsyncLogWriter(file, "server", CHANNELS, 1024, 10, 2, true);
+		assertTrue(writer.log(0, "first".getBytes(StandardCharsets.UTF_8), 0, 5));
+		writer.close();
+
+		final Path rotated = tempDir.resolve("server.log.1.gz");
+		assertTrue(Files.exists(rotated));
+		assertFalse(Files.exists(file));
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(rotated))) {
+			assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("first"));
+		}
+	}
+}
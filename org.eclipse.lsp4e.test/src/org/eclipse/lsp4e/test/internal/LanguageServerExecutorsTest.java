@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.internal.LanguageServerExecutors;
+import org.junit.jupiter.api.Test;
+
+public class LanguageServerExecutorsTest {
+
+	@Test
+	public void testSerialExecutorsKeepOrder() throws InterruptedException {
+		final int queues = 10;
+		final int tasksPerQueue = 1_000;
+		final var done = new CountDownLatch(queues);
+		final var results = new ArrayList<List<Integer>>();
+		for (int q = 0; q < queues; q++) {
+			final ExecutorService executor = LanguageServerExecutors.newSerialExecutor("test-" + q);
+			final var result = new ArrayList<Integer>();
+			results.add(result);
+			for (int i = 0; i < tasksPerQueue; i++) {
+				final int task = i;
+				executor.execute(() -> {
+					result.add(task);
+					if (task == tasksPerQueue - 1) {
+						done.countDown();
+					}
+				});
+			}
+			executor.shutdown();
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		for (List<Integer> result : results) {
+			for (int i = 0; i < tasksPerQueue; i++) {
+				assertEquals(i, result.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testBlockedSerialExecutorDoesNotBlockOthers() throws InterruptedException {
+		final ExecutorService blocked = LanguageServerExecutors.newSerialExecutor("blocked");
+		final var release = new CountDownLatch(1);
+		// like a dispatcher writing to a server which does not read
+		blocked.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		final ExecutorService other = LanguageServerExecutors.newSerialExecutor("other");
+		final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		final var done = new CountDownLatch(1);
+		other.execute(() -> {
+			threadNames.add(Thread.currentThread().getName());
+			done.countDown();
+		});
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals(Set.of("other"), threadNames);
+		release.countDown();
+		blocked.shutdown();
+		other.shutdown();
+	}
+
+	@Test
+	public void testShutdownSerialExecutorRejectsTasks() {
+		final ExecutorService executor = LanguageServerExecutors.newSerialExecutor("test");
+		executor.shutdownNow();
+		assertTrue(executor.isShutdown());
+		assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+		}));
+	}
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.lsp4e.internal.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testPercentilesWithinRelativeError() {
+		final var histogram = new LatencyHistogram();
+		for (long i = 1; i <= 1_000; i++) {
+			histogram.record(i * 1_000_000); // 1ms .. 1s
+		}
+		assertEquals(1_000, histogram.getCount());
+		assertEquals(500_500_000, histogram.getMean());
+		assertEquals(1_000_000_000, histogram.getMax());
+		assertWithin(500_000_000, histogram.getPercentile(50));
+		assertWithin(900_000_000, histogram.getPercentile(90));
+		assertWithin(990_000_000, histogram.getPercentile(99));
+		assertEquals(1_000_000_000, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		final var histogram = new LatencyHistogram();
+		for (long i = 0; i < 16; i++) {
+			histogram.record(i);
+		}
+		assertEquals(7, histogram.getPercentile(50));
+		assertEquals(15, histogram.getPercentile(100));
+	}
+
+	@Test
+	public void testReset() {
+		final var histogram = new LatencyHistogram();
+		histogram.record(42);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	private static void assertWithin(long expected, long actual) {
+		assertTrue(Math.abs(actual - expected) <= expected * 0.07, () -> "expected ~" + expected + " but was " + actual);
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.lsp4e.internal.LineIndex;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.junit.jupiter.api.Test;
+
+public class LineIndexTest {
+
+	@Test
+	public void testConversionsMatchDocument() throws BadLocationException {
+		final var document = new Document("first\r\nsecond\n\nlast\n");
+		final LineIndex index = LineIndex.of(document);
+
+		assertEquals(document.getNumberOfLines(), index.getNumberOfLines());
+		for (int line = 0; line < document.getNumberOfLines(); line++) {
+			assertEquals(document.getLineOffset(line), index.getLineOffset(line));
+			assertEquals(document.getLineLength(line), index.getLineLength(line));
+		}
+		for (int offset = 0; offset <= document.getLength(); offset++) {
+			assertEquals(document.getLineOfOffset(offset), index.getLineOfOffset(offset));
+		}
+		assertEquals(new Position(1, 3), index.toPosition(10));
+		assertEquals(10, index.toOffset(1, 3));
+		// character beyond the line end is clamped to the line length
+		assertEquals(14, index.toOffset(1, 100));
+		// line beyond the document end maps to the document end
+		assertEquals(document.getLength(), index.toOffset(10, 0));
+		assertThrows(BadLocationException.class, () -> index.toPosition(document.getLength() + 1));
+	}
+
+	@Test
+	public void testIndexIsSharedPerModificationStamp() throws BadLocationException {
+		final var document = new Document("a\nb\n");
+		final LineIndex index = LineIndex.of(document);
+		assertSame(index, LineIndex.of(document));
+
+		document.replace(0, 0, "new line\n");
+		final LineIndex updated = LineIndex.of(document);
+		assertNotSame(index, updated);
+		assertEquals(4, updated.getNumberOfLines());
+		assertEquals(9, updated.getLineOffset(1));
+	}
+
+	@Test
+	public void testReadMatchesDocument() throws IOException, BadLocationException {
+		final String text = "a\r\nbc\rd\n\r\n\nlast";
+		final var document = new Document(text);
+		final LineIndex fromDocument = LineIndex.of(document);
+		final LineIndex read = LineIndex.read(new StringReader('\uFEFF' + text), true);
+
+		assertEquals(fromDocument.getLength(), read.getLength());
+		assertEquals(fromDocument.getNumberOfLines(), read.getNumberOfLines());
+		for (int line = 0; line < fromDocument.getNumberOfLines(); line++) {
+			assertEquals(fromDocument.getLineOffset(line), read.getLineOffset(line));
+		}
+	}
+
+	@Test
+	public void testToOffsets() throws BadLocationException {
+		final var document = new Document("abc\ndef\nghi");
+		final int[] offsets = LineIndex.of(document).toOffsets(List.of( //
+				new Range(new Position(0, 1), new Position(0, 3)), //
+				new Range(new Position(1, 0), new Position(2, 2))));
+		assertArrayEquals(new int[] { 1, 3, 4, 10 }, offsets);
+	}
+}
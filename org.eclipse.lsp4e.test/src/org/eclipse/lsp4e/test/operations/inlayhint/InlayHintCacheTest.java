@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.operations.inlayhint;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.codemining.LineContentCodeMining;
+import org.eclipse.lsp4e.operations.inlayhint.InlayHintCache;
+import org.eclipse.lsp4e.operations.inlayhint.InlayHintCache.LineRange;
+import org.junit.jupiter.api.Test;
+
+public class InlayHintCacheTest {
+
+	private static final class TestMining extends LineContentCodeMining {
+		TestMining(int offset, String label) {
+			super(new Position(offset, 1), null);
+			setLabel(label);
+		}
+	}
+
+	private final Document document = new Document("line0\nline1\nline2\nline3\nline4\nline5");
+	private final InlayHintCache<TestMining> cache = new InlayHintCache<>(document,
+			(cached, fetched) -> cached.getPosition().getOffset() == fetched.getPosition().getOffset()
+					&& cached.getLabel().equals(fetched.getLabel()));
+
+	@Test
+	public void testStaleLines() {
+		assertEquals(new LineRange(0, 5), cache.getStaleLines(0, 5));
+		assertTrue(cache.update(new LineRange(1, 2), cache.getVersion(), List.of()));
+		assertEquals(new LineRange(0, 5), cache.getStaleLines(0, 5));
+		assertEquals(new LineRange(3, 4), cache.getStaleLines(1, 4));
+		assertNull(cache.getStaleLines(1, 2));
+		assertEquals(new LineRange(0, 0), cache.getStaleLines(0, 2));
+	}
+
+	@Test
+	public void testUpdateReplacesMiningsOfFetchedLinesOnly() throws Exception {
+		final var line1 = new TestMining(document.getLineOffset(1), "a");
+		final var line3 = new TestMining(document.getLineOffset(3), "b");
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(line1, line3));
+
+		final var newLine1 = new TestMining(document.getLineOffset(1), "c");
+		// hints outside of the requested lines are ignored
+		final var line5 = new TestMining(document.getLineOffset(5), "d");
+		cache.update(new LineRange(0, 2), cache.getVersion(), List.of(newLine1, line5));
+
+		assertEquals(List.of(line3, newLine1), cache.getMinings());
+	}
+
+	@Test
+	public void testUnchangedHintsAreReused() throws Exception {
+		final var mining = new TestMining(document.getLineOffset(2), "a");
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(mining));
+
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(new TestMining(document.getLineOffset(2), "a")));
+
+		assertSame(mining, cache.getMinings().get(0));
+	}
+
+	@Test
+	public void testEditsMoveMiningsAndMakeLinesStale() throws Exception {
+		final var line0 = new TestMining(2, "a");
+		final var line3 = new TestMining(document.getLineOffset(3) + 1, "b");
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(line0, line3));
+		final long version = cache.getVersion();
+
+		document.replace(document.getLineOffset(1), 0, "new\nlines\n");
+
+		assertNotEquals(version, cache.getVersion());
+		assertEquals(new LineRange(0, 7), cache.getStaleLines(0, 7));
+		assertEquals(List.of(line0, line3), cache.getMinings());
+		assertEquals(2, line0.getPosition().getOffset());
+		assertEquals(document.getLineOffset(5) + 1, line3.getPosition().getOffset());
+
+		// results computed for the previous version are discarded
+		assertFalse(cache.update(new LineRange(0, 7), version, List.of()));
+		assertEquals(2, cache.getMinings().size());
+	}
+
+	@Test
+	public void testMiningsOfReplacedTextAreRemoved() throws Exception {
+		final var line1 = new TestMining(document.getLineOffset(1) + 2, "a");
+		final var line2 = new TestMining(document.getLineOffset(2), "b");
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(line1, line2));
+
+		document.replace(document.getLineOffset(1), 5, "x");
+
+		assertEquals(List.of(line2), cache.getMinings());
+		assertEquals(document.getLineOffset(2), line2.getPosition().getOffset());
+	}
+
+	@Test
+	public void testInvalidateMakesAllLinesStale() throws Exception {
+		final var mining = new TestMining(document.getLineOffset(2), "a");
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(mining));
+		final long version = cache.getVersion();
+
+		cache.invalidate();
+
+		assertEquals(new LineRange(0, 5), cache.getStaleLines(0, 5));
+		// the cached minings are shown until they are fetched again
+		assertEquals(List.of(mining), cache.getMinings());
+		assertFalse(cache.update(new LineRange(0, 5), version, List.of()));
+
+		final var refreshed = new TestMining(document.getLineOffset(2), "b");
+		assertTrue(cache.update(new LineRange(0, 5), cache.getVersion(), List.of(refreshed)));
+		assertEquals(List.of(refreshed), cache.getMinings());
+	}
+
+	@Test
+	public void testDispose() throws Exception {
+		final var mining = new TestMining(document.getLineOffset(2), "a");
+		cache.update(new LineRange(0, 5), cache.getVersion(), List.of(mining));
+		cache.dispose();
+
+		document.replace(0, 0, "x");
+
+		assertNull(cache.getStaleLines(0, 5));
+		assertEquals(document.getLineOffset(2) - 1, mining.getPosition().getOffset());
+	}
+}
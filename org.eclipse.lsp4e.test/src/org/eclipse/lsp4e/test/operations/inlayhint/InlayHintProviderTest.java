@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.operations.inlayhint;
+
+import static org.eclipse.lsp4e.test.utils.TestUtils.waitForAndAssertCondition;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.lsp4e.operations.inlayhint.InlayHintProvider;
+import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
+import org.eclipse.lsp4j.InlayHint;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.Test;
+
+public class InlayHintProviderTest extends AbstractTestWithProject {
+
+	private static InlayHint hint(String label) {
+		return new InlayHint(new Position(0, 2), Either.forLeft(label));
+	}
+
+	private static List<String> labels(@Nullable CompletableFuture<List<? extends ICodeMining>> minings) {
+		assertNotNull(minings);
+		waitForAndAssertCondition(5_000, minings::isDone);
+		return minings.join().stream().map(ICodeMining::getLabel).toList();
+	}
+
+	@Test
+	public void testRefreshReplacesCachedHints() throws Exception {
+		MockLanguageServer.INSTANCE.getInitializeResult().getCapabilities().setInlayHintProvider(true);
+		MockLanguageServer.INSTANCE.setInlayHints(List.of(hint("a")));
+		final IFile file = TestUtils.createUniqueTestFile(project, "line0\nline1");
+		final ITextViewer viewer = TestUtils.openTextViewer(file);
+		waitForAndAssertCondition(5_000, () -> !MockLanguageServer.INSTANCE.getRemoteProxies().isEmpty());
+
+		final var provider = new InlayHintProvider();
+		try {
+			assertEquals(List.of("a"), labels(provider.provideCodeMinings(viewer, new NullProgressMonitor())));
+
+			// the hints of the fetched lines are cached
+			MockLanguageServer.INSTANCE.setInlayHints(List.of(hint("b")));
+			assertEquals(List.of("a"), labels(provider.provideCodeMinings(viewer, new NullProgressMonitor())));
+
+			final CompletableFuture<Void> refreshed = MockLanguageServer.INSTANCE.getRemoteProxies().get(0)
+					.refreshInlayHints();
+			waitForAndAssertCondition(5_000, refreshed::isDone);
+			assertEquals(List.of("b"), labels(provider.provideCodeMinings(viewer, new NullProgressMonitor())));
+		} finally {
+			provider.dispose();
+		}
+	}
+}
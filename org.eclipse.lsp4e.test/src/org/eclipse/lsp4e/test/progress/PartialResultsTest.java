@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.progress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4e.progress.LSPProgressManager;
+import org.eclipse.lsp4e.progress.PartialResults;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+public class PartialResultsTest {
+
+	private final LSPProgressManager progressManager = new LSPProgressManager();
+
+	@Test
+	public void testPartialResultsAreDispatchedToRegisteredConsumer() {
+		final var received = new ArrayList<JsonElement>();
+		final Either<String, Integer> token = PartialResults.register(received::add);
+		final Either<String, Integer> otherToken = PartialResults.register(chunk -> {
+			throw new AssertionError("unexpected partial result");
+		});
+
+		final var chunk = new JsonArray();
+		chunk.add(new JsonPrimitive("symbol"));
+		progressManager.notifyProgress(new ProgressParams(token, Either.forRight(chunk)));
+		progressManager.notifyProgress(new ProgressParams(token, Either.forRight(List.of("other"))));
+		// work done progress is not a partial result
+		progressManager.notifyProgress(new ProgressParams(token, Either.forLeft(new WorkDoneProgressEnd())));
+
+		PartialResults.unregister(token);
+		PartialResults.unregister(otherToken);
+		progressManager.notifyProgress(new ProgressParams(token, Either.forRight(chunk)));
+
+		final var other = new JsonArray();
+		other.add(new JsonPrimitive("other"));
+		assertEquals(List.of(chunk, other), received);
+	}
+}
@@ -19,6 +19,8 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Vector;
@@ -26,6 +28,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.lsp4e.internal.Pair;
 import org.eclipse.lsp4e.operations.references.LSFindReferences;
 import org.eclipse.lsp4e.operations.references.LSSearchResult;
@@ -36,10 +39,12 @@
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.search.internal.ui.text.FileMatch;
+import org.eclipse.search.internal.ui.text.LineElement;
 import org.eclipse.search.ui.IQueryListener;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.Match;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.monitoring.EventLoopMonitorThread;
 import org.eclipse.ui.monitoring.IUiFreezeEventLogger;
@@ -70,11 +75,13 @@ public void log(UiFreezeEvent event) {
 		}
 	}
 
+	private IFile testFile;
+
 	@BeforeEach
 	public void setUp() throws Exception {
 		ensureSearchResultViewIsClosed();
 
-		final var testFile = TestUtils.createUniqueTestFile(project, "word1 word2\nword3 word2");
+		testFile = TestUtils.createUniqueTestFile(project, "word1 word2\nword3 word2");
 		var textViewer = TestUtils.openTextViewer(testFile);
 		DisplayHelper.sleep(textViewer.getTextWidget().getDisplay(), 2_000); // Give some time to the editor to update
 		MockLanguageServer.INSTANCE.getTextDocumentService().setMockReferences(
@@ -132,6 +139,51 @@ public void testFindReferencesIsNonBlocking() throws Exception {
 		assertEquals(0, uiFreezeCount, "UI Thread was frozen " + uiFreezeCount + " times for more than " + uiFreezeThreshold + "ms");
 	}
 
+	@Test
+	public void testFindReferencesInOpenAndClosedFiles() throws Exception {
+		// closed files are read from disk, without the UTF-8 byte order mark
+		final IFile bomFile = TestUtils.createFile(project, "bom.txt", "\uFEFFa word2\r\nword2 b");
+		bomFile.setCharset(StandardCharsets.UTF_8.name(), null);
+		final IFile closedFile = TestUtils.createFile(project, "closed.txt", "x\nword2 word2");
+		MockLanguageServer.INSTANCE.getTextDocumentService().setMockReferences( //
+				location(testFile, 0, 0, 0, 5), location(testFile, 0, 6, 0, 11), location(testFile, 1, 6, 1, 11),
+				location(bomFile, 0, 2, 0, 7), location(bomFile, 1, 0, 1, 5), //
+				location(closedFile, 1, 6, 1, 11), location(closedFile, 1, 0, 1, 5));
+
+		final var handler = new LSFindReferences();
+		final var evaluationService = PlatformUI.getWorkbench().getService(IEvaluationService.class);
+		final var searchResultListener = registerSearchResultListener();
+		handler.execute(new ExecutionEvent(null, new HashMap<>(), null, evaluationService.getCurrentState()));
+
+		waitForAndAssertCondition(2_000, () -> {
+			final var searchResult = searchResultListener.getNow(null);
+			assertNotNull(searchResult, "No search query was executed");
+			final var lsSearchResult = (LSSearchResult) searchResult.first();
+			assertEquals(7, lsSearchResult.getMatchCount());
+			// offset, length, line number and line content of each match
+			assertEquals(List.of("0 5 1 word1 word2", "6 5 1 word1 word2", "18 5 2 word3 word2"),
+					describeMatches(lsSearchResult, testFile));
+			assertEquals(List.of("2 5 1 a word2", "9 5 2 word2 b"), describeMatches(lsSearchResult, bomFile));
+			assertEquals(List.of("2 5 2 word2 word2", "8 5 2 word2 word2"),
+					describeMatches(lsSearchResult, closedFile));
+			return true;
+		});
+	}
+
+	private static Location location(IFile file, int startLine, int startCharacter, int endLine, int endCharacter) {
+		return new Location(file.getLocationURI().toString(),
+				new Range(new Position(startLine, startCharacter), new Position(endLine, endCharacter)));
+	}
+
+	private static List<String> describeMatches(LSSearchResult searchResult, IFile file) {
+		final var descriptions = new ArrayList<String>();
+		for (final Match match : searchResult.getMatches(file)) {
+			final LineElement line = ((FileMatch) match).getLineElement();
+			descriptions.add(match.getOffset() + " " + match.getLength() + " " + line.getLine() + " " + line.getContents());
+		}
+		return descriptions;
+	}
+
 	private EventLoopMonitorThread initFreezeMonitor(int uiFreezeThreshold) {
 		final var args = new EventLoopMonitorThread.Parameters();
 		args.longEventWarningThreshold = uiFreezeThreshold;
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.semanticTokens;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4e.LanguageServerWrapper;
+import org.eclipse.lsp4e.LanguageServiceAccessor;
+import org.eclipse.lsp4e.internal.Pair;
+import org.eclipse.lsp4e.operations.semanticTokens.SemanticTokensClient;
+import org.eclipse.lsp4e.operations.semanticTokens.VersionedSemanticTokens;
+import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.junit.jupiter.api.Test;
+
+public class SemanticTokensClientTest extends AbstractTestWithProject {
+
+	private static final List<Integer> DATA = List.of(0, 0, 3, 1, 0, 1, 2, 4, 0, 0);
+
+	@Test
+	public void testApplyNoEdits() {
+		assertSame(DATA, SemanticTokensClient.applyEdits(DATA, List.of()));
+	}
+
+	@Test
+	public void testApplyReplaceEdit() {
+		List<Integer> result = SemanticTokensClient.applyEdits(DATA, List.of(new SemanticTokensEdit(5, 3, List.of(3, 2, 5))));
+		assertEquals(List.of(0, 0, 3, 1, 0, 3, 2, 5, 0, 0), result);
+	}
+
+	@Test
+	public void testApplyInsertAndDeleteEdits() {
+		// edits are given out of order on purpose, the client must sort them by start
+		List<Integer> result = SemanticTokensClient.applyEdits(DATA, List.of( //
+				new SemanticTokensEdit(10, 0, List.of(2, 0, 1, 0, 0)), //
+				new SemanticTokensEdit(0, 5, null)));
+		assertEquals(List.of(1, 2, 4, 0, 0, 2, 0, 1, 0, 0), result);
+	}
+
+	@Test
+	public void testApplyEditOutOfBounds() {
+		assertThrows(IllegalArgumentException.class,
+				() -> SemanticTokensClient.applyEdits(DATA, List.of(new SemanticTokensEdit(8, 5, List.of()))));
+	}
+
+	@Test
+	public void testDeltaBaseOnlyForTheServerOfTheTokens() throws Exception {
+		IFile file = TestUtils.createUniqueTestFile(project, "");
+		IFile otherFile = TestUtils.createFile(project, "deltaBase.lsptWithMultiRoot", "");
+		LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(file, request -> true).iterator().next();
+		LanguageServerWrapper otherWrapper = LanguageServiceAccessor.getLSWrappers(otherFile, request -> true).iterator().next();
+		IDocument document = new Document();
+		final var tokens = new SemanticTokens("1", DATA);
+
+		final var fullResult = new VersionedSemanticTokens(0, Pair.of(tokens, null), document, wrapper);
+		assertSame(tokens, fullResult.getDeltaBase(wrapper));
+		assertNull(fullResult.getDeltaBase(otherWrapper));
+		// range results and results without id can't be the base of a delta
+		assertNull(new VersionedSemanticTokens(0, Pair.of(tokens, null), document).getDeltaBase(wrapper));
+		assertNull(new VersionedSemanticTokens(0, Pair.of(new SemanticTokens(DATA), null), document, wrapper)
+				.getDeltaBase(wrapper));
+	}
+}
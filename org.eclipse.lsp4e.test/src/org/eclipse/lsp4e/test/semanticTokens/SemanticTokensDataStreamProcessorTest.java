@@ -12,9 +12,12 @@
 
 import java.util.List;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.operations.semanticTokens.SemanticTokensDataStreamProcessor;
 import org.eclipse.lsp4e.test.utils.AbstractTest;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.swt.custom.StyleRange;
 import org.junit.jupiter.api.Test;
@@ -40,6 +43,67 @@ public void testKeyword() {
 		assertEquals(expectedStyleRanges, styleRanges);
 	}
 
+	@Test
+	public void testUnboxedStreamWithModifiers() {
+		final var document = new Document(SemanticTokensTestUtil.keywordText);
+
+		final var processor = new SemanticTokensDataStreamProcessor(
+				SemanticTokensTestUtil.keywordTokenTypeMapper(SemanticTokensTestUtil.RED_TOKEN),
+				(line, character) -> {
+					try {
+						return LSPEclipseUtils.toOffset(line, character, document);
+					} catch (BadLocationException e) {
+						throw new RuntimeException(e);
+					}
+				});
+
+		final var legend = new SemanticTokensLegend(List.of("keyword", "other"),
+				List.of("obsolete", SemanticTokenModifiers.Deprecated));
+		final int[] stream = { //
+				0, 0, 4, 0, 1, // keyword, obsolete
+				3, 0, 4, 0, 2, // keyword, deprecated
+				0, 9, 7, 1, 3, // other, obsolete and deprecated
+				0, 8, 3, 5, 0 // unknown token type
+		};
+
+		final var deprecatedKeyword = new StyleRange(15, 4, SemanticTokensTestUtil.RED, null);
+		deprecatedKeyword.strikeout = true;
+		final var deprecatedOther = new StyleRange();
+		deprecatedOther.start = 24;
+		deprecatedOther.length = 7;
+		deprecatedOther.strikeout = true;
+		List<StyleRange> expectedStyleRanges = List.of(//
+				new StyleRange(0, 4, SemanticTokensTestUtil.RED, null), //
+				deprecatedKeyword, //
+				deprecatedOther);
+
+		assertEquals(expectedStyleRanges, processor.getTokensData(stream, legend));
+	}
+
+	@Test
+	public void testLineCursorMatchesOffsetMapper() {
+		final var document = new Document("ab\r\ncdef\n\nxyz");
+		final var processor = new SemanticTokensDataStreamProcessor(
+				SemanticTokensTestUtil.keywordTokenTypeMapper(SemanticTokensTestUtil.RED_TOKEN),
+				SemanticTokensTestUtil.offsetMapper(document));
+		final var legend = new SemanticTokensLegend(List.of("keyword"), List.of());
+		final List<Integer> stream = List.of( //
+				0, 0, 1, 0, 0, //
+				1, 2, 2, 0, 0, //
+				2, 10, 1, 0, 0, // character after the end of the line
+				3, 0, 1, 0, 0 // line after the end of the document
+		);
+
+		List<StyleRange> expectedStyleRanges = List.of(//
+				new StyleRange(0, 1, SemanticTokensTestUtil.RED, null), //
+				new StyleRange(6, 2, SemanticTokensTestUtil.RED, null), //
+				new StyleRange(13, 1, SemanticTokensTestUtil.RED, null), //
+				new StyleRange(13, 1, SemanticTokensTestUtil.RED, null));
+
+		assertEquals(expectedStyleRanges, processor.getTokensData(stream, legend));
+		assertEquals(expectedStyleRanges, processor.getTokensData(stream, legend, document));
+	}
+
 	private SemanticTokensLegend getSemanticTokensLegend() {
 		final var semanticTokensLegend = new SemanticTokensLegend();
 		semanticTokensLegend.setTokenTypes(List.of("keyword","other"));
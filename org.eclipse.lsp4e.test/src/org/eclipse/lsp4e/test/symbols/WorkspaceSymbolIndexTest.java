@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.symbols;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4e.operations.symbols.WorkspaceSymbolIndex;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.SymbolTag;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolLocation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.Test;
+
+public class WorkspaceSymbolIndexTest {
+
+	private static final String SERVER = "server";
+	private static final URI FIRST = URI.create("file:///project/First.java");
+	private static final URI SECOND = URI.create("file:///project/Second.java");
+
+	private final WorkspaceSymbolIndex index = new WorkspaceSymbolIndex();
+
+	private static Range range(int line, int character) {
+		return new Range(new Position(line, character), new Position(line, character + 5));
+	}
+
+	private static WorkspaceSymbol symbol(String name, SymbolKind kind, URI uri, int line) {
+		return new WorkspaceSymbol(name, kind, Either.forLeft(new Location(uri.toString(), range(line, 2))));
+	}
+
+	private static List<String> names(List<WorkspaceSymbol> symbols) {
+		return symbols.stream().map(WorkspaceSymbol::getName).sorted().toList();
+	}
+
+	@Test
+	public void testFindBySubstringIgnoringCase() {
+		index.addSymbols(SERVER, List.of(symbol("FileSystemWatcher", SymbolKind.Class, FIRST, 1),
+				symbol("watchFiles", SymbolKind.Method, FIRST, 2), symbol("ab", SymbolKind.Field, SECOND, 3)));
+
+		assertEquals(List.of("FileSystemWatcher", "watchFiles"), names(index.find("WATCH", 100)));
+		assertEquals(List.of("FileSystemWatcher"), names(index.find("system*watch", 100)));
+		assertEquals(List.of("ab"), names(index.find("b", 100)));
+		assertEquals(List.of(), names(index.find("unknown", 100)));
+		assertEquals(1, index.find("watch", 1).size());
+	}
+
+	@Test
+	public void testSymbolAttributesAreKept() {
+		final var symbol = symbol("Deprecated", SymbolKind.Interface, FIRST, 4);
+		symbol.setContainerName("container");
+		symbol.setTags(List.of(SymbolTag.Deprecated));
+		final var withoutRange = new WorkspaceSymbol("NoRange", SymbolKind.Module,
+				Either.forRight(new WorkspaceSymbolLocation(SECOND.toString())));
+		index.addSymbols(SERVER, List.of(symbol, withoutRange));
+
+		final WorkspaceSymbol found = index.find("deprecated", 10).get(0);
+		assertEquals(SymbolKind.Interface, found.getKind());
+		assertEquals("container", found.getContainerName());
+		assertEquals(List.of(SymbolTag.Deprecated), found.getTags());
+		assertEquals(range(4, 2), found.getLocation().getLeft().getRange());
+		assertEquals(FIRST.toString(), found.getLocation().getLeft().getUri());
+
+		final WorkspaceSymbol foundWithoutRange = index.find("norange", 10).get(0);
+		assertEquals(SECOND.toString(), foundWithoutRange.getLocation().getRight().getUri());
+	}
+
+	@Test
+	public void testDuplicateSymbolsAreIgnored() {
+		index.addSymbols(SERVER, List.of(symbol("Duplicate", SymbolKind.Class, FIRST, 1)));
+		index.addSymbols(SERVER, List.of(symbol("Duplicate", SymbolKind.Class, FIRST, 1),
+				symbol("Duplicate", SymbolKind.Class, FIRST, 7)));
+
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	public void testDuplicatesOfDocumentSymbolsAreIgnored() {
+		final var symbols = new ArrayList<WorkspaceSymbol>();
+		for (int line = 0; line < 10_000; line++) {
+			symbols.add(symbol("symbol" + line % 100, SymbolKind.Field, FIRST, line));
+		}
+		index.setDocumentSymbols(SERVER, FIRST, List.of(Either.forRight(new DocumentSymbol("Kept", SymbolKind.Class,
+				range(0, 2), range(0, 2)))));
+		index.addSymbols(SERVER, symbols);
+		index.addSymbols(SERVER, symbols);
+		index.addSymbols(SERVER, List.of(symbol("Kept", SymbolKind.Class, FIRST, 0),
+				symbol("Kept", SymbolKind.Method, FIRST, 0)));
+
+		assertEquals(10_002, index.size());
+		assertEquals(2, index.find("kept", 10).size());
+	}
+
+	@Test
+	public void testDocumentSymbolsReplaceSymbolsOfDocument() {
+		index.addSymbols(SERVER, List.of(symbol("Removed", SymbolKind.Class, FIRST, 1),
+				symbol("Other", SymbolKind.Class, SECOND, 1)));
+
+		final var method = new DocumentSymbol("method", SymbolKind.Method, range(3, 0), range(3, 4));
+		final var type = new DocumentSymbol("Type", SymbolKind.Class, range(1, 0), range(1, 6), null,
+				List.of(method));
+		final var information = new SymbolInformation("field", SymbolKind.Field,
+				new Location(FIRST.toString(), range(5, 1)), "Type");
+		index.setDocumentSymbols(SERVER, FIRST, List.of(Either.forRight(type), Either.forLeft(information)));
+
+		assertEquals(List.of(), index.find("removed", 10));
+		assertEquals(List.of("Other", "Type", "field", "method"), names(index.find("", 10)));
+		final WorkspaceSymbol found = index.find("method", 10).get(0);
+		assertEquals("Type", found.getContainerName());
+		assertEquals(range(3, 4), found.getLocation().getLeft().getRange());
+	}
+
+	@Test
+	public void testInvalidate() {
+		index.addSymbols(SERVER, List.of(symbol("First", SymbolKind.Class, FIRST, 1)));
+		index.addSymbols("other", List.of(symbol("FirstOther", SymbolKind.Class, FIRST, 1),
+				symbol("Second", SymbolKind.Class, SECOND, 1)));
+
+		// file URIs are normalized
+		index.invalidate(URI.create("file:/project/First.java"));
+
+		assertEquals(List.of("Second"), names(index.find("", 10)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void testNamesAreReleasedWithTheirSymbols() {
+		final var symbol = symbol("Shared", SymbolKind.Class, FIRST, 1);
+		symbol.setContainerName("Container");
+		index.addSymbols(SERVER, List.of(symbol, symbol("Shared", SymbolKind.Class, SECOND, 1),
+				symbol("Removed", SymbolKind.Class, FIRST, 2)));
+		assertEquals(3, index.nameCount());
+
+		index.invalidate(FIRST);
+
+		assertEquals(1, index.nameCount());
+		assertEquals(List.of("Shared"), names(index.find("", 10)));
+		assertEquals(List.of(), index.find("removed", 10));
+		assertEquals(List.of(), index.find("container", 10));
+	}
+
+	@Test
+	public void testIndexDoesNotGrowWhenSymbolsAreReplaced() {
+		for (int generation = 0; generation < 50; generation++) {
+			final var symbols = new ArrayList<Either<SymbolInformation, DocumentSymbol>>();
+			for (int i = 0; i < 20; i++) {
+				symbols.add(Either.forRight(new DocumentSymbol("symbol" + generation + "x" + i, SymbolKind.Field,
+						range(i, 0), range(i, 0))));
+			}
+			index.setDocumentSymbols(SERVER, FIRST, symbols);
+			assertEquals(20, index.nameCount());
+			// released ids are reused and the trigrams of released names no longer match
+			assertEquals(List.of("symbol" + generation + "x7"), names(index.find("symbol" + generation + "x7", 10)));
+			assertEquals(List.of(), names(index.find("symbol" + (generation - 1) + "x", 10)));
+		}
+	}
+}
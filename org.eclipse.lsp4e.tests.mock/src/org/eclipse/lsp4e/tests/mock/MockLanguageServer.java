@@ -56,6 +56,7 @@
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializeResult;
+import org.eclipse.lsp4j.InlayHint;
 import org.eclipse.lsp4j.LinkedEditingRangeRegistrationOptions;
 import org.eclipse.lsp4j.LinkedEditingRanges;
 import org.eclipse.lsp4j.Location;
@@ -230,6 +231,10 @@ public void setCodeLens(List<CodeLens> codeLens) {
 		this.textDocumentService.setMockCodeLenses(codeLens);
 	}
 
+	public void setInlayHints(List<InlayHint> inlayHints) {
+		this.textDocumentService.setMockInlayHints(inlayHints);
+	}
+
 	public void setDefinition(List<? extends Location> definitionLocations) {
 		this.textDocumentService.setMockDefinitionLocations(definitionLocations);
 	}
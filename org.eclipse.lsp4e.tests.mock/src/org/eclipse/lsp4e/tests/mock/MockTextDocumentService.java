@@ -63,6 +63,8 @@
 import org.eclipse.lsp4j.FoldingRangeRequestParams;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.HoverParams;
+import org.eclipse.lsp4j.InlayHint;
+import org.eclipse.lsp4j.InlayHintParams;
 import org.eclipse.lsp4j.LinkedEditingRangeParams;
 import org.eclipse.lsp4j.LinkedEditingRanges;
 import org.eclipse.lsp4j.Location;
@@ -76,7 +78,10 @@
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.RenameParams;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SignatureHelpParams;
 import org.eclipse.lsp4j.SymbolInformation;
@@ -104,6 +109,7 @@ public class MockTextDocumentService implements TextDocumentService {
 	private SignatureHelp mockSignatureHelp;
 	private List<CodeLens> mockCodeLenses;
 	private List<DocumentLink> mockDocumentLinks;
+	private List<InlayHint> mockInlayHints = Collections.emptyList();
 	private Map<Position, List<? extends DocumentHighlight>> mockDocumentHighlights;
 	private LinkedEditingRanges mockLinkedEditingRanges;
 
@@ -123,6 +129,7 @@ public class MockTextDocumentService implements TextDocumentService {
 	private Either3<Range, PrepareRenameResult, PrepareRenameDefaultBehavior> mockPrepareRenameResult;
 	private List<DocumentSymbol> documentSymbols;
 	private SemanticTokens mockSemanticTokens;
+	private SemanticTokensDelta mockSemanticTokensDelta;
 	private List<FoldingRange> foldingRanges;
 	public int codeActionRequests = 0;
 
@@ -221,6 +228,11 @@ public CompletableFuture<List<? extends CodeLens>> codeLens(CodeLensParams param
 		return CompletableFuture.completedFuture(Collections.emptyList());
 	}
 
+	@Override
+	public CompletableFuture<List<InlayHint>> inlayHint(InlayHintParams params) {
+		return CompletableFuture.completedFuture(mockInlayHints);
+	}
+
 	@Override
 	public CompletableFuture<CodeLens> resolveCodeLens(CodeLens unresolved) {
 		return CompletableFuture.completedFuture(null);
@@ -378,6 +390,10 @@ public void setMockCodeLenses(List<CodeLens> codeLenses) {
 		this.mockCodeLenses = codeLenses;
 	}
 
+	public void setMockInlayHints(List<InlayHint> inlayHints) {
+		this.mockInlayHints = inlayHints;
+	}
+
 	public void setMockDefinitionLocations(List<? extends Location> definitionLocations) {
 		this.mockDefinitionLocations = definitionLocations;
 	}
@@ -400,12 +416,14 @@ public void reset() {
 		this.mockTypeDefinitions = Collections.emptyList();
 		this.mockHover = null;
 		this.mockCodeLenses = null;
+		this.mockInlayHints = Collections.emptyList();
 		this.mockReferences = null;
 		this.remoteProxies.clear();
 		this.mockCodeActions = new ArrayList<>();
 		this.mockRenameEdit = null;
 		this.documentSymbols = Collections.emptyList();
 		this.foldingRanges = new ArrayList<>();
+		this.mockSemanticTokensDelta = null;
 		this.codeActionRequests = 0;
 	}
 
@@ -462,6 +480,22 @@ public CompletableFuture<SemanticTokens> semanticTokensFull(SemanticTokensParams
 		return CompletableFuture.completedFuture(this.mockSemanticTokens);
 	}
 
+	public void setSemanticTokensDelta(final SemanticTokensDelta semanticTokensDelta) {
+		this.mockSemanticTokensDelta = semanticTokensDelta;
+	}
+
+	@Override
+	public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+			SemanticTokensDeltaParams params) {
+		final var delta = this.mockSemanticTokensDelta;
+		return CompletableFuture.completedFuture(delta != null ? Either.forRight(delta) : Either.forLeft(this.mockSemanticTokens));
+	}
+
+	@Override
+	public CompletableFuture<SemanticTokens> semanticTokensRange(SemanticTokensRangeParams params) {
+		return CompletableFuture.completedFuture(this.mockSemanticTokens);
+	}
+
 	private static final Range DUMMY_RANGE = new Range(new Position(0, 0), new Position(0, 0));
 
 	// --------------------------------------
@@ -37,6 +37,7 @@ public boolean isEnabled(@Nullable URI uri) {
 
 	public void setUserEnabled(boolean enabled) {
 		LanguageServerPlugin.getDefault().getPreferenceStore().setValue(getPreferencesKey(), String.valueOf(enabled));
+		LanguageServiceAccessor.invalidateRoutes();
 	}
 
 	public boolean isUserEnabled() {
@@ -17,6 +17,7 @@
 
 import java.io.File;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,8 @@
 import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -47,6 +50,7 @@
 import org.eclipse.lsp4e.internal.DocumentUtil;
 import org.eclipse.lsp4e.internal.FormatRegionsProviderUtil;
 import org.eclipse.lsp4e.operations.format.LSPFormatter;
+import org.eclipse.lsp4e.operations.symbols.WorkspaceSymbolIndex;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4j.DidChangeTextDocumentParams;
 import org.eclipse.lsp4j.DidCloseTextDocumentParams;
@@ -56,6 +60,7 @@
 import org.eclipse.lsp4j.FormattingOptions;
 import org.eclipse.lsp4j.MessageParams;
 import org.eclipse.lsp4j.MessageType;
+import org.eclipse.lsp4j.SaveOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
@@ -75,22 +80,41 @@ final class DocumentContentSynchronizer implements IDocumentListener {
 	private final LanguageServerWrapper languageServerWrapper;
 	private final IDocument document;
 	private final URI fileUri;
+	/** the project of the document, whose symbol index is invalidated by changes */
+	private final @Nullable IProject project;
 	private final TextDocumentSyncKind syncKind;
 
-	private int version = 0;
+	private volatile int version = 0;
 	private @Nullable DidChangeTextDocumentParams changeParams;
+	/** incremental changes not yet sent to the server, guarded by {@code this} */
+	private @Nullable DidChangeTextDocumentParams pendingChanges;
+	private final int didChangeBatchDelay;
 	private long openSaveStamp;
+	/** whether didOpen was sent, guarded by {@code this} */
+	private boolean opened;
 	private IPreferenceStore store;
 	private @Nullable IFormatRegionsProvider formatRegionsProvider;
 
 	public DocumentContentSynchronizer(LanguageServerWrapper languageServerWrapper, LanguageServer languageServer,
 			IDocument document, @Nullable TextDocumentSyncKind syncKind) {
+		this(languageServerWrapper, languageServer, document, syncKind, false);
+	}
+
+	/**
+	 * @param lazy
+	 *            whether to defer {@code textDocument/didOpen} until a request or
+	 *            an edit {@link #ensureOpened() needs} the document on the server
+	 */
+	DocumentContentSynchronizer(LanguageServerWrapper languageServerWrapper, LanguageServer languageServer,
+			IDocument document, @Nullable TextDocumentSyncKind syncKind, boolean lazy) {
 		this.languageServerWrapper = languageServerWrapper;
 		URI uri = LSPEclipseUtils.toUri(document);
 		if (uri == null) {
 			throw new NullPointerException();
 		}
 		this.fileUri = uri;
+		final IFile file = LSPEclipseUtils.getFile(document);
+		this.project = file == null ? null : file.getProject();
 		try {
 			IFileStore store = EFS.getStore(fileUri);
 			this.openSaveStamp = store.fetchInfo().getLastModified();
@@ -105,7 +129,17 @@ public DocumentContentSynchronizer(LanguageServerWrapper languageServerWrapper,
 
 		this.document = document;
 		this.store = LanguageServerPlugin.getDefault().getPreferenceStore();
+		this.didChangeBatchDelay = this.syncKind == TextDocumentSyncKind.Incremental
+				? Math.max(0, store.getInt(lsToDidChangeBatchDelayKey(languageServerWrapper.serverDefinition.id)))
+				: 0;
+
+		if (!lazy) {
+			opened = true;
+			languageServer.getTextDocumentService().didOpen(createDidOpenParams());
+		}
+	}
 
+	private DidOpenTextDocumentParams createDidOpenParams() {
 		// add a document buffer
 		final var textDocument = new TextDocumentItem();
 		textDocument.setUri(fileUri.toASCIIString());
@@ -128,37 +162,136 @@ public DocumentContentSynchronizer(LanguageServerWrapper languageServerWrapper,
 			languageId = part.substring(lastSeparatorIndex + 1);
 		}
 		if (languageId == null) {
-			String uriString = uri.toString();
+			String uriString = fileUri.toString();
 			int lastSeparatorIndex = Math.max(uriString.lastIndexOf('.'), uriString.lastIndexOf('/'));
 			languageId = uriString.substring(lastSeparatorIndex + 1);
 		}
 
 		textDocument.setLanguageId(languageId);
 		textDocument.setVersion(++version);
-		languageServer.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(textDocument));
+		return new DidOpenTextDocumentParams(textDocument);
+	}
+
+	/**
+	 * Sends {@code textDocument/didOpen} with the current text of the document if
+	 * it was connected lazily and is not open on the server yet. Must be called
+	 * before any request or notification about the document.
+	 */
+	synchronized void ensureOpened() {
+		if (opened) {
+			return;
+		}
+		opened = true;
+		final DidOpenTextDocumentParams params = createDidOpenParams();
+		// must be enqueued while holding the lock to precede the changes of the document
+		languageServerWrapper.dispatchNotification(ls -> ls.getTextDocumentService().didOpen(params));
+	}
+
+	synchronized boolean isOpened() {
+		return opened;
+	}
+
+	private static final String DID_CHANGE_BATCH_DELAY__KEY = "didChange.batchDelay"; //$NON-NLS-1$
+
+	/**
+	 * Converts a language server ID to the preference ID to define the delay (in
+	 * milliseconds) during which consecutive incremental changes are coalesced into
+	 * a single textDocument/didChange notification. A value of 0 (the default)
+	 * disables batching.
+	 *
+	 * @return language server's preference ID to define the didChange batch delay
+	 */
+	private static String lsToDidChangeBatchDelayKey(String serverId) {
+		return serverId + '.' + DID_CHANGE_BATCH_DELAY__KEY;
 	}
 
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
 		checkEvent(event);
+		final IProject project = this.project;
+		final WorkspaceSymbolIndex symbolIndex = project == null ? null
+				: WorkspaceSymbolIndex.forProjectIfExists(project);
+		if (symbolIndex != null) {
+			symbolIndex.invalidate(fileUri);
+		}
+		if (!isOpened()) {
+			// the server gets the edited text with didOpen
+			ensureOpened();
+			return;
+		}
 		if (syncKind == TextDocumentSyncKind.Full) {
 			createChangeEvent(event);
+		} else if (syncKind == TextDocumentSyncKind.Incremental && changeParams == null) {
+			// opened by a request while the document was changing, with the text before or after the change
+			changeParams = new DidChangeTextDocumentParams(
+					new VersionedTextDocumentIdentifier(fileUri.toASCIIString(), null),
+					List.of(new TextDocumentContentChangeEvent(document.get())));
 		}
 
 		if (changeParams != null) {
 			final DidChangeTextDocumentParams changeParamsToSend = changeParams;
 			changeParams = null;
 
-			changeParamsToSend.getTextDocument().setVersion(++version);
-			languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didChange(changeParamsToSend));
+			if (didChangeBatchDelay > 0) {
+				addPendingChanges(changeParamsToSend.getContentChanges());
+				return;
+			}
+			sendChange(changeParamsToSend);
 		}
 	}
 
+	/**
+	 * Sends a change right away, after the pending batch of changes, with the
+	 * version incremented under the same lock as the batches.
+	 */
+	private synchronized void sendChange(DidChangeTextDocumentParams change) {
+		flushPendingChanges();
+		change.getTextDocument().setVersion(++version);
+		// must be enqueued while holding the lock to keep changes ordered
+		languageServerWrapper.dispatchNotification(ls -> ls.getTextDocumentService().didChange(change));
+	}
+
+	/**
+	 * Appends the given incremental changes to the pending batch. The first change
+	 * of a batch schedules a flush after {@link #didChangeBatchDelay}; any request
+	 * queued on the language server wrapper in the meantime flushes the batch
+	 * earlier, so that the server always sees the document state the request was
+	 * computed against.
+	 */
+	private synchronized void addPendingChanges(List<TextDocumentContentChangeEvent> changes) {
+		var batch = pendingChanges;
+		if (batch == null) {
+			final var identifier = new VersionedTextDocumentIdentifier();
+			identifier.setUri(fileUri.toASCIIString());
+			batch = pendingChanges = new DidChangeTextDocumentParams(identifier, new ArrayList<>());
+			languageServerWrapper.addPendingChanges(this);
+			CompletableFuture.delayedExecutor(didChangeBatchDelay, TimeUnit.MILLISECONDS)
+					.execute(this::flushPendingChanges);
+		}
+		batch.getContentChanges().addAll(changes);
+	}
+
+	/**
+	 * Sends the pending batch of incremental changes, if any, as a single
+	 * textDocument/didChange notification.
+	 */
+	synchronized void flushPendingChanges() {
+		final var batch = pendingChanges;
+		if (batch == null) {
+			return;
+		}
+		pendingChanges = null;
+		languageServerWrapper.removePendingChanges(this);
+		batch.getTextDocument().setVersion(++version);
+		// must be enqueued while holding the lock to keep batches ordered
+		languageServerWrapper.dispatchNotification(ls -> ls.getTextDocumentService().didChange(batch));
+	}
+
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
 		checkEvent(event);
-		if (syncKind == TextDocumentSyncKind.Incremental) {
+		if (syncKind == TextDocumentSyncKind.Incremental && isOpened()) {
 			// this really needs to happen before event gets actually
 			// applied, to properly compute positions
 			createChangeEvent(event);
@@ -241,6 +374,7 @@ private int lsToWillSaveWaitUntilTimeout() {
 	}
 
 	public void documentAboutToBeSaved() {
+		ensureOpened();
 		if (!serverSupportsWillSaveWaitUntil()) {
 			// format document if service has been provided:
 			formatDocument();
@@ -341,37 +475,65 @@ public void documentSaved(IFileBuffer buffer) {
 			return;
 		}
 		this.openSaveStamp = buffer.getModificationStamp();
+		documentSaved();
+	}
+
+	/**
+	 * Sends {@code textDocument/didSave} if the language server asked for save
+	 * notifications. The text of the document is only included if the server asked
+	 * for it with {@code includeText}, as it can be large and is serialized on
+	 * every save.
+	 */
+	void documentSaved() {
+		if (!isOpened()) {
+			// the server never got the document, it reads it from the file if needed
+			return;
+		}
+		flushPendingChanges();
+		boolean includeText = false;
 		ServerCapabilities serverCapabilities = languageServerWrapper.getServerCapabilities();
 		if (serverCapabilities != null) {
 			Either<TextDocumentSyncKind, TextDocumentSyncOptions> textDocumentSync = serverCapabilities
 					.getTextDocumentSync();
-			if (textDocumentSync.isRight() && textDocumentSync.getRight().getSave() == null) {
-				return;
+			if (textDocumentSync != null && textDocumentSync.isRight()) {
+				final Either<Boolean, SaveOptions> save = textDocumentSync.getRight().getSave();
+				if (save == null || (save.isLeft() && !Boolean.TRUE.equals(save.getLeft()))) {
+					return;
+				}
+				includeText = save.isRight() && Boolean.TRUE.equals(save.getRight().getIncludeText());
 			}
 		}
 		final var identifier = LSPEclipseUtils.toTextDocumentIdentifier(fileUri);
-		final var params = new DidSaveTextDocumentParams(identifier, document.get());
+		final var params = includeText //
+				? new DidSaveTextDocumentParams(identifier, document.get())
+				: new DidSaveTextDocumentParams(identifier);
 
 		languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didSave(params));
-
 	}
 
 	public void documentClosed() {
 		final var identifier = LSPEclipseUtils.toTextDocumentIdentifier(fileUri);
 		WILL_SAVE_WAIT_UNTIL_TIMEOUT_MAP.remove(identifier.getUri());
 		// When LS is shut down all documents are being disconnected. No need to send
-		// "didClose" message to the LS that is being shut down or not yet started
-		if (languageServerWrapper.isActive()) {
+		// "didClose" message to the LS that is being shut down or not yet started,
+		// nor for documents the LS never got
+		if (languageServerWrapper.isActive() && isOpened()) {
 			// Ensure any pending textDocument/didChange is sent before didClose
 			// to preserve LSP event ordering during rename/move flows.
+			flushPendingChanges();
 			final var pendingChange = this.changeParams;
 			if (pendingChange != null) {
 				this.changeParams = null;
-				pendingChange.getTextDocument().setVersion(++version);
-				languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didChange(pendingChange));
+				sendChange(pendingChange);
 			}
 			final var params = new DidCloseTextDocumentParams(identifier);
 			languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didClose(params));
+		} else {
+			// drop batched changes, the delayed flush must not restart the server
+			synchronized (this) {
+				pendingChanges = null;
+				languageServerWrapper.removePendingChanges(this);
+			}
 		}
 	}
 
@@ -34,7 +34,12 @@ public interface IMarkerAttributeComputer {
 	 * @param diagnostic
 	 *            the {@link Diagnostic} to me mapped to a marker
 	 * @param document
-	 *            the {@link IDocument} attached to the given resource
+	 *            the {@link IDocument} attached to the given resource if the
+	 *            resource is open in an editor or otherwise connected to a file
+	 *            buffer, {@code null} otherwise. The markers of resources which
+	 *            are not open are computed without loading a document for them;
+	 *            implementations needing their content have to read it from the
+	 *            resource.
 	 * @param resource
 	 *            the {@link IResource} that contains the document
 	 * @param attributes
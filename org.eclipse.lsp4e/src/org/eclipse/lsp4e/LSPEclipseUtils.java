@@ -90,6 +90,7 @@
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.lsp4e.internal.ArrayUtil;
 import org.eclipse.lsp4e.internal.DocumentInputStream;
+import org.eclipse.lsp4e.internal.LineIndex;
 import org.eclipse.lsp4e.internal.MarkdownUtil;
 import org.eclipse.lsp4e.internal.ResourceForUriCache;
 import org.eclipse.lsp4e.refactoring.CreateFileChange;
@@ -203,9 +204,14 @@ public static Position toPosition(int offset, IDocument document) throws BadLoca
 	}
 
 	public static int toOffset(Position position, IDocument document) throws BadLocationException {
-		var line = position.getLine();
-		final int character;
+		return toOffset(position.getLine(), position.getCharacter(), document);
+	}
 
+	/**
+	 * Same as {@link #toOffset(Position, IDocument)} but without requiring a
+	 * {@link Position} instance, for callers converting many positions in a row.
+	 */
+	public static int toOffset(int line, int character, IDocument document) throws BadLocationException {
 		/*
 		 * The LSP spec allow for positions to specify the next line if a line should be
 		 * included completely, specifying the first character of the following line. If
@@ -213,21 +219,30 @@ public static int toOffset(Position position, IDocument document) throws BadLoca
 		 * and set the character to line length - 1 (to remove delimiter)
 		 */
 		var zeroBasedDocumentLines = Math.max(0, document.getNumberOfLines() - 1);
-		if (zeroBasedDocumentLines < position.getLine()) {
-			line = zeroBasedDocumentLines;
-			character = getLineLength(document, line);
-		} else {
-			// We just take the line length to be more forgiving and adhere to the LSP spec.
-			character = Math.min(getLineLength(document, line), position.getCharacter());
+		if (zeroBasedDocumentLines < line) {
+			return document.getLineOffset(zeroBasedDocumentLines) + getLineLength(document, zeroBasedDocumentLines);
 		}
-
-		return document.getLineOffset(line) + character;
+		// We just take the line length to be more forgiving and adhere to the LSP spec.
+		return document.getLineOffset(line) + Math.min(getLineLength(document, line), character);
 	}
 
 	private static int getLineLength(IDocument document, int line) throws BadLocationException {
 		return Math.max(0, document.getLineLength(line));
 	}
 
+	/**
+	 * Converts the given ranges to offsets using a single line index of the
+	 * document. Building the index costs a pass over the lines of the document
+	 * once per version, so single conversions should rather use
+	 * {@link #toOffset(Position, IDocument)}.
+	 *
+	 * @return an array holding the start and end offset of the range at index
+	 *         {@code i} at index {@code 2 * i} and {@code 2 * i + 1}
+	 */
+	public static int[] toOffsets(List<? extends Range> ranges, IDocument document) throws BadLocationException {
+		return LineIndex.of(document).toOffsets(ranges);
+	}
+
 	public static boolean isOffsetInRange(int offset, Range range, IDocument document) {
 		try {
 			return offset != -1 && offset >= toOffset(range.getStart(), document)
@@ -0,0 +1,318 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.internal.LatencyHistogram;
+import org.eclipse.lsp4j.jsonrpc.messages.CancelParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+/**
+ * Request latency and throughput metrics of a single language server, see
+ * {@link LanguageServerWrapper#getMetrics()}.
+ *
+ * <p>
+ * For every request method sent to the server the number of requests, failed
+ * and cancelled requests and a histogram of the time between sending the
+ * request and receiving its response are recorded. Additionally the time
+ * requests wait for the dispatcher thread of the wrapper is recorded, which
+ * tells whether slow responses are caused by the server or by requests queuing
+ * up on the client side.
+ *
+ * <p>
+ * Collecting metrics is disabled by default and can be enabled with the
+ * {@code org.eclipse.lsp4e/metrics} debug option, or at runtime with
+ * {@link #setEnabled(boolean)}. While disabled, the only cost is reading a
+ * volatile flag per message.
+ *
+ * <p>
+ * The {@link #getStartupStatistics() startup times} of the server are always
+ * recorded, as they only cost a few timestamps per start. They tell how long
+ * users wait for the first response of a server and whether prestarting it
+ * (see {@link LanguageServersRegistry.LanguageServerDefinition#prestart})
+ * pays off.
+ */
+public final class LanguageServerMetrics {
+
+	/**
+	 * Name of the {@link #getDispatcherStatistics() dispatcher statistics}.
+	 */
+	public static final String DISPATCHER_QUEUE = "(dispatcher queue)"; //$NON-NLS-1$
+
+	/**
+	 * Name of the {@link #getStartupStatistics() statistics} of the time from
+	 * starting the server to the end of its initialization.
+	 */
+	public static final String INITIALIZATION = "(initialization)"; //$NON-NLS-1$
+
+	/**
+	 * Name of the {@link #getStartupStatistics() statistics} of the time from
+	 * connecting the first document to a server started on demand to the first
+	 * response of the server.
+	 */
+	public static final String FIRST_RESPONSE = "(first response)"; //$NON-NLS-1$
+
+	/**
+	 * Name of the {@link #getStartupStatistics() statistics} of the time from
+	 * connecting the first document to a prestarted server to the first response
+	 * of the server.
+	 */
+	public static final String FIRST_RESPONSE_PRESTARTED = "(first response, prestarted)"; //$NON-NLS-1$
+
+	// stop tracking response times if responses to that many requests are outstanding
+	private static final int MAX_PENDING_REQUESTS = 10_000;
+
+	private static volatile boolean enabled = Platform.getDebugBoolean("org.eclipse.lsp4e/metrics"); //$NON-NLS-1$
+	private static volatile long enabledSince = System.nanoTime();
+
+	/**
+	 * Snapshot of the metrics of one request method or of the dispatcher queue.
+	 * All durations are in nanoseconds.
+	 *
+	 * @param name
+	 *            the LSP method name
+	 * @param count
+	 *            the number of requests
+	 * @param errors
+	 *            the number of requests answered with an error
+	 * @param cancelled
+	 *            the number of requests cancelled by the client or the server
+	 * @param perSecond
+	 *            the average number of requests per second since the metrics
+	 *            were enabled or reset
+	 */
+	public record Statistics(String name, long count, long errors, long cancelled, double perSecond, long mean,
+			long p50, long p90, long p99, long max) {
+	}
+
+	private static final class MethodMetrics {
+		final AtomicLong count = new AtomicLong();
+		final AtomicLong errors = new AtomicLong();
+		final AtomicLong cancelled = new AtomicLong();
+		final LatencyHistogram latency = new LatencyHistogram();
+
+		Statistics toStatistics(String name, double seconds) {
+			final long n = count.get();
+			return new Statistics(name, n, errors.get(), cancelled.get(), seconds > 0 ? n / seconds : 0,
+					latency.getMean(), latency.getPercentile(50), latency.getPercentile(90),
+					latency.getPercentile(99), latency.getMax());
+		}
+	}
+
+	private static final class PendingRequest {
+		final MethodMetrics metrics;
+		final long sentAt;
+		volatile boolean cancelled;
+
+		PendingRequest(MethodMetrics metrics, long sentAt) {
+			this.metrics = metrics;
+			this.sentAt = sentAt;
+		}
+	}
+
+	private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+	private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+	private final MethodMetrics dispatcher = new MethodMetrics();
+	private final MethodMetrics initialization = new MethodMetrics();
+	private final MethodMetrics firstResponse = new MethodMetrics();
+	private final MethodMetrics firstResponsePrestarted = new MethodMetrics();
+	private volatile long resetAt = System.nanoTime();
+
+	private volatile boolean prestarted;
+	private volatile long startedAt;
+	/** when the first document was connected since the last start, -1 if none was */
+	private final AtomicLong firstDocumentAt = new AtomicLong(-1);
+	private final AtomicBoolean awaitingFirstResponse = new AtomicBoolean();
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables collecting metrics for all language servers. Metrics
+	 * already collected are kept.
+	 */
+	public static void setEnabled(boolean enabled) {
+		if (enabled && !LanguageServerMetrics.enabled) {
+			enabledSince = System.nanoTime();
+		}
+		LanguageServerMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Returns the statistics of all request methods sent to the language server,
+	 * sorted by method name.
+	 */
+	public List<Statistics> getRequestStatistics() {
+		final double seconds = secondsCollected();
+		final var result = new ArrayList<Statistics>(methods.size());
+		methods.forEach((method, metrics) -> result.add(metrics.toStatistics(method, seconds)));
+		result.sort(Comparator.comparing(Statistics::name));
+		return result;
+	}
+
+	/**
+	 * Returns the statistics of the time requests waited to be dispatched to the
+	 * language server after it was initialized. Only the count and latency values
+	 * are meaningful.
+	 */
+	public Statistics getDispatcherStatistics() {
+		return dispatcher.toStatistics(DISPATCHER_QUEUE, secondsCollected());
+	}
+
+	/**
+	 * Returns the statistics of the {@link #INITIALIZATION initialization} and the
+	 * first responses of the server, {@link #FIRST_RESPONSE started on demand} and
+	 * {@link #FIRST_RESPONSE_PRESTARTED prestarted}, over all its starts. Only the
+	 * count and latency values are meaningful; statistics without any start are
+	 * omitted.
+	 */
+	public List<Statistics> getStartupStatistics() {
+		final double seconds = secondsCollected();
+		final var result = new ArrayList<Statistics>(3);
+		for (final var entry : Map.of(INITIALIZATION, initialization, FIRST_RESPONSE, firstResponse,
+				FIRST_RESPONSE_PRESTARTED, firstResponsePrestarted).entrySet()) {
+			if (entry.getValue().count.get() > 0) {
+				result.add(entry.getValue().toStatistics(entry.getKey(), seconds));
+			}
+		}
+		result.sort(Comparator.comparing(Statistics::name));
+		return result;
+	}
+
+	/**
+	 * Discards all collected metrics.
+	 */
+	public void reset() {
+		methods.clear();
+		pendingRequests.clear();
+		for (final MethodMetrics metrics : List.of(dispatcher, initialization, firstResponse,
+				firstResponsePrestarted)) {
+			metrics.count.set(0);
+			metrics.latency.reset();
+		}
+		resetAt = System.nanoTime();
+	}
+
+	private double secondsCollected() {
+		return (System.nanoTime() - Math.max(resetAt, enabledSince)) / 1e9;
+	}
+
+	/**
+	 * Records that the server is being started.
+	 *
+	 * @param prestarted
+	 *            whether the server is started ahead of any document
+	 */
+	void recordStart(boolean prestarted) {
+		this.prestarted = prestarted;
+		startedAt = System.nanoTime();
+		firstDocumentAt.set(-1);
+		awaitingFirstResponse.set(false);
+	}
+
+	void recordInitialized() {
+		record(initialization, System.nanoTime() - startedAt);
+	}
+
+	/**
+	 * Records that a document is being connected to the server, which waits for its
+	 * initialization first if needed. The first one since the server was started
+	 * starts waiting for the {@link #recordFirstResponse() first response}.
+	 */
+	void recordConnect() {
+		if (firstDocumentAt.compareAndSet(-1, System.nanoTime())) {
+			awaitingFirstResponse.set(true);
+		}
+	}
+
+	/**
+	 * @return whether the next response is the first one since a document was
+	 *         connected, to be {@link #recordFirstResponse() recorded}
+	 */
+	boolean isAwaitingFirstResponse() {
+		return awaitingFirstResponse.get();
+	}
+
+	void recordFirstResponse() {
+		if (awaitingFirstResponse.compareAndSet(true, false)) {
+			record(prestarted ? firstResponsePrestarted : firstResponse, System.nanoTime() - firstDocumentAt.get());
+		}
+	}
+
+	private static void record(MethodMetrics metrics, long nanos) {
+		metrics.count.incrementAndGet();
+		metrics.latency.record(nanos);
+	}
+
+	void recordDispatch(long queuedNanos) {
+		dispatcher.count.incrementAndGet();
+		dispatcher.latency.record(queuedNanos);
+	}
+
+	/**
+	 * Forgets the requests still waiting for a response, e.g. because the
+	 * connection to the server was closed.
+	 */
+	void clearPendingRequests() {
+		pendingRequests.clear();
+	}
+
+	void onMessage(Message message, boolean outgoing) {
+		if (outgoing) {
+			if (message instanceof RequestMessage request) {
+				final MethodMetrics metrics = methods.computeIfAbsent(request.getMethod(), m -> new MethodMetrics());
+				metrics.count.incrementAndGet();
+				if (pendingRequests.size() < MAX_PENDING_REQUESTS) {
+					pendingRequests.put(request.getId(), new PendingRequest(metrics, System.nanoTime()));
+				}
+			} else if (message instanceof NotificationMessage notification
+					&& "$/cancelRequest".equals(notification.getMethod()) //$NON-NLS-1$
+					&& notification.getParams() instanceof CancelParams params) {
+				final PendingRequest pending = pendingRequests.get(params.getId());
+				if (pending != null && !pending.cancelled) {
+					pending.cancelled = true;
+					pending.metrics.cancelled.incrementAndGet();
+				}
+			}
+		} else if (message instanceof ResponseMessage response) {
+			final String id = response.getId();
+			final PendingRequest pending = id == null ? null : pendingRequests.remove(id);
+			if (pending != null && !pending.cancelled) {
+				final @Nullable ResponseError error = response.getError();
+				if (error != null && (error.getCode() == ResponseErrorCode.RequestCancelled.getValue()
+						|| error.getCode() == ResponseErrorCode.ServerCancelled.getValue())) {
+					pending.metrics.cancelled.incrementAndGet();
+				} else {
+					if (error != null) {
+						pending.metrics.errors.incrementAndGet();
+					}
+					pending.metrics.latency.record(System.nanoTime() - pending.sentAt);
+				}
+			}
+		}
+	}
+}
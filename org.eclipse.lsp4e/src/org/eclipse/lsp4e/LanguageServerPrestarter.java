@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.content.IContentType;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.lsp4e.LanguageServersRegistry.LanguageServerDefinition;
+import org.eclipse.ui.IStartup;
+
+/**
+ * Starts and initializes the language servers whose definition has a
+ * {@link LanguageServerDefinition#prestart prestart} count ahead of any
+ * document: at workbench start for the open projects, and when a project is
+ * opened. A server is only prestarted for a project containing files of its
+ * content types among its first {@link #MAX_VISITED_RESOURCES} resources, as
+ * opening one of these files would start it anyway; the
+ * first document of the project then uses the initialized server instead of
+ * waiting for a new one. Prestarted servers no document used are stopped when
+ * their project is closed.
+ *
+ * @noreference internal, contributed to the {@code org.eclipse.ui.startup}
+ *              extension point
+ */
+public final class LanguageServerPrestarter implements IStartup {
+
+	/** maximum number of resources of a project visited to find files of the servers */
+	private static final int MAX_VISITED_RESOURCES = 10_000;
+
+	private static final AtomicBoolean started = new AtomicBoolean();
+	private static final Queue<IProject> pendingProjects = new ConcurrentLinkedQueue<>();
+
+	private static final Job prestartJob = Job.create("Prestart language servers", //$NON-NLS-1$
+			LanguageServerPrestarter::prestartPendingProjects);
+
+	private static final IResourceChangeListener projectListener = event -> {
+		if (event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) {
+			if (event.getResource() instanceof IProject project) {
+				LanguageServiceAccessor.stopIdleLSWrappers(project);
+			}
+			return;
+		}
+		final IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		for (final IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.CHANGED)) {
+			if ((projectDelta.getKind() == IResourceDelta.ADDED || (projectDelta.getFlags() & IResourceDelta.OPEN) != 0)
+					&& projectDelta.getResource() instanceof IProject project && project.isOpen()) {
+				schedule(List.of(project));
+			}
+		}
+	};
+
+	static {
+		prestartJob.setSystem(true);
+		prestartJob.setPriority(Job.DECORATE);
+	}
+
+	@Override
+	public void earlyStartup() {
+		if (getPrestartedDefinitions().isEmpty() || !started.compareAndSet(false, true)) {
+			return;
+		}
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(projectListener,
+				IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		schedule(List.of(ResourcesPlugin.getWorkspace().getRoot().getProjects()));
+	}
+
+	private static void schedule(Collection<IProject> projects) {
+		pendingProjects.addAll(projects);
+		prestartJob.schedule();
+	}
+
+	private static IStatus prestartPendingProjects(IProgressMonitor monitor) {
+		final List<LanguageServerDefinition> definitions = getPrestartedDefinitions();
+		IProject project;
+		while ((project = pendingProjects.poll()) != null) {
+			if (monitor.isCanceled()) {
+				pendingProjects.clear();
+				return Status.CANCEL_STATUS;
+			}
+			if (!project.isOpen()) {
+				continue;
+			}
+			final List<LanguageServerDefinition> definitionsWithFiles;
+			try {
+				definitionsWithFiles = findDefinitionsWithFiles(project, definitions);
+			} catch (CoreException e) {
+				LanguageServerPlugin.logError(e);
+				continue;
+			}
+			for (final LanguageServerDefinition definition : definitionsWithFiles) {
+				try {
+					LanguageServiceAccessor.prestartLSWrapper(project, definition);
+				} catch (RuntimeException e) {
+					// e.g. the server could not be started, which will be reported when a document needs it
+					LanguageServerPlugin.logWarning("Could not prestart language server " + definition.id, e); //$NON-NLS-1$
+				}
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+	private static List<LanguageServerDefinition> getPrestartedDefinitions() {
+		return LanguageServersRegistry.getInstance().getContentTypeToLSPExtensions().stream() //
+				.map(ContentTypeToLanguageServerDefinition::getValue) //
+				.filter(definition -> definition.prestart > 0) //
+				.distinct() //
+				.toList();
+	}
+
+	private static List<IContentType> getContentTypes(LanguageServerDefinition definition, IProject project) {
+		final var contentTypes = new ArrayList<IContentType>();
+		for (final ContentTypeToLanguageServerDefinition mapping : LanguageServersRegistry.getInstance()
+				.getContentTypeToLSPExtensions()) {
+			if (mapping.getValue().equals(definition) && mapping.isEnabled(project.getLocationURI())) {
+				contentTypes.add(mapping.getKey());
+			}
+		}
+		return contentTypes;
+	}
+
+	/**
+	 * Visits the project once for all the given definitions, without reading the
+	 * contents of the files, and gives up after {@link #MAX_VISITED_RESOURCES}
+	 * resources, as prestarting is only worth it if it is cheap. Derived
+	 * resources, like build output, are skipped.
+	 *
+	 * @return the definitions for which the project contains a file whose name is
+	 *         associated with one of their content types
+	 */
+	private static List<LanguageServerDefinition> findDefinitionsWithFiles(IProject project,
+			List<LanguageServerDefinition> definitions) throws CoreException {
+		final var remaining = new LinkedHashMap<LanguageServerDefinition, List<IContentType>>();
+		for (final LanguageServerDefinition definition : definitions) {
+			final List<IContentType> contentTypes = getContentTypes(definition, project);
+			if (!contentTypes.isEmpty()) {
+				remaining.put(definition, contentTypes);
+			}
+		}
+		final var found = new ArrayList<LanguageServerDefinition>();
+		if (remaining.isEmpty()) {
+			return found;
+		}
+		final var visited = new AtomicInteger();
+		project.accept(proxy -> {
+			if (remaining.isEmpty() || visited.incrementAndGet() > MAX_VISITED_RESOURCES || proxy.isDerived()) {
+				return false;
+			}
+			if (proxy.getType() == IResource.FILE) {
+				final IContentType[] fileContentTypes = Platform.getContentTypeManager()
+						.findContentTypesFor(proxy.getName());
+				for (final IContentType fileContentType : fileContentTypes) {
+					for (final var iterator = remaining.entrySet().iterator(); iterator.hasNext();) {
+						final Map.Entry<LanguageServerDefinition, List<IContentType>> entry = iterator.next();
+						if (entry.getValue().stream().anyMatch(fileContentType::isKindOf)) {
+							found.add(entry.getKey());
+							iterator.remove();
+						}
+					}
+				}
+			}
+			return true;
+		}, IResource.NONE);
+		return found;
+	}
+}
@@ -28,18 +28,19 @@
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -84,10 +85,12 @@
 import org.eclipse.lsp4e.internal.CancellationUtil;
 import org.eclipse.lsp4e.internal.FileBufferListenerAdapter;
 import org.eclipse.lsp4e.internal.JsonUtil;
+import org.eclipse.lsp4e.internal.LanguageServerExecutors;
 import org.eclipse.lsp4e.internal.SupportedFeatures;
 import org.eclipse.lsp4e.internal.files.FileSystemWatcherManager;
 import org.eclipse.lsp4e.server.StreamConnectionProvider;
 import org.eclipse.lsp4e.ui.Messages;
+import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.ClientInfo;
 import org.eclipse.lsp4j.CodeActionOptions;
@@ -95,7 +98,6 @@
 import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.DidChangeWatchedFilesRegistrationOptions;
 import org.eclipse.lsp4j.DidChangeWorkspaceFoldersParams;
-import org.eclipse.lsp4j.DidSaveTextDocumentParams;
 import org.eclipse.lsp4j.DocumentFormattingOptions;
 import org.eclipse.lsp4j.DocumentOnTypeFormattingOptions;
 import org.eclipse.lsp4j.DocumentRangeFormattingOptions;
@@ -123,6 +125,7 @@
 import org.eclipse.lsp4j.WorkspaceSymbolOptions;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.Message;
@@ -130,10 +133,15 @@
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
 
 import com.google.common.base.Functions;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonObject;
 
 public class LanguageServerWrapper {
@@ -270,10 +278,12 @@ synchronized void close() {
 	private final AtomicReference<@Nullable IProgressMonitor> initializeFutureMonitorRef = new AtomicReference<>();
 	private final int initializeFutureNumberOfStages = 7;
 	private @Nullable DefaultLanguageClient languageClient;
-	private final Timer timer = new Timer("Stop Language Server Task Processor"); //$NON-NLS-1$
-	private @Nullable TimerTask stopTimerTask;
+	private final Object stopTimerLock = new Object();
+	private @Nullable ScheduledFuture<?> stopTimerTask;
 
 	private final ExecutorService dispatcher;
+	/** documents having batched changes that must be sent before any further request */
+	private final Set<DocumentContentSynchronizer> pendingChanges = ConcurrentHashMap.newKeySet();
 	private final ExecutorService listener;
 	private final ExecutorService cleaner;
 	private final ExecutorService errorProcessor;
@@ -290,6 +300,10 @@ synchronized void close() {
 	private final FileSystemWatcherManager fileSystemWatcherManager;
 	private final WatchedFilesListener watchedFilesListener = new WatchedFilesListener();
 
+	private final LanguageServerMetrics metrics = new LanguageServerMetrics();
+	/** whether the server is being started ahead of any document, guarded by this */
+	private boolean prestarting;
+
 	/* Backwards compatible constructor */
 	public LanguageServerWrapper(IProject project, LanguageServerDefinition serverDefinition) {
 		this(project, serverDefinition, null);
@@ -308,26 +322,22 @@ private LanguageServerWrapper(@Nullable IProject project, LanguageServerDefiniti
 		this.connectedDocuments = new HashMap<>();
 		String projectName = (project != null && !serverDefinition.isSingleton) ? ("@" + project.getName()) : "";  //$NON-NLS-1$//$NON-NLS-2$
 		final var formatPrefix = "LS-" + serverDefinition.id + projectName; //$NON-NLS-1$
-		final var dispatcherThreadNameFormat = formatPrefix + "#dispatcher"; //$NON-NLS-1$
-		this.dispatcher = Executors
-				.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(dispatcherThreadNameFormat).build());
+		// Single thread, so that requests and notifications are sent in the order they were issued. Writing to a
+		// server which does not read its input blocks, so the thread is not shared with other wrappers; it ends
+		// when the wrapper is idle.
+		this.dispatcher = LanguageServerExecutors.newSerialExecutor(formatPrefix + "#dispatcher"); //$NON-NLS-1$
 
 		// Executor service passed through to the LSP4j layer when we attempt to start the LS. It will be used
 		// to create a listener that sits on the input stream and processes inbound messages (responses, or server-initiated
-		// requests).
-		final var listenerThreadNameFormat = formatPrefix + "#listener-%d"; //$NON-NLS-1$
-		this.listener = Executors
-				.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat(listenerThreadNameFormat).build());
+		// requests). Threads are only created when the LS is started and end with it, so idle wrappers have none.
+		this.listener = LanguageServerExecutors.newThreadPerTaskExecutor(formatPrefix + "#listener-"); //$NON-NLS-1$
 
 		// Executor service to run a thread waiting for the LS launcher to terminate.
-		final var livenessThreadNameFormat = formatPrefix + "#cleaner"; //$NON-NLS-1$
-		this.cleaner = Executors
-				.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(livenessThreadNameFormat).build());
+		this.cleaner = LanguageServerExecutors.newVirtualThreadPerTaskExecutor(formatPrefix + "#cleaner-"); //$NON-NLS-1$
 
 		// Executor service to run a thread processing the LS error stream.
-		final var errorsThreadNameFormat = formatPrefix + "#errorProcessor"; //$NON-NLS-1$
-		this.errorProcessor = Executors
-				.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(errorsThreadNameFormat).build());
+		this.errorProcessor = LanguageServerExecutors
+				.newVirtualThreadPerTaskExecutor(formatPrefix + "#errorProcessor-"); //$NON-NLS-1$
 
 		this.fileSystemWatcherManager = new FileSystemWatcherManager(initialProject);
 		// Read preference to determine whether to enable the workspace resource fallback for this server.
@@ -338,10 +348,9 @@ void stopDispatcher() {
 		this.dispatcher.shutdownNow();
 
 		// Only really needed for testing - the listener (an instance of ConcurrentMessageProcessor) should exit
-		// as soon as the input stream from the LS is closed, and a cached thread pool will recycle idle
-		// threads after a 60 second timeout - or immediately in response to JVM shutdown.
-		// If we don't do this then a full test run will generate a lot of threads because we create new
-		// instances of this class for each test
+		// as soon as the input stream from the LS is closed, which ends its thread.
+		// If we don't do this then a full test run will keep threads of servers whose streams are not closed
+		// because we create new instances of this class for each test
 		this.listener.shutdownNow();
 
 		// Again only needed for testing as the cleaner should exit when the launcher terminates.
@@ -394,6 +403,27 @@ public synchronized void restart() {
 		start(true);
 	}
 
+	/**
+	 * Starts the language server ahead of any document, like {@link #start()}, so
+	 * that the first requests of documents don't wait for its initialization.
+	 */
+	synchronized void prestart() {
+		prestarting = true;
+		try {
+			start(false);
+		} finally {
+			prestarting = false;
+		}
+	}
+
+	/**
+	 * @return whether the language server is started, or being started, and no
+	 *         document is connected to it
+	 */
+	synchronized boolean isIdle() {
+		return initializeFuture != null && !startupFailed() && connectedDocuments.isEmpty();
+	}
+
 	/**
 	 * Starts a language server and triggers initialization. If language server is
 	 * started and active and restart is not forced, does nothing.
@@ -419,6 +449,7 @@ private synchronized void start(boolean forceRestart) {
 			final Job job = createInitializeLanguageServerJob();
 			final LanguageServerContext workingContext = context;
 
+			metrics.recordStart(prestarting);
 			this.initializeFuture = CompletableFuture.supplyAsync(() -> {
 				synchronized (workingContext) {
 					markInitializationProgress(workingContext);
@@ -450,14 +481,21 @@ private synchronized void start(boolean forceRestart) {
 						initParams.setRootPath(rootURI.getPath());
 					}
 
-					UnaryOperator<MessageConsumer> wrapper = consumer -> message -> {
-						logMessage(message);
-						consumer.consume(message);
-						final var lspStreamProvider = workingContext.lspStreamProvider;
-						final var languageServer = workingContext.languageServer;
-						if (lspStreamProvider != null && isActive() && languageServer != null) {
-							lspStreamProvider.handleMessage(message, languageServer, rootURI);
-						}
+					UnaryOperator<MessageConsumer> wrapper = consumer -> {
+						// incoming messages are consumed by the remote endpoint, whatever the transport
+						final boolean outgoing = !(consumer instanceof RemoteEndpoint);
+						return message -> {
+							logMessage(message);
+							if (LanguageServerMetrics.isEnabled()) {
+								metrics.onMessage(message, outgoing);
+							}
+							consumer.consume(message);
+							final var lspStreamProvider = workingContext.lspStreamProvider;
+							final var languageServer = workingContext.languageServer;
+							if (lspStreamProvider != null && isActive() && languageServer != null) {
+								lspStreamProvider.handleMessage(message, languageServer, rootURI);
+							}
+						};
 					};
 					initParams.setWorkspaceFolders(getRelevantWorkspaceFolders());
 					final var lspStreamProvider = castNonNull(workingContext.lspStreamProvider);
@@ -508,17 +546,17 @@ private synchronized void start(boolean forceRestart) {
 				synchronized (workingContext) {
 					markInitializationProgress(workingContext);
 					castNonNull(workingContext.languageServer).initialized(new InitializedParams());
+					metrics.recordInitialized();
 				}
 			}).thenRun(() -> {
 				synchronized (workingContext) {
 					markInitializationProgress(workingContext);
 					final Map<URI, IDocument> toReconnect = filesToReconnect;
-					castNonNull(initializeFuture).thenRunAsync(() -> {
-						watchProjects();
-						for (Entry<URI, IDocument> fileToReconnect : toReconnect.entrySet()) {
-							connect(fileToReconnect.getKey(), fileToReconnect.getValue());
-						}
-					});
+					final CompletableFuture<Void> watched = castNonNull(initializeFuture).thenRunAsync(this::watchProjects);
+					if (!toReconnect.isEmpty()) {
+						watched.thenCompose(v -> findUrisShownInEditors())
+								.thenAcceptAsync(shownInEditors -> reconnect(toReconnect, shownInEditors));
+					}
 					FileBuffers.getTextFileBufferManager().addFileBufferListener(fileBufferListener);
 					// Register a workspace-level fallback listener to catch resource events for
 					// files not backed by buffers, if enabled for this server
@@ -645,6 +683,14 @@ public ProcessHandle getProcessHandle() {
 		return Adapters.adapt(context.lspStreamProvider, ProcessHandle.class);
 	}
 
+	/**
+	 * @return the request metrics of this language server, collected while
+	 *         {@link LanguageServerMetrics#isEnabled()}
+	 */
+	public LanguageServerMetrics getMetrics() {
+		return metrics;
+	}
+
 	private ClientInfo getClientInfo(String name) {
 		String pluginVersion = Platform.getBundle(LanguageServerPlugin.PLUGIN_ID).getVersion().toString();
 		final var clientInfo = new ClientInfo(name, pluginVersion);
@@ -701,26 +747,23 @@ public synchronized boolean startupFailed() {
 	}
 
 	private void removeStopTimerTask() {
-		synchronized (timer) {
+		synchronized (stopTimerLock) {
 			if (stopTimerTask != null) {
-				stopTimerTask.cancel();
+				stopTimerTask.cancel(false);
 				stopTimerTask = null;
 			}
 		}
 	}
 
 	private void startStopTimerTask() {
-		synchronized (timer) {
+		synchronized (stopTimerLock) {
 			if (stopTimerTask != null) {
-				stopTimerTask.cancel();
+				stopTimerTask.cancel(false);
 			}
-			stopTimerTask = new TimerTask() {
-				@Override
-				public void run() {
-					stop();
-				}
-			};
-			timer.schedule(stopTimerTask, TimeUnit.SECONDS.toMillis(this.serverDefinition.lastDocumentDisconnectedTimeout));
+			// the scheduler is shared by all wrappers, so the stop, which may block, runs in another thread
+			stopTimerTask = LanguageServerExecutors.scheduler().schedule(
+					() -> LanguageServerExecutors.blockingTasks().execute(this::stop),
+					this.serverDefinition.lastDocumentDisconnectedTimeout, TimeUnit.SECONDS);
 		}
 	}
 
@@ -745,6 +788,7 @@ public synchronized void stop() {
 		contextToStop.cancelled.set(true);
 
 		shutdown(contextToStop);
+		LanguageServiceAccessor.invalidateRoutes();
 	}
 
 	private void shutdown(LanguageServerContext workingContext) {
@@ -760,6 +804,7 @@ private void shutdown(LanguageServerContext workingContext) {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(workspaceFolderUpdater);
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(watchedFilesListener);
 		fileSystemWatcherManager.clear();
+		metrics.clearPendingRequests();
 
 		CompletableFuture.runAsync(workingContext::close);
 
@@ -869,14 +914,28 @@ private boolean supportsWorkspaceFolderCapability() {
 	 * @noreference internal so far
 	 */
 	private @Nullable CompletableFuture<LanguageServerWrapper> connect(URI uri, @Nullable IDocument document) {
+		return connect(uri, document, false);
+	}
+
+	/**
+	 * @param lazy
+	 *            whether to defer {@code textDocument/didOpen} until the document
+	 *            is connected again, i.e. before a request on it, or until it is
+	 *            edited or saved
+	 */
+	private @Nullable CompletableFuture<LanguageServerWrapper> connect(URI uri, @Nullable IDocument document,
+			boolean lazy) {
 		removeStopTimerTask();
-		if (this.connectedDocuments.containsKey(uri)) {
+		final DocumentContentSynchronizer connected = this.connectedDocuments.get(uri);
+		if (connected != null) {
+			connected.ensureOpened();
 			return CompletableFuture.completedFuture(this);
 		}
 		start();
 		if (this.initializeFuture == null) {
 			return null;
 		}
+		metrics.recordConnect();
 		if (document == null) {
 			final var docFile = (IFile) LSPEclipseUtils.findResourceFor(uri);
 			document = LSPEclipseUtils.getDocument(docFile);
@@ -892,13 +951,73 @@ private boolean supportsWorkspaceFolderCapability() {
 				}
 				TextDocumentSyncKind syncKind = initializeFuture == null ? null
 						: castNonNull(serverCapabilities).getTextDocumentSync().map(Functions.identity(), TextDocumentSyncOptions::getChange);
-				final var listener = new DocumentContentSynchronizer(this, castNonNull(context.languageServer), theDocument, syncKind);
+				final var listener = new DocumentContentSynchronizer(this, castNonNull(context.languageServer), theDocument, syncKind, lazy);
 				theDocument.addPrenotifiedDocumentListener(listener);
 				LanguageServerWrapper.this.connectedDocuments.put(uri, listener);
 			}
+			LanguageServiceAccessor.invalidateRoutes();
 		}).thenApply(theVoid -> this);
 	}
 
+	/**
+	 * Reopens the documents shown in editors first, the others once they are used.
+	 *
+	 * @param shownInEditors
+	 *            URIs of the documents shown in editors, or {@code null} if all
+	 *            documents are equally urgent
+	 */
+	private void reconnect(Map<URI, IDocument> documents, @Nullable Set<URI> shownInEditors) {
+		final var inBackground = new ArrayList<Entry<URI, IDocument>>();
+		for (Entry<URI, IDocument> document : documents.entrySet()) {
+			if (shownInEditors == null || shownInEditors.contains(document.getKey())) {
+				connect(document.getKey(), document.getValue(), false);
+			} else {
+				inBackground.add(document);
+			}
+		}
+		for (Entry<URI, IDocument> document : inBackground) {
+			connect(document.getKey(), document.getValue(), true);
+		}
+	}
+
+	/**
+	 * Collects the URIs of the documents shown in editors in the UI thread, as the
+	 * workbench must not be accessed from the threads reconnecting documents.
+	 *
+	 * @return the URIs, or {@code null} without workbench, e.g. headless, where no
+	 *         document is more urgent than another
+	 */
+	private static CompletableFuture<@Nullable Set<URI>> findUrisShownInEditors() {
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		final var result = new CompletableFuture<@Nullable Set<URI>>();
+		try {
+			UI.runOnUIThread(() -> {
+				final var uris = new HashSet<URI>();
+				for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+					for (IWorkbenchPage page : window.getPages()) {
+						for (IEditorReference editor : page.getEditorReferences()) {
+							try {
+								final URI uri = LSPEclipseUtils.toUri(editor.getEditorInput());
+								if (uri != null) {
+									uris.add(uri);
+								}
+							} catch (PartInitException e) {
+								// not shown
+							}
+						}
+					}
+				}
+				result.complete(uris);
+			});
+		} catch (SWTException e) {
+			// display disposed while shutting down
+			result.complete(null);
+		}
+		return result;
+	}
+
 	/**
 	 * @param uri
 	 * @return null if not disconnection has happened, a future tracking the disconnection state otherwise
@@ -909,6 +1028,7 @@ private boolean supportsWorkspaceFolderCapability() {
 			documentListener.getDocument().removePrenotifiedDocumentListener(documentListener);
 			documentListener.documentClosed();
 			disconnectTextFileBuffer(uri);
+			LanguageServiceAccessor.invalidateRoutes();
 		}
 		if (this.connectedDocuments.isEmpty()) {
 			if (this.serverDefinition.lastDocumentDisconnectedTimeout != 0) {
@@ -992,6 +1112,14 @@ protected CompletableFuture<LanguageServer> getInitializedServer() {
 	 *            LS notification to send
 	 */
 	public void sendNotification(Consumer<LanguageServer> fn) {
+		flushPendingChanges();
+		dispatchNotification(fn);
+	}
+
+	/**
+	 * Enqueues a notification without flushing the batched document changes first.
+	 */
+	void dispatchNotification(Consumer<LanguageServer> fn) {
 		// Enqueues a notification on the dispatch thread associated with the wrapped language server. This
 		// ensures the interleaving of document updates and other requests in the UI is mirrored in the
 		// order in which they get dispatched to the server
@@ -1060,13 +1188,24 @@ public void sendNotification(Consumer<LanguageServer> fn) {
 		// Note this doesn't get the .thenApplyAsync(Function.identity()) chained on additionally, unlike
 		// the public-facing version of this method, because we trust the LSPExecutor implementations to
 		// make sure the server response thread doesn't get blocked by any further work
+		flushPendingChanges();
 		final var request = new AtomicReference<@Nullable CompletableFuture<T>>();
+		final CompletableFuture<LanguageServer> initializedServer = getInitializedServer();
+		// only measure the dispatcher queue time of requests that do not wait for the initialization
+		final boolean measureQueueTime = LanguageServerMetrics.isEnabled() && initializedServer.isDone();
+		final long enqueuedAt = measureQueueTime ? System.nanoTime() : 0;
 		Function<LanguageServer, CompletableFuture<T>> cancelWrapper = ls -> {
+			if (measureQueueTime) {
+				metrics.recordDispatch(System.nanoTime() - enqueuedAt);
+			}
 			CompletableFuture<T> res = fn.apply(ls);
 			request.set(res);
 			return res;
 		};
-		CompletableFuture<T> res = getInitializedServer().thenComposeAsync(cancelWrapper, this.dispatcher);
+		CompletableFuture<T> res = initializedServer.thenComposeAsync(cancelWrapper, this.dispatcher);
+		if (metrics.isAwaitingFirstResponse()) {
+			res.whenComplete((result, error) -> metrics.recordFirstResponse());
+		}
 		res.exceptionally(e -> {
 			if (e instanceof CancellationException) {
 				CompletableFuture<T> stage = request.get();
@@ -1079,6 +1218,27 @@ public void sendNotification(Consumer<LanguageServer> fn) {
 		return res;
 	}
 
+	void addPendingChanges(DocumentContentSynchronizer documentListener) {
+		pendingChanges.add(documentListener);
+	}
+
+	void removePendingChanges(DocumentContentSynchronizer documentListener) {
+		pendingChanges.remove(documentListener);
+	}
+
+	/**
+	 * Sends the batched textDocument/didChange notifications of all connected
+	 * documents, so they are dispatched before whatever gets enqueued next.
+	 */
+	private void flushPendingChanges() {
+		if (pendingChanges.isEmpty()) {
+			return;
+		}
+		for (final DocumentContentSynchronizer documentListener : pendingChanges) {
+			documentListener.flushPendingChanges();
+		}
+	}
+
 	/**
 	 * @return a {@link CompletableFuture} that provides the {@link InitializeResult}.
 	 * <p>
@@ -1714,11 +1874,9 @@ private void handlePostChangeEvent(IResourceChangeEvent event) {
 					if (dcs == null) {
 						return false;
 					}
-					// Mirror buffer.dirtyStateChanged(..., false) -> documentSaved
-					final var identifier = LSPEclipseUtils.toTextDocumentIdentifier(uri);
-					final var params = new DidSaveTextDocumentParams(identifier, dcs.getDocument().get());
-					// send didSave notification via wrapper to keep ordering
-					LanguageServerWrapper.this.sendNotification(ls -> ls.getTextDocumentService().didSave(params));
+					// Mirror buffer.dirtyStateChanged(..., false) -> documentSaved, which sends didSave via
+					// the wrapper to keep ordering
+					dcs.documentSaved();
 
 					// Moved/Removed/Replacement -> disconnect equivalent to
 					// underlyingFileMoved/underlyingFileDeleted
@@ -76,6 +76,7 @@ public class LanguageServersRegistry {
 	private static final boolean DEFAULT_SINGLETON = false;
 	private static final String LAST_DOCUMENT_DISCONNECTED_TIMEOUT = "lastDocumentDisconnectedTimeout"; //$NON-NLS-1$
 	private static final int DEFAULT_LAST_DOCUMENTED_DISCONNECTED_TIEMOUT = 5;
+	private static final String PRESTART_ATTRIBUTE = "prestart"; //$NON-NLS-1$
 	private static final String CONTENT_TYPE_ATTRIBUTE = "contentType"; //$NON-NLS-1$
 	private static final String LANGUAGE_ID_ATTRIBUTE = "languageId"; //$NON-NLS-1$
 	private static final String CLASS_ATTRIBUTE = "class"; //$NON-NLS-1$
@@ -94,13 +95,24 @@ public abstract static class LanguageServerDefinition {
 		public final String label;
 		public final boolean isSingleton;
 		public final int lastDocumentDisconnectedTimeout;
+		/**
+		 * Maximum number of idle instances of the server kept started and initialized
+		 * ahead of any document, 0 if the server is only started on demand.
+		 */
+		public final int prestart;
 		public final Map<IContentType, String> languageIdMappings;
 
 		LanguageServerDefinition(String id, String label, boolean isSingleton, int lastDocumentDisconnectedTimeout) {
+			this(id, label, isSingleton, lastDocumentDisconnectedTimeout, 0);
+		}
+
+		LanguageServerDefinition(String id, String label, boolean isSingleton, int lastDocumentDisconnectedTimeout,
+				int prestart) {
 			this.id = id;
 			this.label = label;
 			this.isSingleton = isSingleton;
 			this.lastDocumentDisconnectedTimeout = lastDocumentDisconnectedTimeout;
+			this.prestart = prestart;
 			this.languageIdMappings = new ConcurrentHashMap<>();
 		}
 
@@ -157,8 +169,14 @@ private static int getLastDocumentDisconnectedTimeout(IConfigurationElement elem
 			return lastDocumentisconnectedTiemoutAttribute == null ? DEFAULT_LAST_DOCUMENTED_DISCONNECTED_TIEMOUT : Integer.parseInt(lastDocumentisconnectedTiemoutAttribute);
 		}
 
+		private static int getPrestart(IConfigurationElement element) {
+			final String prestartAttribute = element.getAttribute(PRESTART_ATTRIBUTE);
+			return prestartAttribute == null ? 0 : Math.max(0, Integer.parseInt(prestartAttribute));
+		}
+
 		public ExtensionLanguageServerDefinition(IConfigurationElement element) {
-			super(element.getAttribute(ID_ATTRIBUTE), element.getAttribute(LABEL_ATTRIBUTE), getIsSingleton(element), getLastDocumentDisconnectedTimeout(element));
+			super(element.getAttribute(ID_ATTRIBUTE), element.getAttribute(LABEL_ATTRIBUTE), getIsSingleton(element),
+					getLastDocumentDisconnectedTimeout(element), getPrestart(element));
 			this.extension = element;
 		}
 
@@ -373,6 +391,7 @@ public void registerAssociation(IContentType contentType, ILaunchConfiguration l
 				launchMode);
 		connections.add(mapping);
 		persistContentTypeToLaunchConfigurationMapping();
+		LanguageServiceAccessor.invalidateRoutes();
 	}
 
 	public void registerAssociation(IContentType contentType, LanguageServerDefinition serverDefinition,
@@ -382,12 +401,14 @@ public void registerAssociation(IContentType contentType, LanguageServerDefiniti
 		}
 
 		connections.add(new ContentTypeToLanguageServerDefinition(contentType, serverDefinition, enablement));
+		LanguageServiceAccessor.invalidateRoutes();
 	}
 
 	public void setAssociations(List<ContentTypeToLSPLaunchConfigEntry> wc) {
 		this.connections.removeIf(ContentTypeToLSPLaunchConfigEntry.class::isInstance);
 		this.connections.addAll(wc);
 		persistContentTypeToLaunchConfigurationMapping();
+		LanguageServiceAccessor.invalidateRoutes();
 	}
 
 	public List<ContentTypeToLSPLaunchConfigEntry> getContentTypeToLSPLaunches() {
@@ -28,8 +28,10 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -38,6 +40,7 @@
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.jdt.annotation.NonNull;
@@ -64,6 +67,33 @@ private LanguageServiceAccessor() {
 
 	private static final Set<LanguageServerWrapper> startedServers = new CopyOnWriteArraySet<>();
 
+	/**
+	 * The language servers of documents, as returned by
+	 * {@link #getLSWrappers(IDocument)} while {@link #routesGeneration} is
+	 * unchanged. Routes which depend on the enablement expression of a mapping
+	 * are not cached, as the expression may evaluate differently at any time.
+	 */
+	private record Route(long generation, List<LanguageServerWrapper> wrappers, boolean dependsOnEnablement) {
+	}
+
+	private static final Map<IDocument, Route> routes = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final AtomicLong routesGeneration = new AtomicLong();
+
+	static {
+		Platform.getContentTypeManager().addContentTypeChangeListener(event -> invalidateRoutes());
+	}
+
+	/**
+	 * Drops the cached language servers of documents. Must be called whenever the
+	 * servers of a document may change: servers starting or stopping, documents
+	 * connecting or disconnecting, and changes of content types or of their
+	 * associations with servers.
+	 */
+	static void invalidateRoutes() {
+		routesGeneration.incrementAndGet();
+		routes.clear();
+	}
+
 	/**
 	 * This is meant for test code to clear state that might have leaked from other
 	 * tests. It isn't meant to be used in production code.
@@ -74,6 +104,7 @@ public static void clearStartedServers() {
 			server.stopDispatcher();
 			return true;
 		});
+		invalidateRoutes();
 	}
 
 	/**
@@ -286,10 +317,25 @@ public static List<LanguageServerWrapper> getLSWrappers(final IFile file,
 	}
 
 	protected static Collection<LanguageServerWrapper> getLSWrappers(final IDocument document) {
+		// read before computing the route, so that a route computed while
+		// invalidated is not used
+		final long generation = routesGeneration.get();
+		final Route route = routes.get(document);
+		if (route != null && route.generation() == generation) {
+			return route.wrappers();
+		}
 		final URI uri = LSPEclipseUtils.toUri(document);
 		if (uri == null) {
 			return Collections.emptyList();
 		}
+		final Route computed = computeRoute(document, uri, generation);
+		if (!computed.dependsOnEnablement()) {
+			routes.put(document, computed);
+		}
+		return computed.wrappers();
+	}
+
+	private static Route computeRoute(final IDocument document, final URI uri, final long generation) {
 
 		final var lsRegistry = LanguageServersRegistry.getInstance();
 
@@ -312,6 +358,7 @@ protected static Collection<LanguageServerWrapper> getLSWrappers(final IDocument
 		final var contentTypesToProcess = new ArrayDeque<IContentType>(directContentTypes);
 		final var processedContentTypes = new HashSet<IContentType>(directContentTypes.size());
 		final var file = LSPEclipseUtils.getFile(document);
+		boolean dependsOnEnablement = false;
 
 		while (!contentTypesToProcess.isEmpty()) {
 			final var contentType = contentTypesToProcess.poll();
@@ -320,6 +367,7 @@ protected static Collection<LanguageServerWrapper> getLSWrappers(final IDocument
 			}
 
 			for (final ContentTypeToLanguageServerDefinition mapping : lsRegistry.findProviderFor(contentType)) {
+				dependsOnEnablement |= mapping.getEnablementCondition() != null;
 				if (!mapping.isEnabled(uri)) {
 					continue;
 				}
@@ -345,6 +393,7 @@ protected static Collection<LanguageServerWrapper> getLSWrappers(final IDocument
 							? new LanguageServerWrapper(fileProject, serverDefinition)
 							: new LanguageServerWrapper(serverDefinition, path);
 					startedServers.add(wrapper);
+					invalidateRoutes();
 					res.add(wrapper);
 				}
 			}
@@ -354,7 +403,7 @@ protected static Collection<LanguageServerWrapper> getLSWrappers(final IDocument
 			}
 			processedContentTypes.add(contentType);
 		}
-		return res;
+		return new Route(generation, List.copyOf(res), dependsOnEnablement);
 	}
 
 	/**
@@ -395,16 +444,54 @@ private static LanguageServerWrapper getLSWrapper(@Nullable IProject project,
 			wrapper.start();
 
 			startedServers.add(wrapper);
+			invalidateRoutes();
 			return wrapper;
 		}
 	}
 
+	/**
+	 * Starts a {@link LanguageServerWrapper} of the given definition for the given
+	 * project ahead of any document, unless one that can operate on the project is
+	 * already started or the definition already has
+	 * {@link LanguageServerDefinition#prestart} idle wrappers.
+	 */
+	static void prestartLSWrapper(IProject project, LanguageServerDefinition serverDefinition) {
+		final LanguageServerWrapper wrapper;
+		synchronized (startedServers) {
+			final var wrappersOfDefinition = startedServers.stream()
+					.filter(w -> w.serverDefinition.equals(serverDefinition)).toList();
+			if (wrappersOfDefinition.stream().filter(LanguageServerWrapper::isIdle)
+					.count() >= serverDefinition.prestart
+					|| wrappersOfDefinition.stream().anyMatch(w -> w.canOperate(project))) {
+				return;
+			}
+			wrapper = serverDefinition.isSingleton //
+					? new LanguageServerWrapper(serverDefinition, null)
+					: new LanguageServerWrapper(project, serverDefinition);
+			startedServers.add(wrapper);
+			invalidateRoutes();
+		}
+		// a document connecting in the meantime starts the wrapper itself, which makes this a no-op
+		wrapper.prestart();
+	}
+
+	/**
+	 * Stops the wrappers of the given project that no document uses, e.g.
+	 * prestarted ones, as no document of the project will need them anymore once
+	 * it is closed.
+	 */
+	static void stopIdleLSWrappers(IProject project) {
+		startedServers.stream().filter(wrapper -> project.equals(wrapper.initialProject) && wrapper.isIdle())
+				.forEach(LanguageServerWrapper::stop);
+	}
+
 	public static LanguageServerWrapper startLanguageServer(LanguageServerDefinition serverDefinition) {
 		synchronized (startedServers) {
 			LanguageServerWrapper wrapper = startedServers.stream().filter(w -> w.serverDefinition == serverDefinition)
 					.findFirst().orElseGet(() -> {
 						final var w = new LanguageServerWrapper(serverDefinition, null);
 						startedServers.add(w);
+						invalidateRoutes();
 						return w;
 					});
 			if (!wrapper.isActive()) {
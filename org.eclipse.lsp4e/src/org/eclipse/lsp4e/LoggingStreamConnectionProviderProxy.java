@@ -22,6 +22,7 @@
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Adapters;
@@ -29,6 +30,7 @@
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.lsp4e.internal.AsyncLogWriter;
 import org.eclipse.lsp4e.server.StreamConnectionProvider;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4j.jsonrpc.messages.Message;
@@ -55,6 +57,12 @@ public class LoggingStreamConnectionProviderProxy implements StreamConnectionPro
 
 	private static final String FILE_KEY = "file.logging.enabled"; //$NON-NLS-1$
 	private static final String STDERR_KEY = "stderr.logging.enabled"; //$NON-NLS-1$
+	private static final String ASYNC_FILE_KEY = "file.logging.async"; //$NON-NLS-1$
+	private static final String COMPRESS_FILE_KEY = "file.logging.compress"; //$NON-NLS-1$
+
+	private static final int ASYNC_LOG_BUFFER_SIZE = 8 * 1024 * 1024;
+	private static final long ASYNC_LOG_MAX_FILE_SIZE = 50L * 1024 * 1024;
+	private static final int ASYNC_LOG_MAX_ROTATED_FILES = 5;
 
 	private final StreamConnectionProvider provider;
 	private @Nullable InputStream inputStream;
@@ -64,6 +72,9 @@ public class LoggingStreamConnectionProviderProxy implements StreamConnectionPro
 	private final @Nullable File logFile;
 	private boolean logToFile;
 	private boolean logToConsole;
+	private final boolean asyncFileLogging;
+	private final boolean compressFileLogs;
+	private volatile @Nullable AsyncLogWriter asyncLogWriter;
 
 	/**
 	 * Converts a language server ID to the preference ID for logging communications
@@ -85,6 +96,29 @@ public static String lsToConsoleLoggingId(String serverId) {
 		return serverId + "." + STDERR_KEY;//$NON-NLS-1$
 	}
 
+	/**
+	 * Converts a language server ID to the preference ID for logging
+	 * communications to file from a background thread. In this mode the protocol
+	 * threads only copy the exchanged bytes into a bounded buffer, entries are
+	 * dropped rather than slowing down the communication when the buffer is full,
+	 * and the log file is rotated when it grows large.
+	 *
+	 * @return language server's preference ID for asynchronous file logging
+	 */
+	public static String lsToAsyncFileLoggingId(String serverId) {
+		return serverId + "." + ASYNC_FILE_KEY;//$NON-NLS-1$
+	}
+
+	/**
+	 * Converts a language server ID to the preference ID for compressing rotated
+	 * log files when logging asynchronously to file.
+	 *
+	 * @return language server's preference ID for compressing rotated log files
+	 */
+	public static String lsToCompressFileLoggingId(String serverId) {
+		return serverId + "." + COMPRESS_FILE_KEY;//$NON-NLS-1$
+	}
+
 	/**
 	 * Returns whether currently created connections should be logged to file or the
 	 * standard error stream.
@@ -103,6 +137,8 @@ public LoggingStreamConnectionProviderProxy(StreamConnectionProvider provider, S
 		IPreferenceStore store = LanguageServerPlugin.getDefault().getPreferenceStore();
 		logToFile = store.getBoolean(lsToFileLoggingId(serverId));
 		logToConsole = store.getBoolean(lsToConsoleLoggingId(serverId));
+		asyncFileLogging = store.getBoolean(lsToAsyncFileLoggingId(serverId));
+		compressFileLogs = store.getBoolean(lsToCompressFileLoggingId(serverId));
 		store.addPropertyChangeListener(event -> {
 			if (event.getProperty().equals(FILE_KEY) && event.getNewValue() instanceof Boolean newValue) {
 				logToFile = newValue;
@@ -115,9 +151,9 @@ public LoggingStreamConnectionProviderProxy(StreamConnectionProvider provider, S
 
 	private enum Direction { LANGUAGE_SERVER_TO_LSP4E, LSP4E_TO_LANGUAGE_SERVER, ERROR_FROM_LANGUAGE_SERVER }
 
-	private String message(Direction direction, byte[] payload) {
+	private String message(Direction direction, byte[] payload, int offset, int length) {
 		String now = OffsetDateTime.now().toString();
-		final var builder = new StringBuilder(payload.length + id.length() + direction.toString().length() + now.length() + 10);
+		final var builder = new StringBuilder(length + id.length() + direction.toString().length() + now.length() + 10);
 		builder.append("\n["); //$NON-NLS-1$
 		builder.append(now);
 		builder.append("] "); //$NON-NLS-1$
@@ -125,12 +161,48 @@ private String message(Direction direction, byte[] payload) {
 		builder.append(' ');
 		builder.append(id);
 		builder.append(":\n"); //$NON-NLS-1$
-		builder.append(new String(payload, StandardCharsets.UTF_8));
+		builder.append(new String(payload, offset, length, StandardCharsets.UTF_8));
 		return builder.toString();
 	}
 
-	private String errorMessage(byte[] payload) {
-		return message(Direction.ERROR_FROM_LANGUAGE_SERVER, payload);
+	private void log(Direction direction, byte[] payload, int offset, int length) {
+		if (length <= 0 || !(logToConsole || logToFile)) {
+			return;
+		}
+		final AsyncLogWriter asyncLogWriter = logToFile ? getAsyncLogWriter() : null;
+		if (asyncLogWriter != null) {
+			asyncLogWriter.log(direction.ordinal(), payload, offset, length);
+		}
+		if (logToConsole || (logToFile && asyncLogWriter == null)) {
+			String s = message(direction, payload, offset, length);
+			if (logToConsole) {
+				logToConsole(s);
+			}
+			if (logToFile && asyncLogWriter == null) {
+				logToFile(s);
+			}
+		}
+	}
+
+	private @Nullable AsyncLogWriter getAsyncLogWriter() {
+		if (!asyncFileLogging) {
+			return null;
+		}
+		AsyncLogWriter writer = asyncLogWriter;
+		if (writer == null) {
+			synchronized (this) {
+				writer = asyncLogWriter;
+				final var logFile = this.logFile;
+				if (writer == null && logFile != null) {
+					final String[] channels = Arrays.stream(Direction.values()).map(Direction::toString)
+							.toArray(String[]::new);
+					writer = asyncLogWriter = new AsyncLogWriter(logFile.toPath(), id, channels,
+							ASYNC_LOG_BUFFER_SIZE, ASYNC_LOG_MAX_FILE_SIZE, ASYNC_LOG_MAX_ROTATED_FILES,
+							compressFileLogs);
+				}
+			}
+		}
+		return writer;
 	}
 
 	@Override
@@ -143,17 +215,7 @@ private String errorMessage(byte[] payload) {
 				@Override
 				public int read(byte[] b, int off, int len) throws IOException {
 					int bytes = super.read(b, off, len);
-					final var payload = new byte[bytes];
-					System.arraycopy(b, off, payload, 0, bytes);
-					if (logToConsole || logToFile) {
-						String s = message(Direction.LANGUAGE_SERVER_TO_LSP4E, payload);
-						if (logToConsole) {
-							logToConsole(s);
-						}
-						if (logToFile) {
-							logToFile(s);
-						}
-					}
+					log(Direction.LANGUAGE_SERVER_TO_LSP4E, b, off, bytes);
 					return bytes;
 				}
 			};
@@ -179,17 +241,7 @@ public int read(byte[] b, int off, int len) throws IOException {
 				@Override
 				public int read(byte[] b, int off, int len) throws IOException {
 					int bytes = super.read(b, off, len);
-					final var payload = new byte[bytes];
-					System.arraycopy(b, off, payload, 0, bytes);
-					if (logToConsole || logToFile) {
-						String s = errorMessage(payload);
-						if (logToConsole) {
-							logToConsole(s);
-						}
-						if (logToFile) {
-							logToFile(s);
-						}
-					}
+					log(Direction.ERROR_FROM_LANGUAGE_SERVER, b, off, bytes);
 					return bytes;
 				}
 			};
@@ -206,15 +258,7 @@ public int read(byte[] b, int off, int len) throws IOException {
 			outputStream = new FilterOutputStream(provider.getOutputStream()) {
 				@Override
 				public void write(byte[] b) throws IOException {
-					if (logToConsole || logToFile) {
-						String s = message(Direction.LSP4E_TO_LANGUAGE_SERVER, b);
-						if (logToConsole) {
-							logToConsole(s);
-						}
-						if (logToFile) {
-							logToFile(s);
-						}
-					}
+					log(Direction.LSP4E_TO_LANGUAGE_SERVER, b, 0, b.length);
 					super.write(b);
 				}
 			};
@@ -266,6 +310,11 @@ public void stop() {
 		} catch (IOException e) {
 			LanguageServerPlugin.logError(e);
 		}
+		final var asyncLogWriter = this.asyncLogWriter;
+		if (asyncLogWriter != null) {
+			asyncLogWriter.close();
+			this.asyncLogWriter = null;
+		}
 	}
 
 	private void logToConsole(String string) {
@@ -32,6 +32,7 @@
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.ServerMessageHandler;
+import org.eclipse.lsp4e.operations.inlayhint.InlayHintProvider;
 import org.eclipse.lsp4e.progress.LSPProgressManager;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4e.ui.UI;
@@ -174,6 +175,15 @@ public CompletableFuture<ShowDocumentResult> showDocument(ShowDocumentParams par
 	}
 
 	private void updateCodeMinings() {
+		updateCodeMinings(viewer -> {
+		});
+	}
+
+	/**
+	 * @param beforeUpdate
+	 *            called with each viewer before its code minings are updated
+	 */
+	private void updateCodeMinings(Consumer<SourceViewer> beforeUpdate) {
 		IWorkbenchPage activePage = UI.getActivePage();
 		if (activePage == null) {
 			return;
@@ -183,6 +193,7 @@ private void updateCodeMinings() {
 			var editor = ref.getEditor(false);
 			var textViewer = Adapters.adapt(editor, ITextViewer.class, true);
 			if (textViewer != null && textViewer instanceof SourceViewer sourceViewer) {
+				beforeUpdate.accept(sourceViewer);
 				sourceViewer.updateCodeMinings();
 			}
 		}
@@ -195,7 +206,9 @@ private void updateCodeMinings() {
 
 	@Override
 	public CompletableFuture<@Nullable Void> refreshInlayHints() {
-		return CompletableFuture.runAsync(() -> UI.getDisplay().syncExec(this::updateCodeMinings));
+		// the inlay hints of the lines fetched before would be kept otherwise
+		return CompletableFuture.runAsync(
+				() -> UI.getDisplay().syncExec(() -> updateCodeMinings(InlayHintProvider::invalidate)));
 	}
 
 	/**
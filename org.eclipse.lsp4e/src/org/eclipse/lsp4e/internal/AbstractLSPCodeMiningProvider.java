@@ -47,6 +47,20 @@ public abstract class AbstractLSPCodeMiningProvider extends AbstractCodeMiningPr
 	protected abstract @Nullable CompletableFuture<List<? extends ICodeMining>> doProvideCodeMinings(IDocument doc,
 			TextDocumentIdentifier docId);
 
+	/**
+	 * Computes code minings for the given document shown in the given viewer.
+	 * Providers which only need the minings of the visible part of the document
+	 * can override this method, by default the minings of the whole document are
+	 * computed with {@link #doProvideCodeMinings(IDocument, TextDocumentIdentifier)}.
+	 *
+	 * @return a future producing the list of code minings, or {@code null} if no
+	 *         code minings are available
+	 */
+	protected @Nullable CompletableFuture<List<? extends ICodeMining>> doProvideCodeMinings(ITextViewer viewer,
+			IDocument doc, TextDocumentIdentifier docId) {
+		return doProvideCodeMinings(doc, docId);
+	}
+
 	@Override
 	public final @Nullable CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(final ITextViewer viewer,
 			final IProgressMonitor monitor) {
@@ -61,7 +75,7 @@ public abstract class AbstractLSPCodeMiningProvider extends AbstractCodeMiningPr
 
 		final TextDocumentIdentifier docId = LSPEclipseUtils.toTextDocumentIdentifier(docURI);
 
-		final var current = doProvideCodeMinings(document, docId);
+		final var current = doProvideCodeMinings(viewer, document, docId);
 		final CompletableFuture<List<? extends ICodeMining>> previous;
 		if (current == null) {
 			previous = pendingRequests.remove(document);
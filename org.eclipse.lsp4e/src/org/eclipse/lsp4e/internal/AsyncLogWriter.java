@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+
+/**
+ * Writes raw message chunks to a rotating log file from a background thread.
+ *
+ * <p>
+ * Callers copy their bytes into a bounded ring buffer and return immediately;
+ * they never wait for disk I/O. When the ring buffer is full the chunk is
+ * dropped and counted, and the number of dropped chunks is written to the log
+ * once there is room again. When the log file exceeds its maximum size it is
+ * rotated to {@code <name>.1} (or {@code <name>.1.gz} when compression is
+ * enabled), keeping a fixed number of rotated files.
+ */
+public final class AsyncLogWriter implements Closeable {
+
+	// entry header: timestamp, channel, payload length
+	private static final int HEADER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+	private static final long CLOSE_TIMEOUT_MILLIS = 1_000;
+
+	private final Path file;
+	private final String name;
+	private final String[] channels;
+	private final long maxFileSize;
+	private final int maxRotatedFiles;
+	private final boolean compress;
+
+	private final Object lock = new Object();
+	private final byte[] ring;
+	// absolute positions, the ring index is position % ring.length
+	private long head;
+	private long tail;
+	private long droppedChunks;
+	private boolean closed;
+
+	private final Thread writerThread;
+	private @Nullable FileChannel channel;
+
+	/**
+	 * @param file
+	 *            the log file
+	 * @param name
+	 *            the name written in the header of each entry
+	 * @param channels
+	 *            the labels of the channels passed to
+	 *            {@link #log(int, byte[], int, int)}
+	 * @param bufferSize
+	 *            the size in bytes of the ring buffer
+	 * @param maxFileSize
+	 *            the size in bytes after which the log file is rotated
+	 * @param maxRotatedFiles
+	 *            the number of rotated files to keep
+	 * @param compress
+	 *            whether rotated files are compressed with gzip
+	 */
+	public AsyncLogWriter(Path file, String name, String[] channels, int bufferSize, long maxFileSize,
+			int maxRotatedFiles, boolean compress) {
+		this.file = file;
+		this.name = name;
+		this.channels = channels;
+		this.ring = new byte[bufferSize];
+		this.maxFileSize = maxFileSize;
+		this.maxRotatedFiles = maxRotatedFiles;
+		this.compress = compress;
+		this.writerThread = new Thread(this::drainLoop, "LSP4E log writer - " + name); //$NON-NLS-1$
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Queues the given bytes for writing without blocking.
+	 *
+	 * @return {@code false} if the bytes were dropped because the buffer is full
+	 *         or the writer is closed
+	 */
+	public boolean log(int channel, byte[] bytes, int offset, int length) {
+		final int entrySize = HEADER_SIZE + length;
+		synchronized (lock) {
+			if (closed) {
+				return false;
+			}
+			if (entrySize > ring.length - (tail - head)) {
+				droppedChunks++;
+				return false;
+			}
+			final boolean wasEmpty = head == tail;
+			putLong(System.currentTimeMillis());
+			putInt(channel);
+			putInt(length);
+			put(bytes, offset, length);
+			if (wasEmpty) {
+				lock.notify();
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Writes the queued entries and stops the writer thread, waiting a short time
+	 * for pending entries to be written.
+	 */
+	@Override
+	public void close() {
+		synchronized (lock) {
+			closed = true;
+			lock.notify();
+		}
+		if (Thread.currentThread() != writerThread) {
+			try {
+				writerThread.join(CLOSE_TIMEOUT_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void drainLoop() {
+		final var drained = new byte[ring.length];
+		try {
+			while (true) {
+				final int size;
+				final long dropped;
+				final boolean done;
+				synchronized (lock) {
+					while (head == tail && droppedChunks == 0 && !closed) {
+						lock.wait();
+					}
+					size = (int) (tail - head);
+					final int start = (int) (head % ring.length);
+					final int firstPart = Math.min(size, ring.length - start);
+					System.arraycopy(ring, start, drained, 0, firstPart);
+					System.arraycopy(ring, 0, drained, firstPart, size - firstPart);
+					head = tail;
+					dropped = droppedChunks;
+					droppedChunks = 0;
+					done = closed;
+				}
+				write(drained, size, dropped);
+				if (done) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			closeChannel();
+		}
+	}
+
+	private void write(byte[] entries, int size, long dropped) {
+		try {
+			final var buffer = ByteBuffer.wrap(entries, 0, size);
+			while (buffer.remaining() >= HEADER_SIZE) {
+				final long timestamp = buffer.getLong();
+				final int channelIndex = buffer.getInt();
+				final int length = buffer.getInt();
+				final String label = channelIndex >= 0 && channelIndex < channels.length ? channels[channelIndex] : ""; //$NON-NLS-1$
+				writeFully(header(timestamp, label + ' ' + name + ':'));
+				writeFully(ByteBuffer.wrap(entries, buffer.position(), length));
+				buffer.position(buffer.position() + length);
+			}
+			if (dropped > 0) {
+				writeFully(header(System.currentTimeMillis(),
+						dropped + " log entries of " + name + " dropped because the log writer could not keep up")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			final FileChannel channel = this.channel;
+			if (channel != null && channel.size() >= maxFileSize) {
+				rotate();
+			}
+		} catch (IOException e) {
+			LanguageServerPlugin.logError(e);
+			closeChannel();
+		}
+	}
+
+	private ByteBuffer header(long timestamp, String text) {
+		final var time = OffsetDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+		return StandardCharsets.UTF_8.encode("\n[" + time + "] " + text + '\n'); //$NON-NLS-1$
+	}
+
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		FileChannel channel = this.channel;
+		if (channel == null) {
+			channel = this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.APPEND);
+		}
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private void rotate() throws IOException {
+		closeChannel();
+		final String suffix = compress ? ".gz" : ""; //$NON-NLS-1$ //$NON-NLS-2$
+		Files.deleteIfExists(rotatedFile(maxRotatedFiles, suffix));
+		for (int i = maxRotatedFiles - 1; i >= 1; i--) {
+			final Path rotated = rotatedFile(i, suffix);
+			if (Files.exists(rotated)) {
+				Files.move(rotated, rotatedFile(i + 1, suffix), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		if (maxRotatedFiles < 1) {
+			Files.deleteIfExists(file);
+		} else if (compress) {
+			try (InputStream in = Files.newInputStream(file);
+					OutputStream out = new GZIPOutputStream(Files.newOutputStream(rotatedFile(1, suffix)))) {
+				in.transferTo(out);
+			}
+			Files.delete(file);
+		} else {
+			Files.move(file, rotatedFile(1, suffix), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private Path rotatedFile(int index, String suffix) {
+		return file.resolveSibling(file.getFileName().toString() + '.' + index + suffix);
+	}
+
+	private void closeChannel() {
+		final FileChannel channel = this.channel;
+		this.channel = null;
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LanguageServerPlugin.logError(e);
+			}
+		}
+	}
+
+	private void putLong(long value) {
+		putInt((int) (value >>> 32));
+		putInt((int) value);
+	}
+
+	private void putInt(int value) {
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			ring[(int) (tail++ % ring.length)] = (byte) (value >>> shift);
+		}
+	}
+
+	private void put(byte[] bytes, int offset, int length) {
+		final int start = (int) (tail % ring.length);
+		final int firstPart = Math.min(length, ring.length - start);
+		System.arraycopy(bytes, offset, ring, start, firstPart);
+		System.arraycopy(bytes, offset + firstPart, ring, 0, length - firstPart);
+		tail += length;
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Threads of the language server wrappers, created on demand so that idle
+ * wrappers hold none:
+ * <ul>
+ * <li>each wrapper has its own dispatcher thread, as dispatching writes to the
+ * stream of the server, which blocks while the server does not read, and ends
+ * once the dispatcher is idle,</li>
+ * <li>the delayed stops of idle servers share one scheduler, and each stop
+ * runs in a thread of its own,</li>
+ * <li>tasks blocking for the lifetime of a server get their own thread, which
+ * ends with the server, instead of an idle pool per wrapper.</li>
+ * </ul>
+ */
+public final class LanguageServerExecutors {
+
+	/** how long the thread of an idle dispatcher is kept */
+	private static final long DISPATCHER_KEEP_ALIVE_SECONDS = 60;
+
+	private static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1,
+			new ThreadFactoryBuilder().setNameFormat("LS-scheduler").setDaemon(true).build()); //$NON-NLS-1$
+
+	private static final ThreadFactory BLOCKING_THREADS = Thread.ofPlatform().name("LS-blocking-", 0).daemon() //$NON-NLS-1$
+			.factory();
+
+	static {
+		SCHEDULER.setRemoveOnCancelPolicy(true);
+	}
+
+	private LanguageServerExecutors() {
+	}
+
+	/**
+	 * @param name
+	 *            the name of the thread running the tasks
+	 * @return a new executor running its tasks one at a time, in the order they
+	 *         were submitted, in a thread of its own which ends after a minute
+	 *         without tasks
+	 */
+	public static ExecutorService newSerialExecutor(String name) {
+		final var executor = new ThreadPoolExecutor(1, 1, DISPATCHER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), Thread.ofPlatform().name(name).daemon().factory());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * @return the scheduler shared by all wrappers, whose tasks must only hand
+	 *         over their work to other executors
+	 */
+	public static ScheduledExecutorService scheduler() {
+		return SCHEDULER;
+	}
+
+	/**
+	 * @return an executor running each task in a new daemon thread, for rare tasks
+	 *         which may block, like stopping a server
+	 */
+	public static Executor blockingTasks() {
+		return task -> BLOCKING_THREADS.newThread(task).start();
+	}
+
+	/**
+	 * @param name
+	 *            the prefix of the names of the threads
+	 * @return a new executor running each task in a new daemon thread, for tasks
+	 *         blocking for the lifetime of a server, like reading its messages.
+	 *         Unlike a pool, it has no idle threads once the tasks are done.
+	 */
+	public static ExecutorService newThreadPerTaskExecutor(String name) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name(name, 0).daemon().factory());
+	}
+
+	/**
+	 * @param name
+	 *            the prefix of the names of the threads
+	 * @return a new executor running each task in a new virtual thread, for tasks
+	 *         which only wait, without holding locks, like waiting for the
+	 *         termination of a server
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+	}
+}
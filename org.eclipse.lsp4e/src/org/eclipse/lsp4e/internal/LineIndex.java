@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Immutable snapshot of the line start offsets of a document, used to convert
+ * batches of LSP positions to document offsets without querying the document's
+ * line tracker for every conversion. Building an index visits every line, so
+ * it only pays off for conversions of many positions of the same version, single
+ * conversions go through the line tracker of the document.
+ *
+ * <p>
+ * Snapshots are cached weakly per document and keyed by the document
+ * modification stamp, so all batches converting ranges of the same document
+ * version share one index. Documents without a modification stamp are indexed
+ * for every call to {@link #of(IDocument)}.
+ */
+public final class LineIndex {
+
+	private static final Map<IDocument, LineIndex> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final long modificationStamp;
+	private final int[] lineStarts;
+	private final int length;
+
+	private LineIndex(final long modificationStamp, final int[] lineStarts, final int length) {
+		this.modificationStamp = modificationStamp;
+		this.lineStarts = lineStarts;
+		this.length = length;
+	}
+
+	/**
+	 * Returns the line index of the current version of the given document.
+	 */
+	public static LineIndex of(final IDocument document) throws BadLocationException {
+		if (!(document instanceof final IDocumentExtension4 ext)) {
+			return build(document, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+		}
+		final long stamp = ext.getModificationStamp();
+		final @Nullable LineIndex cached = CACHE.get(document);
+		if (cached != null && cached.modificationStamp == stamp
+				&& stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			return cached;
+		}
+		final LineIndex index = build(document, stamp);
+		// do not cache an index built while the document was being modified
+		if (stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP && stamp == ext.getModificationStamp()) {
+			CACHE.put(document, index);
+		}
+		return index;
+	}
+
+	private static LineIndex build(final IDocument document, final long stamp) throws BadLocationException {
+		final int numberOfLines = Math.max(1, document.getNumberOfLines());
+		final var lineStarts = new int[numberOfLines];
+		for (int i = 1; i < numberOfLines; i++) {
+			lineStarts[i] = document.getLineOffset(i);
+		}
+		return new LineIndex(stamp, lineStarts, document.getLength());
+	}
+
+	/**
+	 * Returns the line index of a text read from the given reader, recognizing
+	 * the same line delimiters as the default document line tracker. This allows
+	 * to compute offsets for files without creating a document for them.
+	 *
+	 * @param skipBom
+	 *            whether a leading byte order mark is not part of the text
+	 */
+	public static LineIndex read(final Reader reader, final boolean skipBom) throws IOException {
+		var lineStarts = new int[64];
+		int lines = 1;
+		int offset = 0;
+		boolean afterCarriageReturn = false;
+		boolean first = true;
+		final var buffer = new char[8192];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			for (int i = 0; i < read; i++) {
+				final char c = buffer[i];
+				if (first) {
+					first = false;
+					if (skipBom && c == '\uFEFF') {
+						continue;
+					}
+				}
+				offset++;
+				if (c == '\n' && afterCarriageReturn) {
+					// \r\n is a single delimiter, move the line start recorded for \r
+					lineStarts[lines - 1] = offset;
+				} else if (c == '\n' || c == '\r') {
+					if (lines == lineStarts.length) {
+						lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+					}
+					lineStarts[lines++] = offset;
+				}
+				afterCarriageReturn = c == '\r';
+			}
+		}
+		return new LineIndex(IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP, Arrays.copyOf(lineStarts, lines), offset);
+	}
+
+	/**
+	 * Returns the length of the indexed text.
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	public int getNumberOfLines() {
+		return lineStarts.length;
+	}
+
+	public int getLineOffset(final int line) throws BadLocationException {
+		if (line < 0 || line >= lineStarts.length) {
+			throw new BadLocationException("Line " + line + " out of range"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return lineStarts[line];
+	}
+
+	/**
+	 * Returns the length of the given line including its delimiter, as
+	 * {@link IDocument#getLineLength(int)} does.
+	 */
+	public int getLineLength(final int line) throws BadLocationException {
+		final int start = getLineOffset(line);
+		return (line + 1 < lineStarts.length ? lineStarts[line + 1] : length) - start;
+	}
+
+	public int getLineOfOffset(final int offset) throws BadLocationException {
+		if (offset < 0 || offset > length) {
+			throw new BadLocationException("Offset " + offset + " out of range"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		final int found = Arrays.binarySearch(lineStarts, offset);
+		return found >= 0 ? found : -found - 2;
+	}
+
+	/**
+	 * Converts an UTF-16 based position to an offset, see
+	 * {@link org.eclipse.lsp4e.LSPEclipseUtils#toOffset(Position, IDocument)}.
+	 */
+	public int toOffset(final int line, final int character) throws BadLocationException {
+		/*
+		 * The LSP spec allow for positions to specify the next line if a line should be
+		 * included completely, specifying the first character of the following line. If
+		 * this is at the end of the document, we therefore take the last document line
+		 * and set the character to line length - 1 (to remove delimiter)
+		 */
+		final int lastLine = lineStarts.length - 1;
+		if (lastLine < line) {
+			return lineStarts[lastLine] + getLineLength(lastLine);
+		}
+		// We just take the line length to be more forgiving and adhere to the LSP spec.
+		return getLineOffset(line) + Math.min(getLineLength(line), character);
+	}
+
+	public Position toPosition(final int offset) throws BadLocationException {
+		final int line = getLineOfOffset(offset);
+		return new Position(line, offset - lineStarts[line]);
+	}
+
+	/**
+	 * Converts the given ranges to offsets.
+	 *
+	 * @return an array holding the start and end offset of the range at index
+	 *         {@code i} at index {@code 2 * i} and {@code 2 * i + 1}
+	 */
+	public int[] toOffsets(final List<? extends Range> ranges) throws BadLocationException {
+		final var offsets = new int[ranges.size() * 2];
+		int i = 0;
+		for (final Range range : ranges) {
+			final Position start = range.getStart();
+			final Position end = range.getEnd();
+			offsets[i++] = toOffset(start.getLine(), start.getCharacter());
+			offsets[i++] = toOffset(end.getLine(), end.getCharacter());
+		}
+		return offsets;
+	}
+}
@@ -52,6 +52,11 @@
 import org.eclipse.lsp4j.RenameCapabilities;
 import org.eclipse.lsp4j.ResourceOperationKind;
 import org.eclipse.lsp4j.SelectionRangeCapabilities;
+import org.eclipse.lsp4j.SemanticTokenModifiers;
+import org.eclipse.lsp4j.SemanticTokenTypes;
+import org.eclipse.lsp4j.SemanticTokensCapabilities;
+import org.eclipse.lsp4j.SemanticTokensClientCapabilitiesRequests;
+import org.eclipse.lsp4j.SemanticTokensClientCapabilitiesRequestsFull;
 import org.eclipse.lsp4j.ShowDocumentCapabilities;
 import org.eclipse.lsp4j.SignatureHelpCapabilities;
 import org.eclipse.lsp4j.SymbolCapabilities;
@@ -61,6 +66,7 @@
 import org.eclipse.lsp4j.SymbolTagSupportCapabilities;
 import org.eclipse.lsp4j.SynchronizationCapabilities;
 import org.eclipse.lsp4j.TextDocumentClientCapabilities;
+import org.eclipse.lsp4j.TokenFormat;
 import org.eclipse.lsp4j.TypeDefinitionCapabilities;
 import org.eclipse.lsp4j.WindowClientCapabilities;
 import org.eclipse.lsp4j.WindowShowMessageRequestCapabilities;
@@ -148,6 +154,48 @@ public static TextDocumentClientCapabilities getTextDocumentClientCapabilities()
 		textDocumentClientCapabilities.setSynchronization(new SynchronizationCapabilities(true, true, true));
 		final var selectionRange = new SelectionRangeCapabilities();
 		textDocumentClientCapabilities.setSelectionRange(selectionRange);
+		// token types and modifiers are required by the protocol: all the standard ones are
+		// supported, as the tokens are styled by name with the TextMate theme of the viewer
+		final var semanticTokensRequests = new SemanticTokensClientCapabilitiesRequests(
+				new SemanticTokensClientCapabilitiesRequestsFull(true), true);
+		final var semanticTokens = new SemanticTokensCapabilities(semanticTokensRequests, List.of( //
+				SemanticTokenTypes.Namespace, //
+				SemanticTokenTypes.Type, //
+				SemanticTokenTypes.Class, //
+				SemanticTokenTypes.Enum, //
+				SemanticTokenTypes.Interface, //
+				SemanticTokenTypes.Struct, //
+				SemanticTokenTypes.TypeParameter, //
+				SemanticTokenTypes.Parameter, //
+				SemanticTokenTypes.Variable, //
+				SemanticTokenTypes.Property, //
+				SemanticTokenTypes.EnumMember, //
+				SemanticTokenTypes.Event, //
+				SemanticTokenTypes.Function, //
+				SemanticTokenTypes.Method, //
+				SemanticTokenTypes.Macro, //
+				SemanticTokenTypes.Keyword, //
+				SemanticTokenTypes.Modifier, //
+				SemanticTokenTypes.Comment, //
+				SemanticTokenTypes.String, //
+				SemanticTokenTypes.Number, //
+				SemanticTokenTypes.Regexp, //
+				SemanticTokenTypes.Operator, //
+				SemanticTokenTypes.Decorator, //
+				SemanticTokenTypes.Label), //
+				List.of( //
+						SemanticTokenModifiers.Declaration, //
+						SemanticTokenModifiers.Definition, //
+						SemanticTokenModifiers.Readonly, //
+						SemanticTokenModifiers.Static, //
+						SemanticTokenModifiers.Deprecated, //
+						SemanticTokenModifiers.Abstract, //
+						SemanticTokenModifiers.Async, //
+						SemanticTokenModifiers.Modification, //
+						SemanticTokenModifiers.Documentation, //
+						SemanticTokenModifiers.DefaultLibrary), //
+				List.of(TokenFormat.Relative));
+		textDocumentClientCapabilities.setSemanticTokens(semanticTokens);
 		return textDocumentClientCapabilities;
 	}
 
@@ -0,0 +1,520 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal.files;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Matches paths against all glob patterns registered for a watch kind in a
+ * single pass.
+ *
+ * <p>
+ * The patterns are grouped by base path and split into path segments. The
+ * segments of all patterns of a group form one nondeterministic automaton,
+ * which consumes the directory segments of a path once for all patterns; the
+ * resulting automaton state is cached per directory, so the files of a
+ * directory only need to match their file name. Patterns whose last segment is
+ * a literal file name or a {@code *.ext} pattern are indexed by that name or
+ * extension and only evaluated for files with a matching name.
+ *
+ * <p>
+ * The matching follows the semantics of {@link PathPatternMatcher}: {@code *},
+ * {@code ?}, {@code [...]} and <code>{...}</code> match within a path segment
+ * and {@code **} matches any number of segments. Patterns using {@code **}
+ * within a segment are matched by {@link PathPatternMatcher}.
+ */
+final class CompiledGlobMatcher {
+
+	private static final int DIRECTORY_CACHE_SIZE = 512;
+	private static final boolean CASE_INSENSITIVE = File.separatorChar == '\\';
+
+	/**
+	 * Matches a single path segment, {@code null} stands for {@code **}.
+	 */
+	private interface SegmentMatcher {
+		boolean matches(String segment);
+	}
+
+	private record Glob(@Nullable SegmentMatcher[] segments) {
+
+		/**
+		 * @return whether the remaining segments starting at the given index can
+		 *         all match zero path segments
+		 */
+		boolean acceptsFrom(int index) {
+			for (int i = index; i < segments.length; i++) {
+				if (segments[i] != null) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The patterns sharing one base path.
+	 */
+	private static final class Group {
+		final String basePath;
+		final String basePrefix;
+		final List<Glob> globs = new ArrayList<>();
+		final List<PathPatternMatcher> fallbackMatchers = new ArrayList<>();
+		/** patterns that may match any file name */
+		final BitSet anyName = new BitSet();
+		final Map<String, BitSet> byName = new HashMap<>();
+		final Map<String, BitSet> byExtension = new HashMap<>();
+		int[] stateOffsets = new int[0];
+		int[] stateGlobs = new int[0];
+		BitSet initialStates = new BitSet();
+
+		Group(final String basePath) {
+			this.basePath = basePath;
+			this.basePrefix = basePath.endsWith(File.separator) ? basePath : basePath + File.separatorChar;
+		}
+
+		void add(final Glob glob, final List<String> lastSegmentAlternatives) {
+			final int index = globs.size();
+			globs.add(glob);
+			final var names = new ArrayList<String>();
+			final var extensions = new ArrayList<String>();
+			for (final String alternative : lastSegmentAlternatives) {
+				if (!hasWildcards(alternative)) {
+					names.add(normalizeCase(alternative));
+				} else if (alternative.startsWith("*") && !hasWildcards(alternative.substring(1)) //$NON-NLS-1$
+						&& alternative.lastIndexOf('.') > 0) {
+					extensions.add(normalizeCase(alternative.substring(alternative.lastIndexOf('.'))));
+				} else {
+					anyName.set(index);
+					return;
+				}
+			}
+			names.forEach(name -> byName.computeIfAbsent(name, k -> new BitSet()).set(index));
+			extensions.forEach(extension -> byExtension.computeIfAbsent(extension, k -> new BitSet()).set(index));
+		}
+
+		/**
+		 * Assigns a state to every position in every pattern: state
+		 * {@code stateOffsets[g] + i} means that pattern {@code g} has matched its
+		 * first {@code i} segments.
+		 */
+		void compile() {
+			stateOffsets = new int[globs.size()];
+			int states = 0;
+			for (int g = 0; g < globs.size(); g++) {
+				stateOffsets[g] = states;
+				states += globs.get(g).segments().length + 1;
+			}
+			stateGlobs = new int[states];
+			for (int g = 0; g < globs.size(); g++) {
+				for (int i = 0; i <= globs.get(g).segments().length; i++) {
+					stateGlobs[stateOffsets[g] + i] = g;
+				}
+			}
+			initialStates = new BitSet(states);
+			for (int g = 0; g < globs.size(); g++) {
+				addState(initialStates, g, 0);
+			}
+		}
+
+		private void addState(final BitSet states, final int glob, int index) {
+			final @Nullable SegmentMatcher[] segments = globs.get(glob).segments();
+			states.set(stateOffsets[glob] + index);
+			// ** also matches zero segments
+			while (index < segments.length && segments[index] == null) {
+				states.set(stateOffsets[glob] + ++index);
+			}
+		}
+
+		/**
+		 * @return the states after consuming the given directory segments
+		 */
+		BitSet consumeDirectories(final String[] directories) {
+			BitSet states = initialStates;
+			for (final String directory : directories) {
+				if (states.isEmpty()) {
+					break;
+				}
+				final var next = new BitSet();
+				for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+					final int glob = stateGlobs[state];
+					final int index = state - stateOffsets[glob];
+					final @Nullable SegmentMatcher[] segments = globs.get(glob).segments();
+					if (index == segments.length) {
+						continue;
+					}
+					final SegmentMatcher segment = segments[index];
+					if (segment == null) {
+						addState(next, glob, index);
+					} else if (segment.matches(directory)) {
+						addState(next, glob, index + 1);
+					}
+				}
+				states = next;
+			}
+			return states;
+		}
+
+		boolean matchesFileName(final BitSet directoryStates, final String fileName) {
+			final String name = normalizeCase(fileName);
+			final var candidates = (BitSet) anyName.clone();
+			final BitSet named = byName.get(name);
+			if (named != null) {
+				candidates.or(named);
+			}
+			final int dot = name.lastIndexOf('.');
+			if (dot >= 0) {
+				final BitSet extension = byExtension.get(name.substring(dot));
+				if (extension != null) {
+					candidates.or(extension);
+				}
+			}
+			if (candidates.isEmpty()) {
+				return false;
+			}
+			for (int state = directoryStates.nextSetBit(0); state >= 0; state = directoryStates
+					.nextSetBit(state + 1)) {
+				final int glob = stateGlobs[state];
+				if (!candidates.get(glob)) {
+					continue;
+				}
+				final int index = state - stateOffsets[glob];
+				final Glob pattern = globs.get(glob);
+				if (index == pattern.segments().length) {
+					continue;
+				}
+				final SegmentMatcher segment = pattern.segments()[index];
+				if (segment == null ? pattern.acceptsFrom(index)
+						: segment.matches(fileName) && pattern.acceptsFrom(index + 1)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final List<Group> groups;
+	private final Map<String, @Nullable BitSet[]> directoryCache = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Entry<String, @Nullable BitSet[]> eldest) {
+			return size() > DIRECTORY_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * @param matchers
+	 *            the matchers to combine, matchers without base path are ignored
+	 */
+	CompiledGlobMatcher(final List<PathPatternMatcher> matchers) {
+		final var groupsByBasePath = new LinkedHashMap<String, Group>();
+		for (final PathPatternMatcher matcher : matchers) {
+			final Path basePath = matcher.getBasePath();
+			if (basePath == null) {
+				continue;
+			}
+			final Group group = groupsByBasePath.computeIfAbsent(basePath.toString(), Group::new);
+			final String pattern = matcher.getPattern().replace('\\', '/');
+			final List<String> expanded = expandBraces(pattern, true);
+			if (expanded == null) {
+				// malformed braces, matched as PathPatternMatcher does
+				group.fallbackMatchers.add(matcher);
+				continue;
+			}
+			for (final String glob : expanded) {
+				if (!addGlob(group, glob)) {
+					group.fallbackMatchers.add(matcher);
+					break;
+				}
+			}
+		}
+		groupsByBasePath.values().forEach(Group::compile);
+		this.groups = List.copyOf(groupsByBasePath.values());
+	}
+
+	boolean isEmpty() {
+		return groups.stream().allMatch(group -> group.globs.isEmpty() && group.fallbackMatchers.isEmpty());
+	}
+
+	boolean matches(final Path path) {
+		final String pathString = path.toString();
+		final int separator = pathString.lastIndexOf(File.separatorChar);
+		if (separator < 0) {
+			return false;
+		}
+		final String directory = separator == 0 ? pathString.substring(0, 1) : pathString.substring(0, separator);
+		final String fileName = pathString.substring(separator + 1);
+		final @Nullable BitSet[] directoryStates = getDirectoryStates(directory);
+		for (int i = 0; i < groups.size(); i++) {
+			final BitSet states = directoryStates[i];
+			if (states == null) {
+				continue;
+			}
+			final Group group = groups.get(i);
+			if (!fileName.isEmpty() && group.matchesFileName(states, fileName)) {
+				return true;
+			}
+			if (!group.fallbackMatchers.isEmpty()) {
+				final Path relativePath = Path.of(group.basePath).relativize(path);
+				for (final PathPatternMatcher matcher : group.fallbackMatchers) {
+					if (matcher.matches(relativePath)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return for every group the automaton states after consuming the segments of
+	 *         the given directory relative to the base path of the group, or
+	 *         {@code null} if the directory is not located in the base path
+	 */
+	private @Nullable BitSet[] getDirectoryStates(final String directory) {
+		synchronized (directoryCache) {
+			final @Nullable BitSet[] cached = directoryCache.get(directory);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		final var states = new @Nullable BitSet[groups.size()];
+		for (int i = 0; i < groups.size(); i++) {
+			final Group group = groups.get(i);
+			final String relativeDirectory;
+			if (equalsPath(directory, group.basePath)) {
+				relativeDirectory = ""; //$NON-NLS-1$
+			} else if (startsWithPath(directory, group.basePrefix)) {
+				relativeDirectory = directory.substring(group.basePrefix.length());
+			} else {
+				continue;
+			}
+			states[i] = group.consumeDirectories(relativeDirectory.isEmpty() ? new String[0]
+					: relativeDirectory.split(Pattern.quote(File.separator)));
+		}
+		synchronized (directoryCache) {
+			directoryCache.put(directory, states);
+		}
+		return states;
+	}
+
+	private static boolean equalsPath(final String path, final String other) {
+		return CASE_INSENSITIVE ? path.equalsIgnoreCase(other) : path.equals(other);
+	}
+
+	private static boolean startsWithPath(final String path, final String prefix) {
+		return path.regionMatches(CASE_INSENSITIVE, 0, prefix, 0, prefix.length());
+	}
+
+	private static String normalizeCase(final String name) {
+		return CASE_INSENSITIVE ? name.toLowerCase(Locale.ROOT) : name;
+	}
+
+	/**
+	 * @return {@code false} if the given pattern cannot be compiled
+	 */
+	private static boolean addGlob(final Group group, final String pattern) {
+		final String[] parts = pattern.split("/", -1); //$NON-NLS-1$
+		final var segments = new @Nullable SegmentMatcher[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			if (parts[i].equals("**")) { //$NON-NLS-1$
+				continue;
+			}
+			if (parts[i].contains("**")) { //$NON-NLS-1$
+				return false;
+			}
+			final SegmentMatcher segment = compileSegment(parts[i]);
+			if (segment == null) {
+				return false;
+			}
+			segments[i] = segment;
+		}
+		final String lastSegment = parts[parts.length - 1];
+		final List<String> alternatives = lastSegment.equals("**") ? null : expandBraces(lastSegment, false); //$NON-NLS-1$
+		if (alternatives == null) {
+			group.globs.add(new Glob(segments));
+			group.anyName.set(group.globs.size() - 1);
+		} else {
+			group.add(new Glob(segments), alternatives);
+		}
+		return true;
+	}
+
+	private static @Nullable SegmentMatcher compileSegment(final String segment) {
+		if (!hasWildcards(segment)) {
+			return CASE_INSENSITIVE ? segment::equalsIgnoreCase : segment::equals;
+		}
+		if (segment.startsWith("*") && !hasWildcards(segment.substring(1))) { //$NON-NLS-1$
+			final String suffix = segment.substring(1);
+			return name -> name.regionMatches(CASE_INSENSITIVE, name.length() - suffix.length(), suffix, 0,
+					suffix.length());
+		}
+		final String regex = toRegex(segment);
+		if (regex == null) {
+			return null;
+		}
+		try {
+			final Pattern compiled = Pattern.compile(regex,
+					CASE_INSENSITIVE ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0);
+			return name -> compiled.matcher(name).matches();
+		} catch (final PatternSyntaxException ex) {
+			return null;
+		}
+	}
+
+	private static boolean hasWildcards(final String glob) {
+		for (int i = 0; i < glob.length(); i++) {
+			switch (glob.charAt(i)) {
+			case '*', '?', '[', '{':
+				return true;
+			default:
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Translates a glob matching a single path segment to a regular expression.
+	 *
+	 * @return {@code null} if the glob is malformed
+	 */
+	private static @Nullable String toRegex(final String glob) {
+		final var regex = new StringBuilder();
+		int braces = 0;
+		for (int i = 0; i < glob.length(); i++) {
+			final char c = glob.charAt(i);
+			switch (c) {
+			case '*' -> regex.append(".*"); //$NON-NLS-1$
+			case '?' -> regex.append('.');
+			case '{' -> {
+				regex.append("(?:"); //$NON-NLS-1$
+				braces++;
+			}
+			case '}' -> {
+				if (braces == 0) {
+					return null;
+				}
+				regex.append(')');
+				braces--;
+			}
+			case ',' -> regex.append(braces > 0 ? "|" : ","); //$NON-NLS-1$ //$NON-NLS-2$
+			case '[' -> {
+				final int end = glob.indexOf(']', i + 2);
+				if (end < 0) {
+					return null;
+				}
+				regex.append('[');
+				int j = i + 1;
+				if (glob.charAt(j) == '!' || glob.charAt(j) == '^') {
+					regex.append('^');
+					j++;
+				}
+				for (; j < end; j++) {
+					final char member = glob.charAt(j);
+					if (member == '\\' || member == '[' || member == '&' || member == '^') {
+						regex.append('\\');
+					}
+					regex.append(member);
+				}
+				regex.append(']');
+				i = end;
+			}
+			default -> {
+				if ("\\.^$|()+".indexOf(c) >= 0) { //$NON-NLS-1$
+					regex.append('\\');
+				}
+				regex.append(c);
+			}
+			}
+		}
+		return braces == 0 ? regex.toString() : null;
+	}
+
+	/**
+	 * Expands top level brace groups of the given glob.
+	 *
+	 * @param onlyAcrossSegments
+	 *            whether only groups containing a {@code /} are expanded
+	 * @return {@code null} if the glob is malformed
+	 */
+	private static @Nullable List<String> expandBraces(final String glob, final boolean onlyAcrossSegments) {
+		int start = -1;
+		int depth = 0;
+		for (int i = 0; i < glob.length(); i++) {
+			final char c = glob.charAt(i);
+			if (c == '[') {
+				final int end = glob.indexOf(']', i + 2);
+				i = end < 0 ? i : end;
+			} else if (c == '{') {
+				if (depth++ == 0) {
+					start = i;
+				}
+			} else if (c == '}' && depth > 0 && --depth == 0) {
+				final String group = glob.substring(start + 1, i);
+				if (onlyAcrossSegments && group.indexOf('/') < 0) {
+					continue;
+				}
+				final String prefix = glob.substring(0, start);
+				final List<String> suffixes = expandBraces(glob.substring(i + 1), onlyAcrossSegments);
+				if (suffixes == null) {
+					return null;
+				}
+				final var expanded = new ArrayList<String>();
+				for (final String alternative : splitAlternatives(group)) {
+					final List<String> alternatives = expandBraces(alternative, onlyAcrossSegments);
+					if (alternatives == null) {
+						return null;
+					}
+					for (final String expandedAlternative : alternatives) {
+						for (final String suffix : suffixes) {
+							expanded.add(prefix + expandedAlternative + suffix);
+						}
+					}
+				}
+				return expanded;
+			}
+		}
+		return depth == 0 ? List.of(glob) : null;
+	}
+
+	private static List<String> splitAlternatives(final String group) {
+		final var alternatives = new ArrayList<String>();
+		int depth = 0;
+		int start = 0;
+		for (int i = 0; i < group.length(); i++) {
+			final char c = group.charAt(i);
+			if (c == '{') {
+				depth++;
+			} else if (c == '}') {
+				depth--;
+			} else if (c == ',' && depth == 0) {
+				alternatives.add(group.substring(start, i));
+				start = i + 1;
+			}
+		}
+		alternatives.add(group.substring(start));
+		return alternatives;
+	}
+}
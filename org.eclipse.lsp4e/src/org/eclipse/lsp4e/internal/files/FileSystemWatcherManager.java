@@ -46,7 +46,7 @@ public final class FileSystemWatcherManager {
 	private final @Nullable Path basePath;
 
 	private volatile @Nullable Set<FileSystemWatcher> fileSystemWatchers;
-	private volatile @Nullable Map<Integer, List<PathPatternMatcher>> pathPatternMatchers;
+	private volatile @Nullable Map<Integer, CompiledGlobMatcher> pathPatternMatchers;
 
 	public FileSystemWatcherManager(final @Nullable IProject project) {
 		Path watchedFilesBasePath = null;
@@ -138,8 +138,8 @@ public boolean hasFilePatternsFor(final int kind) {
 		if (pathPatternMatchers == null)
 			return false;
 
-		final List<PathPatternMatcher> matchersForKind = pathPatternMatchers.get(kind);
-		return matchersForKind != null && !matchersForKind.isEmpty();
+		final CompiledGlobMatcher matcherForKind = pathPatternMatchers.get(kind);
+		return matcherForKind != null && !matcherForKind.isEmpty();
 	}
 
 	/**
@@ -162,15 +162,20 @@ public boolean isMatchFilePattern(final @Nullable URI uri, final int kind) {
 		// Ensure pattern matchers are initialized before use
 		computePatternMatchersIfNeeded();
 
-		// Cache: basePath -> relative path if included, false otherwise
-		final Map<Path, Either<Path, Boolean>> basePathToRelativePath = new HashMap<>();
+		final var pathPatternMatchers = this.pathPatternMatchers;
+		if (pathPatternMatchers == null)
+			return false;
 
 		try {
 			// Convert the URI to a Path for matching
 			final Path path = Paths.get(uri);
 
 			// Match against the given kind or the "any" kind
-			return match(path, kind, basePathToRelativePath) || match(path, WATCH_KIND_ANY, basePathToRelativePath);
+			final CompiledGlobMatcher matcher = pathPatternMatchers.get(kind);
+			if (matcher != null && matcher.matches(path))
+				return true;
+			final CompiledGlobMatcher anyMatcher = pathPatternMatchers.get(WATCH_KIND_ANY);
+			return anyMatcher != null && anyMatcher.matches(path);
 
 		} catch (final Exception ex) {
 			// Any failure in URI-to-Path conversion or matching is treated as "no match"
@@ -205,115 +210,9 @@ private synchronized void computePatternMatchers() {
 				tryAddingMatcher(matcher, matchers, kind, WatchKind.Delete);
 			}
 		}
-		pathPatternMatchers = matchers;
-	}
-
-	/**
-	 * Checks whether the given {@link Path} matches any registered
-	 * {@link PathPatternMatcher} for the specified watch kind.
-	 *
-	 * <p>
-	 * This method iterates through all pattern matchers for the given {@code kind},
-	 * checks if the provided path is under each matcher’s base path, and if so,
-	 * applies the matcher to the relative path.
-	 * </p>
-	 *
-	 * <p>
-	 * To optimize performance, a cache map is used to store intermediate results
-	 * for base path checks:
-	 * <ul>
-	 * <li><b>Key:</b> the base path of a matcher</li>
-	 * <li><b>Value:</b> Either:
-	 * <ul>
-	 * <li>Left - the relative path if the path is under the base path</li>
-	 * <li>Right(false) - indicates the path is not under this base path</li>
-	 * </ul>
-	 * </li>
-	 * </ul>
-	 * </p>
-	 *
-	 * @param path
-	 *            the file path to test, must not be {@code null}
-	 * @param kind
-	 *            the watch kind to check against (e.g., {@link WatchKind#Create},
-	 *            {@link WatchKind#Change}, {@link WatchKind#Delete}, or
-	 *            {@code WATCH_KIND_ANY} for a wildcard match)
-	 * @param basePathToRelativePath
-	 *            a cache for storing relative paths or negative results
-	 * @return {@code true} if the path matches any pattern for the given kind,
-	 *         {@code false} otherwise
-	 */
-	private boolean match(final Path path, final int kind,
-			final Map<Path, Either<Path, Boolean>> basePathToRelativePath) {
-
-		final var pathPatternMatchers = this.pathPatternMatchers;
-		if (pathPatternMatchers == null)
-			return false;
-
-		// Retrieve all matchers registered for the given kind
-		final List<PathPatternMatcher> matchers = pathPatternMatchers.get(Integer.valueOf(kind));
-		if (matchers == null)
-			return false; // No matchers for this kind
-
-		// Iterate over each matcher
-		for (final var matcher : matchers) {
-			// Check if the path is under the matcher’s base path
-			final Path matcherBasePath = matcher.getBasePath();
-			if (matcherBasePath == null)
-				continue;
-			final Path relativePath = matchBasePath(path, matcherBasePath, basePathToRelativePath);
-			if (relativePath == null)
-				continue;
-			// Apply the matcher to the relative path
-			if (matcher.matches(matcherBasePath.relativize(path)))
-				return true;
-		}
-
-		// No matcher matched
-		return false;
-	}
-
-	/**
-	 * Checks whether the given {@link Path} is located under a specified base path.
-	 *
-	 * <p>
-	 * If the path is under the base path, the relative path is returned and cached.
-	 * If the path is not under the base path, the result is cached as a negative
-	 * match.
-	 * </p>
-	 *
-	 * @param path
-	 *            the path to check, must not be {@code null}
-	 * @param basePath
-	 *            the base path to test against, may be {@code null}
-	 * @param basePathToRelativePath
-	 *            cache map to store computed results
-	 * @return the relative path between {@code basePath} and {@code path} if
-	 *         included, or {@code null} if the path is not under the base path
-	 */
-	private static @Nullable Path matchBasePath(final Path path, final @Nullable Path basePath,
-			final Map<Path, Either<Path, Boolean>> basePathToRelativePath) {
-		if (basePath == null)
-			return null; // No base path to check
-
-		// Check cache first
-		final Either<Path, Boolean> matches = basePathToRelativePath.get(basePath);
-		if (matches != null) {
-			return matches.isLeft() //
-					? matches.getLeft() // Cached positive result
-					: null; // Cached negative result
-		}
-
-		// Compute for the first time
-		if (path.startsWith(basePath)) {
-			final Path relativePath = basePath.relativize(path);
-			basePathToRelativePath.put(basePath, Either.forLeft(relativePath)); // Cache positive result
-			return relativePath;
-		}
-
-		// Path is not under base path, cache negative result
-		basePathToRelativePath.put(basePath, Either.forRight(Boolean.FALSE));
-		return null;
+		final var compiledMatchers = new HashMap<Integer, CompiledGlobMatcher>();
+		matchers.forEach((k, matchersForKind) -> compiledMatchers.put(k, new CompiledGlobMatcher(matchersForKind)));
+		pathPatternMatchers = compiledMatchers;
 	}
 
 	private static @Nullable PathPatternMatcher getPathPatternMatcher(final FileSystemWatcher fileSystemMatcher,
@@ -12,26 +12,29 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.operations.diagnostics;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
-import org.eclipse.core.filebuffers.FileBuffers;
-import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
@@ -44,12 +47,11 @@
 import org.eclipse.lsp4e.IMarkerAttributeComputer;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
-import org.eclipse.lsp4e.internal.ArrayUtil;
+import org.eclipse.lsp4e.internal.LineIndex;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.texteditor.MarkerUtilities;
 
 public class LSPDiagnosticsToMarkers implements Consumer<PublishDiagnosticsParams> {
 
@@ -73,9 +75,19 @@ public void addMarkerAttributesForDiagnostic(Diagnostic diagnostic, @Nullable ID
 		}
 	};
 
+	private static final JobGroup CLOSED_RESOURCES_JOB_GROUP = new JobGroup("Update markers from diagnostics", //$NON-NLS-1$
+			Math.max(1, Runtime.getRuntime().availableProcessors() - 1), 0) {
+		@Override
+		protected boolean shouldCancel(IStatus lastCompletedJobResult, int numberOfFailedJobs, int numberOfCanceledJobs) {
+			// a failed update must not cancel the updates of other resources
+			return false;
+		}
+	};
+
 	private final String languageServerId;
 	private final String markerType;
 	private final IMarkerAttributeComputer markerAttributeComputer;
+	private final Map<IResource, PublishDiagnosticsParams> pendingDiagnostics = new ConcurrentHashMap<>();
 
 	public LSPDiagnosticsToMarkers(String serverId, @Nullable String markerType, @Nullable IMarkerAttributeComputer markerAttributeComputer) {
 		this.languageServerId = serverId;
@@ -94,7 +106,7 @@ public void accept(PublishDiagnosticsParams diagnostics) {
 			String uri = diagnostics.getUri();
 			IResource resource = LSPEclipseUtils.findResourceFor(uri);
 			if (resource != null && resource.isAccessible()) {
-				updateMarkers(diagnostics, resource);
+				scheduleUpdateMarkers(diagnostics, resource);
 			} else {
 				for (final IEditorReference editorRef : LSPEclipseUtils.findOpenEditorsFor(LSPEclipseUtils.toUri(uri))) {
 					final ITextViewer textViewer = LSPEclipseUtils.getTextViewer(editorRef.getEditor(true));
@@ -138,7 +150,18 @@ private void updateEditorAnnotations(ISourceViewer sourceViewer, PublishDiagnost
 		}
 	}
 
-	private WorkspaceJob updateMarkers(PublishDiagnosticsParams diagnostics, IResource resource) {
+	/**
+	 * Schedules a marker update for the given resource unless one is already
+	 * queued, in which case the queued job applies these diagnostics instead of
+	 * the ones it was scheduled for.
+	 */
+	private void scheduleUpdateMarkers(PublishDiagnosticsParams diagnostics, IResource resource) {
+		if (pendingDiagnostics.put(resource, diagnostics) == null) {
+			updateMarkers(resource);
+		}
+	}
+
+	private WorkspaceJob updateMarkers(IResource resource) {
 		final var job = new WorkspaceJob("Update markers from diagnostics") { //$NON-NLS-1$
 			@Override
 			public boolean belongsTo(@Nullable Object family) {
@@ -147,84 +170,107 @@ public boolean belongsTo(@Nullable Object family) {
 
 			@Override
 			public IStatus runInWorkspace(@Nullable IProgressMonitor monitor) throws CoreException {
-				if (!resource.isAccessible()) {
+				final PublishDiagnosticsParams diagnostics = pendingDiagnostics.remove(resource);
+				if (diagnostics == null || !resource.isAccessible()) {
 					return Status.OK_STATUS;
 				}
 
 				// Ensure that markers updates are not done in parallel
 				synchronized(resource) {
-					doRun();
+					doRun(diagnostics);
 				}
 
 				return Status.OK_STATUS;
 			}
 
-			private void doRun() throws CoreException {
-				final var toDeleteMarkers = ArrayUtil
-						.asHashSet(resource.findMarkers(markerType, true, IResource.DEPTH_ZERO));
-				toDeleteMarkers
-						.removeIf(marker -> !Objects.equals(marker.getAttribute(LANGUAGE_SERVER_ID, ""), languageServerId)); //$NON-NLS-1$
+			private void doRun(PublishDiagnosticsParams diagnostics) throws CoreException {
+				final IMarker[] existingMarkers = resource.findMarkers(markerType, true, IResource.DEPTH_ZERO);
 				final var newDiagnostics = new ArrayList<Diagnostic>();
 				final var toUpdate = new HashMap<IMarker, Diagnostic>();
 
 				// A language server can scan the whole project and generate diagnostics for files that are not currently open in the IDE
-				// (the markers will show up in the problem view). If so, need to open the document temporarily but be sure to release it
-				// when we're done
-				IDocument existingDocument = LSPEclipseUtils.getExistingDocument(resource);
-				final boolean hasDiagnostics = !diagnostics.getDiagnostics().isEmpty();
-				boolean temporaryLoadDocument = false;
-				IDocument document = existingDocument;
-				if (hasDiagnostics && document == null) {
-					final @Nullable URI resourceUri = LSPEclipseUtils.toUri(resource);
-					if (resourceUri != null && "file".equals(resourceUri.getScheme())) { //$NON-NLS-1$
-						temporaryLoadDocument = true;
-						document = LSPEclipseUtils.getDocument(resource);
+				// (the markers will show up in the problem view). If so, the line offsets are read from the file contents instead of
+				// connecting a text file buffer
+				final IDocument document = LSPEclipseUtils.getExistingDocument(resource);
+				LineIndex lineIndex = null;
+				try {
+					if (document != null) {
+						lineIndex = LineIndex.of(document);
+					} else if (!diagnostics.getDiagnostics().isEmpty() && resource instanceof IFile file) {
+						final @Nullable URI resourceUri = LSPEclipseUtils.toUri(resource);
+						if (resourceUri != null && "file".equals(resourceUri.getScheme())) { //$NON-NLS-1$
+							lineIndex = readLineIndex(file);
+						}
 					}
+				} catch (BadLocationException | IOException | CoreException ex) {
+					LanguageServerPlugin.logError(ex);
 				}
+
+				final var markerIndex = new MarkerIndex(lineIndex, existingMarkers);
 				for (Diagnostic diagnostic : diagnostics.getDiagnostics()) {
-					IMarker associatedMarker = getExistingMarkerFor(document, diagnostic, toDeleteMarkers);
+					IMarker associatedMarker = markerIndex.remove(diagnostic);
 					if (associatedMarker == null) {
 						newDiagnostics.add(diagnostic);
 					} else {
-						toDeleteMarkers.remove(associatedMarker);
 						toUpdate.put(associatedMarker, diagnostic);
 					}
 				}
+				final LineIndex finalLineIndex = lineIndex;
+				// apply all marker changes as a single workspace operation
+				resource.getWorkspace().run(m -> applyMarkerChanges(document, finalLineIndex, newDiagnostics, toUpdate,
+						markerIndex.remaining()), getRule(), IWorkspace.AVOID_UPDATE, null);
+			}
 
-				try {
-					for (Diagnostic diagnostic : newDiagnostics) {
-						if (resource.exists()) {
-							Map<String, Object> markerAttributes = computeMarkerAttributes(document, diagnostic, resource);
-							resource.createMarker(markerType, markerAttributes);
-						}
-					}
-					for (Entry<IMarker, Diagnostic> entry : toUpdate.entrySet()) {
-						IMarker marker = entry.getKey();
-						if (marker.exists()) {
-							Map<String, Object> markerAttributes = computeMarkerAttributes(document, entry.getValue(), resource);
-							updateMarker(markerAttributes, marker);
-						}
-					}
-					toDeleteMarkers.forEach(t -> {
+			private void applyMarkerChanges(@Nullable IDocument document, @Nullable LineIndex lineIndex,
+					List<Diagnostic> newDiagnostics, Map<IMarker, Diagnostic> toUpdate, List<IMarker> toDelete) {
+				for (Diagnostic diagnostic : newDiagnostics) {
+					if (resource.exists()) {
+						Map<String, Object> markerAttributes = computeMarkerAttributes(document, lineIndex, diagnostic, resource);
 						try {
-							t.delete();
+							resource.createMarker(markerType, markerAttributes);
 						} catch (CoreException e) {
 							LanguageServerPlugin.logError(e);
 						}
-					});
-				} finally {
-					if (document != null && temporaryLoadDocument) {
-						FileBuffers.getTextFileBufferManager().disconnect(resource.getFullPath(), LocationKind.IFILE, new NullProgressMonitor());
+					}
+				}
+				for (Entry<IMarker, Diagnostic> entry : toUpdate.entrySet()) {
+					IMarker marker = entry.getKey();
+					if (marker.exists()) {
+						Map<String, Object> markerAttributes = computeMarkerAttributes(document, lineIndex, entry.getValue(), resource);
+						updateMarker(markerAttributes, marker);
+					}
+				}
+				if (!toDelete.isEmpty()) {
+					try {
+						resource.getWorkspace().deleteMarkers(toDelete.toArray(IMarker[]::new));
+					} catch (CoreException e) {
+						LanguageServerPlugin.logError(e);
 					}
 				}
 			}
 		};
 		job.setSystem(true);
 		job.setRule(resource.getWorkspace().getRuleFactory().markerRule(resource));
+		if (LSPEclipseUtils.getExistingDocument(resource) == null) {
+			// bound the number of parallel updates when a server reports diagnostics for the whole workspace
+			job.setJobGroup(CLOSED_RESOURCES_JOB_GROUP);
+		}
 		job.schedule();
 		return job;
 	}
 
+	/**
+	 * Reads the line offsets of a file that is not open, streaming its content
+	 * with the file charset.
+	 */
+	private static LineIndex readLineIndex(IFile file) throws CoreException, IOException {
+		final String charset = file.getCharset();
+		try (var reader = new InputStreamReader(file.getContents(true), charset)) {
+			// text file buffers do not include the UTF-8 BOM in the document content
+			return LineIndex.read(reader, StandardCharsets.UTF_8.name().equalsIgnoreCase(charset));
+		}
+	}
+
 	protected void updateMarker(Map<String, Object> targetAttributes, IMarker marker) {
 		try {
 			if (!targetAttributes.equals(marker.getAttributes())) {
@@ -235,53 +281,120 @@ protected void updateMarker(Map<String, Object> targetAttributes, IMarker marker
 		}
 	}
 
-	private @Nullable IMarker getExistingMarkerFor(@Nullable IDocument document, Diagnostic diagnostic, Set<IMarker> remainingMarkers) {
-		final var markerMessage = markerAttributeComputer.computeMarkerMessage(diagnostic);
-		final var rangeStart = diagnostic.getRange().getStart();
-		final var rangeEnd = diagnostic.getRange().getEnd();
-		for (IMarker marker : remainingMarkers) {
-			if (!marker.exists()) {
-				continue;
-			}
-			try {
-				// Always require same server and same user-visible message
-				if (!languageServerId.equals(marker.getAttribute(LANGUAGE_SERVER_ID))
-						|| !markerMessage.equals(marker.getAttribute(IMarker.MESSAGE))) {
+	/**
+	 * Index of the existing markers of this language server on a resource, keyed
+	 * by message and start location so that each diagnostic is matched without
+	 * scanning all markers. When line offsets are available, markers are matched by
+	 * their character offsets, which follow edits made since the diagnostics were
+	 * published; otherwise by the raw LSP range stored on the marker.
+	 */
+	private final class MarkerIndex {
+
+		private record Key(String message, int start1, int start2) {
+		}
+
+		private record IndexedMarker(IMarker marker, int end1, int end2) {
+		}
+
+		private final @Nullable LineIndex lineIndex;
+		private final Map<Key, List<IndexedMarker>> markers = new HashMap<>();
+		// markers of this language server lacking the attributes to be matched
+		private final List<IMarker> unmatchable = new ArrayList<>();
+
+		MarkerIndex(@Nullable LineIndex lineIndex, IMarker[] existingMarkers) {
+			this.lineIndex = lineIndex;
+			for (IMarker marker : existingMarkers) {
+				final Map<String, Object> attributes;
+				try {
+					attributes = marker.getAttributes();
+				} catch (CoreException e) {
+					continue; // marker was deleted concurrently
+				}
+				if (!languageServerId.equals(attributes.get(LANGUAGE_SERVER_ID))) {
 					continue;
 				}
-				if (document != null) {
-					// Document available: match by precise character offsets
-					final int startOff = LSPEclipseUtils.toOffset(rangeStart, document);
-					final int endOff = LSPEclipseUtils.toOffset(rangeEnd, document);
-					if (startOff == MarkerUtilities.getCharStart(marker)
-							&& (endOff == MarkerUtilities.getCharEnd(marker) || rangeStart.equals(rangeEnd))) {
-						return marker;
-					}
+				if (!(attributes.get(IMarker.MESSAGE) instanceof String message)) {
+					unmatchable.add(marker);
+					continue;
+				}
+				final Key key;
+				final IndexedMarker indexedMarker;
+				if (lineIndex != null) {
+					key = new Key(message, intAttribute(attributes, IMarker.CHAR_START, -1), 0);
+					indexedMarker = new IndexedMarker(marker, intAttribute(attributes, IMarker.CHAR_END, -1), 0);
 				} else {
-					// No document: match by raw LSP range attributes stored on the marker
-					final int markerStartLine = marker.getAttribute(LSP_START_LINE, Integer.MIN_VALUE);
-					final int markerStartChar = marker.getAttribute(LSP_START_CHAR, Integer.MIN_VALUE);
-					final int markerEndLine = marker.getAttribute(LSP_END_LINE, Integer.MIN_VALUE);
-					final int markerEndChar = marker.getAttribute(LSP_END_CHAR, Integer.MIN_VALUE);
-					if (markerStartLine == Integer.MIN_VALUE || markerEndLine == Integer.MIN_VALUE) {
+					final int startLine = intAttribute(attributes, LSP_START_LINE, Integer.MIN_VALUE);
+					final int endLine = intAttribute(attributes, LSP_END_LINE, Integer.MIN_VALUE);
+					if (startLine == Integer.MIN_VALUE || endLine == Integer.MIN_VALUE) {
+						unmatchable.add(marker);
 						continue;
 					}
-					final boolean sameStart = markerStartLine == rangeStart.getLine()
-							&& markerStartChar == rangeStart.getCharacter();
-					final boolean sameEnd = markerEndLine == rangeEnd.getLine()
-							&& markerEndChar == rangeEnd.getCharacter();
-					if (sameStart && (sameEnd || rangeStart.equals(rangeEnd))) {
-						return marker;
+					key = new Key(message, startLine, intAttribute(attributes, LSP_START_CHAR, Integer.MIN_VALUE));
+					indexedMarker = new IndexedMarker(marker, endLine, intAttribute(attributes, LSP_END_CHAR, Integer.MIN_VALUE));
+				}
+				markers.computeIfAbsent(key, k -> new ArrayList<>(1)).add(indexedMarker);
+			}
+		}
+
+		private static int intAttribute(Map<String, Object> attributes, String name, int defaultValue) {
+			return attributes.get(name) instanceof Integer value ? value : defaultValue;
+		}
+
+		/**
+		 * Removes and returns the marker matching the given diagnostic, if any.
+		 */
+		@Nullable
+		IMarker remove(Diagnostic diagnostic) {
+			final var markerMessage = markerAttributeComputer.computeMarkerMessage(diagnostic);
+			final var rangeStart = diagnostic.getRange().getStart();
+			final var rangeEnd = diagnostic.getRange().getEnd();
+			final Key key;
+			final int end1;
+			final int end2;
+			final var lineIndex = this.lineIndex;
+			if (lineIndex != null) {
+				try {
+					key = new Key(markerMessage, lineIndex.toOffset(rangeStart.getLine(), rangeStart.getCharacter()), 0);
+					end1 = lineIndex.toOffset(rangeEnd.getLine(), rangeEnd.getCharacter());
+					end2 = 0;
+				} catch (BadLocationException e) {
+					LanguageServerPlugin.logError(e);
+					return null;
+				}
+			} else {
+				key = new Key(markerMessage, rangeStart.getLine(), rangeStart.getCharacter());
+				end1 = rangeEnd.getLine();
+				end2 = rangeEnd.getCharacter();
+			}
+			final List<IndexedMarker> candidates = markers.get(key);
+			if (candidates == null) {
+				return null;
+			}
+			final boolean emptyRange = rangeStart.equals(rangeEnd);
+			for (int i = 0; i < candidates.size(); i++) {
+				final IndexedMarker candidate = candidates.get(i);
+				if (emptyRange || (candidate.end1 == end1 && candidate.end2 == end2)) {
+					candidates.remove(i);
+					if (candidates.isEmpty()) {
+						markers.remove(key);
 					}
+					return candidate.marker;
 				}
-			} catch (CoreException | BadLocationException e) {
-				LanguageServerPlugin.logError(e);
 			}
+			return null;
+		}
+
+		/**
+		 * Returns the markers that have not been matched by any diagnostic.
+		 */
+		List<IMarker> remaining() {
+			final var remaining = new ArrayList<IMarker>(unmatchable);
+			markers.values().forEach(candidates -> candidates.forEach(c -> remaining.add(c.marker)));
+			return remaining;
 		}
-		return null;
 	}
 
-	private Map<String, Object> computeMarkerAttributes(@Nullable IDocument document,
+	private Map<String, Object> computeMarkerAttributes(@Nullable IDocument document, @Nullable LineIndex lineIndex,
 			Diagnostic diagnostic, IResource resource) {
 		Either<String, Integer> code = diagnostic.getCode();
 		if (code != null && code.isLeft()) {
@@ -305,27 +418,27 @@ private Map<String, Object> computeMarkerAttributes(@Nullable IDocument document
 		attributes.put(LSP_END_LINE, rangeEnd.getLine());
 		attributes.put(LSP_END_CHAR, rangeEnd.getCharacter());
 
-		if (document != null) {
-			int documentLength = document.getLength();
+		if (lineIndex != null) {
+			int documentLength = lineIndex.getLength();
 			int start;
 			try {
-				start = Math.min(LSPEclipseUtils.toOffset(rangeStart, document), documentLength);
+				start = Math.min(lineIndex.toOffset(rangeStart.getLine(), rangeStart.getCharacter()), documentLength);
 			} catch (BadLocationException ex) {
 				start = documentLength;
 			}
 			int end;
 			try {
-				end = Math.min(LSPEclipseUtils.toOffset(rangeEnd, document), documentLength);
+				end = Math.min(lineIndex.toOffset(rangeEnd.getLine(), rangeEnd.getCharacter()), documentLength);
 			} catch (BadLocationException ex) {
 				end = documentLength;
 			}
 			try {
-				int lineOfStartOffset = document.getLineOfOffset(start);
+				int lineOfStartOffset = lineIndex.getLineOfOffset(start);
 				attributes.put(IMarker.LINE_NUMBER, lineOfStartOffset + 1);
 				// Empty range arbitrary implementation: extend one char forward or backward if at EOL
 				if (start == end && documentLength > end) {
 					end++;
-					if (document.getLineOfOffset(end) != lineOfStartOffset) {
+					if (lineIndex.getLineOfOffset(end) != lineOfStartOffset) {
 						start--;
 						end--;
 					}
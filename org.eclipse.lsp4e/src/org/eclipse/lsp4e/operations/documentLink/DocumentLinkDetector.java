@@ -13,6 +13,7 @@
 package org.eclipse.lsp4e.operations.documentLink;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
@@ -102,9 +103,9 @@ private static String toLabel(final String uri) {
 					.withFilter(capabilities -> capabilities.getDocumentLinkProvider() != null)
 					.collectAll(languageServer -> languageServer.getTextDocumentService().documentLink(params))
 					.thenApply(links -> {
-						IHyperlink[] res = links.stream().flatMap(List<DocumentLink>::stream).filter(Objects::nonNull)
-								.filter(link -> link.getTarget() != null).map(link -> toHyperlink(region, document, link))
-								.filter(Objects::nonNull).toArray(IHyperlink[]::new);
+						List<DocumentLink> targetLinks = links.stream().flatMap(List<DocumentLink>::stream)
+								.filter(Objects::nonNull).filter(link -> link.getTarget() != null).toList();
+						IHyperlink[] res = toHyperlinks(region, document, targetLinks);
 						if (res.length == 0) {
 							return null;
 						} else {
@@ -124,19 +125,21 @@ private static String toLabel(final String uri) {
 		}
 	}
 
-	private @Nullable DocumentHyperlink toHyperlink(IRegion region, final IDocument document, DocumentLink link) {
-		DocumentHyperlink jfaceLink = null;
+	private IHyperlink[] toHyperlinks(IRegion region, final IDocument document, List<DocumentLink> links) {
+		final var res = new ArrayList<IHyperlink>();
 		try {
-			int start = LSPEclipseUtils.toOffset(link.getRange().getStart(), document);
-			int end = LSPEclipseUtils.toOffset(link.getRange().getEnd(), document);
-			final var linkRegion = new Region(start, end - start);
-			if (TextUtilities.overlaps(region, linkRegion)) {
-				jfaceLink = new DocumentHyperlink(link.getTarget(), linkRegion);
+			final int[] offsets = LSPEclipseUtils.toOffsets(links.stream().map(DocumentLink::getRange).toList(),
+					document);
+			for (int i = 0; i < links.size(); i++) {
+				final var linkRegion = new Region(offsets[2 * i], offsets[2 * i + 1] - offsets[2 * i]);
+				if (TextUtilities.overlaps(region, linkRegion)) {
+					res.add(new DocumentHyperlink(links.get(i).getTarget(), linkRegion));
+				}
 			}
 		} catch (BadLocationException ex) {
 			LanguageServerPlugin.logError(ex);
 		}
-		return jfaceLink;
+		return res.toArray(IHyperlink[]::new);
 	}
 
 }
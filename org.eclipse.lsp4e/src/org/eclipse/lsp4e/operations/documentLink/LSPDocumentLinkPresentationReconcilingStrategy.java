@@ -98,58 +98,61 @@ private void underline(@Nullable List<DocumentLink> links) {
 			return;
 		}
 		TextViewer textViewer = viewer instanceof TextViewer ? (TextViewer) viewer : null;
-		for (DocumentLink link : links) {
-			try {
-				// Compute link region
-				int start = LSPEclipseUtils.toOffset(link.getRange().getStart(), document);
-				int end = LSPEclipseUtils.toOffset(link.getRange().getEnd(), document);
-				int length = end - start;
-				final var linkRegion = new Region(start, length);
-
-				// Create a new style range with underline for the whole link region, then add existing style range(s)
-				// updated with underline on top (if there are any)
-				var styleRange = new StyleRange();
-				styleRange.underline = true;
-				styleRange.start = start;
-				styleRange.length = length;
-				final var presentation = new TextPresentation(linkRegion, 100);
-				presentation.addStyleRange(styleRange);
-
-				StyleRange[] styleRanges = null;
-				if (textViewer != null) {
-					// Returns widget region just for visible part of the link region
-					var widgetRange = textViewer.modelRange2WidgetRange(linkRegion);
-					if (widgetRange != null) {
-						int widgetOffset = widgetRange.getOffset();
-						styleRanges = textViewer.getTextWidget().getStyleRanges(widgetOffset, widgetRange.getLength());
-						if (styleRanges != null && styleRanges.length > 0) {
-							// There are some styles for the range of document link, first update the underline style.
-							// Only part of the link area may be visible, so we need to adjust our document coordinates
-							int visibleStart = textViewer.widgetOffset2ModelOffset(widgetOffset);
-							int startOffset = visibleStart - widgetOffset;
-							for (StyleRange s : styleRanges) {
-								s.underline = true;
-								s.start += startOffset; // shift to translate to document coordinates
-							}
-							// Then overlay on top of whole-region style range
-							presentation.replaceStyleRanges(styleRanges);
-						}
-					}
-				} else {
-					styleRanges = viewer.getTextWidget().getStyleRanges(start, length);
+		final int[] offsets;
+		try {
+			// Compute link regions
+			offsets = LSPEclipseUtils.toOffsets(links.stream().map(DocumentLink::getRange).toList(), document);
+		} catch (BadLocationException e) {
+			LanguageServerPlugin.logError(e);
+			return;
+		}
+		for (int i = 0; i < links.size(); i++) {
+			int start = offsets[2 * i];
+			int end = offsets[2 * i + 1];
+			int length = end - start;
+			final var linkRegion = new Region(start, length);
+
+			// Create a new style range with underline for the whole link region, then add existing style range(s)
+			// updated with underline on top (if there are any)
+			var styleRange = new StyleRange();
+			styleRange.underline = true;
+			styleRange.start = start;
+			styleRange.length = length;
+			final var presentation = new TextPresentation(linkRegion, 100);
+			presentation.addStyleRange(styleRange);
+
+			StyleRange[] styleRanges = null;
+			if (textViewer != null) {
+				// Returns widget region just for visible part of the link region
+				var widgetRange = textViewer.modelRange2WidgetRange(linkRegion);
+				if (widgetRange != null) {
+					int widgetOffset = widgetRange.getOffset();
+					styleRanges = textViewer.getTextWidget().getStyleRanges(widgetOffset, widgetRange.getLength());
 					if (styleRanges != null && styleRanges.length > 0) {
 						// There are some styles for the range of document link, first update the underline style.
+						// Only part of the link area may be visible, so we need to adjust our document coordinates
+						int visibleStart = textViewer.widgetOffset2ModelOffset(widgetOffset);
+						int startOffset = visibleStart - widgetOffset;
 						for (StyleRange s : styleRanges) {
 							s.underline = true;
+							s.start += startOffset; // shift to translate to document coordinates
 						}
 						// Then overlay on top of whole-region style range
 						presentation.replaceStyleRanges(styleRanges);
 					}
 				}
-				viewer.changeTextPresentation(presentation, false);
-			} catch (BadLocationException e) {
-				LanguageServerPlugin.logError(e);
+			} else {
+				styleRanges = viewer.getTextWidget().getStyleRanges(start, length);
+				if (styleRanges != null && styleRanges.length > 0) {
+					// There are some styles for the range of document link, first update the underline style.
+					for (StyleRange s : styleRanges) {
+						s.underline = true;
+					}
+					// Then overlay on top of whole-region style range
+					presentation.replaceStyleRanges(styleRanges);
+				}
 			}
+			viewer.changeTextPresentation(presentation, false);
 		}
 	}
 
@@ -278,15 +278,16 @@ private void updateAnnotations(@Nullable List<? extends DocumentHighlight> highl
 			return;
 
 		final var annotationMap = new HashMap<Annotation, org.eclipse.jface.text.Position>(highlights.size());
-		for (DocumentHighlight h : highlights) {
-			try {
-				int start = LSPEclipseUtils.toOffset(h.getRange().getStart(), document);
-				int end = LSPEclipseUtils.toOffset(h.getRange().getEnd(), document);
-				annotationMap.put(new Annotation(kindToAnnotationType(h.getKind()), false, null),
+		try {
+			final int[] offsets = LSPEclipseUtils.toOffsets(highlights.stream().map(DocumentHighlight::getRange).toList(), document);
+			for (int i = 0; i < highlights.size(); i++) {
+				int start = offsets[2 * i];
+				int end = offsets[2 * i + 1];
+				annotationMap.put(new Annotation(kindToAnnotationType(highlights.get(i).getKind()), false, null),
 						new org.eclipse.jface.text.Position(start, end - start));
-			} catch (Exception e) {
-				LanguageServerPlugin.logError(e);
 			}
+		} catch (Exception e) {
+			LanguageServerPlugin.logError(e);
 		}
 
 		synchronized (getLockObject(annotationModel)) {
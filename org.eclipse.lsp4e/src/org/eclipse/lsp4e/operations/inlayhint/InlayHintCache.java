@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.operations.inlayhint;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.codemining.ICodeMining;
+
+/**
+ * Inlay hint code minings of a document, fetched line range by line range.
+ *
+ * <p>
+ * The cache remembers which lines have been fetched for the current version of
+ * the document, so that only the lines which become visible for the first time
+ * need to be requested from the language server. Editing the document makes all
+ * lines stale, but the cached minings are kept and moved along with the text
+ * until the lines are fetched again, and minings for hints which did not change
+ * are reused.
+ *
+ * @param <M>
+ *            the type of the code minings
+ */
+public final class InlayHintCache<M extends ICodeMining> implements IDocumentListener {
+
+	/**
+	 * Beyond this number of cached minings, minings outside of the most recently
+	 * fetched lines are discarded.
+	 */
+	static final int MAX_CACHED_MININGS = 5_000;
+
+	/**
+	 * An inclusive range of 0-based line numbers.
+	 */
+	public record LineRange(int firstLine, int lastLine) {
+	}
+
+	private final IDocument document;
+	private final BiPredicate<M, M> sameHint;
+
+	private final List<M> minings = new ArrayList<>();
+	/** the lines fetched for the current version of the document */
+	private final BitSet currentLines = new BitSet();
+	private long version;
+
+	/**
+	 * @param sameHint
+	 *            tells whether a cached mining and a newly fetched one represent
+	 *            the same inlay hint at the same location, in which case the
+	 *            cached mining is kept
+	 */
+	public InlayHintCache(IDocument document, BiPredicate<M, M> sameHint) {
+		this.document = document;
+		this.sameHint = sameHint;
+		document.addDocumentListener(this);
+	}
+
+	public void dispose() {
+		document.removeDocumentListener(this);
+	}
+
+	public IDocument getDocument() {
+		return document;
+	}
+
+	/**
+	 * Returns the version of the document, which changes with every modification
+	 * of the document.
+	 */
+	public synchronized long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the smallest line range containing all lines of the given range
+	 * which have not been fetched for the current version of the document, or
+	 * {@code null} if all lines are up to date.
+	 */
+	public synchronized @Nullable LineRange getStaleLines(int firstLine, int lastLine) {
+		final int firstStale = currentLines.nextClearBit(firstLine);
+		if (firstStale > lastLine) {
+			return null;
+		}
+		int lastStale = currentLines.previousClearBit(lastLine);
+		return new LineRange(firstStale, lastStale);
+	}
+
+	/**
+	 * Makes all lines stale, e.g. when the language server asks to refresh its
+	 * inlay hints. The cached minings are kept until their lines are fetched
+	 * again, and minings fetched before are discarded.
+	 */
+	public synchronized void invalidate() {
+		version++;
+		currentLines.clear();
+	}
+
+	/**
+	 * Replaces the cached minings of the given lines with the given minings
+	 * fetched for them.
+	 *
+	 * @param version
+	 *            the {@link #getVersion() version} of the document the minings
+	 *            were fetched for
+	 * @return {@code false} if the document has been modified in the meantime, in
+	 *         which case the minings are discarded
+	 */
+	public synchronized boolean update(LineRange lines, long version, List<M> fetched) {
+		if (version != this.version) {
+			return false;
+		}
+		final var replaced = new ArrayList<M>();
+		for (final Iterator<M> it = minings.iterator(); it.hasNext();) {
+			final M mining = it.next();
+			if (isInLines(mining, lines)) {
+				replaced.add(mining);
+				it.remove();
+			}
+		}
+		for (final M mining : fetched) {
+			if (!isInLines(mining, lines)) {
+				continue;
+			}
+			minings.add(reuse(replaced, mining));
+		}
+		currentLines.set(lines.firstLine(), lines.lastLine() + 1);
+
+		if (minings.size() > MAX_CACHED_MININGS) {
+			minings.removeIf(mining -> !isInLines(mining, lines));
+			currentLines.clear(0, lines.firstLine());
+			currentLines.clear(lines.lastLine() + 1, Math.max(lines.lastLine() + 1, currentLines.length()));
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a snapshot of all cached minings.
+	 */
+	public synchronized List<M> getMinings() {
+		return List.copyOf(minings);
+	}
+
+	private M reuse(List<M> replaced, M mining) {
+		for (final Iterator<M> it = replaced.iterator(); it.hasNext();) {
+			final M cached = it.next();
+			if (sameHint.test(cached, mining)) {
+				it.remove();
+				return cached;
+			}
+		}
+		return mining;
+	}
+
+	private boolean isInLines(M mining, LineRange lines) {
+		try {
+			final int line = document.getLineOfOffset(mining.getPosition().getOffset());
+			return line >= lines.firstLine() && line <= lines.lastLine();
+		} catch (BadLocationException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// nothing to do
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		version++;
+		currentLines.clear();
+
+		final int replacedEnd = event.getOffset() + event.getLength();
+		final int delta = (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+		for (final Iterator<M> it = minings.iterator(); it.hasNext();) {
+			final Position position = it.next().getPosition();
+			if (position.getOffset() >= replacedEnd) {
+				position.setOffset(position.getOffset() + delta);
+			} else if (position.getOffset() >= event.getOffset()) {
+				// the hint was attached to replaced text
+				it.remove();
+			}
+		}
+	}
+}
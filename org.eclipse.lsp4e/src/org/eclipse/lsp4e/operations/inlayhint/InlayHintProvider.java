@@ -11,42 +11,224 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextInputListener;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.codemining.ICodeMining;
+import org.eclipse.jface.text.source.ISourceViewerExtension5;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
 import org.eclipse.lsp4e.internal.AbstractLSPCodeMiningProvider;
 import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.operations.inlayhint.InlayHintCache.LineRange;
 import org.eclipse.lsp4j.InlayHint;
 import org.eclipse.lsp4j.InlayHintParams;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
+import org.eclipse.swt.custom.StyledText;
 
 public class InlayHintProvider extends AbstractLSPCodeMiningProvider {
 
+	/**
+	 * Number of pages above and below the visible lines for which inlay hints are
+	 * fetched in advance.
+	 */
+	private static final int PREFETCH_PAGES = 1;
+
+	/** the providers tracking viewers, whose caches are invalidated on refresh */
+	private static final Set<InlayHintProvider> PROVIDERS = ConcurrentHashMap.newKeySet();
+
+	private final Map<ITextViewer, ViewerTracker> viewers = new ConcurrentHashMap<>();
+
+	/**
+	 * Makes the cached inlay hints of the given viewer stale, so that the next
+	 * update of its code minings fetches them again, e.g. when a language server
+	 * asks to refresh its inlay hints.
+	 */
+	public static void invalidate(ITextViewer viewer) {
+		for (final InlayHintProvider provider : PROVIDERS) {
+			final ViewerTracker tracker = provider.viewers.get(viewer);
+			if (tracker != null) {
+				tracker.invalidate();
+			}
+		}
+	}
+
+	/**
+	 * Tracks the visible lines and the document of a viewer, to fetch the inlay
+	 * hints of lines scrolled into view.
+	 */
+	private final class ViewerTracker implements IViewportListener, ITextInputListener {
+		private final ITextViewer viewer;
+		private volatile @Nullable InlayHintCache<LSPLineContentCodeMining> cache;
+		private volatile boolean fetching;
+
+		ViewerTracker(ITextViewer viewer) {
+			this.viewer = viewer;
+		}
+
+		void install(StyledText textWidget) {
+			viewer.addViewportListener(this);
+			viewer.addTextInputListener(this);
+			textWidget.addDisposeListener(e -> uninstall());
+		}
+
+		void uninstall() {
+			viewers.remove(viewer);
+			viewer.removeViewportListener(this);
+			viewer.removeTextInputListener(this);
+			disposeCache();
+		}
+
+		InlayHintCache<LSPLineContentCodeMining> getCache(IDocument document) {
+			var cache = this.cache;
+			if (cache == null || cache.getDocument() != document) {
+				disposeCache();
+				cache = this.cache = new InlayHintCache<>(document, LSPLineContentCodeMining::isSameInlayHint);
+			}
+			return cache;
+		}
+
+		void invalidate() {
+			final var cache = this.cache;
+			if (cache != null) {
+				cache.invalidate();
+			}
+		}
+
+		private void disposeCache() {
+			final var cache = this.cache;
+			if (cache != null) {
+				cache.dispose();
+				this.cache = null;
+			}
+		}
+
+		@Override
+		public void viewportChanged(int verticalOffset) {
+			updateIfStale();
+		}
+
+		/**
+		 * Updates the code minings of the viewer if inlay hints of visible lines
+		 * have not been fetched yet. Must be called in the UI thread.
+		 */
+		void updateIfStale() {
+			final var cache = this.cache;
+			final StyledText textWidget = viewer.getTextWidget();
+			if (fetching || cache == null || textWidget == null || textWidget.isDisposed()
+					|| !(viewer instanceof ISourceViewerExtension5 sourceViewer)) {
+				return;
+			}
+			if (cache.getStaleLines(viewer.getTopIndex(), viewer.getBottomIndex()) != null) {
+				sourceViewer.updateCodeMinings();
+			}
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(@Nullable IDocument oldInput, @Nullable IDocument newInput) {
+			disposeCache();
+		}
+
+		@Override
+		public void inputDocumentChanged(@Nullable IDocument oldInput, @Nullable IDocument newInput) {
+			// the cache of the new document is created on demand
+		}
+	}
+
 	@Override
 	protected @Nullable CompletableFuture<List<? extends ICodeMining>> doProvideCodeMinings(IDocument document,
 			TextDocumentIdentifier docId) {
-		// Eclipse seems to request minings only when the document is loaded (or changed), rather than
-		// whenever the viewport [displayed area] changes, so request minings for the whole document in one go.
 		var end = new Position(0,0);
 		try {
 			end = LSPEclipseUtils.toPosition(document.getLength(), document);
 		} catch (BadLocationException e) {
 			LanguageServerPlugin.logWarning("Unable to compute end of document", e); //$NON-NLS-1$
 		}
-		final var viewPortRange = new Range(new Position(0,0), end);
-		final var param = new InlayHintParams(docId, viewPortRange);
+		return requestInlayHints(document, docId, new Range(new Position(0,0), end))
+				.thenApply(minings -> minings);
+	}
+
+	@Override
+	protected @Nullable CompletableFuture<List<? extends ICodeMining>> doProvideCodeMinings(ITextViewer viewer,
+			IDocument document, TextDocumentIdentifier docId) {
+		// Eclipse requests minings only when the document is loaded or changed, so
+		// lines scrolled into view are requested by the viewport listener of the tracker.
+		final StyledText textWidget = viewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return doProvideCodeMinings(document, docId);
+		}
+		final var visibleLines = new int[] { -1, -1 };
+		final var trackerRef = new @Nullable ViewerTracker[1];
+		textWidget.getDisplay().syncExec(() -> {
+			if (!textWidget.isDisposed()) {
+				visibleLines[0] = viewer.getTopIndex();
+				visibleLines[1] = viewer.getBottomIndex();
+				trackerRef[0] = viewers.computeIfAbsent(viewer, v -> {
+					final var newTracker = new ViewerTracker(v);
+					newTracker.install(textWidget);
+					PROVIDERS.add(this);
+					return newTracker;
+				});
+			}
+		});
+		final ViewerTracker tracker = trackerRef[0];
+		if (tracker == null || visibleLines[0] < 0 || visibleLines[1] < visibleLines[0]) {
+			return doProvideCodeMinings(document, docId);
+		}
+
+		final InlayHintCache<LSPLineContentCodeMining> cache = tracker.getCache(document);
+		final int prefetchLines = (visibleLines[1] - visibleLines[0] + 1) * PREFETCH_PAGES;
+		final int lastLine = document.getNumberOfLines() - 1;
+		final LineRange staleLines = cache.getStaleLines(Math.max(0, visibleLines[0] - prefetchLines),
+				Math.min(lastLine, visibleLines[1] + prefetchLines));
+		if (staleLines == null) {
+			return CompletableFuture.completedFuture(cache.getMinings());
+		}
+
+		final long version = cache.getVersion();
+		final Range range;
+		try {
+			range = new Range(new Position(staleLines.firstLine(), 0),
+					staleLines.lastLine() < lastLine ? new Position(staleLines.lastLine() + 1, 0)
+							: LSPEclipseUtils.toPosition(document.getLength(), document));
+		} catch (BadLocationException e) {
+			LanguageServerPlugin.logWarning("Unable to compute range of visible lines", e); //$NON-NLS-1$
+			return CompletableFuture.completedFuture(cache.getMinings());
+		}
+		tracker.fetching = true;
+		final CompletableFuture<List<? extends ICodeMining>> result = requestInlayHints(document, docId, range)
+				.thenApply(minings -> {
+					cache.update(staleLines, version, minings);
+					return cache.getMinings();
+				});
+		result.whenComplete((minings, ex) -> {
+			tracker.fetching = false;
+			// check whether the viewer has been scrolled while the hints were fetched
+			if (!textWidget.isDisposed()) {
+				textWidget.getDisplay().asyncExec(tracker::updateIfStale);
+			}
+		});
+		return result;
+	}
+
+	private CompletableFuture<List<LSPLineContentCodeMining>> requestInlayHints(IDocument document,
+			TextDocumentIdentifier docId, Range range) {
+		final var param = new InlayHintParams(docId, range);
 		List<LSPLineContentCodeMining> inlayHintResults = Collections.synchronizedList(new ArrayList<>());
 		return LanguageServers.forDocument(document).withCapability(ServerCapabilities::getInlayHintProvider)
 				.collectAll((w, ls) -> ls.getTextDocumentService() //
@@ -76,4 +258,18 @@ public class InlayHintProvider extends AbstractLSPCodeMiningProvider {
 			return null;
 		}
 	}
+
+	@Override
+	public void dispose() {
+		PROVIDERS.remove(this);
+		for (final ViewerTracker tracker : List.copyOf(viewers.values())) {
+			final StyledText textWidget = tracker.viewer.getTextWidget();
+			if (textWidget != null && !textWidget.isDisposed()) {
+				textWidget.getDisplay().asyncExec(tracker::uninstall);
+			} else {
+				tracker.uninstall();
+			}
+		}
+		super.dispose();
+	}
 }
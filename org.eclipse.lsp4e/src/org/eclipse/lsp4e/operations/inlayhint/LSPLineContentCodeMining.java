@@ -48,6 +48,8 @@
 public class LSPLineContentCodeMining extends LineContentCodeMining {
 
 	private InlayHint inlayHint;
+	private final InlayHint receivedInlayHint;
+	private volatile boolean inlayHintResolved;
 	private final LanguageServerWrapper wrapper;
 	private final IDocument document;
 
@@ -58,6 +60,7 @@ public LSPLineContentCodeMining(InlayHint inlayHint, IDocument document,
 			LanguageServerWrapper languageServerWrapper, InlayHintProvider provider) throws BadLocationException {
 		super(toPosition(inlayHint.getPosition(), document), provider);
 		this.inlayHint = inlayHint;
+		this.receivedInlayHint = inlayHint;
 		this.wrapper = languageServerWrapper;
 		this.document = document;
 		setLabel(getInlayHintString(inlayHint));
@@ -90,6 +93,9 @@ public void setLabel(final @Nullable String label) {
 	protected CompletableFuture<@Nullable Void> doResolve(ITextViewer viewer, IProgressMonitor monitor) {
 		if (!wrapper.isActive()) // TODO is this check required? if so is it missing in LSPCodeMining.doResolve()?
 			return CompletableFuture.completedFuture(null);
+		// a cached mining is disposed and resolved again whenever the minings are redrawn
+		if (inlayHintResolved)
+			return CompletableFuture.completedFuture(null);
 
 		return wrapper.getServerCapabilitiesAsync().thenCompose(capabilities -> {
 			if (!canResolveInlayHint(capabilities)) {
@@ -101,10 +107,20 @@ public void setLabel(final @Nullable String label) {
 							inlayHint = resolvedInlayHint;
 							setLabel(getInlayHintString(resolvedInlayHint));
 						}
+						inlayHintResolved = true;
 					}));
 		});
 	}
 
+	/**
+	 * Returns whether the given mining was created for the same inlay hint of the
+	 * same language server at the same location as this mining.
+	 */
+	boolean isSameInlayHint(LSPLineContentCodeMining other) {
+		return wrapper == other.wrapper && getPosition().getOffset() == other.getPosition().getOffset()
+				&& receivedInlayHint.equals(other.receivedInlayHint);
+	}
+
 	private static boolean canResolveInlayHint(@Nullable ServerCapabilities capabilities) {
 		if (capabilities == null)
 			return false;
@@ -16,12 +16,22 @@
 
 import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map.Entry;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-import org.eclipse.core.filebuffers.FileBuffers;
-import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -33,11 +43,11 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
 import org.eclipse.lsp4e.LanguageServers.LanguageServerDocumentExecutor;
+import org.eclipse.lsp4e.internal.LineIndex;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
@@ -55,6 +65,16 @@
  */
 public class LSSearchQuery extends FileSearchQuery {
 
+	/**
+	 * Number of matches added to the search result at once, so that the matches
+	 * of large results are shown progressively.
+	 */
+	private static final int MATCH_BATCH_SIZE = 500;
+
+	private static final Comparator<Location> LOCATION_ORDER = Comparator
+			.<Location>comparingInt(location -> location.getRange().getStart().getLine())
+			.thenComparingInt(location -> location.getRange().getStart().getCharacter());
+
 	private final IDocument document;
 	private final int offset;
 
@@ -76,7 +96,9 @@ public LSSearchQuery(int offset, IDocument document) {
 	@Override
 	public IStatus run(@Nullable IProgressMonitor monitor) throws OperationCanceledException {
 		getSearchResult().removeAll();
+		final IProgressMonitor progress = monitor == null ? new NullProgressMonitor() : monitor;
 
+		List<CompletableFuture<@Nullable List<? extends Location>>> requests = List.of();
 		try {
 			// Execute LSP "references" service
 			final var params = new ReferenceParams();
@@ -84,22 +106,42 @@ public IStatus run(@Nullable IProgressMonitor monitor) throws OperationCanceledE
 			params.setTextDocument(castNonNull(LSPEclipseUtils.toTextDocumentIdentifier(document)));
 			params.setPosition(LSPEclipseUtils.toPosition(offset, document));
 
-			List<CompletableFuture<@Nullable List<? extends Location>>> requests = LanguageServers.forDocument(document).withCapability(ServerCapabilities::getReferencesProvider)
+			requests = LanguageServers.forDocument(document).withCapability(ServerCapabilities::getReferencesProvider)
 				.computeAll(languageServer -> languageServer.getTextDocumentService().references(params));
-			CompletableFuture<?>[] populateUIFutures = requests.stream().map(request ->
-				request.thenAcceptAsync(locations -> {
-						final var result = this.result;
-						if (locations != null && result != null) {
-							// Convert each LSP Location to a Match search.
-							locations.stream() //
-								.filter(Objects::nonNull) //
-								.map(LSSearchQuery::toMatch) //
-								.filter(Objects::nonNull) //
-								.forEach(result::addMatch);
-						}
-				})).toArray(CompletableFuture[]::new);
-			CompletableFuture.allOf(populateUIFutures).join();
+			// convert the locations in this job, in the order the language servers answer
+			final var responses = new LinkedBlockingQueue<CompletableFuture<@Nullable List<? extends Location>>>();
+			requests.forEach(request -> request.whenComplete((locations, ex) -> responses.add(request)));
+			@Nullable Throwable error = null;
+			for (int remaining = requests.size(); remaining > 0;) {
+				final var response = responses.poll(100, TimeUnit.MILLISECONDS);
+				if (progress.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (response == null) {
+					continue;
+				}
+				remaining--;
+				try {
+					final List<? extends Location> locations = response.join();
+					if (locations != null) {
+						addMatches(locations, progress);
+					}
+				} catch (CompletionException | CancellationException ex) {
+					error = ex;
+				}
+			}
+			if (error != null) {
+				return new Status(IStatus.ERROR, LanguageServerPlugin.getDefault().getBundle().getSymbolicName(),
+						error.getMessage(), error);
+			}
 			return Status.OK_STATUS;
+		} catch (OperationCanceledException ex) {
+			requests.forEach(request -> request.cancel(true));
+			return Status.CANCEL_STATUS;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			requests.forEach(request -> request.cancel(true));
+			return Status.CANCEL_STATUS;
 		} catch (Exception ex) {
 			return new Status(IStatus.ERROR, LanguageServerPlugin.getDefault().getBundle().getSymbolicName(),
 					ex.getMessage(), ex);
@@ -107,56 +149,144 @@ public IStatus run(@Nullable IProgressMonitor monitor) throws OperationCanceledE
 	}
 
 	/**
-	 * Convert the given LSP {@link Location} to Eclipse search {@link Match}.
-	 *
-	 * @param location
-	 *            the LSP location to convert.
-	 * @return the converted Eclipse search {@link Match}.
+	 * Converts the given LSP {@link Location}s to Eclipse search {@link Match}es
+	 * and adds them to the search result in batches. The locations are grouped by
+	 * document, so that each document is only read once.
 	 */
-	private static @Nullable Match toMatch(Location location) {
-		IResource resource = LSPEclipseUtils.findResourceFor(location.getUri());
-		if (resource != null) {
-			IDocument document = LSPEclipseUtils.getExistingDocument(resource);
-			boolean temporaryLoadDocument = document == null;
-			if (temporaryLoadDocument) {
-				document = LSPEclipseUtils.getDocument(resource);
+	private void addMatches(List<? extends @Nullable Location> locations, IProgressMonitor monitor) {
+		final var result = this.result;
+		if (result == null) {
+			return;
+		}
+		final var locationsByUri = new LinkedHashMap<String, List<Location>>();
+		for (final Location location : locations) {
+			if (location != null && location.getUri() != null && location.getRange() != null) {
+				locationsByUri.computeIfAbsent(location.getUri(), uri -> new ArrayList<>()).add(location);
 			}
-			if (document != null) {
-				try {
-					int startOffset = LSPEclipseUtils.toOffset(location.getRange().getStart(), document);
-					int endOffset = LSPEclipseUtils.toOffset(location.getRange().getEnd(), document);
-
-					IRegion lineInformation = document.getLineInformationOfOffset(startOffset);
-					final var lineEntry = new LineElement(resource, document.getLineOfOffset(startOffset) + 1,
-							lineInformation.getOffset(),
-							document.get(lineInformation.getOffset(), lineInformation.getLength()));
-					return new FileMatch((IFile) resource, startOffset, endOffset - startOffset, lineEntry);
-				} catch (BadLocationException ex) {
-					LanguageServerPlugin.logError(ex);
-				} finally {
-					if (temporaryLoadDocument) {
-						try {
-							FileBuffers.getTextFileBufferManager().disconnect(resource.getFullPath(), LocationKind.IFILE, new NullProgressMonitor());
-						} catch (CoreException e) {
-							LanguageServerPlugin.logError(e);
-						}
-					}
-				}
+		}
+		final var batch = new ArrayList<Match>();
+		for (final Entry<String, List<Location>> entry : locationsByUri.entrySet()) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			toMatches(entry.getKey(), entry.getValue(), batch);
+			if (batch.size() >= MATCH_BATCH_SIZE) {
+				result.addMatches(batch.toArray(Match[]::new));
+				batch.clear();
 			}
+		}
+		if (!batch.isEmpty()) {
+			result.addMatches(batch.toArray(Match[]::new));
+		}
+	}
 
-			Position startPosition = location.getRange().getStart();
-			final var lineEntry = new LineElement(resource, startPosition.getLine() + 1, 0,
-					String.format("%s:%s", startPosition.getLine(), startPosition.getCharacter())); //$NON-NLS-1$
-			return new FileMatch((IFile) resource, 0, 0, lineEntry);
+	/**
+	 * Converts the given LSP {@link Location}s of a document to Eclipse search
+	 * {@link Match}es.
+	 *
+	 * @param uri
+	 *            the URI of the document of all locations
+	 * @param locations
+	 *            the LSP locations to convert
+	 * @param matches
+	 *            receives the converted Eclipse search {@link Match}es
+	 */
+	private static void toMatches(String uri, List<Location> locations, List<Match> matches) {
+		locations.sort(LOCATION_ORDER);
+		final IResource resource = LSPEclipseUtils.findResourceFor(uri);
+		if (resource instanceof IFile file) {
+			final FileText fileText = readText(file);
+			if (fileText != null) {
+				toFileMatches(file, fileText, locations, matches);
+				return;
+			}
+			for (final Location location : locations) {
+				Position startPosition = location.getRange().getStart();
+				final var lineEntry = new LineElement(resource, startPosition.getLine() + 1, 0,
+						String.format("%s:%s", startPosition.getLine(), startPosition.getCharacter())); //$NON-NLS-1$
+				matches.add(new FileMatch(file, 0, 0, lineEntry));
+			}
+			return;
 		}
 		try {
-			return URIMatch.create(location);
+			final var documentUri = new URI(uri);
+			final IDocument document = LSPEclipseUtils.getDocument(documentUri);
+			if (document == null) {
+				return;
+			}
+			final LineIndex lines = LineIndex.of(document);
+			for (final Location location : locations) {
+				matches.add(URIMatch.create(location, documentUri, lines));
+			}
 		} catch (Exception ex) {
 			LanguageServerPlugin.logError(ex);
+		}
+	}
+
+	private static void toFileMatches(IFile file, FileText fileText, List<Location> locations, List<Match> matches) {
+		final LineIndex lines = fileText.lines();
+		LineElement lineEntry = null;
+		for (final Location location : locations) {
+			try {
+				final Position start = location.getRange().getStart();
+				final Position end = location.getRange().getEnd();
+				final int startOffset = lines.toOffset(start.getLine(), start.getCharacter());
+				final int endOffset = lines.toOffset(end.getLine(), end.getCharacter());
+				final int line = lines.getLineOfOffset(startOffset);
+				// the locations are sorted, so matches of the same line share one line element
+				if (lineEntry == null || lineEntry.getLine() != line + 1) {
+					final int lineOffset = lines.getLineOffset(line);
+					lineEntry = new LineElement(file, line + 1, lineOffset,
+							fileText.getLineContent(lineOffset, lines.getLineLength(line)));
+				}
+				matches.add(new FileMatch(file, startOffset, endOffset - startOffset, lineEntry));
+			} catch (BadLocationException ex) {
+				LanguageServerPlugin.logError(ex);
+			}
+		}
+	}
+
+	/**
+	 * Returns the text of the given file, from its document if it is open and read
+	 * from disk otherwise, without connecting a text file buffer.
+	 */
+	private static @Nullable FileText readText(IFile file) {
+		try {
+			final IDocument document = LSPEclipseUtils.getExistingDocument(file);
+			if (document != null) {
+				return new FileText(document.get(), LineIndex.of(document));
+			}
+			final String charset = file.getCharset();
+			String text;
+			try (InputStream contents = file.getContents(true)) {
+				text = new String(contents.readAllBytes(), charset);
+			}
+			// text file buffers do not include the UTF-8 BOM in the document content
+			if (StandardCharsets.UTF_8.name().equalsIgnoreCase(charset) && text.startsWith("\uFEFF")) { //$NON-NLS-1$
+				text = text.substring(1);
+			}
+			return new FileText(text, LineIndex.read(new StringReader(text), false));
+		} catch (BadLocationException | CoreException | IOException ex) {
+			LanguageServerPlugin.logError(ex);
 			return null;
 		}
 	}
 
+	private record FileText(String text, LineIndex lines) {
+
+		/**
+		 * @return the content of the line at the given offset, without the line
+		 *         delimiter
+		 */
+		String getLineContent(int lineOffset, int lineLength) {
+			int end = Math.min(text.length(), lineOffset + lineLength);
+			while (end > lineOffset && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+				end--;
+			}
+			return text.substring(Math.min(lineOffset, end), end);
+		}
+	}
+
 	@Override
 	public LSSearchResult getSearchResult() {
 		var result = this.result;
@@ -16,7 +16,9 @@
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.internal.LineIndex;
 import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.search.ui.text.Match;
 
 public class URIMatch extends Match {
@@ -29,6 +31,17 @@ public static URIMatch create(final Location location) throws BadLocationExcepti
 		return new URIMatch(location, uri, offset, length);
 	}
 
+	/**
+	 * Creates a match for a location of the document with the given line index,
+	 * to convert many locations of the same document without looking it up again.
+	 */
+	static URIMatch create(final Location location, final URI uri, final LineIndex lines) throws BadLocationException {
+		final Position start = location.getRange().getStart();
+		final Position end = location.getRange().getEnd();
+		final int offset = lines.toOffset(start.getLine(), start.getCharacter());
+		return new URIMatch(location, uri, offset, lines.toOffset(end.getLine(), end.getCharacter()) - offset);
+	}
+
 	public final Location location;
 
 	protected URIMatch(final Location location, final URI uri, final int offset, final int length) {
@@ -11,22 +11,45 @@
 package org.eclipse.lsp4e.operations.semanticTokens;
 
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 
 public abstract class AbstractSemanticTokensDataStreamProcessor<T, V> {
 
-	private final Function<Position, Integer> offsetMapper;
+	/**
+	 * Maps a zero-based line and character to a document offset.
+	 */
+	@FunctionalInterface
+	public interface OffsetMapper {
+		int toOffset(int line, int character);
+	}
+
+	/**
+	 * Modifier bitmasks up to this many legend entries are resolved through a
+	 * lookup table, larger legends are resolved for each token.
+	 */
+	private static final int MAX_TABLE_MODIFIERS = 10;
+
+	private final OffsetMapper offsetMapper;
 	private final Function<String, @Nullable T> tokenTypeMapper;
 
 	protected AbstractSemanticTokensDataStreamProcessor(Function<Position, Integer> offsetMapper,
 			Function<String, @Nullable T> tokenTypeMapper) {
+		this((line, character) -> offsetMapper.apply(new Position(line, character)), tokenTypeMapper);
+	}
+
+	protected AbstractSemanticTokensDataStreamProcessor(OffsetMapper offsetMapper,
+			Function<String, @Nullable T> tokenTypeMapper) {
 		this.offsetMapper = offsetMapper;
 		this.tokenTypeMapper = tokenTypeMapper;
 	}
@@ -39,70 +62,216 @@ protected AbstractSemanticTokensDataStreamProcessor(Function<Position, Integer>
 	 */
 	public final List<V> getTokensData(final List<Integer> dataStream,
 			final SemanticTokensLegend semanticTokensLegend) {
-		final var tokens = new ArrayList<V>(dataStream.size() / 5);
+		return decode(dataStream::get, dataStream.size(), semanticTokensLegend, offsetMapper);
+	}
+
+	/**
+	 * Get the IDE Tokens for the given data stream and tokens legend, computing
+	 * the offsets of the tokens with a cursor walking down the lines of the given
+	 * document instead of the offset mapper of this processor.
+	 *
+	 * @param dataStream
+	 * @param semanticTokensLegend
+	 * @param document
+	 *            the document the tokens were computed for
+	 */
+	public final List<V> getTokensData(final List<Integer> dataStream,
+			final SemanticTokensLegend semanticTokensLegend, final IDocument document) {
+		return decode(dataStream::get, dataStream.size(), semanticTokensLegend, new LineCursor(document));
+	}
+
+	/**
+	 * Get the IDE Tokens for the given unboxed data stream and tokens legend.
+	 * Token types are mapped once per legend entry and modifier bitmasks are
+	 * resolved once per distinct value, so that decoding only allocates the
+	 * resulting tokens.
+	 *
+	 * @param dataStream
+	 * @param semanticTokensLegend
+	 */
+	public final List<V> getTokensData(final int[] dataStream, final SemanticTokensLegend semanticTokensLegend) {
+		return decode(i -> dataStream[i], dataStream.length, semanticTokensLegend, offsetMapper);
+	}
+
+	/**
+	 * Decodes the data stream read with the given accessor, so that boxed and
+	 * unboxed streams are decoded without copying them.
+	 */
+	private List<V> decode(final IntUnaryOperator dataStream, final int length,
+			final SemanticTokensLegend semanticTokensLegend, final OffsetMapper offsetMapper) {
+		final int tokenCount = length / 5;
+		final var tokens = new ArrayList<V>(tokenCount);
+		final var tokenTypes = new TokenTypeTable<T>(semanticTokensLegend.getTokenTypes(), tokenTypeMapper);
+		final var tokenModifiers = new TokenModifierTable(semanticTokensLegend.getTokenModifiers());
 
-		int idx = 0;
-		int prevLine = 0;
 		int line = 0;
 		int offset = 0;
-		int length = 0;
-		String tokenType = null;
-		for (Integer data : dataStream) {
-			switch (idx % 5) {
-			case 0: // line
-				line += data;
-				break;
-			case 1: // offset
-				if (line == prevLine) {
-					offset += data;
-				} else {
-					offset = offsetMapper.apply(new Position(line, data));
-				}
-				break;
-			case 2: // length
-				length = data;
-				break;
-			case 3: // token type
-				tokenType = tokenType(data, semanticTokensLegend.getTokenTypes());
-				break;
-			case 4: // token modifier
-				prevLine = line;
-				@Nullable V token = createTokenData(tokenType == null ? null : tokenTypeMapper.apply(tokenType), offset, length, tokenModifiers(data, semanticTokensLegend.getTokenModifiers()));
-				if (token != null) {
-					tokens.add(token);
-				}
-				break;
+		for (int i = 0; i < tokenCount * 5; i += 5) {
+			final int deltaLine = dataStream.applyAsInt(i);
+			if (deltaLine == 0) {
+				offset += dataStream.applyAsInt(i + 1);
+			} else {
+				line += deltaLine;
+				offset = offsetMapper.toOffset(line, dataStream.applyAsInt(i + 1));
+			}
+			final int modifiers = dataStream.applyAsInt(i + 4);
+			@Nullable V token = createTokenData(tokenTypes.get(dataStream.applyAsInt(i + 3)), offset,
+					dataStream.applyAsInt(i + 2), modifiers, tokenModifiers);
+			if (token != null) {
+				tokens.add(token);
 			}
-			idx++;
 		}
 		return tokens;
 	}
 
+	/**
+	 * Creates the IDE token for the given modifier bitmask. The default
+	 * implementation resolves the bitmask to the modifier names of the legend and
+	 * delegates to {@link #createTokenData(Object, int, int, List)}; subclasses
+	 * interested in a few modifiers only can override this to test the bitmask
+	 * directly, see {@link TokenModifierTable#mask(String)}.
+	 */
+	protected @Nullable V createTokenData(@Nullable T tokenType, int offset, int length, int tokenModifiers,
+			TokenModifierTable modifierTable) {
+		return createTokenData(tokenType, offset, length, modifierTable.get(tokenModifiers));
+	}
+
 	protected abstract @Nullable V createTokenData(@Nullable T tokenType, int offset, int length, List<String> tokenModifiers);
 
-	private @Nullable String tokenType(final Integer data, final List<String> legend) {
-		try {
-			return legend.get(data);
-		} catch (IndexOutOfBoundsException e) {
-			return null; // no match
+	/**
+	 * Maps the lines of a document to offsets for lines given in increasing
+	 * order, as the lines of the tokens of a data stream are: each line only
+	 * costs one query of its length to the line tracker of the document, whatever
+	 * the number of tokens. Like
+	 * {@link org.eclipse.lsp4e.LSPEclipseUtils#toOffset(int, int, IDocument)},
+	 * characters are bounded by the length of the line and lines after the last
+	 * one map to the end of the document.
+	 */
+	private static final class LineCursor implements OffsetMapper {
+		private final IDocument document;
+		private final int lastLine;
+		private int line;
+		private int lineOffset;
+		private int lineLength;
+
+		LineCursor(final IDocument document) {
+			this.document = document;
+			this.lastLine = Math.max(0, document.getNumberOfLines() - 1);
+			this.lineLength = lineLength(0);
 		}
-	}
 
-	private List<String> tokenModifiers(final Integer data, final List<String> legend) {
-		if (data.intValue() == 0) {
-			return Collections.emptyList();
+		@Override
+		public int toOffset(final int targetLine, final int character) {
+			while (line < targetLine && line < lastLine) {
+				lineOffset += lineLength;
+				lineLength = lineLength(++line);
+			}
+			return targetLine > lastLine ? lineOffset + lineLength : lineOffset + Math.min(lineLength, character);
 		}
-		final var bitSet = BitSet.valueOf(new long[] { data });
-		final var tokenModifiers = new ArrayList<String>();
-		for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+
+		private int lineLength(final int line) {
 			try {
-				tokenModifiers.add(legend.get(i));
-			} catch (IndexOutOfBoundsException e) {
-				// no match
+				return Math.max(0, document.getLineLength(line));
+			} catch (BadLocationException e) {
+				// the document changed while decoding, the tokens are outdated anyway
+				throw new RuntimeException(e);
 			}
 		}
+	}
 
-		return tokenModifiers;
+	/**
+	 * Lazily maps the token types of a legend, so that the mapper is called at
+	 * most once per token type and data stream.
+	 */
+	private static final class TokenTypeTable<T> {
+		private static final Object UNRESOLVED = new Object();
+
+		private final List<String> legend;
+		private final Function<String, @Nullable T> mapper;
+		private final @Nullable Object[] resolved;
+
+		TokenTypeTable(final List<String> legend, final Function<String, @Nullable T> mapper) {
+			this.legend = legend;
+			this.mapper = mapper;
+			this.resolved = new @Nullable Object[legend.size()];
+		}
+
+		@SuppressWarnings("unchecked")
+		@Nullable
+		T get(final int index) {
+			if (index < 0 || index >= resolved.length) {
+				return null; // no match
+			}
+			@Nullable Object value = resolved[index];
+			if (value == null) {
+				final T mapped = mapper.apply(legend.get(index));
+				value = mapped == null ? UNRESOLVED : mapped;
+				resolved[index] = value;
+			}
+			return value == UNRESOLVED ? null : (T) value;
+		}
 	}
 
+	/**
+	 * Resolves token modifier bitmasks to the modifier names of a legend.
+	 */
+	public static final class TokenModifierTable {
+		private final List<String> legend;
+		private final @Nullable List<String> @Nullable [] resolved;
+		private final Map<String, Integer> masks = new HashMap<>(4);
+		// processors ask for the masks of the same constant modifiers for every token
+		private @Nullable String lastModifier;
+		private int lastMask;
+
+		@SuppressWarnings("unchecked")
+		TokenModifierTable(final List<String> legend) {
+			this.legend = legend;
+			this.resolved = legend.size() <= MAX_TABLE_MODIFIERS ? new List[1 << legend.size()] : null;
+		}
+
+		/**
+		 * Returns the bitmask of the given modifier in this legend, or 0 if the
+		 * legend does not contain it.
+		 */
+		public int mask(final String modifier) {
+			if (modifier == lastModifier) {
+				return lastMask;
+			}
+			lastMask = masks.computeIfAbsent(modifier, m -> {
+				final int index = legend.indexOf(m);
+				return index < 0 || index >= Integer.SIZE ? 0 : 1 << index;
+			});
+			lastModifier = modifier;
+			return lastMask;
+		}
+
+		/**
+		 * Returns the modifier names of the given bitmask.
+		 */
+		public List<String> get(final int modifiers) {
+			if (modifiers == 0) {
+				return Collections.emptyList();
+			}
+			final var resolved = this.resolved;
+			if (resolved == null || modifiers < 0 || modifiers >= resolved.length) {
+				return resolve(modifiers);
+			}
+			List<String> names = resolved[modifiers];
+			if (names == null) {
+				names = resolve(modifiers);
+				resolved[modifiers] = names;
+			}
+			return names;
+		}
+
+		private List<String> resolve(final int modifiers) {
+			final var names = new ArrayList<String>(Integer.bitCount(modifiers));
+			for (int i = 0; i < legend.size() && i < Integer.SIZE; i++) {
+				if ((modifiers & (1 << i)) != 0) {
+					names.add(legend.get(i));
+				}
+			}
+			return Collections.unmodifiableList(names);
+		}
+	}
 }
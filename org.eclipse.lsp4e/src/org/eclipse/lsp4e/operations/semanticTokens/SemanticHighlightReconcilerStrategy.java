@@ -13,7 +13,6 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
@@ -35,7 +34,9 @@
 import org.eclipse.lsp4e.internal.CancellationUtil;
 import org.eclipse.lsp4e.internal.DocumentUtil;
 import org.eclipse.lsp4e.internal.Pair;
+import org.eclipse.lsp4e.operations.semanticTokens.AbstractSemanticTokensDataStreamProcessor.OffsetMapper;
 import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.swt.custom.StyleRange;
@@ -67,6 +68,13 @@
  * For simplicity, out-dated responses are discarded, as we know we shall get
  * newer ones.
  * <p>
+ * The last full result is kept so that subsequent reconciles only request the
+ * edits since that result if the server supports
+ * {@code semanticTokens/full/delta}. When the viewer is opened and the server
+ * supports {@code semanticTokens/range}, the tokens of the visible lines are
+ * requested first so that highlighting appears without waiting for the whole
+ * document to be processed.
+ * <p>
  * In case the reconciler produces bogus results, it can be disabled with the key
  * {@literal semanticHighlightReconciler.disabled} until fix is provided.
  */
@@ -100,6 +108,15 @@
 
 	private @Nullable CompletableFuture<Optional<VersionedSemanticTokens>> semanticTokensFullFuture;
 
+	private @Nullable CompletableFuture<Optional<VersionedSemanticTokens>> semanticTokensRangeFuture;
+
+	/**
+	 * The last full result received for the document, which knows the server it
+	 * can be the base of semanticTokens/full/delta requests for. Only accessed from
+	 * the reconciler thread.
+	 */
+	private @Nullable VersionedSemanticTokens previousSemanticTokens;
+
 	private StyleRangeMerger merger;
 
 	public SemanticHighlightReconcilerStrategy() {
@@ -146,6 +163,8 @@ public void uninstall() {
 		}
 		this.viewer = null; // Indicate that we're not installed or in the phase of deinstalling
 		cancelSemanticTokensFull();
+		cancelSemanticTokensRange();
+		previousSemanticTokens = null;
 		semanticTokensDataStreamProcessor = null;
 		if (viewer instanceof final TextViewer textViewerImpl) {
 			textViewerImpl.removeTextPresentationListener(this);
@@ -156,10 +175,10 @@ public void uninstall() {
 		}
 	}
 
-	private Function<Position, Integer> offsetMapper() {
-		return p -> {
+	private OffsetMapper offsetMapper() {
+		return (line, character) -> {
 			try {
-				return LSPEclipseUtils.toOffset(p, castNonNull(document));
+				return LSPEclipseUtils.toOffset(line, character, castNonNull(document));
 			} catch (BadLocationException e) {
 				throw new RuntimeException(e);
 			}
@@ -177,9 +196,11 @@ private void saveStyle(final Pair<@Nullable SemanticTokens, @Nullable SemanticTo
 		List<Integer> dataStream = semanticTokens.getData();
 		final var semanticTokensDataStreamProcessor = this.semanticTokensDataStreamProcessor;
 		final var styleRangeHolder = this.styleRangeHolder;
-		if (!dataStream.isEmpty() && semanticTokensDataStreamProcessor != null && styleRangeHolder != null) {
+		final var document = this.document;
+		if (!dataStream.isEmpty() && semanticTokensDataStreamProcessor != null && styleRangeHolder != null
+				&& document != null) {
 			List<StyleRange> styleRanges = semanticTokensDataStreamProcessor.getTokensData(dataStream,
-					semanticTokensLegend);
+					semanticTokensLegend, document);
 			styleRangeHolder.saveStyles(styleRanges);
 		}
 	}
@@ -191,6 +212,7 @@ public void setProgressMonitor(final @Nullable IProgressMonitor monitor) {
 	@Override
 	public void setDocument(final @Nullable IDocument document) {
 		this.document = document;
+		this.previousSemanticTokens = null;
 	}
 
 	/** The presentation is invalidated if applyTextPresentation has never been called (e.g. there is
@@ -226,6 +248,12 @@ private void cancelSemanticTokensFull() {
 		}
 	}
 
+	private void cancelSemanticTokensRange() {
+		if (semanticTokensRangeFuture != null) {
+			semanticTokensRangeFuture.cancel(true);
+		}
+	}
+
 	private void fullReconcile() {
 		final var viewer = this.viewer;
 		if (disabled || viewer == null) { // Skip any processing
@@ -234,27 +262,90 @@ private void fullReconcile() {
 		final var document = this.document;
 		cancelSemanticTokensFull();
 		if (document != null) {
-			long modificationStamp = DocumentUtil.getDocumentModificationStamp(document);
 			try {
 				final var semanticTokensFullFuture = SemanticTokensClient.DEFAULT.requestFullSemanticTokens(document,
-						(legend, semanticTokens) -> new VersionedSemanticTokens(modificationStamp, Pair.of(semanticTokens, legend), document));
+						previousSemanticTokens);
 				this.semanticTokensFullFuture = semanticTokensFullFuture;
-				semanticTokensFullFuture.get() // background thread with cancellation support, no timeout needed
-						.ifPresent(versionedSemanticTokens ->
-								versionedSemanticTokens.apply(this::saveStyle, this::invalidateTextPresentation));
+				final Optional<VersionedSemanticTokens> result = semanticTokensFullFuture.get(); // background thread with cancellation support, no timeout needed
+				// the result is a valid delta base even if the document has changed in the meantime
+				this.previousSemanticTokens = result.orElse(null);
+				result.ifPresent(versionedSemanticTokens ->
+						versionedSemanticTokens.apply(this::saveStyle, this::invalidateTextPresentation));
 			} catch (InterruptedException e) {
 				LanguageServerPlugin.logError(e);
 				Thread.currentThread().interrupt();
 			} catch (Exception e) {
 				if (!CancellationUtil.isRequestCancelledException(e)) { // do not report error if the server has cancelled the request
+					// the previous result may not be known by the server anymore, next request must be a full one
+					this.previousSemanticTokens = null;
 					LanguageServerPlugin.logError(e);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Requests the semantic tokens of the visible lines only, if supported by the
+	 * server, so that highlighting of a large document shows up before the full
+	 * result is available.
+	 */
+	private void visibleRangeReconcile() {
+		final var viewer = this.viewer;
+		final var document = this.document;
+		if (disabled || viewer == null || document == null) { // Skip any processing
+			return;
+		}
+		final Range visibleRange = getVisibleRange(viewer, document);
+		if (visibleRange == null) {
+			return;
+		}
+		long modificationStamp = DocumentUtil.getDocumentModificationStamp(document);
+		try {
+			final var semanticTokensRangeFuture = SemanticTokensClient.DEFAULT.requestRangeSemanticTokens(document,
+					visibleRange,
+					(legend, semanticTokens) -> new VersionedSemanticTokens(modificationStamp, Pair.of(semanticTokens, legend), document));
+			this.semanticTokensRangeFuture = semanticTokensRangeFuture;
+			semanticTokensRangeFuture.get() // background thread with cancellation support, no timeout needed
+					.ifPresent(versionedSemanticTokens ->
+							versionedSemanticTokens.apply(this::saveStyle, this::invalidateTextPresentation));
+		} catch (InterruptedException e) {
+			LanguageServerPlugin.logError(e);
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			if (!CancellationUtil.isRequestCancelledException(e)) { // do not report error if the server has cancelled the request
+				LanguageServerPlugin.logError(e);
+			}
+		}
+	}
+
+	private static @Nullable Range getVisibleRange(final ITextViewer viewer, final IDocument document) {
+		final StyledText textWidget = viewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed()) {
+			return null;
+		}
+		final var visibleLines = new int[] { -1, -1 };
+		textWidget.getDisplay().syncExec(() -> {
+			if (!textWidget.isDisposed()) {
+				visibleLines[0] = viewer.getTopIndex();
+				visibleLines[1] = viewer.getBottomIndex();
+			}
+		});
+		if (visibleLines[0] < 0 || visibleLines[1] < visibleLines[0]) {
+			return null;
+		}
+		try {
+			final int endLine = visibleLines[1] + 1;
+			final Position end = endLine < document.getNumberOfLines() ? new Position(endLine, 0)
+					: LSPEclipseUtils.toPosition(document.getLength(), document);
+			return new Range(new Position(visibleLines[0], 0), end);
+		} catch (BadLocationException e) {
+			return null;
+		}
+	}
+
 	@Override
 	public void initialReconcile() {
+		visibleRangeReconcile();
 		fullReconcile();
 	}
 
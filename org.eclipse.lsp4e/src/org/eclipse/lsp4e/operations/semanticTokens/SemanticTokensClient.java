@@ -10,7 +10,12 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.operations.semanticTokens;
 
+import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
+
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
@@ -20,11 +25,20 @@
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.internal.DocumentUtil;
+import org.eclipse.lsp4e.internal.Pair;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
+import org.eclipse.lsp4j.SemanticTokensEdit;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.SemanticTokensRangeParams;
+import org.eclipse.lsp4j.SemanticTokensServerFull;
 import org.eclipse.lsp4j.SemanticTokensWithRegistrationOptions;
 import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
 
 public final class SemanticTokensClient {
 
@@ -49,6 +63,126 @@ public <T> CompletableFuture<Optional<T>> requestFullSemanticTokens(IDocument do
 						.thenApply(semanticTokens -> callback.apply(getSemanticTokensLegend(w), semanticTokens)));
 	}
 
+	/**
+	 * Requests the semantic tokens of the whole document. If the given previous
+	 * tokens were computed by the server answering and it supports
+	 * {@code semanticTokens/full/delta}, only the edits since these tokens are
+	 * requested and patched into them.
+	 *
+	 * @param previousSemanticTokens
+	 *            the tokens last received for the document, or null
+	 * @return the tokens, tagged with the modification stamp of the document at
+	 *         the time of the request and with the server which computed them
+	 */
+	public CompletableFuture<Optional<VersionedSemanticTokens>> requestFullSemanticTokens(IDocument document,
+			@Nullable VersionedSemanticTokens previousSemanticTokens) {
+		URI uri = LSPEclipseUtils.toUri(document);
+		if (uri == null) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+		final long modificationStamp = DocumentUtil.getDocumentModificationStamp(document);
+
+		return LanguageServers.forDocument(document)
+				.withFilter(serverCapabilities -> serverCapabilities.getSemanticTokensProvider() != null
+						&& LSPEclipseUtils.hasCapability(serverCapabilities.getSemanticTokensProvider().getFull())) //
+				.computeFirst((w, ls) -> {
+					final SemanticTokens deltaBase = previousSemanticTokens == null ? null
+							: previousSemanticTokens.getDeltaBase(w);
+					final CompletableFuture<SemanticTokens> semanticTokensFuture;
+					if (deltaBase != null && isDeltaSupported(w)) {
+						semanticTokensFuture = ls.getTextDocumentService()
+								.semanticTokensFullDelta(new SemanticTokensDeltaParams(
+										LSPEclipseUtils.toTextDocumentIdentifier(uri), castNonNull(deltaBase.getResultId())))
+								.thenApply(tokensOrDelta -> toSemanticTokens(deltaBase, tokensOrDelta));
+					} else {
+						semanticTokensFuture = ls.getTextDocumentService()
+								.semanticTokensFull(new SemanticTokensParams(LSPEclipseUtils.toTextDocumentIdentifier(uri)));
+					}
+					return semanticTokensFuture.thenApply(semanticTokens -> new VersionedSemanticTokens(modificationStamp,
+							Pair.of(semanticTokens, getSemanticTokensLegend(w)), document, w));
+				});
+	}
+
+	/**
+	 * Requests the semantic tokens of the given range of the document, typically
+	 * the visible part of the viewer, from a server supporting
+	 * {@code semanticTokens/range}.
+	 */
+	public <T> CompletableFuture<Optional<T>> requestRangeSemanticTokens(IDocument document, Range range,
+			BiFunction<@Nullable SemanticTokensLegend, SemanticTokens, T> callback) {
+		URI uri = LSPEclipseUtils.toUri(document);
+		if (uri == null) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+
+		return LanguageServers.forDocument(document)
+				.withFilter(serverCapabilities -> serverCapabilities.getSemanticTokensProvider() != null
+						&& LSPEclipseUtils.hasCapability(serverCapabilities.getSemanticTokensProvider().getRange())) //
+				.computeFirst((w, ls) -> ls.getTextDocumentService()
+						.semanticTokensRange(new SemanticTokensRangeParams(LSPEclipseUtils.toTextDocumentIdentifier(uri), range))
+						.thenApply(semanticTokens -> callback.apply(getSemanticTokensLegend(w), semanticTokens)));
+	}
+
+	private boolean isDeltaSupported(final LanguageServerWrapper wrapper) {
+		ServerCapabilities serverCapabilities = wrapper.getServerCapabilities();
+		if (serverCapabilities != null) {
+			SemanticTokensWithRegistrationOptions semanticTokensProvider = serverCapabilities
+					.getSemanticTokensProvider();
+			if (semanticTokensProvider != null) {
+				Either<Boolean, SemanticTokensServerFull> full = semanticTokensProvider.getFull();
+				return full != null && full.isRight() && Boolean.TRUE.equals(full.getRight().getDelta());
+			}
+		}
+		return false;
+	}
+
+	private static SemanticTokens toSemanticTokens(final SemanticTokens previousSemanticTokens,
+			final Either<SemanticTokens, SemanticTokensDelta> tokensOrDelta) {
+		if (tokensOrDelta.isLeft()) {
+			return tokensOrDelta.getLeft();
+		}
+		final SemanticTokensDelta delta = tokensOrDelta.getRight();
+		return new SemanticTokens(delta.getResultId(), applyEdits(previousSemanticTokens.getData(), delta.getEdits()));
+	}
+
+	/**
+	 * Applies the edits of a {@code semanticTokens/full/delta} response to the
+	 * data array they were computed against.
+	 *
+	 * @return a new data array, the given one is left untouched
+	 * @throws IllegalArgumentException
+	 *             if the edits do not fit the given data
+	 */
+	// public for testing
+	public static List<Integer> applyEdits(final List<Integer> data, final List<SemanticTokensEdit> edits) {
+		if (edits.isEmpty()) {
+			return data;
+		}
+		final var sortedEdits = new ArrayList<>(edits);
+		sortedEdits.sort(Comparator.comparingInt(SemanticTokensEdit::getStart));
+		int newSize = data.size();
+		for (final SemanticTokensEdit edit : sortedEdits) {
+			final List<Integer> inserted = edit.getData();
+			newSize += (inserted == null ? 0 : inserted.size()) - edit.getDeleteCount();
+		}
+		final var result = new ArrayList<Integer>(Math.max(newSize, 0));
+		int index = 0;
+		for (final SemanticTokensEdit edit : sortedEdits) {
+			final int start = edit.getStart();
+			if (start < index || start + edit.getDeleteCount() > data.size()) {
+				throw new IllegalArgumentException("Semantic tokens edit does not match previous result"); //$NON-NLS-1$
+			}
+			result.addAll(data.subList(index, start));
+			final List<Integer> inserted = edit.getData();
+			if (inserted != null) {
+				result.addAll(inserted);
+			}
+			index = start + edit.getDeleteCount();
+		}
+		result.addAll(data.subList(index, data.size()));
+		return result;
+	}
+
 	// public for testing
 	public @Nullable SemanticTokensLegend getSemanticTokensLegend(final LanguageServerWrapper wrapper) {
 		ServerCapabilities serverCapabilities = wrapper.getServerCapabilities();
@@ -38,10 +38,32 @@ public SemanticTokensDataStreamProcessor(final Function<String, @Nullable IToken
 		super(offsetMapper, tokenTypeMapper);
 	}
 
+	/**
+	 * Creates a new instance of {@link SemanticTokensDataStreamProcessor}.
+	 *
+	 * @param tokenTypeMapper
+	 * @param offsetMapper
+	 */
+	public SemanticTokensDataStreamProcessor(final Function<String, @Nullable IToken> tokenTypeMapper,
+			final OffsetMapper offsetMapper) {
+		super(offsetMapper, tokenTypeMapper);
+	}
+
+	@Override
+	protected @Nullable StyleRange createTokenData(@Nullable IToken tokenType, int offset, int length,
+			int tokenModifiers, TokenModifierTable modifierTable) {
+		final int deprecated = modifierTable.mask(SemanticTokenModifiers.Deprecated);
+		return createStyleRange(tokenType, offset, length, (tokenModifiers & deprecated) != 0);
+	}
+
 	@Override
 	protected @Nullable StyleRange createTokenData(@Nullable IToken tokenType, int offset, int length, List<String> tokenModifiers) {
+		return createStyleRange(tokenType, offset, length, tokenModifiers.contains(SemanticTokenModifiers.Deprecated));
+	}
+
+	private @Nullable StyleRange createStyleRange(@Nullable IToken tokenType, int offset, int length, boolean deprecated) {
 		StyleRange styleRange = getStyleRange(offset, length, textAttribute(tokenType));
-		if (tokenModifiers.stream().anyMatch(x -> x.equals(SemanticTokenModifiers.Deprecated))) {
+		if (deprecated) {
 			if (styleRange == null) {
 				styleRange = new StyleRange();
 				styleRange.start = offset;
@@ -16,6 +16,7 @@
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.Versioned;
 import org.eclipse.lsp4e.internal.DocumentUtil;
 import org.eclipse.lsp4e.internal.Pair;
@@ -23,13 +24,42 @@
 import org.eclipse.lsp4j.SemanticTokensLegend;
 
 /**
- * Specialization of <code>Versioned</code> for semanticTokens
+ * Specialization of <code>Versioned</code> for semanticTokens. Full results
+ * also remember the language server which computed them, as their result id
+ * is only known to this server and can only be the base of its
+ * {@code semanticTokens/full/delta} requests.
  */
 public class VersionedSemanticTokens extends Versioned<Pair<@Nullable SemanticTokens, @Nullable SemanticTokensLegend>>{
 
+	private final @Nullable LanguageServerWrapper source;
+
 	public VersionedSemanticTokens(long version, Pair<@Nullable SemanticTokens, @Nullable SemanticTokensLegend> data,
 			IDocument document) {
+		this(version, data, document, null);
+	}
+
+	/**
+	 * @param source
+	 *            the language server which computed the whole tokens of the
+	 *            document, or null if they can't be the base of a delta request
+	 */
+	public VersionedSemanticTokens(long version, Pair<@Nullable SemanticTokens, @Nullable SemanticTokensLegend> data,
+			IDocument document, @Nullable LanguageServerWrapper source) {
 		super(document, version, data);
+		this.source = source;
+	}
+
+	/**
+	 * @return the tokens to send the result id of in a
+	 *         {@code semanticTokens/full/delta} request to the given server, or
+	 *         null if these tokens were not computed by this server or have no
+	 *         result id
+	 */
+	public @Nullable SemanticTokens getDeltaBase(LanguageServerWrapper wrapper) {
+		final SemanticTokens semanticTokens = data.first();
+		return source == wrapper && semanticTokens != null && semanticTokens.getResultId() != null
+				? semanticTokens
+				: null;
 	}
 
 	/**
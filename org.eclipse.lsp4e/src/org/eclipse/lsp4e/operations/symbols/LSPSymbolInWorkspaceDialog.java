@@ -14,8 +14,10 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -38,25 +40,56 @@
 import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.internal.JsonUtil;
 import org.eclipse.lsp4e.outline.CNFOutlinePage;
 import org.eclipse.lsp4e.outline.SymbolsLabelProvider;
+import org.eclipse.lsp4e.progress.PartialResults;
 import org.eclipse.lsp4e.ui.Messages;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
 import org.eclipse.lsp4j.SymbolTag;
 import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolLocation;
 import org.eclipse.lsp4j.WorkspaceSymbolParams;
+import org.eclipse.lsp4j.adapters.WorkspaceSymbolResponseAdapter;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.dialogs.FilteredItemsSelectionDialog;
 
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
 public class LSPSymbolInWorkspaceDialog extends FilteredItemsSelectionDialog {
 
 	private static final String DIALOG_SETTINGS = LSPSymbolInWorkspaceDialog.class.getName();
 
+	private static final int TIMEOUT_SECONDS = 10;
+
+	/**
+	 * Language servers usually limit the number of symbols they return, so only a
+	 * result smaller than this can be refined locally when the pattern is
+	 * extended.
+	 */
+	private static final int MAX_REFINABLE_RESULTS = 100;
+
+	/**
+	 * Maximum number of symbols shown from the {@link WorkspaceSymbolIndex} while
+	 * the language servers are queried.
+	 */
+	private static final int MAX_INDEXED_RESULTS = 1000;
+
+	private static final TypeAdapter<@Nullable Either<List<? extends SymbolInformation>, List<@Nullable ? extends WorkspaceSymbol>>> WORKSPACE_SYMBOLS_ADAPTER = new WorkspaceSymbolResponseAdapter()
+			.create(JsonUtil.LSP4J_GSON, new TypeToken<@Nullable Either<List<? extends SymbolInformation>, List<@Nullable ? extends WorkspaceSymbol>>>() {
+			});
+
 	private static final class InternalSymbolsLabelProvider extends SymbolsLabelProvider {
 
 		private @Nullable String pattern;
@@ -101,9 +134,25 @@ public void setPattern(@Nullable String pattern) {
 
 	private final class InternalItemsFilter extends ItemsFilter {
 
+		/**
+		 * whether the items of this filter are queried from the language servers,
+		 * otherwise they are refined from the result of a previous filter
+		 */
+		private volatile boolean queried;
+
+		/**
+		 * whether all language servers answered the query with a result small
+		 * enough to not be truncated
+		 */
+		private volatile boolean complete;
+
+		/** the words of the pattern, matched as the workspace symbol index does */
+		private final String[] words = SymbolNameIndex.toWords(getPattern());
+
 		@Override
 		public boolean matchItem(@Nullable Object item) {
-			return true;
+			// the results of a query are matched by the language servers
+			return queried || item instanceof WorkspaceSymbol symbol && SymbolNameIndex.matches(words, symbol.getName());
 		}
 
 		@Override
@@ -113,7 +162,90 @@ public boolean isConsistentItem(@Nullable Object item) {
 
 		@Override
 		public boolean isSubFilter(@Nullable ItemsFilter filter) {
-			return false;
+			// refine the result locally if the pattern has only been extended
+			return complete && filter != null && filter.getPattern().length() > getPattern().length()
+					&& filter.getPattern().regionMatches(true, 0, getPattern(), 0, getPattern().length());
+		}
+	}
+
+	private record SymbolKey(String name, SymbolKind kind, String uri, @Nullable Position start) {
+
+		static SymbolKey of(WorkspaceSymbol symbol) {
+			final Either<Location, WorkspaceSymbolLocation> location = symbol.getLocation();
+			return new SymbolKey(symbol.getName(), symbol.getKind(),
+					WorkspaceSymbolIndex.normalize(location.map(Location::getUri, WorkspaceSymbolLocation::getUri)),
+					location.isLeft() ? location.getLeft().getRange().getStart() : null);
+		}
+	}
+
+	/**
+	 * Adds the symbols of the language servers to the content provider as they
+	 * arrive, until the query is {@link #close() closed}. If the
+	 * {@link WorkspaceSymbolIndex} is enabled, the symbols are added to the index
+	 * and symbols already shown from the index are skipped.
+	 */
+	private final class SymbolCollector {
+		private final AbstractContentProvider contentProvider;
+		private final ItemsFilter itemsFilter;
+		private final @Nullable WorkspaceSymbolIndex index;
+		private final Set<SymbolKey> indexedSymbols = new HashSet<>();
+		private boolean open = true;
+		private int count;
+
+		SymbolCollector(AbstractContentProvider contentProvider, ItemsFilter itemsFilter,
+				@Nullable WorkspaceSymbolIndex index) {
+			this.contentProvider = contentProvider;
+			this.itemsFilter = itemsFilter;
+			this.index = index;
+		}
+
+		void addIndexedSymbols(WorkspaceSymbolIndex index) {
+			final List<WorkspaceSymbol> symbols = index.find(itemsFilter.getPattern(), MAX_INDEXED_RESULTS);
+			synchronized (this) {
+				for (final WorkspaceSymbol symbol : symbols) {
+					indexedSymbols.add(SymbolKey.of(symbol));
+					contentProvider.add(symbol, itemsFilter);
+					count++;
+				}
+			}
+			if (!symbols.isEmpty()) {
+				scheduleRefresh();
+			}
+		}
+
+		void addPartialResult(String serverId, JsonElement partialResult) {
+			final var symbols = eitherToWorkspaceSymbols(WORKSPACE_SYMBOLS_ADAPTER.fromJsonTree(partialResult));
+			addToIndex(serverId, symbols);
+			add(symbols);
+		}
+
+		void addToIndex(String serverId, List<@Nullable ? extends WorkspaceSymbol> symbols) {
+			final var index = this.index;
+			if (index != null) {
+				index.addSymbols(serverId, symbols);
+			}
+		}
+
+		void add(List<@Nullable ? extends WorkspaceSymbol> symbols) {
+			synchronized (this) {
+				if (!open) {
+					return;
+				}
+				for (final WorkspaceSymbol symbol : symbols) {
+					if (symbol != null && (indexedSymbols.isEmpty() || !indexedSymbols.contains(SymbolKey.of(symbol)))) {
+						contentProvider.add(symbol, itemsFilter);
+						count++;
+					}
+				}
+			}
+			if (!symbols.isEmpty()) {
+				scheduleRefresh();
+			}
+		}
+
+		synchronized int close() {
+			open = false;
+			return count;
 		}
 	}
 
@@ -148,31 +280,69 @@ protected void fillContentProvider(AbstractContentProvider contentProvider, Item
 		if (itemsFilter.getPattern().isEmpty()) {
 			return;
 		}
-		final var params = new WorkspaceSymbolParams(itemsFilter.getPattern());
-		request = LanguageServers.forProject(project) //
+		if (itemsFilter instanceof InternalItemsFilter filter) {
+			filter.queried = true;
+		}
+		final WorkspaceSymbolIndex index = WorkspaceSymbolIndex.forProject(project);
+		final var collector = new SymbolCollector(contentProvider, itemsFilter, index);
+		if (index != null) {
+			// show the known symbols instantly, the language servers only add the ones not known yet
+			collector.addIndexedSymbols(index);
+		}
+		final var request = this.request = LanguageServers.forProject(project) //
 				.withCapability(ServerCapabilities::getWorkspaceSymbolProvider) //
-				.computeAll((w, ls) -> ls.getWorkspaceService().symbol(params));
-		request.stream().map((
-				CompletableFuture<@Nullable Either<List<? extends SymbolInformation>, List<@Nullable ? extends WorkspaceSymbol>>> f) -> f
-						.thenApply(LSPSymbolInWorkspaceDialog::eitherToWorkspaceSymbols))
-				.forEach(cf -> {
-					if (monitor.isCanceled()) {
-						return;
-					}
-					try {
-						for (Object item : cf.get(1, TimeUnit.SECONDS)) {
-							contentProvider.add(item, itemsFilter);
+				.computeAll((w, ls) -> {
+					final var params = new WorkspaceSymbolParams(itemsFilter.getPattern());
+					final var partialResultToken = PartialResults
+							.register(chunk -> collector.addPartialResult(w.serverDefinition.id, chunk));
+					params.setPartialResultToken(partialResultToken);
+					final var symbols = ls.getWorkspaceService().symbol(params);
+					symbols.whenComplete((result, ex) -> {
+						PartialResults.unregister(partialResultToken);
+						if (result != null) {
+							collector.addToIndex(w.serverDefinition.id, eitherToWorkspaceSymbols(result));
 						}
-					} catch (ExecutionException e) {
-						LanguageServerPlugin.logError(e);
-					} catch (InterruptedException e) {
-						LanguageServerPlugin.logError(e);
-						Thread.currentThread().interrupt();
-					} catch (TimeoutException e) {
-						LanguageServerPlugin.logWarning(
-								"Could not get workspace symbols due to timeout after 1 seconds in `workspace/symbol`"); //$NON-NLS-1$
-					}
+					});
+					return symbols;
 				});
+		// wait for all language servers concurrently and show the results of each as they arrive
+		final CompletableFuture<?>[] results = request.stream().map((
+				CompletableFuture<@Nullable Either<List<? extends SymbolInformation>, List<@Nullable ? extends WorkspaceSymbol>>> f) -> f
+						.thenApply(LSPSymbolInWorkspaceDialog::eitherToWorkspaceSymbols) //
+						.thenAccept(collector::add) //
+						.exceptionally(ex -> {
+							if (!CancellationUtil.isRequestCancelledException(ex)) {
+								LanguageServerPlugin.logError(ex);
+							}
+							return null;
+						}))
+				.toArray(CompletableFuture[]::new);
+		final var allResults = CompletableFuture.allOf(results);
+		final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+		try {
+			while (!allResults.isDone() && !monitor.isCanceled()) {
+				try {
+					allResults.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (System.nanoTime() - deadline > 0) {
+						LanguageServerPlugin.logWarning("Could not get all workspace symbols due to timeout after " //$NON-NLS-1$
+								+ TIMEOUT_SECONDS + " seconds in `workspace/symbol`"); //$NON-NLS-1$
+						break;
+					}
+				}
+			}
+		} catch (ExecutionException e) {
+			LanguageServerPlugin.logError(e);
+		} catch (InterruptedException e) {
+			LanguageServerPlugin.logError(e);
+			Thread.currentThread().interrupt();
+		} finally {
+			final int count = collector.close();
+			if (itemsFilter instanceof InternalItemsFilter filter) {
+				filter.complete = allResults.isDone() && request.stream().noneMatch(CompletableFuture::isCompletedExceptionally)
+						&& count < MAX_REFINABLE_RESULTS;
+			}
+		}
 	}
 
 	@Override
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.operations.symbols;
+
+import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Interns symbol names to ids and indexes the lower case names by their
+ * trigrams to find the names containing a pattern without comparing all of
+ * them. Names are reference counted: the id of a name which is no longer
+ * referenced is reused, and the posting lists are rebuilt once as many names
+ * were released as are in use. Not thread safe.
+ */
+final class SymbolNameIndex {
+
+	private final Map<String, Integer> ids = new HashMap<>();
+	/** names by id, {@code null} for released ids */
+	private final List<@Nullable String> names = new ArrayList<>();
+	private final List<@Nullable String> lowerCaseNames = new ArrayList<>();
+	private int[] referenceCounts = new int[64];
+	/** released ids, with their count at index 0 */
+	private int[] freeIds = new int[] { 0 };
+	/** names released since the posting lists were last rebuilt */
+	private int releasedSinceRebuild;
+
+	/**
+	 * posting lists of the name ids by trigram, with their length at index 0. They
+	 * may contain released or reused ids until they are rebuilt.
+	 */
+	private final Map<Long, int[]> postings = new HashMap<>();
+
+	/**
+	 * Adds a reference to the given name, which is added to the index if it is not
+	 * known yet.
+	 *
+	 * @return the id of the name, valid until the reference is
+	 *         {@link #release(int) released}
+	 */
+	int intern(String name) {
+		final Integer existing = ids.get(name);
+		if (existing != null) {
+			referenceCounts[existing]++;
+			return existing;
+		}
+		final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+		final int id;
+		if (freeIds[0] > 0) {
+			id = freeIds[freeIds[0]--];
+			names.set(id, name);
+			lowerCaseNames.set(id, lowerCaseName);
+		} else {
+			id = names.size();
+			names.add(name);
+			lowerCaseNames.add(lowerCaseName);
+			if (id == referenceCounts.length) {
+				referenceCounts = Arrays.copyOf(referenceCounts, id * 2);
+			}
+		}
+		referenceCounts[id] = 1;
+		ids.put(name, id);
+		addPostings(lowerCaseName, id);
+		return id;
+	}
+
+	/**
+	 * Removes a reference to the name of the given id, and the name from the
+	 * index if it is no longer referenced.
+	 */
+	void release(int id) {
+		if (--referenceCounts[id] > 0) {
+			return;
+		}
+		ids.remove(names.get(id));
+		names.set(id, null);
+		lowerCaseNames.set(id, null);
+		if (freeIds[0] + 1 == freeIds.length) {
+			freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+		}
+		freeIds[++freeIds[0]] = id;
+		if (++releasedSinceRebuild > ids.size()) {
+			rebuildPostings();
+		}
+	}
+
+	/**
+	 * @return the id of the given name, or -1 if it is not in the index
+	 */
+	int getId(String name) {
+		final Integer id = ids.get(name);
+		return id == null ? -1 : id;
+	}
+
+	String getName(int id) {
+		return castNonNull(names.get(id));
+	}
+
+	/**
+	 * @return the number of names in the index
+	 */
+	int size() {
+		return ids.size();
+	}
+
+	private void addPostings(String lowerCaseName, int id) {
+		for (int i = 0; i + 3 <= lowerCaseName.length(); i++) {
+			final long trigram = trigram(lowerCaseName, i);
+			int[] posting = postings.get(trigram);
+			if (posting == null) {
+				posting = new int[] { 1, id };
+			} else if (posting[posting[0]] != id) { // skip trigrams repeated in the name
+				if (posting[0] + 1 == posting.length) {
+					posting = Arrays.copyOf(posting, posting.length * 2);
+				}
+				posting[++posting[0]] = id;
+			}
+			postings.put(trigram, posting);
+		}
+	}
+
+	private void rebuildPostings() {
+		postings.clear();
+		for (int id = 0; id < lowerCaseNames.size(); id++) {
+			final String lowerCaseName = lowerCaseNames.get(id);
+			if (lowerCaseName != null) {
+				addPostings(lowerCaseName, id);
+			}
+		}
+		releasedSinceRebuild = 0;
+	}
+
+	/**
+	 * Splits the given pattern into the lower case words names must contain, see
+	 * {@link #matches(String[], String)}. Words are separated by white space and
+	 * {@code *} wildcards.
+	 */
+	static String[] toWords(String pattern) {
+		return Arrays.stream(pattern.toLowerCase(Locale.ROOT).split("[\\s*]+")) //$NON-NLS-1$
+				.filter(word -> !word.isEmpty()).toArray(String[]::new);
+	}
+
+	/**
+	 * Returns whether the given name contains the given words of a pattern in the
+	 * same order, ignoring case, as the names found by
+	 * {@link #findMatchingNames(String)} do.
+	 */
+	static boolean matches(String[] words, String name) {
+		return containsInOrder(name.toLowerCase(Locale.ROOT), words);
+	}
+
+	/**
+	 * Returns the ids of the names which contain the words of the given pattern in
+	 * the same order, ignoring case.
+	 *
+	 * @see #toWords(String)
+	 */
+	BitSet findMatchingNames(String pattern) {
+		final String[] words = toWords(pattern);
+		final var result = new BitSet(names.size());
+		final int[] candidates = findCandidates(words);
+		if (candidates == null) {
+			for (int id = 0; id < lowerCaseNames.size(); id++) {
+				final String lowerCaseName = lowerCaseNames.get(id);
+				if (lowerCaseName != null && containsInOrder(lowerCaseName, words)) {
+					result.set(id);
+				}
+			}
+		} else {
+			for (int i = 1; i <= candidates[0]; i++) {
+				// released or reused ids of the posting list are filtered out by the comparison
+				final String lowerCaseName = lowerCaseNames.get(candidates[i]);
+				if (lowerCaseName != null && containsInOrder(lowerCaseName, words)) {
+					result.set(candidates[i]);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the smallest posting list of the trigrams of the given words, with
+	 *         its length at index 0, or {@code null} if the words contain no
+	 *         trigram
+	 */
+	private int @Nullable [] findCandidates(String[] words) {
+		int @Nullable [] smallest = null;
+		for (final String word : words) {
+			for (int i = 0; i + 3 <= word.length(); i++) {
+				final int[] posting = postings.get(trigram(word, i));
+				if (posting == null) {
+					return new int[] { 0 };
+				}
+				if (smallest == null || posting[0] < smallest[0]) {
+					smallest = posting;
+				}
+			}
+		}
+		return smallest;
+	}
+
+	private static boolean containsInOrder(String name, String[] words) {
+		int from = 0;
+		for (final String word : words) {
+			final int index = name.indexOf(word, from);
+			if (index < 0) {
+				return false;
+			}
+			from = index + word.length();
+		}
+		return true;
+	}
+
+	private static long trigram(String s, int index) {
+		return ((long) s.charAt(index) << 32) | ((long) s.charAt(index + 1) << 16) | s.charAt(index + 2);
+	}
+}
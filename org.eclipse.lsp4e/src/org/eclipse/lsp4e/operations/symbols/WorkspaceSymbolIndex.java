@@ -0,0 +1,449 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.operations.symbols;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.ui.SymbolsPreferencePage;
+import org.eclipse.lsp4j.DocumentSymbol;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.eclipse.lsp4j.SymbolTag;
+import org.eclipse.lsp4j.WorkspaceSymbol;
+import org.eclipse.lsp4j.WorkspaceSymbolLocation;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+/**
+ * Caches the symbols of the documents of a project, as reported by the language
+ * servers in {@code workspace/symbol} and {@code textDocument/documentSymbol}
+ * responses, to answer workspace symbol queries without a round trip to the
+ * language servers.
+ * <p>
+ * The symbols of a document are dropped as soon as the document is edited or
+ * changed on disk, until a language server reports them again. Symbol names are
+ * interned and indexed by trigrams, and released with the symbols of the
+ * documents referencing them; the other attributes of the symbols are stored in
+ * arrays per document.
+ * <p>
+ * The index is only maintained if enabled in the
+ * {@link SymbolsPreferencePage symbols preferences}.
+ */
+public final class WorkspaceSymbolIndex {
+
+	/** symbols of further documents are ignored once the index is this large */
+	private static final int MAX_SYMBOLS = 1_000_000;
+
+	private static final Map<IProject, WorkspaceSymbolIndex> INDEXES = new ConcurrentHashMap<>();
+	private static final AtomicBoolean RESOURCE_LISTENER_INSTALLED = new AtomicBoolean();
+
+	/**
+	 * Identifies a symbol of a document when merging symbols.
+	 */
+	private record SymbolKey(int nameId, byte kind, int startLine, int startCharacter) {
+	}
+
+	/**
+	 * The symbols which one language server reported for a document.
+	 */
+	private static final class DocumentSymbols {
+		private static final int NO_CONTAINER = -1;
+
+		private final String uri;
+		private int size;
+		private int[] nameIds = new int[8];
+		private int[] containerIds = new int[8];
+		private byte[] kinds = new byte[8];
+		/** start line, start character, end line and end character of each symbol, or -1 without range */
+		private int[] ranges = new int[32];
+		private final BitSet deprecated = new BitSet();
+		/** keys of the symbols, only built once symbols are merged into the document */
+		private @Nullable Set<SymbolKey> keys;
+
+		DocumentSymbols(String uri) {
+			this.uri = uri;
+		}
+
+		boolean contains(int nameId, byte kind, int startLine, int startCharacter) {
+			Set<SymbolKey> keys = this.keys;
+			if (keys == null) {
+				keys = this.keys = new HashSet<>();
+				for (int i = 0; i < size; i++) {
+					keys.add(keyOf(i));
+				}
+			}
+			return keys.contains(new SymbolKey(nameId, kind, startLine, startCharacter));
+		}
+
+		private SymbolKey keyOf(int index) {
+			return new SymbolKey(nameIds[index], kinds[index], ranges[4 * index], ranges[4 * index + 1]);
+		}
+
+		void add(int nameId, int containerId, byte kind, @Nullable Range range, boolean isDeprecated) {
+			if (size == nameIds.length) {
+				final int capacity = size * 2;
+				nameIds = Arrays.copyOf(nameIds, capacity);
+				containerIds = Arrays.copyOf(containerIds, capacity);
+				kinds = Arrays.copyOf(kinds, capacity);
+				ranges = Arrays.copyOf(ranges, 4 * capacity);
+			}
+			nameIds[size] = nameId;
+			containerIds[size] = containerId;
+			kinds[size] = kind;
+			if (range == null) {
+				Arrays.fill(ranges, 4 * size, 4 * size + 4, -1);
+			} else {
+				ranges[4 * size] = range.getStart().getLine();
+				ranges[4 * size + 1] = range.getStart().getCharacter();
+				ranges[4 * size + 2] = range.getEnd().getLine();
+				ranges[4 * size + 3] = range.getEnd().getCharacter();
+			}
+			deprecated.set(size, isDeprecated);
+			final Set<SymbolKey> keys = this.keys;
+			if (keys != null) {
+				keys.add(keyOf(size));
+			}
+			size++;
+		}
+
+		WorkspaceSymbol toWorkspaceSymbol(int index, SymbolNameIndex names) {
+			final var symbol = new WorkspaceSymbol();
+			symbol.setName(names.getName(nameIds[index]));
+			symbol.setKind(SymbolKind.forValue(kinds[index]));
+			if (containerIds[index] != NO_CONTAINER) {
+				symbol.setContainerName(names.getName(containerIds[index]));
+			}
+			final int r = 4 * index;
+			if (ranges[r] < 0) {
+				symbol.setLocation(Either.forRight(new WorkspaceSymbolLocation(uri)));
+			} else {
+				symbol.setLocation(Either.forLeft(new Location(uri, new Range(new Position(ranges[r], ranges[r + 1]),
+						new Position(ranges[r + 2], ranges[r + 3])))));
+			}
+			symbol.setTags(deprecated.get(index) ? List.of(SymbolTag.Deprecated) : List.of());
+			return symbol;
+		}
+
+		void release(SymbolNameIndex names) {
+			for (int i = 0; i < size; i++) {
+				names.release(nameIds[i]);
+				if (containerIds[i] != NO_CONTAINER) {
+					names.release(containerIds[i]);
+				}
+			}
+		}
+	}
+
+	private final SymbolNameIndex names = new SymbolNameIndex();
+
+	/** symbols by normalized document URI and language server id */
+	private final Map<String, Map<String, DocumentSymbols>> documents = new HashMap<>();
+	private int symbolCount;
+
+	/**
+	 * Returns whether the workspace symbol index is enabled in the preferences.
+	 */
+	public static boolean isEnabled() {
+		return LanguageServerPlugin.getDefault().getPreferenceStore()
+				.getBoolean(SymbolsPreferencePage.PREF_WORKSPACE_SYMBOL_INDEX_ENABLED);
+	}
+
+	/**
+	 * @return the symbol index of the given project, or {@code null} if the index
+	 *         is disabled
+	 */
+	public static @Nullable WorkspaceSymbolIndex forProject(IProject project) {
+		if (!isEnabled()) {
+			INDEXES.clear();
+			return null;
+		}
+		if (RESOURCE_LISTENER_INSTALLED.compareAndSet(false, true)) {
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(new ResourceListener(),
+					IResourceChangeEvent.POST_CHANGE);
+		}
+		return INDEXES.computeIfAbsent(project, p -> new WorkspaceSymbolIndex());
+	}
+
+	/**
+	 * @return the symbol index of the given project if it was already created,
+	 *         {@code null} otherwise
+	 */
+	public static @Nullable WorkspaceSymbolIndex forProjectIfExists(IProject project) {
+		return INDEXES.get(project);
+	}
+
+	/**
+	 * Drops the symbols of the given document from the indexes of all projects.
+	 */
+	public static void invalidateAll(URI documentUri) {
+		if (INDEXES.isEmpty()) {
+			return;
+		}
+		final String key = normalize(documentUri.toASCIIString());
+		for (final WorkspaceSymbolIndex index : INDEXES.values()) {
+			synchronized (index) {
+				index.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Adds the symbols of a {@code workspace/symbol} response, keeping the
+	 * symbols already known.
+	 */
+	public synchronized void addSymbols(String serverId, List<@Nullable ? extends WorkspaceSymbol> symbols) {
+		// symbols are usually grouped by document
+		@Nullable String lastUri = null;
+		@Nullable DocumentSymbols documentSymbols = null;
+		for (final WorkspaceSymbol symbol : symbols) {
+			if (symbol == null || symbol.getName() == null || symbol.getKind() == null
+					|| symbol.getLocation() == null) {
+				continue;
+			}
+			final String uri = symbol.getLocation().map(Location::getUri, WorkspaceSymbolLocation::getUri);
+			if (uri == null) {
+				continue;
+			}
+			if (documentSymbols == null || !uri.equals(lastUri)) {
+				lastUri = uri;
+				documentSymbols = getDocumentSymbols(serverId, normalize(uri));
+				if (documentSymbols == null) {
+					return;
+				}
+			}
+			final int nameId = names.getId(symbol.getName());
+			final byte kind = (byte) symbol.getKind().getValue();
+			final Range range = symbol.getLocation().map(Location::getRange, location -> null);
+			if (nameId < 0 || !documentSymbols.contains(nameId, kind, range == null ? -1 : range.getStart().getLine(),
+					range == null ? -1 : range.getStart().getCharacter())) {
+				add(documentSymbols, symbol.getName(), symbol.getContainerName(), kind, range, symbol.getTags());
+			}
+		}
+	}
+
+	/**
+	 * Replaces the symbols of a document by the result of a
+	 * {@code textDocument/documentSymbol} request.
+	 */
+	public synchronized void setDocumentSymbols(String serverId, URI documentUri,
+			@Nullable List<@Nullable Either<SymbolInformation, DocumentSymbol>> symbols) {
+		final String uri = normalize(documentUri.toASCIIString());
+		final Map<String, DocumentSymbols> byServer = documents.get(uri);
+		final DocumentSymbols previous = byServer == null ? null : byServer.remove(serverId);
+		if (previous != null) {
+			symbolCount -= previous.size;
+			previous.release(names);
+		}
+		if (symbols == null) {
+			return;
+		}
+		final DocumentSymbols documentSymbols = getDocumentSymbols(serverId, uri);
+		if (documentSymbols == null) {
+			return;
+		}
+		for (final Either<SymbolInformation, DocumentSymbol> symbol : symbols) {
+			if (symbol == null) {
+				continue;
+			}
+			if (symbol.isLeft()) {
+				final SymbolInformation information = symbol.getLeft();
+				if (information.getName() != null && information.getKind() != null) {
+					final var deprecated = Boolean.TRUE.equals(information.getDeprecated());
+					add(documentSymbols, information.getName(), information.getContainerName(),
+							(byte) information.getKind().getValue(),
+							information.getLocation() == null ? null : information.getLocation().getRange(),
+							deprecated ? List.of(SymbolTag.Deprecated) : information.getTags());
+				}
+			} else {
+				addDocumentSymbol(documentSymbols, symbol.getRight(), null);
+			}
+		}
+	}
+
+	/**
+	 * Drops the symbols of the given document.
+	 */
+	public synchronized void invalidate(URI documentUri) {
+		if (documents.isEmpty()) {
+			return;
+		}
+		remove(normalize(documentUri.toASCIIString()));
+	}
+
+	/**
+	 * Returns the symbols whose names contain the words of the given pattern in
+	 * the same order, ignoring case.
+	 *
+	 * @param maxResults
+	 *            the maximum number of symbols to return
+	 */
+	public synchronized List<WorkspaceSymbol> find(String pattern, int maxResults) {
+		final BitSet matchingNames = names.findMatchingNames(pattern);
+		if (matchingNames.isEmpty()) {
+			return List.of();
+		}
+		final var result = new ArrayList<WorkspaceSymbol>();
+		for (final Map<String, DocumentSymbols> byServer : documents.values()) {
+			for (final DocumentSymbols documentSymbols : byServer.values()) {
+				for (int i = 0; i < documentSymbols.size; i++) {
+					if (matchingNames.get(documentSymbols.nameIds[i])) {
+						if (result.size() == maxResults) {
+							return result;
+						}
+						result.add(documentSymbols.toWorkspaceSymbol(i, names));
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the number of symbols in the index
+	 */
+	public synchronized int size() {
+		return symbolCount;
+	}
+
+	/**
+	 * @return the number of distinct symbol and container names in the index
+	 */
+	public synchronized int nameCount() {
+		return names.size();
+	}
+
+	private void addDocumentSymbol(DocumentSymbols documentSymbols, @Nullable DocumentSymbol symbol,
+			@Nullable String containerName) {
+		if (symbol == null || symbol.getName() == null || symbol.getKind() == null) {
+			return;
+		}
+		final List<SymbolTag> tags = Boolean.TRUE.equals(symbol.getDeprecated()) ? List.of(SymbolTag.Deprecated)
+				: symbol.getTags();
+		add(documentSymbols, symbol.getName(), containerName, (byte) symbol.getKind().getValue(),
+				symbol.getSelectionRange() != null ? symbol.getSelectionRange() : symbol.getRange(), tags);
+		final List<DocumentSymbol> children = symbol.getChildren();
+		if (children != null) {
+			for (final DocumentSymbol child : children) {
+				addDocumentSymbol(documentSymbols, child, symbol.getName());
+			}
+		}
+	}
+
+	private void add(DocumentSymbols documentSymbols, String name, @Nullable String containerName, byte kind,
+			@Nullable Range range, @Nullable List<SymbolTag> tags) {
+		if (symbolCount >= MAX_SYMBOLS) {
+			return;
+		}
+		final int nameId = names.intern(name);
+		final int containerId = containerName == null || containerName.isEmpty() ? DocumentSymbols.NO_CONTAINER
+				: names.intern(containerName);
+		final boolean isDeprecated = tags != null && tags.contains(SymbolTag.Deprecated);
+		documentSymbols.add(nameId, containerId, kind, range != null && range.getStart() != null
+				&& range.getEnd() != null ? range : null, isDeprecated);
+		symbolCount++;
+	}
+
+	private @Nullable DocumentSymbols getDocumentSymbols(String serverId, String uri) {
+		final Map<String, DocumentSymbols> byServer = documents.get(uri);
+		DocumentSymbols documentSymbols = byServer == null ? null : byServer.get(serverId);
+		if (documentSymbols == null) {
+			if (symbolCount >= MAX_SYMBOLS) {
+				return null;
+			}
+			documentSymbols = new DocumentSymbols(uri);
+			documents.computeIfAbsent(uri, u -> new HashMap<>()).put(serverId, documentSymbols);
+		}
+		return documentSymbols;
+	}
+
+	private void remove(String uri) {
+		final Map<String, DocumentSymbols> byServer = documents.remove(uri);
+		if (byServer != null) {
+			for (final DocumentSymbols documentSymbols : byServer.values()) {
+				symbolCount -= documentSymbols.size;
+				documentSymbols.release(names);
+			}
+		}
+	}
+
+	/**
+	 * Normalizes file URIs, which language servers may encode differently than
+	 * Eclipse does.
+	 */
+	static String normalize(String uri) {
+		try {
+			return LSPEclipseUtils.toUri(uri).toASCIIString();
+		} catch (IllegalArgumentException e) {
+			return uri;
+		}
+	}
+
+	/**
+	 * Drops the symbols of files changed on disk and the indexes of removed or
+	 * closed projects.
+	 */
+	private static final class ResourceListener implements IResourceChangeListener {
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			final IResourceDelta delta = event.getDelta();
+			if (INDEXES.isEmpty() || delta == null) {
+				return;
+			}
+			try {
+				delta.accept(child -> {
+					final IResource resource = child.getResource();
+					if (resource instanceof IProject project) {
+						if (child.getKind() == IResourceDelta.REMOVED || !project.isOpen()) {
+							INDEXES.remove(project);
+							return false;
+						}
+						return INDEXES.containsKey(project);
+					}
+					if (resource instanceof IFile file && (child.getKind() == IResourceDelta.REMOVED
+							|| (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0)) {
+						final URI uri = LSPEclipseUtils.toUri(file);
+						if (uri != null) {
+							invalidateAll(uri);
+						}
+					}
+					return true;
+				});
+			} catch (CoreException e) {
+				LanguageServerPlugin.logError(e);
+			}
+		}
+	}
+}
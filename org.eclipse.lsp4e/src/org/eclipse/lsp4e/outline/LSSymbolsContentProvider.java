@@ -58,6 +58,7 @@
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.internal.ArrayUtil;
 import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.operations.symbols.WorkspaceSymbolIndex;
 import org.eclipse.lsp4e.outline.SymbolsModel.DocumentSymbolWithURI;
 import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.DocumentSymbol;
@@ -385,6 +386,12 @@ protected void refreshTreeContentFromLS() {
 		final var params = new DocumentSymbolParams(LSPEclipseUtils.toTextDocumentIdentifier(documentURI));
 		final var symbols = this.symbols = outlineViewerInput.wrapper.execute(ls -> ls.getTextDocumentService().documentSymbol(params));
 		symbols.thenAcceptAsync(response -> {
+			final IFile documentFile = outlineViewerInput.documentFile;
+			final WorkspaceSymbolIndex index = documentFile == null ? null
+					: WorkspaceSymbolIndex.forProject(documentFile.getProject());
+			if (index != null) {
+				index.setDocumentSymbols(outlineViewerInput.wrapper.serverDefinition.id, documentURI, response);
+			}
 			final boolean changed = symbolsModel.update(response);
 			if (!changed) {
 				return; // no structural change; avoid redundant refresh churn
@@ -187,6 +187,9 @@ private void report(final WorkDoneProgressReport report, final IProgressMonitor
 	 *            the {@link ProgressParams} used for the progress notification
 	 */
 	public void notifyProgress(final ProgressParams params) {
+		if (PartialResults.notify(params)) {
+			return;
+		}
 		String jobIdentifier = params.getToken().map(Function.identity(), Object::toString);
 		BlockingQueue<ProgressParams> progress = progressMap.get(jobIdentifier);
 		if (progress != null) { // may happen if the server does not wait on the return value of the future of createProgress
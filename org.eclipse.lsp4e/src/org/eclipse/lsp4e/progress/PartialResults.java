@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.progress;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.internal.JsonUtil;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.WorkDoneProgressAndPartialResultParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Dispatches the partial results of requests, which language servers send as
+ * {@code $/progress} notifications for the {@code partialResultToken} of the
+ * request, to the consumer registered for the token.
+ *
+ * <pre>
+ * final var token = PartialResults.register(chunk -&gt; ...);
+ * params.setPartialResultToken(token);
+ * server.request(params).whenComplete((result, ex) -&gt; PartialResults.unregister(token));
+ * </pre>
+ *
+ * The final response of a request whose results have been (partially) streamed
+ * only contains the results which have not been sent as partial results.
+ */
+public final class PartialResults {
+
+	private static final ConcurrentMap<String, Consumer<JsonElement>> CONSUMERS = new ConcurrentHashMap<>();
+
+	private PartialResults() {
+	}
+
+	/**
+	 * Registers a consumer for the partial results reported for a new token.
+	 *
+	 * @param consumer
+	 *            receives the JSON value of every partial result, on the thread
+	 *            processing the messages of the language server
+	 * @return the token to be set as
+	 *         {@link WorkDoneProgressAndPartialResultParams#setPartialResultToken(Either)
+	 *         partial result token} of the request
+	 */
+	public static Either<String, Integer> register(Consumer<JsonElement> consumer) {
+		final String token = "lsp4e-partial-" + UUID.randomUUID(); //$NON-NLS-1$
+		CONSUMERS.put(token, consumer);
+		return Either.forLeft(token);
+	}
+
+	/**
+	 * Stops dispatching the partial results of the given token, must be called
+	 * once the request has completed.
+	 */
+	public static void unregister(Either<String, Integer> token) {
+		CONSUMERS.remove(toKey(token));
+	}
+
+	/**
+	 * Passes the value of the given notification to the consumer registered for
+	 * its token.
+	 *
+	 * @return {@code false} if the notification is not a partial result of a
+	 *         registered token
+	 */
+	static boolean notify(ProgressParams params) {
+		if (!params.getValue().isRight()) {
+			return false;
+		}
+		final Consumer<JsonElement> consumer = CONSUMERS.get(toKey(params.getToken()));
+		if (consumer == null) {
+			return false;
+		}
+		final Object value = params.getValue().getRight();
+		try {
+			consumer.accept(value instanceof JsonElement json ? json : JsonUtil.LSP4J_GSON.toJsonTree(value));
+		} catch (RuntimeException ex) {
+			LanguageServerPlugin.logError(ex);
+		}
+		return true;
+	}
+
+	private static String toKey(Either<String, Integer> token) {
+		return token.map(Function.identity(), Object::toString);
+	}
+}
@@ -19,6 +19,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -32,9 +33,13 @@
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.lsp4e.LanguageServerMetrics;
+import org.eclipse.lsp4e.LanguageServerMetrics.Statistics;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServiceAccessor;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CTabFolder;
+import org.eclipse.swt.custom.CTabItem;
 import org.eclipse.swt.custom.TableCursor;
 import org.eclipse.swt.custom.TableEditor;
 import org.eclipse.swt.dnd.Clipboard;
@@ -63,10 +68,15 @@ public class LanguageServersView extends ViewPart {
 	private static final String NOT_AVAILABLE = "n/a"; //$NON-NLS-1$
 
 	private TableViewer viewer = lateNonNull();
+	private TableViewer metricsViewer = lateNonNull();
+	private volatile boolean metricsVisible;
 	private @Nullable Job viewerRefreshJob;
 	private final Map<LanguageServerWrapper, ToolBar> actionButtons = new HashMap<>();
 	private final List<ColumnLabelProvider> columnLabelProviders = new ArrayList<>();
 
+	private record MetricsRow(LanguageServerWrapper wrapper, Statistics statistics) {
+	}
+
 	private @Nullable TableCursor tableCursor;
 	private int tableSortColumn = 1;
 	private int tableSortDirection = 1; // 1 = ascending, -1 = descending
@@ -140,7 +150,12 @@ public void widgetSelected(final SelectionEvent e) {
 
 	@Override
 	public void createPartControl(Composite parent) {
-		viewer = new TableViewer(parent, SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION | SWT.BORDER);
+		final var tabFolder = new CTabFolder(parent, SWT.BORDER);
+		final var serversTab = new CTabItem(tabFolder, SWT.NONE);
+		serversTab.setText("Servers"); //$NON-NLS-1$
+
+		viewer = new TableViewer(tabFolder, SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+		serversTab.setControl(viewer.getControl());
 		viewer.setComparator(tableSorter);
 
 		final var table = viewer.getTable();
@@ -247,9 +262,92 @@ public String getText(Object element) {
 
 		initContextMenu();
 
+		createMetricsTab(tabFolder);
+		tabFolder.setSelection(serversTab);
+
 		scheduleRefreshJob();
 	}
 
+	private void createMetricsTab(CTabFolder tabFolder) {
+		final var metricsTab = new CTabItem(tabFolder, SWT.NONE);
+		metricsTab.setText("Request Metrics"); //$NON-NLS-1$
+		tabFolder.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				metricsVisible = e.item == metricsTab;
+				if (metricsVisible) {
+					updateMetricsInput();
+				}
+			}
+		});
+
+		final var toolBar = new ToolBar(tabFolder, SWT.FLAT);
+		final var enableButton = new ToolItem(toolBar, SWT.CHECK);
+		enableButton.setText("Collect Metrics"); //$NON-NLS-1$
+		enableButton.setToolTipText("Collect request metrics of all language servers"); //$NON-NLS-1$
+		enableButton.setSelection(LanguageServerMetrics.isEnabled());
+		enableButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				LanguageServerMetrics.setEnabled(enableButton.getSelection());
+			}
+		});
+		final var resetButton = new ToolItem(toolBar, SWT.PUSH);
+		resetButton.setText("Reset"); //$NON-NLS-1$
+		resetButton.setToolTipText("Discard the collected request metrics"); //$NON-NLS-1$
+		resetButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				LanguageServiceAccessor.getStartedWrappers(capability -> true, true)
+						.forEach(wrapper -> wrapper.getMetrics().reset());
+				updateMetricsInput();
+			}
+		});
+		tabFolder.setTopRight(toolBar);
+
+		metricsViewer = new TableViewer(tabFolder, SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+		metricsTab.setControl(metricsViewer.getControl());
+		final var table = metricsViewer.getTable();
+		table.setHeaderVisible(true);
+		table.setLinesVisible(true);
+
+		createMetricsColumn("Name", 150, SWT.LEFT, row -> row.wrapper().serverDefinition.label); //$NON-NLS-1$
+		createMetricsColumn("Initial Project", 150, SWT.LEFT, row -> { //$NON-NLS-1$
+			final var p = row.wrapper().initialProject;
+			return p == null ? NOT_AVAILABLE : p.getName();
+		});
+		createMetricsColumn("Method", 250, SWT.LEFT, row -> row.statistics().name()); //$NON-NLS-1$
+		createMetricsColumn("Count", 70, SWT.RIGHT, row -> Long.toString(row.statistics().count())); //$NON-NLS-1$
+		createMetricsColumn("Req/s", 70, SWT.RIGHT, row -> String.format("%.2f", row.statistics().perSecond())); //$NON-NLS-1$ //$NON-NLS-2$
+		createMetricsColumn("Errors", 60, SWT.RIGHT, row -> Long.toString(row.statistics().errors())); //$NON-NLS-1$
+		createMetricsColumn("Cancelled", 70, SWT.RIGHT, row -> Long.toString(row.statistics().cancelled())); //$NON-NLS-1$
+		createMetricsColumn("Mean (ms)", 80, SWT.RIGHT, row -> formatMillis(row.statistics().mean())); //$NON-NLS-1$
+		createMetricsColumn("p50 (ms)", 80, SWT.RIGHT, row -> formatMillis(row.statistics().p50())); //$NON-NLS-1$
+		createMetricsColumn("p90 (ms)", 80, SWT.RIGHT, row -> formatMillis(row.statistics().p90())); //$NON-NLS-1$
+		createMetricsColumn("p99 (ms)", 80, SWT.RIGHT, row -> formatMillis(row.statistics().p99())); //$NON-NLS-1$
+		createMetricsColumn("Max (ms)", 80, SWT.RIGHT, row -> formatMillis(row.statistics().max())); //$NON-NLS-1$
+
+		metricsViewer.setContentProvider(new ArrayContentProvider());
+	}
+
+	private void createMetricsColumn(String name, int width, int alignment, Function<MetricsRow, String> text) {
+		final var viewerColumn = new TableViewerColumn(metricsViewer, alignment);
+		final var tableColumn = viewerColumn.getColumn();
+		tableColumn.setText(name);
+		tableColumn.setWidth(width);
+		tableColumn.setResizable(true);
+		viewerColumn.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return text.apply((MetricsRow) element);
+			}
+		});
+	}
+
+	private static String formatMillis(long nanos) {
+		return String.format("%.1f", nanos / 1e6); //$NON-NLS-1$
+	}
+
 	@Override
 	public void dispose() {
 		final var viewerRefreshJob = this.viewerRefreshJob;
@@ -331,6 +429,9 @@ private void scheduleRefreshJob() {
 			protected IStatus run(IProgressMonitor monitor) {
 				if (getSite().getPage().isPartVisible(LanguageServersView.this)) {
 					updateViewerInput();
+					if (metricsVisible) {
+						updateMetricsInput();
+					}
 				}
 				schedule(2_000);
 				return Status.OK_STATUS;
@@ -346,6 +447,22 @@ public void setFocus() {
 		viewer.getControl().setFocus();
 	}
 
+	private void updateMetricsInput() {
+		final var rows = new ArrayList<MetricsRow>();
+		for (final LanguageServerWrapper wrapper : LanguageServiceAccessor.getStartedWrappers(capability -> true,
+				true)) {
+			final LanguageServerMetrics metrics = wrapper.getMetrics();
+			rows.add(new MetricsRow(wrapper, metrics.getDispatcherStatistics()));
+			metrics.getStartupStatistics().forEach(statistics -> rows.add(new MetricsRow(wrapper, statistics)));
+			metrics.getRequestStatistics().forEach(statistics -> rows.add(new MetricsRow(wrapper, statistics)));
+		}
+		UI.getDisplay().execute(() -> {
+			if (!metricsViewer.getControl().isDisposed()) {
+				metricsViewer.setInput(rows.toArray());
+			}
+		});
+	}
+
 	private void updateViewerInput() {
 		final var currentElements = (Object[]) viewer.getInput();
 		final var newElements = LanguageServiceAccessor.getStartedWrappers(capability -> true, true).toArray();
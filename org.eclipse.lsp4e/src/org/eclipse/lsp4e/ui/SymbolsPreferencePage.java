@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.lsp4e.ui;
+
+import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
+import org.eclipse.jface.preference.BooleanFieldEditor;
+import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPreferencePage;
+
+public class SymbolsPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
+	public static final String PREF_WORKSPACE_SYMBOL_INDEX_ENABLED = "workspaceSymbolIndex.enabled"; //$NON-NLS-1$
+
+	public static final class PreferenceInitializer extends AbstractPreferenceInitializer {
+		@Override
+		public void initializeDefaultPreferences() {
+			final var store = LanguageServerPlugin.getDefault().getPreferenceStore();
+			store.setDefault(PREF_WORKSPACE_SYMBOL_INDEX_ENABLED, false);
+		}
+	}
+
+	public SymbolsPreferencePage() {
+		super(GRID);
+		setPreferenceStore(LanguageServerPlugin.getDefault().getPreferenceStore());
+	}
+
+	@Override
+	public void createFieldEditors() {
+		final Composite parent = getFieldEditorParent();
+
+		/*
+		 * check box to enable/disable the client-side index of workspace symbols
+		 */
+		final var indexEnabled = new BooleanFieldEditor( //
+				PREF_WORKSPACE_SYMBOL_INDEX_ENABLED, //
+				Messages.PreferencesPage_enableWorkspaceSymbolIndex, //
+				parent);
+		addField(indexEnabled);
+
+	}
+
+	@Override
+	public void init(IWorkbench workbench) {
+	}
+
+}